@@ -27,16 +27,23 @@ import static org.nuxeo.ecm.core.blob.KeyStrategy.VER_SEP;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.apache.logging.log4j.LogManager;
@@ -82,6 +89,7 @@ import com.amazonaws.services.s3.model.ObjectLockRetention;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.RestoreObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.SSEAlgorithm;
@@ -110,6 +118,11 @@ public class S3BlobStore extends AbstractBlobStore {
     // x-amz-meta-username header
     protected static final String USER_METADATA_USERNAME = "username";
 
+    // HTTP status returned for a ranged GET on an empty object
+    protected static final int STATUS_RANGE_NOT_SATISFIABLE = 416;
+
+    protected static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+
     protected final S3BlobStoreConfiguration config;
 
     protected final AmazonS3 amazonS3;
@@ -491,13 +504,17 @@ public class S3BlobStore extends AbstractBlobStore {
         String debugObject = "s3://" + bucketName + "/" + debugKey;
         try {
             log.debug("Reading {}", debugObject);
-            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, bucketKey, versionId);
-            if (byteRange != null) {
-                getObjectRequest.setRange(byteRange.getStart(), byteRange.getEnd());
-            }
             long t0 = System.currentTimeMillis();
-            Download download = config.transferManager.download(getObjectRequest, dest.toFile());
-            download.waitForCompletion();
+            if (byteRange == null && config.downloadPartSize > 0) {
+                downloadParallel(bucketKey, versionId, dest);
+            } else {
+                GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, bucketKey, versionId);
+                if (byteRange != null) {
+                    getObjectRequest.setRange(byteRange.getStart(), byteRange.getEnd());
+                }
+                Download download = config.transferManager.download(getObjectRequest, dest.toFile());
+                download.waitForCompletion();
+            }
             long dtms = System.currentTimeMillis() - t0;
 
             logTrace("<-", "read " + Files.size(dest) + " bytes");
@@ -523,6 +540,94 @@ public class S3BlobStore extends AbstractBlobStore {
         }
     }
 
+    /**
+     * Downloads an object to a file using ranged GETs done in parallel, each part being written at its own position in
+     * the file.
+     * <p>
+     * The first part is read by the calling thread and tells us the object length, so an object smaller than the part
+     * size costs a single request.
+     *
+     * @since 10.10-HF74
+     */
+    protected void downloadParallel(String bucketKey, String versionId, Path dest)
+            throws IOException, InterruptedException {
+        long partSize = config.downloadPartSize;
+        try (FileChannel channel = FileChannel.open(dest, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            GetObjectRequest firstRequest = new GetObjectRequest(bucketName, bucketKey, versionId).withRange(0,
+                    partSize - 1);
+            ObjectMetadata metadata;
+            try {
+                metadata = downloadPart(firstRequest, channel, 0);
+            } catch (AmazonServiceException e) {
+                if (e.getStatusCode() == STATUS_RANGE_NOT_SATISFIABLE) {
+                    // empty object
+                    return;
+                }
+                throw e;
+            }
+            long length = metadata.getInstanceLength();
+            if (length <= partSize) {
+                return;
+            }
+            // without a version id, make sure that all parts come from the same object
+            String eTag = versionId == null ? metadata.getETag() : null;
+            List<Future<ObjectMetadata>> futures = new ArrayList<>();
+            try {
+                for (long start = partSize; start < length; start += partSize) {
+                    long end = Math.min(start + partSize, length) - 1;
+                    GetObjectRequest request = new GetObjectRequest(bucketName, bucketKey, versionId).withRange(start,
+                            end);
+                    if (eTag != null) {
+                        request.withMatchingETagConstraint(eTag);
+                    }
+                    long position = start;
+                    futures.add(config.downloadExecutor.submit(() -> downloadPart(request, channel, position)));
+                }
+                for (Future<ObjectMetadata> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof AmazonServiceException) {
+                    throw (AmazonServiceException) cause;
+                } else if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new NuxeoException(cause);
+            } finally {
+                // no-op on success, stops the remaining parts on failure
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    /**
+     * Downloads one part of an object and writes it to the channel at the given position.
+     *
+     * @return the object metadata
+     * @since 10.10-HF74
+     */
+    protected ObjectMetadata downloadPart(GetObjectRequest request, FileChannel channel, long position)
+            throws IOException {
+        S3Object object = amazonS3.getObject(request);
+        if (object == null) {
+            // constraint not met, the object was overwritten while we were reading it
+            throw new IOException("Object s3://" + bucketName + "/" + request.getKey() + " changed during download");
+        }
+        try (InputStream in = object.getObjectContent()) {
+            byte[] bytes = new byte[DOWNLOAD_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(bytes)) != -1) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, n);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+        }
+        return object.getObjectMetadata();
+    }
+
     @Override
     public boolean copyBlobIsOptimized(BlobStore sourceStore) {
         return sourceStore.unwrap() instanceof S3BlobStore;
@@ -37,6 +37,7 @@ import java.time.Duration;
 import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.logging.log4j.LogManager;
@@ -220,12 +221,48 @@ public class S3BlobStoreConfiguration extends CloudBlobStoreConfiguration {
      */
     public static final String DISABLE_PROXY_PROPERTY = "nuxeo.s3.proxy.disabled";
 
+    /**
+     * The part size used to download an object with parallel ranged GETs. Objects smaller than this are downloaded
+     * with a single GET. A value of 0 disables parallel ranged downloads.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String DOWNLOAD_PART_SIZE_PROPERTY = "download.part.size";
+
+    /**
+     * The maximum number of ranged GETs done in parallel when downloading an object.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String DOWNLOAD_THREADS_PROPERTY = "download.threads";
+
+    /**
+     * The default value for the maximum number of ranged GETs done in parallel.
+     *
+     * @since 10.10-HF74
+     */
+    public static final int DOWNLOAD_THREADS_DEFAULT = 4;
+
     public final CloudFrontConfiguration cloudFront;
 
     public final AmazonS3 amazonS3;
 
     public final TransferManager transferManager;
 
+    /**
+     * The part size for parallel ranged downloads, or 0 if disabled.
+     *
+     * @since 10.10-HF74
+     */
+    public final long downloadPartSize;
+
+    /**
+     * The executor running the parallel ranged downloads, or {@code null} if disabled.
+     *
+     * @since 10.10-HF74
+     */
+    public final ExecutorService downloadExecutor;
+
     public final String bucketName;
 
     public final String bucketPrefix;
@@ -303,6 +340,10 @@ public class S3BlobStoreConfiguration extends CloudBlobStoreConfiguration {
 
         transferManager = createTransferManager();
 
+        // ranged GETs on client-side encrypted objects would return ciphertext fragments
+        downloadPartSize = useClientSideEncryption ? 0 : Math.max(0, getLongProperty(DOWNLOAD_PART_SIZE_PROPERTY));
+        downloadExecutor = downloadPartSize > 0 ? createDownloadExecutor() : null;
+
         abortOldUploads();
     }
 
@@ -315,6 +356,9 @@ public class S3BlobStoreConfiguration extends CloudBlobStoreConfiguration {
 
     public void close() {
         transferManager.shutdownNow();
+        if (downloadExecutor != null) {
+            downloadExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -548,6 +592,17 @@ public class S3BlobStoreConfiguration extends CloudBlobStoreConfiguration {
                                      .build();
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    protected ExecutorService createDownloadExecutor() {
+        int threads = getIntProperty(DOWNLOAD_THREADS_PROPERTY);
+        if (threads <= 0) {
+            threads = DOWNLOAD_THREADS_DEFAULT;
+        }
+        return Executors.newFixedThreadPool(threads, newThreadFactory("s3-download-worker"));
+    }
+
     /** @deprecated since 11.4, unused */
     @Deprecated
     protected ObjectLockRetentionMode getRetentionMode() {
@@ -105,6 +105,12 @@ public class S3BlobProviderFeature implements RunnerFeature {
 
     public static final String BUCKET = PREFIX_TEST + S3BlobStoreConfiguration.BUCKET_NAME_PROPERTY;
 
+    /** @since 10.10-HF74 */
+    public static final String ENDPOINT = PREFIX_TEST + S3BlobStoreConfiguration.ENDPOINT_PROPERTY;
+
+    /** @since 10.10-HF74 */
+    public static final String PATH_STYLE_ACCESS = PREFIX_TEST + S3BlobStoreConfiguration.PATHSTYLEACCESS_PROPERTY;
+
     // ----------------------------
     // properties by blob providers
     // ----------------------------
@@ -135,6 +141,10 @@ public class S3BlobProviderFeature implements RunnerFeature {
                 sysEnv(ALTERNATE_SECRET_KEY_ENV_VAR), sysProp(AWS_SECRET));
         configureProperty(AWS_SESSION_TOKEN, sysEnv(AWS_SESSION_TOKEN_ENV_VAR), sysProp(AWS_SESSION_TOKEN));
         configureProperty(BUCKET_REGION, sysEnv(AWS_REGION_ENV_VAR), sysProp(BUCKET_REGION));
+        // a local S3-compatible server needs path-style access
+        if (configureProperty(ENDPOINT, sysProp(ENDPOINT)) != null) {
+            configureProperty(PATH_STYLE_ACCESS, sysProp(PATH_STYLE_ACCESS), constant("true"));
+        }
         // configure specific blob provider properties
         configureProperty(PROVIDER_TEST_BUCKET, sysProp(PROVIDER_TEST_BUCKET), sysProp(BUCKET));
         configureProperty(PROVIDER_TEST_BUCKET_PREFIX, sysProp(PROVIDER_TEST_BUCKET_PREFIX),
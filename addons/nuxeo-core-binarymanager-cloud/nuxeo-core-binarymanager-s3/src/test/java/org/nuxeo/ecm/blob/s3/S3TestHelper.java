@@ -26,6 +26,7 @@ import static com.amazonaws.SDKGlobalConfiguration.AWS_SESSION_TOKEN_ENV_VAR;
 import static com.amazonaws.SDKGlobalConfiguration.SECRET_KEY_ENV_VAR;
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.apache.commons.lang3.StringUtils.isNoneBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.junit.Assume.assumeTrue;
 import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.AWS_ID_PROPERTY;
 import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.AWS_SECRET_PROPERTY;
@@ -33,6 +34,8 @@ import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.AWS_SESSION_TOKEN_P
 import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.BUCKET_NAME_PROPERTY;
 import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.BUCKET_PREFIX_PROPERTY;
 import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.BUCKET_REGION_PROPERTY;
+import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.ENDPOINT_PROPERTY;
+import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.PATHSTYLEACCESS_PROPERTY;
 import static org.nuxeo.ecm.blob.s3.S3BlobStoreConfiguration.SYSTEM_PROPERTY_PREFIX;
 
 import java.util.HashMap;
@@ -45,6 +48,13 @@ import java.util.Map;
  */
 public class S3TestHelper {
 
+    /**
+     * System property pointing the tests to a local S3-compatible server (MinIO for instance) instead of AWS.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String TEST_ENDPOINT_PROPERTY = "nuxeo.test.s3storage." + ENDPOINT_PROPERTY;
+
     private S3TestHelper() {
         // utility class
     }
@@ -69,6 +79,12 @@ public class S3TestHelper {
         properties.put(BUCKET_REGION_PROPERTY, envRegion);
         properties.put(BUCKET_NAME_PROPERTY, bucketName);
         properties.put(BUCKET_PREFIX_PROPERTY, bucketPrefix);
+        String endpoint = System.getProperty(TEST_ENDPOINT_PROPERTY);
+        if (isNotBlank(endpoint)) {
+            // local servers are usually not reachable through virtual-hosted-style bucket names
+            properties.put(ENDPOINT_PROPERTY, endpoint);
+            properties.put(PATHSTYLEACCESS_PROPERTY, "true");
+        }
         return properties;
     }
 
@@ -0,0 +1,59 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.blob.s3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.nuxeo.runtime.test.runner.Deploy;
+
+/**
+ * @since 10.10-HF74
+ */
+@Deploy("org.nuxeo.ecm.core.storage.binarymanager.s3.tests:OSGI-INF/test-blob-provider-s3-paralleldownload.xml")
+public class TestS3BlobStoreParallelDownload extends TestS3BlobStoreAbstract {
+
+    @Test
+    public void testFlags() {
+        assertFalse(bp.isTransactional());
+        assertFalse(bp.isRecordMode());
+        assertTrue(bs.getKeyStrategy().useDeDuplication());
+        S3BlobStore s3BlobStore = (S3BlobStore) bs.unwrap();
+        assertEquals(2, s3BlobStore.config.downloadPartSize);
+        assertNotNull(s3BlobStore.config.downloadExecutor);
+    }
+
+    @Test
+    public void testManyParts() throws IOException {
+        // odd length, so that the last part is shorter
+        String value = StringUtils.repeat("0123456789", 50) + "x";
+        String key = bs.writeBlob(blobContext(ID1, value));
+        assertBlob(key, value);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        String key = bs.writeBlob(blobContext(ID1, ""));
+        assertBlob(key, "");
+    }
+
+}
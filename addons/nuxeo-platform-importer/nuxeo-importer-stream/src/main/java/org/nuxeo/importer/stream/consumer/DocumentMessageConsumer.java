@@ -21,6 +21,8 @@ package org.nuxeo.importer.stream.consumer;
 import static org.nuxeo.runtime.transaction.TransactionHelper.commitOrRollbackTransaction;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
@@ -51,6 +53,9 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
 
     protected CoreSession session;
 
+    // documents of the current batch, created together on commit
+    protected final List<DocumentModel> docs = new ArrayList<>();
+
     public DocumentMessageConsumer(String consumerId, String repositoryName, String rootPath) {
         super(consumerId);
         this.rootPath = rootPath;
@@ -68,6 +73,7 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
 
     @Override
     public void begin() {
+        docs.clear();
         TransactionHelper.startTransaction();
         if (session == null) {
             this.session = CoreInstance.openCoreSessionSystem(repositoryName);
@@ -88,7 +94,7 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
         if (props != null && !props.isEmpty()) {
             setDocumentProperties(doc, props);
         }
-        doc = session.createDocument(doc);
+        docs.add(doc);
     }
 
     protected Blob getBlob(DocumentMessage message) {
@@ -105,6 +111,10 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
     @Override
     public void commit() {
         log.debug("commit");
+        if (!docs.isEmpty()) {
+            session.createDocuments(docs);
+            docs.clear();
+        }
         session.save();
         // TODO: here if tx is in rollback we must throw something
         commitOrRollbackTransaction();
@@ -113,6 +123,7 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
     @Override
     public void rollback() {
         log.info("rollback");
+        docs.clear();
         TransactionHelper.setTransactionRollbackOnly();
         TransactionHelper.commitOrRollbackTransaction();
     }
@@ -18,6 +18,7 @@
  */
 package org.nuxeo.common.concurrent;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,6 +32,27 @@ public final class ThreadFactories {
 
     private static final Logger log = LogManager.getLogger(ThreadFactories.class);
 
+    // Thread.ofVirtual() and Thread.Builder.unstarted(Runnable) are looked up to run on Java 8
+    private static final Method OF_VIRTUAL;
+
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            // fails when virtual threads are a preview feature not enabled
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ofVirtual = null;
+            unstarted = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
     public static ThreadFactory newThreadFactory(String threadPrefix) {
         return newThreadFactory(threadPrefix, false);
     }
@@ -51,4 +73,53 @@ public final class ThreadFactories {
         };
     }
 
+    /**
+     * Returns {@code true} if the JVM supports virtual threads.
+     *
+     * @since 10.10-HF74
+     */
+    public static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an unstarted virtual thread, or a platform thread if the JVM does not support virtual threads.
+     *
+     * @since 10.10-HF74
+     */
+    public static Thread newVirtualThread(Runnable r, String name) {
+        Thread thread;
+        if (OF_VIRTUAL == null) {
+            thread = new Thread(r);
+        } else {
+            try {
+                thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), r);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create virtual thread: " + name, e);
+            }
+        }
+        thread.setName(name);
+        return thread;
+    }
+
+    /**
+     * Returns a factory of virtual threads, threads are platform threads if the JVM does not support virtual threads.
+     *
+     * @since 10.10-HF74
+     */
+    public static ThreadFactory newVirtualThreadFactory(String threadPrefix) {
+        return new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger(0);
+
+            @Override
+            @SuppressWarnings("NullableProblems")
+            public Thread newThread(Runnable r) {
+                Thread thread = newVirtualThread(r, threadPrefix + '-' + count.incrementAndGet());
+                thread.setUncaughtExceptionHandler((t, e) -> log.error("Uncaught exception: {}", e.getMessage(), e));
+                return thread;
+            }
+        };
+    }
+
 }
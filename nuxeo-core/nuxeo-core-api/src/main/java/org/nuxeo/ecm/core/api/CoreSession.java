@@ -533,6 +533,21 @@ public interface CoreSession {
      */
     DocumentModel[] createDocument(DocumentModel[] docModels);
 
+    /**
+     * Bulk creation of documents, for imports.
+     * <p>
+     * Each document is created as with {@link #createDocument(DocumentModel)}, in order, so a document may be the
+     * parent of the next ones. But parents are only resolved and checked for permission once for the whole batch, and
+     * all the created documents are flushed to storage together at the end, which lets the repository write them with
+     * batched inserts. Unlike {@link #createDocument(DocumentModel[])}, this flushes the session, but does not fire the
+     * session saved event of {@link #save()}.
+     *
+     * @param docModels the document models to use for initialization
+     * @return the created documents
+     * @since 10.10-HF74
+     */
+    List<DocumentModel> createDocuments(List<DocumentModel> docModels);
+
     /**
      * Low-level import of documents, reserved for the administrator.
      * <p>
@@ -1079,6 +1094,42 @@ public interface CoreSession {
      */
     DocumentModelList query(String query, String queryType, Filter filter, long limit, long offset, long countUpTo);
 
+    /**
+     * Executes the given NXQL query using keyset pagination and returns the result that matches the filter.
+     * <p>
+     * Instead of an offset, the page is designated by the keyset, which holds the values of the ORDER BY keys of the
+     * last document of the previous page, {@code ecm:uuid} being always added as last key. The returned documents are
+     * those following this keyset, which avoids reading and skipping all the documents of the previous pages.
+     *
+     * @param query the query to execute
+     * @param filter the filter to apply to result
+     * @param limit the maximum number of documents to retrieve, or 0 for all of them
+     * @param keyset the keyset of the last document of the previous page, or an empty list for the first page
+     * @param countTotal if {@code true}, return a {@link DocumentModelList} that includes a total size of the
+     *            documents following the keyset
+     * @return the query result
+     * @since 10.10-HF74
+     */
+    DocumentModelList keysetQuery(String query, Filter filter, long limit, List<Serializable> keyset,
+            boolean countTotal);
+
+    /**
+     * Executes the given NXQL query using keyset pagination and returns the result that matches the filter.
+     *
+     * @param query the query to execute
+     * @param filter the filter to apply to result
+     * @param limit the maximum number of documents to retrieve, or 0 for all of them
+     * @param keyset the keyset of the last document of the previous page, or an empty list for the first page
+     * @param countUpTo if {@code -1}, count the total size of the documents following the keyset.<br>
+     *            If {@code 0}, don't count the total size.<br>
+     *            If {@code n}, count the total number if there are less than n documents otherwise set the size to
+     *            {@code -1}.
+     * @return the query result
+     * @see #keysetQuery(String, Filter, long, List, boolean)
+     * @since 10.10-HF74
+     */
+    DocumentModelList keysetQuery(String query, Filter filter, long limit, List<Serializable> keyset, long countUpTo);
+
     /**
      * Executes the given query and returns an iterable of maps containing the requested properties (which must be
      * closed when done).
@@ -1173,6 +1224,21 @@ public interface CoreSession {
      */
     ScrollResult<String> scroll(String scrollId);
 
+    /**
+     * Executes the given query and returns the batch of document ids following the position encoded in the
+     * {@code scrollId}, in document id order.
+     * <p>
+     * No server-side cursor is kept: the returned scroll id encodes the last returned id, so the next batch can be
+     * requested from any node by passing it back with the same query.
+     *
+     * @param query The NXQL query to execute, its select and order by clauses are ignored
+     * @param batchSize The maximum number of ids to return
+     * @param scrollId The scroll id of the previous batch, or {@code null} for the first batch
+     * @return A {@link ScrollResult} including the search results and a scroll id, to be passed to the subsequent calls
+     * @since 10.10-HF74
+     */
+    ScrollResult<String> keysetScroll(String query, int batchSize, String scrollId);
+
     /** -------------------------- Security API --------------------------- * */
 
     /**
@@ -26,6 +26,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.time.Clock;
 import java.time.Duration;
@@ -42,8 +43,17 @@ import org.apache.logging.log4j.Logger;
 import org.nuxeo.ecm.core.blob.binary.BinaryGarbageCollector;
 import org.nuxeo.ecm.core.blob.binary.BinaryManagerStatus;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 /**
  * Blob store wrapper that caches blobs locally because fetching them may be expensive.
+ * <p>
+ * By default the cache is a plain LRU. If {@link CachingConfiguration#protectedRatio} is set, the cache is segmented:
+ * blobs read more than once (according to a {@link FrequencySketch}) go to a protected segment and are only evicted
+ * after the blobs read once, and a blob missing from a full cache is only admitted if it is read more often than the
+ * next blob to evict. This way a scan over many blobs (a bulk export for instance) doesn't flush the hot blobs.
  *
  * @since 11.1
  */
@@ -51,6 +61,9 @@ public class CachingBlobStore extends AbstractBlobStore {
 
     private static final Logger log = LogManager.getLogger(CachingBlobStore.class);
 
+    // no dependency on nuxeo-runtime-metrics
+    protected static final String NUXEO_METRICS_REGISTRY_NAME = "org.nuxeo.runtime.metrics.MetricsService";
+
     // static because we want all caches to share the same locks
     protected static final Set<Path> LOCKED_FILES = ConcurrentHashMap.newKeySet();
 
@@ -63,6 +76,24 @@ public class CachingBlobStore extends AbstractBlobStore {
 
     protected final BinaryGarbageCollector gc;
 
+    /** @since 10.10-HF74 */
+    protected final FrequencySketch frequencySketch;
+
+    /**
+     * The file name of the next blob to evict when the cache is full, or {@code null} if the cache has room.
+     *
+     * @since 10.10-HF74
+     */
+    protected volatile String admissionVictim;
+
+    protected final Counter hitCount;
+
+    protected final Counter missCount;
+
+    protected final Counter evictionCount;
+
+    protected final Counter rejectionCount;
+
     // lock to avoid doing redundant work in parallel, and protect access to clearOldBlobsLastTime
     protected final Lock clearOldBlobsLock = new ReentrantLock();
 
@@ -87,6 +118,13 @@ public class CachingBlobStore extends AbstractBlobStore {
         this.cacheConfig = config;
         cacheStore = new LocalBlobStore(name, store.getKeyStrategy(), new PathStrategyShortened(config.dir));
         gc = new CachingBinaryGarbageCollector();
+        frequencySketch = config.protectedRatio > 0 ? new FrequencySketch(config.maxCount) : null;
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(NUXEO_METRICS_REGISTRY_NAME);
+        String metricsName = MetricRegistry.name("nuxeo", "blobstores", name, "cache");
+        hitCount = registry.counter(MetricRegistry.name(metricsName, "hits"));
+        missCount = registry.counter(MetricRegistry.name(metricsName, "misses"));
+        evictionCount = registry.counter(MetricRegistry.name(metricsName, "evictions"));
+        rejectionCount = registry.counter(MetricRegistry.name(metricsName, "rejections"));
     }
 
     @Override
@@ -143,9 +181,16 @@ public class CachingBlobStore extends AbstractBlobStore {
         if (!fileOpt.isPresent()) {
             throw new IllegalStateException("File disappeared after write: " + tmpKey);
         }
-        blobWriteContext.setFile(fileOpt.get());
+        Path file = fileOpt.get();
+        blobWriteContext.setFile(file);
         // send the file to storage
         String returnedKey = store.writeBlob(blobWriteContext.copyWithNoWriteObserverAndKey(key));
+        if (isTooBig(file)) {
+            // don't keep it in the cache
+            rejectionCount.inc();
+            cacheStore.deleteBlob(tmpKey);
+            return returnedKey;
+        }
         // renamed the cached file to the actual key
         renameCachedBlob(tmpKey, returnedKey);
         return returnedKey;
@@ -186,7 +231,13 @@ public class CachingBlobStore extends AbstractBlobStore {
 
     protected OptionalOrUnknown<Path> getFileFromCache(String key, boolean exists) {
         recordBlobAccess(cacheStore, key);
+        if (frequencySketch != null) {
+            frequencySketch.increment(getFileName(key));
+        }
         OptionalOrUnknown<Path> fileOpt = cacheStore.getFile(key);
+        if (!exists) {
+            (fileOpt.isPresent() ? hitCount : missCount).inc();
+        }
         if (fileOpt.isPresent()) {
             Path path = fileOpt.get();
             long len = path.toFile().length();
@@ -216,11 +267,48 @@ public class CachingBlobStore extends AbstractBlobStore {
             if (tmpKey == null) {
                 return OptionalOrUnknown.missing();
             }
+            if (!admit(key, tmpKey)) {
+                // serve the blob without keeping it in the cache
+                rejectionCount.inc();
+                Path tmp = cacheStore.pathStrategy.getPathForKey(tmpKey);
+                return OptionalOrUnknown.of(Files.newInputStream(tmp, StandardOpenOption.DELETE_ON_CLOSE));
+            }
             path = renameCachedBlob(tmpKey, key);
         }
         return OptionalOrUnknown.of(Files.newInputStream(path));
     }
 
+    /**
+     * Checks if a blob fetched from the underlying store should be kept in the cache.
+     * <p>
+     * A blob is rejected if it's bigger than {@link CachingConfiguration#maxBlobSize}, or if the cache is full and the
+     * blob has not been read more often than the next blob to evict.
+     *
+     * @param key the blob key
+     * @param tmpKey the key of the temporary cache file where the blob was fetched
+     * @since 10.10-HF74
+     */
+    protected boolean admit(String key, String tmpKey) {
+        if (isTooBig(cacheStore.pathStrategy.getPathForKey(tmpKey))) {
+            return false;
+        }
+        String victim = admissionVictim;
+        if (frequencySketch == null || victim == null) {
+            return true;
+        }
+        return frequencySketch.frequency(getFileName(key)) > frequencySketch.frequency(victim);
+    }
+
+    /** @since 10.10-HF74 */
+    protected boolean isTooBig(Path path) {
+        return cacheConfig.maxBlobSize > 0 && path.toFile().length() > cacheConfig.maxBlobSize;
+    }
+
+    /** Gets the name of the cache file for a key, which is what the frequency sketch records. */
+    protected String getFileName(String key) {
+        return cacheStore.pathStrategy.getPathForKey(key).getFileName().toString();
+    }
+
     @Override
     public boolean readBlob(String key, Path dest) throws IOException {
         OptionalOrUnknown<InputStream> streamOpt = getStream(key);
@@ -248,6 +336,10 @@ public class CachingBlobStore extends AbstractBlobStore {
     public void clear() {
         cacheStore.clear();
         store.clear();
+        if (frequencySketch != null) {
+            frequencySketch.clear();
+        }
+        admissionVictim = null;
     }
 
     /**
@@ -274,6 +366,9 @@ public class CachingBlobStore extends AbstractBlobStore {
      * <p>
      * A blob is deleted if it has not been recently created or accessed (minimum age), and if in addition it would be
      * too big for the maximum cache size in bytes, or if the cache would contain too many blobs.
+     * <p>
+     * With a segmented cache, the most recent blobs read more than once are kept first, up to the protected ratio of the
+     * cache, then the remaining blobs are cleared as above.
      *
      * @since 11.5
      */
@@ -312,12 +407,37 @@ public class CachingBlobStore extends AbstractBlobStore {
         log.debug("clearOldBlobs {} files to check", files.size());
         long size = 0;
         long count = 0;
+        List<PathInfo> probation;
+        if (frequencySketch == null) {
+            probation = files;
+        } else {
+            // protected segment: blobs read more than once, most recent first, within the protected quota
+            long protectedMaxSize = maxSize * cacheConfig.protectedRatio / 100;
+            long protectedMaxCount = maxCount * cacheConfig.protectedRatio / 100;
+            probation = new ArrayList<>();
+            for (PathInfo pi : files) {
+                if (count < protectedMaxCount && size + pi.size <= protectedMaxSize
+                        && frequencySketch.frequency(pi.path.getFileName().toString()) > 1) {
+                    size += pi.size;
+                    count++;
+                    log.trace("clearOldBlobs keeping file: {} because it's protected", pi.path);
+                } else {
+                    probation.add(pi);
+                }
+            }
+            log.debug("clearOldBlobs {} protected files", count);
+        }
         long recentCount = 0;
-        for (PathInfo pi : files) {
+        boolean full = false;
+        String lastKept = null;
+        for (PathInfo pi : probation) {
             size += pi.size;
             count++;
+            String keptBefore = lastKept;
+            lastKept = pi.path.getFileName().toString();
             // are there too many files, or do they occupy too much space?
             if (count > maxCount || size > maxSize) {
+                full = true;
                 // is the file old enough to be a candidate for deletion?
                 if (pi.time < threshold) {
                     if (tryLock(pi.path)) {
@@ -332,6 +452,8 @@ public class CachingBlobStore extends AbstractBlobStore {
                                 Files.delete(pi.path);
                                 size -= pi.size;
                                 count--;
+                                evictionCount.inc();
+                                lastKept = keptBefore;
                             } else {
                                 recentCount++;
                                 log.trace("clearOldBlobs keeping file: {} because it's recent (timestamp {})", pi.path,
@@ -353,6 +475,8 @@ public class CachingBlobStore extends AbstractBlobStore {
                 log.trace("clearOldBlobs keeping file: {}", pi.path);
             }
         }
+        // the least recent blob read once is the next one to go when the cache is full
+        admissionVictim = frequencySketch != null && full ? lastKept : null;
         if (log.isDebugEnabled()) {
             if (maxSize == 0) {
                 maxSize = 1; // shouldn't happen, but don't divide by zero
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 
+import org.apache.commons.lang3.StringUtils;
 import org.nuxeo.common.utils.SizeUtils;
 import org.nuxeo.runtime.api.Framework;
 
@@ -38,12 +39,30 @@ public class CachingConfiguration extends PropertyBasedConfiguration {
 
     public static final String CACHE_MIN_AGE_PROPERTY = "cacheminage";
 
+    /**
+     * Blobs bigger than this are not kept in the cache. Empty or 0 means no limit.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String CACHE_MAX_BLOB_SIZE_PROPERTY = "cachemaxblobsize";
+
+    /**
+     * Percentage of the cache reserved to blobs read more than once, which are then only evicted after the blobs read
+     * once. 0 means a plain LRU cache.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String CACHE_PROTECTED_RATIO_PROPERTY = "cacheprotectedratio";
+
     public static final String DEFAULT_CACHE_SIZE = "100 mb";
 
     public static final String DEFAULT_CACHE_COUNT = "10000";
 
     public static final String DEFAULT_CACHE_MIN_AGE = "3600"; // 1h
 
+    /** @since 10.10-HF74 */
+    public static final String DEFAULT_CACHE_PROTECTED_RATIO = "0";
+
     public final Path dir;
 
     public final long maxSize;
@@ -52,6 +71,12 @@ public class CachingConfiguration extends PropertyBasedConfiguration {
 
     public final long minAge;
 
+    /** @since 10.10-HF74 */
+    public final long maxBlobSize;
+
+    /** @since 10.10-HF74 */
+    public final int protectedRatio;
+
     public CachingConfiguration(String systemPropertyPrefix, Map<String, String> properties) throws IOException {
         super(systemPropertyPrefix, properties);
         dir = Framework.createTempDirectory("nxbincache.");
@@ -61,14 +86,33 @@ public class CachingConfiguration extends PropertyBasedConfiguration {
         maxSize = SizeUtils.parseSizeInBytes(maxSizeProp);
         maxCount = Long.parseLong(maxCountProp);
         minAge = Long.parseLong(minAgeProp);
+        String maxBlobSizeProp = getProperty(CACHE_MAX_BLOB_SIZE_PROPERTY);
+        maxBlobSize = StringUtils.isBlank(maxBlobSizeProp) ? 0 : SizeUtils.parseSizeInBytes(maxBlobSizeProp);
+        String protectedRatioProp = getProperty(CACHE_PROTECTED_RATIO_PROPERTY, DEFAULT_CACHE_PROTECTED_RATIO);
+        protectedRatio = checkRatio(Integer.parseInt(protectedRatioProp.trim()));
     }
 
     public CachingConfiguration(Path dir, long maxSize, long maxCount, long minAge) {
+        this(dir, maxSize, maxCount, minAge, 0, 0);
+    }
+
+    /** @since 10.10-HF74 */
+    public CachingConfiguration(Path dir, long maxSize, long maxCount, long minAge, long maxBlobSize,
+            int protectedRatio) {
         super(null, null);
         this.dir = dir;
         this.maxSize = maxSize;
         this.maxCount = maxCount;
         this.minAge = minAge;
+        this.maxBlobSize = maxBlobSize;
+        this.protectedRatio = checkRatio(protectedRatio);
+    }
+
+    protected static int checkRatio(int ratio) {
+        if (ratio < 0 || ratio > 100) {
+            throw new IllegalArgumentException("Invalid " + CACHE_PROTECTED_RATIO_PROPERTY + ": " + ratio);
+        }
+        return ratio;
     }
 
 }
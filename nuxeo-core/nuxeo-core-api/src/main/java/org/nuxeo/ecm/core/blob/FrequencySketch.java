@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.blob;
+
+/**
+ * Approximate access frequency of keys, as a count-min sketch of 4-bit counters.
+ * <p>
+ * Counters saturate at 15, and are all halved once the number of increments reaches ten times the expected number of
+ * keys, so that old popularity fades away (TinyLFU aging).
+ *
+ * @since 10.10-HF74
+ */
+public class FrequencySketch {
+
+    protected static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L };
+
+    // keeps the low 3 bits of each 4-bit counter after a shift
+    protected static final long RESET_MASK = 0x7777777777777777L;
+
+    protected static final int MAX_SIZE = 1 << 24;
+
+    // each long holds 16 counters
+    protected final long[] table;
+
+    protected final int tableMask;
+
+    protected final int sampleSize;
+
+    protected int additions;
+
+    /**
+     * @param expectedSize the expected number of distinct keys
+     */
+    public FrequencySketch(long expectedSize) {
+        int size = (int) Math.max(16, Math.min(expectedSize, MAX_SIZE));
+        table = new long[Integer.highestOneBit(size - 1) << 1];
+        tableMask = table.length - 1;
+        sampleSize = 10 * size;
+    }
+
+    /**
+     * Gets the estimated number of accesses to the key, between 0 and 15.
+     */
+    public synchronized int frequency(String key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = indexOf(hash, i);
+            int offset = (h & 15) << 2;
+            int count = (int) ((table[(h >>> 4) & tableMask] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the key.
+     */
+    public synchronized void increment(String key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = indexOf(hash, i);
+            int index = (h >>> 4) & tableMask;
+            int offset = (h & 15) << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /** Halves all the counters. */
+    protected void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    /** Forgets all the recorded accesses. */
+    public synchronized void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0;
+        }
+        additions = 0;
+    }
+
+    protected static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    protected static int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h;
+    }
+
+}
@@ -94,6 +94,16 @@ public interface Session<T extends QueryFilter> {
      */
     ScrollResult<String> scroll(String scrollId);
 
+    /**
+     * Executes the given query and returns the batch of results following the position encoded in the
+     * {@code scrollId}, ordered by document id, without keeping any server-side cursor.
+     *
+     * @since 10.10-HF74
+     */
+    default ScrollResult<String> keysetScroll(String query, T queryFilter, int batchSize, String scrollId) {
+        throw new UnsupportedOperationException("Keyset scroll is not supported by this repository");
+    }
+
     /**
      * Gets the lock manager for this session.
      *
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Clock;
@@ -33,6 +34,7 @@ import java.time.ZoneId;
 import java.time.temporal.TemporalAmount;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -72,7 +74,20 @@ public class TestCachingBlobStoreCaching {
     protected CachingBlobStore getStore(long maxSize, long maxCount, long minAge) {
         BlobStore emptyStore = new EmptyBlobStore("empty", "empty", KeyStrategyDocId.instance());
         CachingConfiguration config = new CachingConfiguration(dir, maxSize, maxCount, minAge);
-        CachingBlobStore store = new CachingBlobStore("test", "test", emptyStore, config);
+        return getStore(emptyStore, config);
+    }
+
+    protected CachingBlobStore getStore(long maxSize, long maxCount, long minAge, long maxBlobSize,
+            int protectedRatio) {
+        // blobs must really be stored to be read again after being evicted from the cache
+        BlobStore memStore = new InMemoryBlobStore("mem", KeyStrategyDocId.instance());
+        CachingConfiguration config = new CachingConfiguration(dir, maxSize, maxCount, minAge, maxBlobSize,
+                protectedRatio);
+        return getStore(memStore, config);
+    }
+
+    protected CachingBlobStore getStore(BlobStore underlyingStore, CachingConfiguration config) {
+        CachingBlobStore store = new CachingBlobStore("test", "test", underlyingStore, config);
         store.clearOldBlobsInterval = 0; // clear immediately
         clock = new MutableClock();
         store.clock = clock;
@@ -239,6 +254,90 @@ public class TestCachingBlobStoreCaching {
         assertEquals(id, key);
     }
 
+    protected long read(CachingBlobStore store, String key) throws IOException {
+        try (InputStream stream = store.getStream(key).get()) {
+            return IOUtils.toByteArray(stream).length;
+        }
+    }
+
+    @Test
+    public void testCachingBlobStoreScanResistance() throws IOException {
+        CachingBlobStore store = getStore(1000, 3, 1, 0, 70); // 3 files max, 2 of them protected
+
+        // two hot blobs, read twice
+        store.writeBlob(new BlobContext(BLOB_30, "1", XPATH));
+        advanceClock(2);
+        store.writeBlob(new BlobContext(BLOB_30, "2", XPATH));
+        for (int i = 0; i < 2; i++) {
+            advanceClock(2);
+            read(store, "1");
+            read(store, "2");
+        }
+
+        // a scan of blobs written and never read again
+        for (String key : new String[] { "3", "4", "5", "6" }) {
+            advanceClock(2);
+            store.writeBlob(new BlobContext(BLOB_30, key, XPATH));
+        }
+        // the hot blobs survived the scan, only the last scanned blob is kept next to them
+        assertTrue(exists("1"));
+        assertTrue(exists("2"));
+        assertFalse(exists("3"));
+        assertFalse(exists("4"));
+        assertFalse(exists("5"));
+        assertTrue(exists("6"));
+    }
+
+    @Test
+    public void testCachingBlobStoreAdmission() throws IOException {
+        CachingBlobStore store = getStore(1000, 2, 1, 0, 50); // 2 files max, 1 of them protected
+
+        store.writeBlob(new BlobContext(BLOB_30, "1", XPATH));
+        read(store, "1");
+        read(store, "1");
+        advanceClock(2);
+        store.writeBlob(new BlobContext(BLOB_30, "2", XPATH));
+        advanceClock(2);
+        store.writeBlob(new BlobContext(BLOB_30, "3", XPATH));
+        assertTrue(exists("1"));
+        assertFalse(exists("2"));
+        assertTrue(exists("3"));
+        // "3" is the next blob to evict, and has been read once
+        read(store, "3");
+
+        // "2" read once is not more popular than "3", it's served without being cached
+        advanceClock(2);
+        assertEquals(30, read(store, "2"));
+        assertFalse(exists("2"));
+        assertTrue(exists("3"));
+
+        // read again, it's now more popular
+        advanceClock(2);
+        assertEquals(30, read(store, "2"));
+        assertTrue(exists("2"));
+    }
+
+    @Test
+    public void testCachingBlobStoreMaxBlobSize() throws IOException {
+        CachingBlobStore store = getStore(1000, 9999, 1, 100, 0); // blobs up to 100 bytes
+        String key;
+
+        key = store.writeBlob(new BlobContext(BLOB_30, "1", XPATH));
+        assertEquals("1", key);
+        assertTrue(exists("1"));
+
+        // too big for the cache, but still written to the underlying store
+        key = store.writeBlob(new BlobContext(BLOB_150, "2", XPATH));
+        assertEquals("2", key);
+        assertFalse(exists("2"));
+        assertEquals(30, getDirSize());
+
+        // read through a temporary file
+        assertEquals(150, read(store, "2"));
+        assertFalse(exists("2"));
+        assertEquals(30, getDirSize());
+    }
+
     protected static class MutableClock extends Clock {
 
         protected Instant instant;
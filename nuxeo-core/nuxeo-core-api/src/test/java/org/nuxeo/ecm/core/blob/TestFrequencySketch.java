@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.blob;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @since 10.10-HF74
+ */
+public class TestFrequencySketch {
+
+    @Test
+    public void testFrequency() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        assertEquals(0, sketch.frequency("foo"));
+        sketch.increment("foo");
+        sketch.increment("foo");
+        sketch.increment("bar");
+        assertEquals(2, sketch.frequency("foo"));
+        assertEquals(1, sketch.frequency("bar"));
+        assertEquals(0, sketch.frequency("gee"));
+        // saturates
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("foo");
+        }
+        assertEquals(15, sketch.frequency("foo"));
+        sketch.clear();
+        assertEquals(0, sketch.frequency("foo"));
+    }
+
+    @Test
+    public void testAging() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("foo");
+        }
+        assertEquals(8, sketch.frequency("foo"));
+        // enough other keys to trigger a reset, which halves the counters
+        for (int i = 0; i < 160; i++) {
+            sketch.increment("key" + i);
+        }
+        assertTrue(String.valueOf(sketch.frequency("foo")), sketch.frequency("foo") <= 4);
+    }
+
+}
@@ -74,6 +74,9 @@ public class BulkAdminServiceImpl implements BulkAdminService {
 
     public static final String BULK_STATUS_MAX_DELAY_PROPERTY = "nuxeo.core.bulk.status.maxDelayMillis";
 
+    // @since 10.10-HF74
+    public static final String BULK_STATUS_STATEFUL_PROPERTY = "nuxeo.core.bulk.status.stateful";
+
     public static final String BULK_SCROLL_SIZE_PROPERTY = "nuxeo.core.bulk.scroller.scroll.size";
 
     public static final String BULK_SCROLL_KEEP_ALIVE_PROPERTY = "nuxeo.core.bulk.scroller.scroll.keepAliveSeconds";
@@ -174,10 +177,12 @@ public class BulkAdminServiceImpl implements BulkAdminService {
                 DEFAULT_SCROLL_TRANSACTION_TIMEOUT);
         int scrollProduceImmediateThreshold = confService.getInteger(BULK_SCROLL_PRODUCE_IMMEDIATE_THRESHOLD_PROPERTY)
                 .orElse(DEFAULT_PRODUCE_IMMEDIATE_THRESHOLD_PROPERTY);
-        streamProcessor = streamManager.registerAndCreateProcessor("bulk", getTopology(scrollBatchSize, scrollKeepAlive, transactionTimeout, scrollProduceImmediate, scrollProduceImmediateThreshold), settings);
+        boolean statusStateful = confService.isBooleanPropertyTrue(BULK_STATUS_STATEFUL_PROPERTY);
+        settings.setStateful(STATUS_NAME, statusStateful);
+        streamProcessor = streamManager.registerAndCreateProcessor("bulk", getTopology(scrollBatchSize, scrollKeepAlive, transactionTimeout, scrollProduceImmediate, scrollProduceImmediateThreshold, statusStateful), settings);
     }
 
-    protected Topology getTopology(int scrollBatchSize, int scrollKeepAlive, Duration transactionTimeout, boolean scrollProduceImmediate, int scrollProduceImmediateThreshold) {
+    protected Topology getTopology(int scrollBatchSize, int scrollKeepAlive, Duration transactionTimeout, boolean scrollProduceImmediate, int scrollProduceImmediateThreshold, boolean statusStateful) {
         List<String> mapping = new ArrayList<>();
         mapping.add(INPUT_1 + ":" + COMMAND_STREAM);
         int i = 1;
@@ -194,7 +199,7 @@ public class BulkAdminServiceImpl implements BulkAdminService {
                                .setProduceImmediate(scrollProduceImmediate)
                                .setProduceImmediateThreshold(
                                        scrollProduceImmediateThreshold).build(), mapping)
-                       .addComputation(() -> new BulkStatusComputation(STATUS_NAME),
+                       .addComputation(() -> new BulkStatusComputation(STATUS_NAME, statusStateful),
                                Arrays.asList(INPUT_1 + ":" + STATUS_STREAM, //
                                        OUTPUT_1 + ":" + DONE_STREAM))
                        .build();
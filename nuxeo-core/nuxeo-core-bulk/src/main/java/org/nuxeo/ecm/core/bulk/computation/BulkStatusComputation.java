@@ -54,8 +54,22 @@ public class BulkStatusComputation extends AbstractComputation {
 
     private static final Logger log = LogManager.getLogger(BulkStatusComputation.class);
 
+    // @since 10.10-HF74
+    protected final boolean stateful;
+
     public BulkStatusComputation(String name) {
+        this(name, false);
+    }
+
+    /**
+     * When stateful the statuses of running commands are kept in the computation state, avoiding a key value store
+     * read for each delta.
+     *
+     * @since 10.10-HF74
+     */
+    public BulkStatusComputation(String name, boolean stateful) {
         super(name, 1, 1);
+        this.stateful = stateful;
     }
 
     @Override
@@ -67,7 +81,7 @@ public class BulkStatusComputation extends AbstractComputation {
         if (!recordStatus.isDelta()) {
             status = recordStatus;
         } else {
-            status = bulkService.getStatus(recordStatus.getId());
+            status = getStatus(context, bulkService, recordStatus.getId());
             if (UNKNOWN.equals(status.getState())) {
                 log.warn("Skipping status with unknown command: {}, offset: {}.", recordStatus.getId(),
                         context.getLastOffset());
@@ -77,7 +91,15 @@ public class BulkStatusComputation extends AbstractComputation {
             status.merge(recordStatus);
         }
         byte[] statusAsBytes = bulkService.setStatus(status);
-        if (status.getState() == COMPLETED || recordStatus.getState() == ABORTED) {
+        boolean done = status.getState() == COMPLETED || recordStatus.getState() == ABORTED;
+        if (stateful) {
+            if (done) {
+                context.getState().remove(status.getId());
+            } else {
+                context.getState().put(status.getId(), statusAsBytes);
+            }
+        }
+        if (done) {
             context.produceRecord(OUTPUT_1, status.getId(), statusAsBytes);
             if (status.getTotal() > BIG_BULK_COMMAND_THRESHOLD) {
                 log.warn("BBC: {} command completed: {}.", status.getId(), status);
@@ -85,4 +107,14 @@ public class BulkStatusComputation extends AbstractComputation {
         }
         context.askForCheckpoint();
     }
+
+    protected BulkStatus getStatus(ComputationContext context, BulkServiceImpl bulkService, String commandId) {
+        if (stateful) {
+            byte[] statusAsBytes = context.getState().get(commandId);
+            if (statusAsBytes != null) {
+                return BulkCodecs.getStatusCodec().decode(statusAsBytes);
+            }
+        }
+        return bulkService.getStatus(commandId);
+    }
 }
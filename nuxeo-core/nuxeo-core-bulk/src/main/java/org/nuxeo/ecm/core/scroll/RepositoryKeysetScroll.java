@@ -0,0 +1,47 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.scroll;
+
+/**
+ * Scrolls document identifiers using a keyset (seek on document id) repository search.
+ * <p>
+ * Each batch is an independent query continuing after the last returned id, no database cursor is kept open between
+ * batches.
+ *
+ * @since 10.10-HF74
+ */
+public class RepositoryKeysetScroll extends RepositoryScroll {
+
+    @Override
+    protected boolean fetch() {
+        String scrollId = null;
+        if (repoScroller != null) {
+            if (repoScroller.getResults().size() < request.getSize()) {
+                // last batch was not full, nothing left
+                return false;
+            }
+            scrollId = repoScroller.getScrollId();
+        }
+        repoScroller = session.keysetScroll(request.getQuery(), request.getSize(), scrollId);
+        return repoScroller.hasResults();
+    }
+
+    @Override
+    public String toString() {
+        return "RepositoryKeysetScroll{" + "request=" + request + '}';
+    }
+
+}
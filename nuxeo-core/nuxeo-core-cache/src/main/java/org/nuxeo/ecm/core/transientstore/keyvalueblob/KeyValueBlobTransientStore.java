@@ -18,6 +18,7 @@
  */
 package org.nuxeo.ecm.core.transientstore.keyvalueblob;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 
 import java.io.ByteArrayInputStream;
@@ -405,14 +406,15 @@ public class KeyValueBlobTransientStore implements TransientStoreProvider {
     public void putParameter(String key, String parameter, Serializable value) {
         KeyValueStore kvs = getKeyValueStore();
         String k = key + DOT_PARAM_DOT + parameter;
+        Map<String, byte[]> values = new HashMap<>();
         if (value instanceof String) {
-            kvs.put(k, (String) value, ttl);
-            kvs.put(k + FORMAT, (String) null);
+            values.put(k, ((String) value).getBytes(UTF_8));
+            values.put(k + FORMAT, null);
         } else {
-            byte[] bytes = SerializationUtils.serialize(value);
-            kvs.put(k, bytes, ttl);
-            kvs.put(k + FORMAT, FORMAT_JAVA, ttl);
+            values.put(k, SerializationUtils.serialize(value));
+            values.put(k + FORMAT, FORMAT_JAVA.getBytes(UTF_8));
         }
+        kvs.putAll(values, ttl);
         // atomically add key to param info
         atomicUpdate(key + DOT_PARAMINFO, json -> {
             List<String> parameters = jsonToList(json);
@@ -485,14 +487,16 @@ public class KeyValueBlobTransientStore implements TransientStoreProvider {
     protected void removeParameters(String key, KeyValueStore kvs) {
         String json = kvs.getString(key + DOT_PARAMINFO);
         List<String> parameters = jsonToList(json);
+        List<String> keys = new ArrayList<>();
         if (parameters != null) {
             for (String parameter : parameters) {
                 String k = key + DOT_PARAM_DOT + parameter;
-                kvs.put(k, (String) null);
-                kvs.put(k + FORMAT, (String) null);
+                keys.add(k);
+                keys.add(k + FORMAT);
             }
         }
-        kvs.put(key + DOT_PARAMINFO, (String) null);
+        keys.add(key + DOT_PARAMINFO);
+        kvs.deleteAll(keys);
     }
 
     @Override
@@ -545,13 +549,15 @@ public class KeyValueBlobTransientStore implements TransientStoreProvider {
             // remove previous blobs
             removeBlobs(key, kvs);
             // write new blobs maps
+            Map<String, byte[]> values = new HashMap<>();
             int i = 0;
             for (String blobMapJson : blobMapJsons) {
-                kvs.put(key + DOT_BLOB_DOT + i, blobMapJson, ttl);
+                values.put(key + DOT_BLOB_DOT + i, blobMapJson.getBytes(UTF_8));
                 i++;
             }
             // write blob info
-            kvs.put(key + DOT_BLOBINFO, blobInfoMapJson, ttl);
+            values.put(key + DOT_BLOBINFO, blobInfoMapJson.getBytes(UTF_8));
+            kvs.putAll(values, ttl);
             addStorageSize(totalSize, kvs);
             markEntryExists(key, kvs);
         } finally {
@@ -578,10 +584,12 @@ public class KeyValueBlobTransientStore implements TransientStoreProvider {
         long size = sizeStr == null ? 0 : Long.parseLong(sizeStr);
 
         // remove blobs
+        List<String> keys = new ArrayList<>(count + 1);
         for (int i = 0; i < count; i++) {
-            kvs.put(key + DOT_BLOB_DOT + i, (String) null);
+            keys.add(key + DOT_BLOB_DOT + i);
         }
-        kvs.put(key + DOT_BLOBINFO, (String) null);
+        keys.add(key + DOT_BLOBINFO);
+        kvs.deleteAll(keys);
         // fix storage size
         addStorageSize(-size, kvs);
     }
@@ -153,6 +153,13 @@ public abstract class AbstractWork implements Work {
 
     protected String callerThread;
 
+    /**
+     * The priority of the Work instance, if relevant.
+     *
+     * @since 10.10-HF74
+     */
+    protected String priority;
+
     // @since 11.1
     public static final String GLOBAL_DLQ_COUNT_REGISTRY_NAME = MetricRegistry.name("nuxeo", "works", "dlq");
 
@@ -687,6 +694,23 @@ public abstract class AbstractWork implements Work {
         return getId().hashCode();
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    @Override
+    public String getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority used to select the lane of the queue, must be called before scheduling.
+     *
+     * @since 10.10-HF74
+     */
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
     @Override
     public String getPartitionKey() {
         if (docId != null) {
@@ -0,0 +1,505 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.work;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.nuxeo.ecm.core.work.api.Work;
+import org.nuxeo.ecm.core.work.api.WorkQueueMetrics;
+
+/**
+ * {@link NuxeoBlockingQueue} backed by a lock-free bounded multi-producer multi-consumer ring buffer.
+ * <p>
+ * Unlike {@link MemoryBlockingQueue}, scheduling and polling don't serialize on a single monitor: the ring is lock-free
+ * and the scheduled/running state of works is tracked per work id in a {@link ConcurrentHashMap}. A canceled work
+ * cannot be removed from the middle of the ring, its slot is marked instead and skipped when it reaches the head.
+ * <p>
+ * As for {@link MemoryBlockingQueue}, a bounded queue reserves twice its capacity so that work threads scheduling new
+ * works don't deadlock on a full queue. An unbounded queue spills over to a linked queue when its ring is full.
+ *
+ * @since 10.10-HF74
+ */
+public class RingBufferBlockingQueue extends NuxeoBlockingQueue {
+
+    /**
+     * Ring size of an unbounded queue, works scheduled beyond that go to the spill-over queue.
+     */
+    public static final int UNBOUNDED_RING_SIZE = 1 << 14;
+
+    protected static final int MAX_RING_SIZE = 1 << 30;
+
+    protected static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Bounded array queue where each slot carries a sequence number telling producers and consumers whether the slot
+     * can be written or read for the current lap (D. Vyukov's bounded MPMC queue).
+     */
+    protected static class Ring {
+
+        protected final AtomicReferenceArray<Runnable> buffer;
+
+        protected final AtomicLongArray sequences;
+
+        protected final int mask;
+
+        protected final AtomicLong head = new AtomicLong();
+
+        protected final AtomicLong tail = new AtomicLong();
+
+        protected Ring(int size) {
+            size = Math.min(Math.max(size, 2), MAX_RING_SIZE);
+            int capacity = Integer.highestOneBit(size - 1) << 1; // next power of two
+            buffer = new AtomicReferenceArray<>(capacity);
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            mask = capacity - 1;
+        }
+
+        protected boolean offer(Runnable r) {
+            long pos = tail.get();
+            for (;;) {
+                int index = (int) (pos & mask);
+                long diff = sequences.get(index) - pos;
+                if (diff == 0) {
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        buffer.lazySet(index, r);
+                        sequences.set(index, pos + 1); // publish
+                        return true;
+                    }
+                    pos = tail.get();
+                } else if (diff < 0) {
+                    return false; // full
+                } else {
+                    pos = tail.get(); // another producer took the slot
+                }
+            }
+        }
+
+        protected Runnable poll() {
+            long pos = head.get();
+            for (;;) {
+                int index = (int) (pos & mask);
+                long diff = sequences.get(index) - (pos + 1);
+                if (diff == 0) {
+                    if (head.compareAndSet(pos, pos + 1)) {
+                        Runnable r = buffer.get(index);
+                        buffer.lazySet(index, null);
+                        sequences.set(index, pos + mask + 1); // release the slot for the next lap
+                        return r;
+                    }
+                    pos = head.get();
+                } else if (diff < 0) {
+                    return null; // empty
+                } else {
+                    pos = head.get(); // another consumer took the slot
+                }
+            }
+        }
+
+        protected int size() {
+            long h = head.get();
+            long size = tail.get() - h;
+            return (int) Math.max(0, Math.min(size, mask + 1));
+        }
+
+    }
+
+    /**
+     * State of a work id. Only mutated inside {@link ConcurrentHashMap#compute} so that transitions are atomic.
+     */
+    protected static class WorkEntry {
+
+        protected volatile Work work;
+
+        protected volatile boolean scheduled;
+
+        /** The scheduled work has been polled from the ring but is not yet running. */
+        protected volatile boolean claimed;
+
+        protected volatile boolean running;
+
+        /** Number of canceled holders still in the ring, to be skipped when polled. */
+        protected volatile int canceled;
+
+        protected boolean isEmpty() {
+            return !scheduled && !running && canceled == 0;
+        }
+
+    }
+
+    protected final Ring ring;
+
+    protected final Queue<Runnable> spillOver;
+
+    protected final int capacity;
+
+    protected final Map<String, WorkEntry> entries = new ConcurrentHashMap<>();
+
+    protected final AtomicLong scheduledCount = new AtomicLong();
+
+    protected final AtomicLong runningCount = new AtomicLong();
+
+    protected final AtomicLong completedCount = new AtomicLong();
+
+    protected final AtomicLong cancelledCount = new AtomicLong();
+
+    protected final ReentrantLock notEmptyLock = new ReentrantLock();
+
+    protected final Condition notEmpty = notEmptyLock.newCondition();
+
+    protected final AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * Creates a ring buffer {@link java.util.concurrent.BlockingQueue BlockingQueue} with a maximum capacity.
+     * <p>
+     * If the capacity is -1 then the queue is unbounded.
+     *
+     * @param capacity the capacity, or -1 for unbounded
+     */
+    public RingBufferBlockingQueue(String id, RingBufferWorkQueuing queuing, int capacity) {
+        super(id, queuing);
+        this.capacity = capacity;
+        if (capacity < 0) {
+            ring = new Ring(UNBOUNDED_RING_SIZE);
+            spillOver = new ConcurrentLinkedQueue<>();
+        } else {
+            // allocate more space to prevent starvation dead lock because a worker can add a new job to the queue
+            ring = new Ring(2 * Math.min(capacity, MAX_RING_SIZE / 2));
+            spillOver = null;
+        }
+    }
+
+    @Override
+    protected WorkQueueMetrics metrics() {
+        return new WorkQueueMetrics(queueId, scheduledCount.get(), runningCount.get(), completedCount.get(),
+                cancelledCount.get());
+    }
+
+    @Override
+    public int getQueueSize() {
+        return spillOver == null ? ring.size() : ring.size() + spillOver.size();
+    }
+
+    @Override
+    public void putElement(Runnable r) throws InterruptedException {
+        if (spillOver != null) {
+            // keep FIFO order: once spilling over, new elements go behind the spilled ones
+            if (!spillOver.isEmpty() || !ring.offer(r)) {
+                spillOver.add(r);
+            }
+        } else {
+            long parkNanos = 0;
+            if (!Thread.currentThread().getName().startsWith(WorkManagerImpl.THREAD_PREFIX)) {
+                // put only if there is enough remaining capacity, reentrant calls use the full ring
+                while (ring.size() > capacity) {
+                    parkNanos = backoff(parkNanos);
+                }
+            }
+            while (!ring.offer(r)) {
+                parkNanos = backoff(parkNanos);
+            }
+        }
+        if (waiters.get() > 0) {
+            notEmptyLock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                notEmptyLock.unlock();
+            }
+        }
+    }
+
+    protected static long backoff(long parkNanos) throws InterruptedException {
+        if (parkNanos == 0) {
+            Thread.yield();
+            parkNanos = 1000;
+        } else {
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(2 * parkNanos, MAX_PARK_NANOS);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return parkNanos;
+    }
+
+    @Override
+    public Runnable pollElement() {
+        for (;;) {
+            Runnable r = ring.poll();
+            if (r == null && spillOver != null) {
+                r = spillOver.poll();
+            }
+            if (r == null || claim(WorkHolder.getWork(r).getId())) {
+                return r;
+            }
+            // canceled, skip it
+        }
+    }
+
+    /**
+     * Claims the scheduled work having the given id, unless it has been canceled.
+     */
+    protected boolean claim(String id) {
+        boolean[] claimed = new boolean[1];
+        entries.computeIfPresent(id, (k, entry) -> {
+            if (entry.canceled > 0) {
+                entry.canceled--;
+            } else {
+                entry.claimed = true;
+                claimed[0] = true;
+            }
+            return entry.isEmpty() ? null : entry;
+        });
+        return claimed[0];
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        Runnable r = awaitElement(Long.MAX_VALUE);
+        if (anotherWorkIsAlreadyRunning(WorkHolder.getWork(r).getId())) {
+            // reschedule the work so it does not run concurrently
+            offer(r);
+            // take a break we don't want to take too much CPU looping on the same message.
+            Thread.sleep(100);
+            return null;
+        }
+        return r;
+    }
+
+    /**
+     * Releases the claim on the work if another work with the same id is running.
+     */
+    protected boolean anotherWorkIsAlreadyRunning(String id) {
+        boolean[] running = new boolean[1];
+        entries.computeIfPresent(id, (k, entry) -> {
+            if (entry.running) {
+                entry.claimed = false;
+                running[0] = true;
+            }
+            return entry;
+        });
+        return running[0];
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        nanos = awaitActivation(nanos);
+        if (nanos <= 0) {
+            return null;
+        }
+        return awaitElement(nanos);
+    }
+
+    protected Runnable awaitElement(long nanos) throws InterruptedException {
+        Runnable r = pollElement();
+        if (r != null) {
+            return r;
+        }
+        waiters.incrementAndGet();
+        try {
+            notEmptyLock.lockInterruptibly();
+            try {
+                // producers signal after publishing, re-check under the lock so that no signal is lost
+                while ((r = pollElement()) == null) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                return r;
+            } finally {
+                notEmptyLock.unlock();
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    WorkQueueMetrics workSchedule(Work work) {
+        String id = work.getId();
+        boolean[] added = new boolean[1];
+        entries.compute(id, (k, entry) -> {
+            if (entry == null) {
+                entry = new WorkEntry();
+            }
+            if (!entry.scheduled) {
+                entry.scheduled = true;
+                entry.claimed = false;
+                entry.work = work;
+                added[0] = true;
+            }
+            return entry;
+        });
+        if (!added[0]) {
+            return metrics();
+        }
+        scheduledCount.incrementAndGet();
+        try {
+            offer(new WorkHolder(work));
+        } catch (RuntimeException e) {
+            entries.computeIfPresent(id, (k, entry) -> {
+                entry.scheduled = false;
+                return entry.isEmpty() ? null : entry;
+            });
+            scheduledCount.decrementAndGet();
+            throw e;
+        }
+        return metrics();
+    }
+
+    WorkQueueMetrics workRunning(Work work) {
+        entries.compute(work.getId(), (k, entry) -> {
+            if (entry == null) {
+                entry = new WorkEntry();
+            }
+            entry.scheduled = false;
+            entry.claimed = false;
+            entry.running = true;
+            entry.work = work; // update state
+            return entry;
+        });
+        scheduledCount.decrementAndGet();
+        runningCount.incrementAndGet();
+        return metrics();
+    }
+
+    WorkQueueMetrics workCanceled(Work work) {
+        boolean[] canceled = new boolean[1];
+        entries.computeIfPresent(work.getId(), (k, entry) -> {
+            if (entry.scheduled && !entry.claimed) {
+                entry.scheduled = false;
+                entry.canceled++;
+                if (!entry.running) {
+                    entry.work = null;
+                }
+                canceled[0] = true;
+            }
+            return entry.isEmpty() ? null : entry;
+        });
+        if (canceled[0]) {
+            scheduledCount.decrementAndGet();
+            cancelledCount.incrementAndGet();
+        }
+        return metrics();
+    }
+
+    WorkQueueMetrics workCompleted(Work work) {
+        entries.computeIfPresent(work.getId(), (k, entry) -> {
+            entry.running = false;
+            if (!entry.scheduled) {
+                entry.work = null;
+            }
+            return entry.isEmpty() ? null : entry;
+        });
+        runningCount.decrementAndGet();
+        completedCount.incrementAndGet();
+        return metrics();
+    }
+
+    WorkQueueMetrics workRescheduleRunning(Work work) {
+        boolean[] running = new boolean[1];
+        boolean[] claimed = new boolean[1];
+        entries.computeIfPresent(work.getId(), (k, entry) -> {
+            if (entry.running) {
+                entry.running = false;
+                if (!entry.scheduled) {
+                    entry.work = null;
+                }
+                running[0] = true;
+            } else if (entry.claimed) {
+                // polled while the queue was deactivated, put it back
+                entry.claimed = false;
+                claimed[0] = true;
+            }
+            return entry.isEmpty() ? null : entry;
+        });
+        if (claimed[0]) {
+            offer(new WorkHolder(work));
+            return metrics();
+        }
+        if (!running[0]) {
+            return metrics();
+        }
+        runningCount.decrementAndGet();
+        return workSchedule(work);
+    }
+
+    Work lookup(String workId) {
+        WorkEntry entry = entries.get(workId);
+        return entry == null ? null : entry.work;
+    }
+
+    List<Work> list() {
+        return list(entry -> true);
+    }
+
+    List<String> keys() {
+        return keys(entry -> true);
+    }
+
+    List<Work> listScheduled() {
+        return list(entry -> entry.scheduled);
+    }
+
+    List<String> scheduledKeys() {
+        return keys(entry -> entry.scheduled);
+    }
+
+    List<Work> listRunning() {
+        return list(entry -> entry.running);
+    }
+
+    List<String> runningKeys() {
+        return keys(entry -> entry.running);
+    }
+
+    protected List<Work> list(Predicate<WorkEntry> filter) {
+        return entries.values()
+                      .stream()
+                      .filter(filter)
+                      .map(entry -> entry.work)
+                      .filter(Objects::nonNull)
+                      .collect(Collectors.toList());
+    }
+
+    protected List<String> keys(Predicate<WorkEntry> filter) {
+        return entries.entrySet()
+                      .stream()
+                      .filter(e -> e.getValue().work != null && filter.test(e.getValue()))
+                      .map(Map.Entry::getKey)
+                      .collect(Collectors.toList());
+    }
+
+}
@@ -47,6 +47,8 @@ public class SleepWork extends AbstractWork {
 
     protected boolean coalescing = false;
 
+    protected String coalescingKey;
+
     /**
      * Creates a work instance that does nothing but sleep.
      *
@@ -180,6 +182,18 @@ public class SleepWork extends AbstractWork {
         this.coalescing = coalescing;
     }
 
+    @Override
+    public String getCoalescingKey() {
+        return coalescingKey;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public void setCoalescingKey(String coalescingKey) {
+        this.coalescingKey = coalescingKey;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "(" + (getId().length() > 10 ? "" : getId() + ", ") + durationMillis
@@ -26,11 +26,15 @@ import static org.nuxeo.ecm.core.work.BaseOverflowRecordFilter.THRESHOLD_SIZE_OP
 import static org.nuxeo.ecm.core.work.api.WorkManager.Scheduling.CANCEL_SCHEDULED;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.naming.NamingException;
 import javax.transaction.RollbackException;
@@ -138,6 +142,14 @@ public class StreamWorkManager extends WorkManagerImpl {
      */
     public static final String COMPUTATION_FILTER_PREFIX_KEY = "nuxeo.stream.work.computation.filter.storeKeyPrefix";
 
+    /**
+     * Separates the queue id and the priority in the name of a lane stream, a queue id containing it cannot have
+     * lanes.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String LANE_SEPARATOR = "__lane__";
+
     protected Topology topology;
 
     protected Topology topologyDisabled;
@@ -154,6 +166,9 @@ public class StreamWorkManager extends WorkManagerImpl {
 
     protected long stateTTL;
 
+    // @since 10.10-HF74, queueId -> priority -> lane stream
+    protected final Map<String, Map<String, String>> laneStreams = new HashMap<>();
+
     protected int getOverProvisioningFactor() {
         // Enable over provisioning only if the log can be distributed
         if (getLogManager().supportSubscribe()) {
@@ -196,19 +211,31 @@ public class StreamWorkManager extends WorkManagerImpl {
         if (afterCommit && scheduleAfterCommit(work, scheduling)) {
             return;
         }
-        WorkSchedulePath.newInstance(work);
         // We don't need to set a codec because appender is initialized with proper codec during processor init
-        LogAppender<Record> appender = logManager.getAppender(queueId);
+        String stream = getLaneStream(queueId, work.getPriority());
+        LogAppender<Record> appender = logManager.getAppender(stream);
         if (appender == null) {
             log.error(String.format("Not scheduled work, unknown category: %s, mapped to %s", work.getCategory(),
-                    queueId));
+                    stream));
             return;
         }
-        if (storeState) {
-            WorkStateHelper.setState(work.getId(), Work.State.SCHEDULED, stateTTL);
+        // acquire the coalescing key only when the work can be appended
+        if (coalesce(queueId, work)) {
+            return;
+        }
+        WorkSchedulePath.newInstance(work);
+        LogOffset offset;
+        try {
+            if (storeState) {
+                WorkStateHelper.setState(work.getId(), Work.State.SCHEDULED, stateTTL);
+            }
+            String key = work.getPartitionKey();
+            offset = streamManager.append(stream, Record.of(key, WorkComputation.serialize(work)));
+        } catch (RuntimeException e) {
+            // the work is not scheduled, don't coalesce the next ones into it
+            releaseCoalescing(work);
+            throw e;
         }
-        String key = work.getPartitionKey();
-        LogOffset offset = streamManager.append(queueId, Record.of(key, WorkComputation.serialize(work)));
         if (work.isCoalescing()) {
             WorkStateHelper.setLastOffset(work.getId(), offset.offset(), stateTTL);
         }
@@ -235,6 +262,26 @@ public class StreamWorkManager extends WorkManagerImpl {
         stateTTL = Long.parseLong(configuration.getProperty(STATETTL_KEY, STATETTL_DEFAULT_VALUE));
     }
 
+    /**
+     * The pending coalescing keys are shared by the cluster using the KeyValueStore, the window is the key TTL.
+     *
+     * @since 10.10-HF74
+     */
+    @Override
+    protected boolean acquireCoalescing(String key, Duration window) {
+        return WorkStateHelper.acquireCoalescing(key, Math.max(1, window.getSeconds()));
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    @Override
+    protected void releaseCoalescing(Work work) {
+        if (work.getCoalescingKey() != null) {
+            WorkStateHelper.releaseCoalescing(work.getCoalescingKey());
+        }
+    }
+
     protected RecordFilterChain getRecordFilter() {
         String filterClass = getRecordFilterClass();
         if (filterClass == null) {
@@ -348,19 +395,70 @@ public class StreamWorkManager extends WorkManagerImpl {
         return wqd != null && wqd.isProcessingEnabled();
     }
 
+    /**
+     * Returns the stream of the lane used for the priority, the default lane stream is the queue id.
+     *
+     * @since 10.10-HF74
+     */
+    protected String getLaneStream(String queueId, String priority) {
+        if (priority == null) {
+            return queueId;
+        }
+        return laneStreams.getOrDefault(queueId, Collections.emptyMap()).getOrDefault(priority, queueId);
+    }
+
+    /**
+     * Returns the input streams of the queue computation, the default lane first.
+     *
+     * @since 10.10-HF74
+     */
+    protected List<String> getInputStreams(WorkQueueDescriptor descriptor) {
+        List<String> ret = new ArrayList<>();
+        ret.add("i1:" + descriptor.getId());
+        int i = 2;
+        for (String stream : laneStreams.getOrDefault(descriptor.getId(), Collections.emptyMap()).values()) {
+            ret.add("i" + i++ + ":" + stream);
+        }
+        return ret;
+    }
+
+    protected void initLanes(List<WorkQueueDescriptor> descriptors) {
+        laneStreams.clear();
+        Set<String> queueIds = descriptors.stream().map(WorkQueueDescriptor::getId).collect(Collectors.toSet());
+        descriptors.stream().filter(WorkQueueDescriptor::hasLanes).forEach(d -> {
+            if (d.getId().contains(LANE_SEPARATOR)) {
+                log.error(String.format("Ignoring lanes of queue: %s, its id must not contain: %s", d.getId(),
+                        LANE_SEPARATOR));
+                return;
+            }
+            Map<String, String> lanes = new LinkedHashMap<>();
+            d.lanes.keySet().forEach(priority -> {
+                String stream = d.getId() + LANE_SEPARATOR + priority;
+                if (queueIds.contains(stream)) {
+                    log.error(String.format("Ignoring lane: %s of queue: %s, the stream is a queue", priority,
+                            d.getId()));
+                    return;
+                }
+                lanes.put(priority, stream);
+            });
+            laneStreams.put(d.getId(), lanes);
+        });
+    }
+
     protected void initTopology() {
         List<WorkQueueDescriptor> descriptors = getDescriptors(QUEUES_EP);
+        initLanes(descriptors);
         // create the single topology with one root per work pool
         Topology.Builder builder = Topology.builder();
         descriptors.stream().filter(WorkQueueDescriptor::isProcessingEnabled).forEach(d -> builder.addComputation(
-                () -> new WorkComputation(d.getId()), Collections.singletonList("i1:" + d.getId())));
+                () -> new WorkComputation(d.getId()), getInputStreams(d)));
         topology = builder.build();
         // create a topology for the disabled work pools in order to init their input streams
         Topology.Builder builderDisabled = Topology.builder();
         descriptors.stream()
                    .filter(d -> !d.isProcessingEnabled())
                    .forEach(d -> builderDisabled.addComputation(() -> new WorkComputation(d.getId()),
-                           Collections.singletonList("i1:" + d.getId())));
+                           getInputStreams(d)));
         topologyDisabled = builderDisabled.build();
         // The retry policy is handled at AbstractWork level, but we want to skip failure
         ComputationPolicy policy = new ComputationPolicyBuilder().continueOnFailure(true).build();
@@ -368,6 +466,16 @@ public class StreamWorkManager extends WorkManagerImpl {
         settings = new Settings(DEFAULT_CONCURRENCY, getPartitions(DEFAULT_CONCURRENCY), getCodec(), policy, filter);
         descriptors.forEach(item -> settings.setConcurrency(item.getId(), item.getMaxThreads()));
         descriptors.forEach(item -> settings.setPartitions(item.getId(), getPartitions(item.getMaxThreads())));
+        descriptors.forEach(item -> settings.setVirtualThreads(item.getId(), item.isVirtualThreads()));
+        // lanes have the same partitioning as the queue and are served according to their weights
+        descriptors.stream().filter(item -> laneStreams.containsKey(item.getId())).forEach(item -> {
+            settings.setWeight(item.getId(), item.getDefaultLaneWeight());
+            laneStreams.get(item.getId()).forEach((priority, stream) -> {
+                Integer weight = item.lanes.get(priority);
+                settings.setPartitions(stream, getPartitions(item.getMaxThreads()));
+                settings.setWeight(stream, weight == null ? WorkQueueDescriptor.DEFAULT_LANE_WEIGHT : weight);
+            });
+        });
     }
 
     protected int getPartitions(int maxThreads) {
@@ -436,6 +544,14 @@ public class StreamWorkManager extends WorkManagerImpl {
         queueMetrics.putGauge(() -> getMetricsWithNuxeoClassLoader(queueId).running, "running");
         queueMetrics.putGauge(() -> getMetricsWithNuxeoClassLoader(queueId).completed, "completed");
         queueMetrics.putGauge(() -> getMetricsWithNuxeoClassLoader(queueId).canceled, "canceled");
+        Map<String, String> lanes = laneStreams.getOrDefault(queueId, Collections.emptyMap());
+        if (!lanes.isEmpty()) {
+            queueMetrics.putGauge(() -> getLaneLag(queueId, queueId).lag(), "lane", "default", "scheduled");
+        }
+        for (Map.Entry<String, String> lane : lanes.entrySet()) {
+            queueMetrics.putGauge(() -> getLaneLag(queueId, lane.getValue()).lag(), "lane", lane.getKey(),
+                    "scheduled");
+        }
         registry.registerAll(queueMetrics);
     }
 
@@ -491,9 +607,30 @@ public class StreamWorkManager extends WorkManagerImpl {
         }
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    protected LogLag getLaneLag(String queueId, String stream) {
+        // JMX threads have distinct class loader that need to be changed to get metrics
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(Framework.class.getClassLoader());
+            return logManager.getLag(stream, queueId);
+        } finally {
+            Thread.currentThread().setContextClassLoader(classLoader);
+        }
+    }
+
     @Override
     public WorkQueueMetrics getMetrics(String queueId) {
         LogLag lag = logManager.getLag(queueId, queueId);
+        Map<String, String> lanes = laneStreams.getOrDefault(queueId, Collections.emptyMap());
+        if (!lanes.isEmpty()) {
+            List<LogLag> lags = new ArrayList<>();
+            lags.add(lag);
+            lanes.values().forEach(stream -> lags.add(logManager.getLag(stream, queueId)));
+            lag = LogLag.of(lags);
+        }
         long running = 0;
         if (lag.lag() > 0) {
             // we don't have the exact running metric
@@ -83,6 +83,10 @@ public class WorkComputation extends AbstractComputation {
     @Override
     public void processRecord(ComputationContext context, String inputStreamName, Record record) {
         work = deserialize(record.getData());
+        if (work.getCoalescingKey() != null) {
+            // the work is started, a new work with the same key must be scheduled
+            WorkStateHelper.releaseCoalescing(work.getCoalescingKey());
+        }
         try {
             if (work.isCoalescing() && WorkStateHelper.getLastOffset(work.getId()) > context.getLastOffset().offset()) {
                 log.debug("Skipping duplicate of coalescing work id: " + work.getId() + " " + work);
@@ -21,12 +21,14 @@ package org.nuxeo.ecm.core.work;
 
 import static org.nuxeo.ecm.core.work.api.WorkQueueDescriptor.ALL_QUEUES;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
@@ -49,6 +51,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.nuxeo.common.concurrent.ThreadFactories;
 import org.nuxeo.common.logging.SequenceTracer;
 import org.nuxeo.common.utils.ExceptionUtils;
 import org.nuxeo.ecm.core.api.NuxeoException;
@@ -139,6 +142,9 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
 
     protected final Map<String, String> categoryToQueueId = new HashMap<>();
 
+    // @since 10.10-HF74, coalescing key -> scheduling time of the pending work
+    protected final Map<String, Long> coalescingKeys = new ConcurrentHashMap<>();
+
     protected WorkQueuing queuing;
 
     protected boolean active = true;
@@ -222,7 +228,11 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
             throw new IllegalStateException("work queue " + config.id + " already have an executor");
         }
         NuxeoBlockingQueue queue = queuing.init(config);
-        ThreadFactory threadFactory = new NamedThreadFactory(THREAD_PREFIX + config.id + "-");
+        if (config.isVirtualThreads() && !ThreadFactories.isVirtualThreadSupported()) {
+            log.warn("Virtual threads not supported by the JVM, using platform threads for work queue {}", config.id);
+        }
+        ThreadFactory threadFactory = new NamedThreadFactory(THREAD_PREFIX + config.id + "-",
+                config.isVirtualThreads());
         int maxPoolSize = config.getMaxThreads();
         WorkThreadPoolExecutor executor = new WorkThreadPoolExecutor(maxPoolSize, maxPoolSize, 0, TimeUnit.SECONDS,
                 queue, threadFactory);
@@ -574,7 +584,7 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
     }
 
     /**
-     * Creates non-daemon threads at normal priority.
+     * Creates non-daemon threads at normal priority, or virtual threads.
      */
     private static class NamedThreadFactory implements ThreadFactory {
 
@@ -584,15 +594,23 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
 
         private final String prefix;
 
-        public NamedThreadFactory(String prefix) {
+        private final boolean virtual;
+
+        public NamedThreadFactory(String prefix, boolean virtual) {
             SecurityManager sm = System.getSecurityManager();
             group = sm == null ? Thread.currentThread().getThreadGroup() : sm.getThreadGroup();
             this.prefix = prefix;
+            this.virtual = virtual;
         }
 
         @Override
         public Thread newThread(Runnable r) {
             String name = prefix + threadNumber.incrementAndGet();
+            if (virtual) {
+                Thread thread = ThreadFactories.newVirtualThread(r, name);
+                thread.setUncaughtExceptionHandler(this::handleUncaughtException);
+                return thread;
+            }
             Thread thread = new Thread(group, r, name);
             // do not set daemon
             thread.setPriority(Thread.NORM_PRIORITY);
@@ -702,6 +720,7 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
                 queuing.workReschedule(queueId, work);
                 throw new RejectedExecutionException(queueId + " was shutdown, rescheduled " + work);
             }
+            releaseCoalescing(work);
             work.setWorkInstanceState(State.RUNNING);
             queuing.workRunning(queueId, work);
             running.add(work);
@@ -803,6 +822,7 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
         case CANCEL_SCHEDULED:
             getExecutor(queueId).removeScheduled(workId);
             WorkStateHelper.setCanceled(work.getId());
+            releaseCoalescing(work);
             break;
         case IF_NOT_SCHEDULED:
         case IF_NOT_RUNNING_OR_SCHEDULED:
@@ -817,6 +837,9 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
             break;
 
         }
+        if (!Scheduling.CANCEL_SCHEDULED.equals(scheduling) && coalesce(queueId, work)) {
+            return;
+        }
         if (work.isGroupJoin()) {
             log.debug("Submit Work: {} to GroupJoin: {}", work::getId, work::getPartitionKey);
             WorkStateHelper.addGroupJoinWork(work.getPartitionKey());
@@ -824,6 +847,75 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
         queuing.workSchedule(queueId, work);
     }
 
+    /**
+     * Returns {@code true} if the work is collapsed into a pending work with the same coalescing key, in which case the
+     * work must not be scheduled.
+     *
+     * @since 10.10-HF74
+     */
+    protected boolean coalesce(String queueId, Work work) {
+        String key = work.getCoalescingKey();
+        if (key == null) {
+            return false;
+        }
+        Duration window = getCoalescingWindow(queueId);
+        if (window.isZero() || window.isNegative()) {
+            return false;
+        }
+        if (!acquireCoalescing(key, window)) {
+            log.debug("Coalescing work: {} into pending work with key: {}", work::getId, () -> key);
+            getCoalescedCounter(queueId).inc();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks the coalescing key as pending, returns {@code false} if it was already pending within the window.
+     *
+     * @since 10.10-HF74
+     */
+    protected boolean acquireCoalescing(String key, Duration window) {
+        long now = System.currentTimeMillis();
+        long windowMs = window.toMillis();
+        boolean[] acquired = { false };
+        coalescingKeys.compute(key, (k, previous) -> {
+            if (previous != null && now - previous < windowMs) {
+                return previous;
+            }
+            acquired[0] = true;
+            return now;
+        });
+        return acquired[0];
+    }
+
+    /**
+     * Called when a work starts, the next work with the same coalescing key must be scheduled.
+     *
+     * @since 10.10-HF74
+     */
+    protected void releaseCoalescing(Work work) {
+        String key = work.getCoalescingKey();
+        if (key != null) {
+            coalescingKeys.remove(key);
+        }
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    protected Duration getCoalescingWindow(String queueId) {
+        WorkQueueDescriptor descriptor = getWorkQueueDescriptor(queueId);
+        return descriptor == null ? WorkQueueDescriptor.DEFAULT_COALESCING_WINDOW : descriptor.getCoalescingWindow();
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    protected Counter getCoalescedCounter(String queueId) {
+        return registry.counter(MetricRegistry.name("nuxeo", "works", queueId, "coalesced"));
+    }
+
     /**
      * Schedule after commit. Returns {@code false} if impossible (no transaction or transaction manager).
      *
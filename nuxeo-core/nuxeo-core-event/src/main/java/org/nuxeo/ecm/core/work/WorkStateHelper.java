@@ -38,6 +38,9 @@ public class WorkStateHelper {
 
     protected static final String GROUP_JOIN_COUNT_SUFFIX = ":group";
 
+    // @since 10.10-HF74
+    protected static final String COALESCING_SUFFIX = ":coalescing";
+
     protected static final long GROUP_JOIN_COUNT_TTL_SECONDS = 600;
 
     protected static final String CANCELED = "canceled";
@@ -107,6 +110,21 @@ public class WorkStateHelper {
         return false;
     }
 
+    /**
+     * Marks the coalescing key as pending for the ttl, returns {@code false} if it is already pending.
+     *
+     * @since 10.10-HF74
+     */
+    protected static boolean acquireCoalescing(String key, long ttl) {
+        return getKeyValueStore().compareAndSet(key + COALESCING_SUFFIX, null, String.valueOf(System.currentTimeMillis()),
+                ttl);
+    }
+
+    // @since 10.10-HF74
+    protected static void releaseCoalescing(String key) {
+        getKeyValueStore().put(key + COALESCING_SUFFIX, (String) null);
+    }
+
     private WorkStateHelper() {
         // hide constructor
     }
@@ -406,6 +406,29 @@ public interface Work extends Serializable {
         return false;
     }
 
+    /**
+     * Returns the key used to collapse pending works. When a work with the same coalescing key is already scheduled and
+     * not yet started, the WorkManager does not schedule this one. This is different from {@link #isCoalescing()}
+     * which skips older works with the same id when they are processed. The default is {@code null}, works are not
+     * collapsed.
+     *
+     * @since 10.10-HF74
+     */
+    default String getCoalescingKey() {
+        return null;
+    }
+
+    /**
+     * Returns the priority of the work. When the queue of the work defines a lane for this priority, the work is
+     * processed from this lane, otherwise it goes to the default lane of the queue. A coalescing work must always be
+     * scheduled with the same priority.
+     *
+     * @since 10.10-HF74
+     */
+    default String getPriority() {
+        return null;
+    }
+
     /**
      * When true the Work is part of a group, Works of the group have the same {@link #getPartitionKey()}. When all
      * Works of the group are done the {@link #onGroupJoinCompletion()} hook is called.
@@ -18,12 +18,16 @@
  */
 package org.nuxeo.ecm.core.work.api;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.nuxeo.common.xmap.annotation.XNode;
 import org.nuxeo.common.xmap.annotation.XNodeList;
+import org.nuxeo.common.xmap.annotation.XNodeMap;
 import org.nuxeo.common.xmap.annotation.XObject;
 import org.nuxeo.runtime.model.Descriptor;
 
@@ -43,6 +47,16 @@ public class WorkQueueDescriptor implements Descriptor {
 
     public static final int DEFAULT_CAPACITY = -1;
 
+    /**
+     * @since 10.10-HF74
+     */
+    public static final int DEFAULT_LANE_WEIGHT = 1;
+
+    /**
+     * @since 10.10-HF74
+     */
+    public static final Duration DEFAULT_COALESCING_WINDOW = Duration.ofMinutes(5);
+
     @XNode("@id")
     public String id;
 
@@ -97,6 +111,69 @@ public class WorkQueueDescriptor implements Descriptor {
         return capacity == null ? DEFAULT_CAPACITY : capacity.intValue();
     }
 
+    /**
+     * When {@code true} works are run on virtual threads, so the maxThreads can be raised for works that mostly block
+     * on I/O. Platform threads are used if the JVM does not support virtual threads.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("virtualThreads")
+    public Boolean virtualThreads;
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isVirtualThreads() {
+        return Boolean.TRUE.equals(virtualThreads);
+    }
+
+    /**
+     * Maximum duration during which a pending work collapses the works scheduled with the same coalescing key, after
+     * this delay a new work is scheduled even if the previous one has not started. A zero duration disables the
+     * coalescing.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("coalescingWindow")
+    public Duration coalescingWindow;
+
+    /**
+     * @since 10.10-HF74
+     */
+    public Duration getCoalescingWindow() {
+        return coalescingWindow == null ? DEFAULT_COALESCING_WINDOW : coalescingWindow;
+    }
+
+    /**
+     * Priority lanes of the queue with their weights, works with a priority matching a lane are processed from a
+     * dedicated stream and lanes are served using a weighted fair scheduling. Works without priority or with an unknown
+     * priority go to the default lane.
+     *
+     * @since 10.10-HF74
+     */
+    @XNodeMap(value = "lanes/lane", key = "@priority", type = LinkedHashMap.class, componentType = Integer.class)
+    public Map<String, Integer> lanes = Collections.emptyMap();
+
+    /**
+     * @since 10.10-HF74
+     */
+    @XNode("lanes@defaultWeight")
+    public Integer defaultLaneWeight;
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean hasLanes() {
+        return !lanes.isEmpty();
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public int getDefaultLaneWeight() {
+        return defaultLaneWeight == null ? DEFAULT_LANE_WEIGHT : defaultLaneWeight.intValue();
+    }
+
     @Override
     public Descriptor merge(Descriptor o) {
         WorkQueueDescriptor other = (WorkQueueDescriptor) o;
@@ -107,6 +184,11 @@ public class WorkQueueDescriptor implements Descriptor {
         merged.capacity = other.capacity != null ? other.capacity : capacity;
         merged.processing = other.processing != null ? other.processing : processing;
         merged.maxThreads = other.maxThreads != null ? other.maxThreads : maxThreads;
+        merged.virtualThreads = other.virtualThreads != null ? other.virtualThreads : virtualThreads;
+        merged.coalescingWindow = other.coalescingWindow != null ? other.coalescingWindow : coalescingWindow;
+        merged.defaultLaneWeight = other.defaultLaneWeight != null ? other.defaultLaneWeight : defaultLaneWeight;
+        merged.lanes = new LinkedHashMap<>(lanes);
+        merged.lanes.putAll(other.lanes);
         merged.categories = new HashSet<>(categories);
         merged.categories.addAll(other.categories);
         return merged;
@@ -127,6 +209,15 @@ public class WorkQueueDescriptor implements Descriptor {
         buf.append(getMaxThreads());
         buf.append(" capacity=");
         buf.append(getCapacity());
+        if (isVirtualThreads()) {
+            buf.append(" virtualThreads=true");
+        }
+        if (hasLanes()) {
+            buf.append(" defaultLaneWeight=");
+            buf.append(getDefaultLaneWeight());
+            buf.append(" lanes=");
+            buf.append(lanes);
+        }
         buf.append(")");
         return buf.toString();
     }
@@ -342,6 +342,22 @@ public abstract class AbstractWorkManagerTest {
         tracker.assertDiff(0, 0, 4, 1);
     }
 
+    @Test
+    @Deploy("org.nuxeo.ecm.core.event.test:test-workmanager-virtual-threads.xml")
+    public void testWorkManagerVirtualThreads() throws Exception {
+        WorkQueueDescriptor qd = service.getWorkQueueDescriptor(QUEUE);
+        assertTrue(qd.isVirtualThreads());
+        assertEquals(2, qd.getMaxThreads());
+
+        // runs on platform threads when the JVM does not support virtual threads
+        int duration = getDurationMillis();
+        for (int i = 0; i < 4; i++) {
+            service.schedule(new SleepWork(duration));
+        }
+        assertTrue(service.awaitCompletion(duration * 10, TimeUnit.MILLISECONDS));
+        tracker.assertDiff(0, 0, 4, 0);
+    }
+
     @Test
     @Deploy("org.nuxeo.ecm.core.event:test-work-failure-listeners.xml")
     public void itCanFireWorkFailureEvent() throws Exception {
@@ -707,6 +723,36 @@ public abstract class AbstractWorkManagerTest {
         assertEquals(Long.valueOf(1), kv.getLong(group2));
     }
 
+    @Test
+    public void testCoalescingKey() throws Exception {
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        Counter coalescedCounter = registry.counter(MetricRegistry.name("nuxeo", "works", QUEUE, "coalesced"));
+        long initialCoalesced = coalescedCounter.getCount();
+
+        // keep the queue busy so the coalescing works stay pending
+        int duration = getDurationMillis() * 3;
+        service.schedule(new SleepWork(duration));
+        service.schedule(new SleepWork(duration));
+        final int NB_WORK = 5;
+        for (int i = 0; i < NB_WORK; i++) {
+            SleepWork work = new SleepWork(1);
+            work.setCoalescingKey("doc1");
+            service.schedule(work);
+        }
+        assertTrue(service.awaitCompletion(10, TimeUnit.SECONDS));
+        // only the first coalescing work is executed
+        tracker.assertDiff(0, 0, 3, 0);
+        assertEquals(NB_WORK - 1, coalescedCounter.getCount() - initialCoalesced);
+
+        // once the pending work has started, a new work with the same key is scheduled
+        SleepWork work = new SleepWork(1);
+        work.setCoalescingKey("doc1");
+        service.schedule(work);
+        assertTrue(service.awaitCompletion(10, TimeUnit.SECONDS));
+        tracker.assertDiff(0, 0, 4, 0);
+        assertEquals(NB_WORK - 1, coalescedCounter.getCount() - initialCoalesced);
+    }
+
     @Test
     public void testWorkFailOnInterruptedIO() throws InterruptedException {
         SleepAndThrowWork work = new SleepAndThrowWork(100,
@@ -203,6 +203,30 @@ public class StreamWorkManagerTest extends AbstractWorkManagerTest {
         log.debug("StreamWorkManagerTest.onlyFirstAndLastCoalescingWorksShouldBeExecuted() ending");
     }
 
+    @Test
+    @Deploy("org.nuxeo.ecm.core.event:test-stream-workmanager-lanes.xml")
+    public void testPriorityLanes() throws InterruptedException {
+        String queueId = "PrioritizedSleepWork";
+        StreamWorkManager manager = (StreamWorkManager) service;
+        String laneStream = queueId + StreamWorkManager.LANE_SEPARATOR + "high";
+        assertEquals(laneStream, manager.getLaneStream(queueId, "high"));
+        // unknown priority goes to the default lane
+        assertEquals(queueId, manager.getLaneStream(queueId, "unknown"));
+        assertTrue(manager.logManager.exists(laneStream));
+
+        for (int i = 0; i < 5; i++) {
+            service.schedule(new SleepWork(10, queueId, "default-" + i));
+            SleepWork work = new SleepWork(10, queueId, "high-" + i);
+            work.setPriority("high");
+            service.schedule(work);
+        }
+        assertTrue(service.awaitCompletion(queueId, getDurationMillis() * 10, TimeUnit.MILLISECONDS));
+        WorkQueueMetrics metrics = service.getMetrics(queueId);
+        assertEquals(10, metrics.completed.longValue());
+        assertEquals(0, metrics.scheduled.longValue());
+        assertEquals(0, manager.logManager.getLag(laneStream, queueId).lag());
+    }
+
     private SleepWork createCoalescing(long duration) {
         SleepWork work = new SleepWork(duration, "coalescing");
         work.setIdempotent(false);
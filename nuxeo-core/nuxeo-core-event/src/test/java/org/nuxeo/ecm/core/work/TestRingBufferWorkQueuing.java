@@ -0,0 +1,201 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.work;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nuxeo.ecm.core.work.WorkQueuing.Listener;
+import org.nuxeo.ecm.core.work.api.Work;
+import org.nuxeo.ecm.core.work.api.Work.State;
+import org.nuxeo.ecm.core.work.api.WorkQueueDescriptor;
+import org.nuxeo.ecm.core.work.api.WorkQueueMetrics;
+
+/**
+ * @since 10.10-HF74
+ */
+public class TestRingBufferWorkQueuing {
+
+    protected static final String QUEUE_ID = "test";
+
+    protected RingBufferWorkQueuing queuing;
+
+    protected RingBufferBlockingQueue queue;
+
+    @Before
+    public void setUp() {
+        queuing = new RingBufferWorkQueuing(Listener.lookupListener());
+        WorkQueueDescriptor descriptor = new WorkQueueDescriptor();
+        descriptor.id = QUEUE_ID;
+        descriptor.capacity = -1;
+        queue = queuing.init(descriptor);
+        queuing.setActive(QUEUE_ID, true);
+    }
+
+    protected Work poll() throws InterruptedException {
+        Runnable r = queue.poll(1, TimeUnit.SECONDS);
+        return r == null ? null : WorkHolder.getWork(r);
+    }
+
+    protected void assertMetrics(long scheduled, long running, long completed, long canceled) {
+        WorkQueueMetrics metrics = queuing.metrics(QUEUE_ID);
+        assertEquals(scheduled, metrics.scheduled.longValue());
+        assertEquals(running, metrics.running.longValue());
+        assertEquals(completed, metrics.completed.longValue());
+        assertEquals(canceled, metrics.canceled.longValue());
+    }
+
+    @Test
+    public void testScheduleRunComplete() throws Exception {
+        Work work = new SleepWork(0, "foo");
+        queuing.workSchedule(QUEUE_ID, work);
+        assertMetrics(1, 0, 0, 0);
+        assertEquals(1, queue.getQueueSize());
+        assertSame(work, queuing.lookup("foo").get());
+
+        Work polled = poll();
+        assertSame(work, polled);
+        queuing.workRunning(QUEUE_ID, polled);
+        assertMetrics(0, 1, 0, 0);
+        assertEquals(1, queuing.listWorkIds(QUEUE_ID, State.RUNNING).size());
+
+        queuing.workCompleted(QUEUE_ID, polled);
+        assertMetrics(0, 0, 1, 0);
+        assertNull(queuing.lookup("foo").orElse(null));
+        assertNull(poll());
+    }
+
+    @Test
+    public void testScheduleDuplicate() throws Exception {
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "foo"));
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "foo"));
+        assertMetrics(1, 0, 0, 0);
+        assertEquals(1, queue.getQueueSize());
+        assertEquals(1, queuing.listWork(QUEUE_ID, State.SCHEDULED).size());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "foo"));
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "bar"));
+        queuing.removeScheduled(QUEUE_ID, "foo");
+        assertMetrics(1, 0, 0, 1);
+        assertFalse(queuing.lookup("foo").isPresent());
+
+        // the canceled work is skipped
+        assertEquals("bar", poll().getId());
+
+        // and the id can be scheduled again
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "foo"));
+        assertMetrics(2, 0, 0, 1);
+        assertEquals("foo", poll().getId());
+        assertNull(poll());
+    }
+
+    @Test
+    public void testCancelThenScheduleAgain() throws Exception {
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "foo"));
+        queuing.removeScheduled(QUEUE_ID, "foo");
+        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "foo"));
+        // the first holder is skipped, the second one is run once
+        assertEquals("foo", poll().getId());
+        assertNull(poll());
+        assertMetrics(1, 0, 0, 1);
+    }
+
+    @Test
+    public void testBoundedQueue() throws Exception {
+        WorkQueueDescriptor descriptor = new WorkQueueDescriptor();
+        descriptor.id = "bounded";
+        descriptor.capacity = 3;
+        RingBufferBlockingQueue bounded = queuing.init(descriptor);
+        queuing.setActive("bounded", true);
+        for (int i = 0; i < 3; i++) {
+            queuing.workSchedule("bounded", new SleepWork(0, "work-" + i));
+        }
+        assertEquals(3, bounded.getQueueSize());
+        assertEquals("work-0", WorkHolder.getWork(bounded.poll(1, TimeUnit.SECONDS)).getId());
+    }
+
+    @Test
+    public void testSpillOver() throws Exception {
+        int count = RingBufferBlockingQueue.UNBOUNDED_RING_SIZE + 10;
+        for (int i = 0; i < count; i++) {
+            queuing.workSchedule(QUEUE_ID, new SleepWork(0, "work-" + i));
+        }
+        assertEquals(count, queue.getQueueSize());
+        for (int i = 0; i < count; i++) {
+            assertEquals("work-" + i, poll().getId());
+        }
+        assertNull(poll());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        int threads = 4;
+        int worksPerThread = 10_000;
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2 * threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < worksPerThread; i++) {
+                        queuing.workSchedule(QUEUE_ID, new SleepWork(0, "work-" + thread + "-" + i));
+                    }
+                    return null;
+                }));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Work work;
+                    while ((work = poll()) != null) {
+                        queuing.workRunning(QUEUE_ID, work);
+                        assertTrue(done.add(work.getId()));
+                        queuing.workCompleted(QUEUE_ID, work);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * worksPerThread, done.size());
+        assertMetrics(0, 0, threads * worksPerThread, 0);
+    }
+
+}
@@ -60,6 +60,9 @@ public class WorkManagerFeature implements RunnerFeature {
 
     public static final String WORK_MANAGER_STREAM = "stream";
 
+    /** @since 10.10-HF74 */
+    public static final String WORK_MANAGER_RINGBUFFER = "ringbuffer";
+
     // stream work manager properties part
 
     public static final String STREAM_WORK_MANAGER_STORESTATE_ENABLED_PROPERTY = "nuxeo.test.workmanager.stream.storestate.enabled";
@@ -98,6 +101,9 @@ public class WorkManagerFeature implements RunnerFeature {
             case WORK_MANAGER_STREAM:
                 initStreamImplementation(harness);
                 break;
+            case WORK_MANAGER_RINGBUFFER:
+                initRingBufferImplementation(harness);
+                break;
             default:
                 throw new UnsupportedOperationException(workManagerType + " work manager type is not supported");
             }
@@ -117,6 +123,13 @@ public class WorkManagerFeature implements RunnerFeature {
         harness.deployContrib(BUNDLE_TEST_NAME, "OSGI-INF/test-stream-workmanager-config.xml");
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    protected void initRingBufferImplementation(RuntimeHarness harness) throws Exception {
+        harness.deployContrib(BUNDLE_TEST_NAME, "OSGI-INF/test-ringbuffer-workmanager-config.xml");
+    }
+
     public boolean isDefault() {
         return WORK_MANAGER_DEFAULT.equals(workManagerType);
     }
@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.work;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.nuxeo.ecm.core.work.WorkQueuing.Listener;
+import org.nuxeo.ecm.core.work.api.Work;
+import org.nuxeo.ecm.core.work.api.WorkQueueDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the in-memory {@link WorkQueuing} implementations with concurrent producers scheduling works and consumers
+ * running them.
+ * <p>
+ * Not run during the build, run it with:
+ *
+ * <pre>
+ * mvn -pl nuxeo-core/nuxeo-core-event test-compile exec:exec -Pbench
+ * </pre>
+ *
+ * @since 10.10-HF74
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class WorkQueuingBenchmark {
+
+    protected static final String QUEUE_ID = "bench";
+
+    @Param({ "memory", "ringbuffer" })
+    public String queuing;
+
+    protected WorkQueuing workQueuing;
+
+    protected NuxeoBlockingQueue queue;
+
+    protected final AtomicLong counter = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        Listener listener = Listener.lookupListener();
+        if ("memory".equals(queuing)) {
+            workQueuing = new MemoryWorkQueuing(listener);
+        } else {
+            workQueuing = new RingBufferWorkQueuing(listener);
+        }
+        WorkQueueDescriptor descriptor = new WorkQueueDescriptor();
+        descriptor.id = QUEUE_ID;
+        // unbounded, a bounded queue would leave producers blocked when consumers stop at the end of an iteration
+        descriptor.capacity = -1;
+        queue = workQueuing.init(descriptor);
+        workQueuing.setActive(QUEUE_ID, true);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        Runnable r;
+        while ((r = queue.poll()) != null) {
+            complete(r);
+        }
+    }
+
+    @Benchmark
+    @Group("scheduleAndRun")
+    @GroupThreads(4)
+    public void schedule() {
+        workQueuing.workSchedule(QUEUE_ID, new SleepWork(0, "work-" + counter.incrementAndGet()));
+    }
+
+    @Benchmark
+    @Group("scheduleAndRun")
+    @GroupThreads(4)
+    public Runnable run() throws InterruptedException {
+        Runnable r = queue.poll(1, TimeUnit.MILLISECONDS);
+        if (r != null) {
+            complete(r);
+        }
+        return r;
+    }
+
+    protected void complete(Runnable r) {
+        Work work = WorkHolder.getWork(r);
+        workQueuing.workRunning(QUEUE_ID, work);
+        workQueuing.workCompleted(QUEUE_ID, work);
+    }
+
+}
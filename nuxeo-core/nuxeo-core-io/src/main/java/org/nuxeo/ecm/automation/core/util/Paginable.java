@@ -129,4 +129,11 @@ public interface Paginable<T> extends List<T> {
      */
     long getResultsCountLimit();
 
+    /**
+     * Returns an opaque token designating the next page, or {@code null} if there is none.
+     *
+     * @since 10.10-HF74
+     */
+    String getNextPageToken();
+
 }
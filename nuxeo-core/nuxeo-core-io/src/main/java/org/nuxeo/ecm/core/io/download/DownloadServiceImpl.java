@@ -28,6 +28,10 @@ import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -120,6 +124,25 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
     /** @since 11.1 */
     public static final String DOWNLOAD_URL_FOLLOW_REDIRECT = "org.nuxeo.download.url.follow.redirect";
 
+    /**
+     * Property enabling the use of Tomcat's sendfile for blobs stored in local files, when the connector supports it.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String DOWNLOAD_SENDFILE_ENABLED = "org.nuxeo.download.sendfile.enabled";
+
+    /** @since 10.10-HF74 */
+    protected static final String TOMCAT_SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    /** @since 10.10-HF74 */
+    protected static final String TOMCAT_SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    /** @since 10.10-HF74 */
+    protected static final String TOMCAT_SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    /** @since 10.10-HF74 */
+    protected static final String TOMCAT_SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private static final String RUN_FUNCTION = "run";
 
     private static final Pattern FILENAME_SANITIZATION_REGEX = Pattern.compile(";\\w+=.*");
@@ -569,7 +592,7 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
         Consumer<ByteRange> blobTransferer = context.getBlobTransferer();
         if (blobTransferer == null) {
             Blob fblob = blob;
-            blobTransferer = byteRange -> transferBlobWithByteRange(fblob, byteRange, response);
+            blobTransferer = byteRange -> transferBlobWithByteRange(fblob, byteRange, request, response);
         }
         Calendar lastModified = context.getLastModified();
         if (lastModified == null && doc != null) {
@@ -717,14 +740,9 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
                     && StringUtils.isNotEmpty(xAccelLocation)) {
                 File file = blob.getFile();
                 if (file != null && blob instanceof ManagedBlob) {
-                    File storageDir;
-                    BlobManager blobManager = Framework.getService(BlobManager.class);
-                    BlobProvider blobProvider = blobManager.getBlobProvider(blob);
-                    if (blobProvider instanceof LocalBlobProvider) {
-                        storageDir = ((LocalBlobProvider) blobProvider).getStorageDir().toFile();
-                    } else if (blobProvider.getBinaryManager() instanceof DefaultBinaryManager) {
-                        storageDir = ((DefaultBinaryManager) blobProvider.getBinaryManager()).getStorageDir();
-                    } else {
+                    BlobProvider blobProvider = Framework.getService(BlobManager.class).getBlobProvider(blob);
+                    File storageDir = getLocalStorageDir(blobProvider);
+                    if (storageDir == null) {
                         throw new NuxeoException("Cannot use Nginx accelerated download with blob provider: "
                                 + blobProvider.getClass().getName());
                     }
@@ -786,6 +804,64 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
         }
     }
 
+    /**
+     * Transfers the blob, letting the servlet container send the file itself if possible.
+     *
+     * @since 10.10-HF74
+     */
+    protected void transferBlobWithByteRange(Blob blob, ByteRange byteRange, HttpServletRequest request,
+            HttpServletResponse response) {
+        if (!sendFile(blob, byteRange, request)) {
+            transferBlobWithByteRange(blob, byteRange, response);
+        }
+    }
+
+    /**
+     * Returns the storage directory of a blob provider storing blobs in local files, or {@code null}.
+     *
+     * @since 10.10-HF74
+     */
+    protected File getLocalStorageDir(BlobProvider blobProvider) {
+        if (blobProvider instanceof LocalBlobProvider) {
+            return ((LocalBlobProvider) blobProvider).getStorageDir().toFile();
+        } else if (blobProvider != null && blobProvider.getBinaryManager() instanceof DefaultBinaryManager) {
+            return ((DefaultBinaryManager) blobProvider.getBinaryManager()).getStorageDir();
+        }
+        return null;
+    }
+
+    /**
+     * Asks Tomcat to send the blob's file with sendfile, if enabled, supported by the connector, and if the blob's
+     * file is the one of a local store. The container sends the file after the request completes, so cache, decrypted
+     * or temporary files, which may be deleted before, are never sent this way.
+     *
+     * @return {@code true} if the file will be sent by the container, {@code false} if it must be transferred
+     * @since 10.10-HF74
+     */
+    protected boolean sendFile(Blob blob, ByteRange byteRange, HttpServletRequest request) {
+        if (!Framework.getService(ConfigurationService.class).isBooleanTrue(DOWNLOAD_SENDFILE_ENABLED)) {
+            return false;
+        }
+        // only managed blobs, as other file-backed blobs may be temporary files
+        if (!Boolean.TRUE.equals(request.getAttribute(TOMCAT_SENDFILE_SUPPORT)) || !(blob instanceof ManagedBlob)) {
+            return false;
+        }
+        File storageDir = getLocalStorageDir(Framework.getService(BlobManager.class).getBlobProvider(blob));
+        if (storageDir == null) {
+            return false;
+        }
+        File file = blob.getFile();
+        if (file == null || !file.toPath().toAbsolutePath().startsWith(storageDir.toPath().toAbsolutePath())) {
+            return false;
+        }
+        long start = byteRange == null ? 0 : byteRange.getStart();
+        long end = byteRange == null ? file.length() : byteRange.getEnd() + 1; // exclusive
+        request.setAttribute(TOMCAT_SENDFILE_FILENAME, file.getAbsolutePath());
+        request.setAttribute(TOMCAT_SENDFILE_START, Long.valueOf(start));
+        request.setAttribute(TOMCAT_SENDFILE_END, Long.valueOf(end));
+        return true;
+    }
+
     protected void transferBlobWithByteRange(Blob blob, ByteRange byteRange, HttpServletResponse response) {
         transferBlobWithByteRange(blob, byteRange, () -> {
             try {
@@ -803,6 +879,11 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
 
     @Override
     public void transferBlobWithByteRange(Blob blob, ByteRange byteRange, Supplier<OutputStream> outputStreamSupplier) {
+        File file = blob.getFile();
+        if (file != null) {
+            transferFileWithByteRange(file, byteRange, outputStreamSupplier);
+            return;
+        }
         try (InputStream in = blob.getStream()) {
             @SuppressWarnings("resource")
             OutputStream out = outputStreamSupplier.get(); // not ours to close
@@ -822,6 +903,40 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
         }
     }
 
+    /**
+     * Transfers a file, or only the requested region for a byte range, through its channel. This is the fallback when
+     * the response cannot use sendfile, which is the only zero-copy path.
+     * <p>
+     * The target wraps the servlet output stream, so the JDK still copies the data through a temporary direct buffer
+     * and a {@code byte[]} passed to {@link OutputStream#write}. This only avoids the extra {@link InputStream} layer
+     * and its skip on byte ranges. Nothing is mapped in memory, as mapped buffers are only released on garbage
+     * collection.
+     *
+     * @since 10.10-HF74
+     */
+    protected void transferFileWithByteRange(File file, ByteRange byteRange,
+            Supplier<OutputStream> outputStreamSupplier) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            @SuppressWarnings("resource")
+            OutputStream out = outputStreamSupplier.get(); // not ours to close
+            BufferingServletOutputStream.stopBuffering(out);
+            @SuppressWarnings("resource") // not ours to close either, as it would close the output stream
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = byteRange == null ? 0 : byteRange.getStart();
+            long end = byteRange == null ? channel.size() : byteRange.getEnd() + 1; // exclusive
+            while (position < end) {
+                long n = channel.transferTo(position, end - position, target);
+                if (n <= 0) {
+                    break; // file truncated concurrently
+                }
+                position += n;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     protected String fixXPath(String xpath) {
         // Hack for Flash Url wich doesn't support ':' char
         return xpath == null ? null : xpath.replace(';', ':');
@@ -145,6 +145,7 @@ public abstract class DefaultListJsonWriter<EntityType> extends AbstractJsonWrit
             jg.writeNumberField("numberOfPages", paginable.getNumberOfPages());
             jg.writeBooleanField("isPreviousPageAvailable", paginable.isPreviousPageAvailable());
             jg.writeBooleanField("isNextPageAvailable", paginable.isNextPageAvailable());
+            jg.writeStringField("nextPageToken", paginable.getNextPageToken());
             jg.writeBooleanField("isLastPageAvailable", paginable.isLastPageAvailable());
             jg.writeBooleanField("isSortable", paginable.isSortable());
             jg.writeBooleanField("hasError", paginable.hasError());
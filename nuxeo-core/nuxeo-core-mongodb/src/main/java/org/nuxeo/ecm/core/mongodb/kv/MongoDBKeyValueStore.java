@@ -28,9 +28,12 @@ import static com.mongodb.client.model.Updates.unset;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
@@ -50,15 +53,23 @@ import org.nuxeo.runtime.kv.KeyValueStoreDescriptor;
 import org.nuxeo.runtime.mongodb.MongoDBConnectionService;
 
 import com.mongodb.Block;
+import com.mongodb.BulkWriteError;
 import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoCommandException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
@@ -504,4 +515,93 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
         }
     }
 
+    @Override
+    public void putAll(Map<String, byte[]> values, long ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<WriteModel<Document>> writes = new ArrayList<>(values.size());
+        values.forEach((key, bytes) -> {
+            Bson filter = eq(ID_KEY, key);
+            if (bytes == null) {
+                writes.add(new DeleteOneModel<>(filter));
+            } else {
+                Document doc = new Document(VALUE_KEY, toStorage(bytes));
+                addTTL(doc, ttl);
+                writes.add(new ReplaceOneModel<>(filter, doc, new ReplaceOptions().upsert(true)));
+            }
+        });
+        if (log.isTraceEnabled()) {
+            log.trace("MongoDB: PUTALL " + values.keySet() + (ttl == 0 ? "" : " (TTL " + ttl + ")"));
+        }
+        coll.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("MongoDB: DELALL " + keys);
+        }
+        coll.deleteMany(in(ID_KEY, keys));
+    }
+
+    @Override
+    public void setTTL(Collection<String> keys, long ttl) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Bson update;
+        if (ttl == 0) {
+            update = unset(TTL_KEY);
+        } else {
+            update = set(TTL_KEY, getDateFromTTL(ttl));
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("MongoDB: SETTTLALL " + keys + " = " + ttl);
+        }
+        coll.updateMany(in(ID_KEY, keys), update);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The additions are done in a single bulk write, and the new values are then read in a single query, so they may
+     * include additions done concurrently on the same keys.
+     */
+    @Override
+    public Map<String, Long> addAndGet(Map<String, Long> deltas) throws NumberFormatException { // NOSONAR
+        if (deltas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> keys = new ArrayList<>(deltas.keySet());
+        List<WriteModel<Document>> writes = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            writes.add(new UpdateOneModel<>(eq(ID_KEY, key), inc(VALUE_KEY, deltas.get(key)),
+                    new UpdateOptions().upsert(true)));
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("MongoDB: INCALL " + deltas);
+        }
+        Map<String, Long> generic = new HashMap<>();
+        try {
+            coll.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                // Cannot apply $inc to a value of non-numeric type; code: 16837
+                if (!error.getMessage().contains("Cannot apply $inc")) {
+                    throw new NuxeoException(e);
+                }
+                String key = keys.get(error.getIndex());
+                // failed writes were not applied, use the generic way for them
+                generic.put(key, Long.valueOf(addAndGetGeneric(key, deltas.get(key).longValue())));
+            }
+        }
+        Map<String, Long> map = getLongs(keys);
+        map.putAll(generic);
+        return map;
+    }
+
 }
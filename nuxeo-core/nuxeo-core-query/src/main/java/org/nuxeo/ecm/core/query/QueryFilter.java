@@ -22,6 +22,7 @@ package org.nuxeo.ecm.core.query;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.nuxeo.ecm.core.api.NuxeoPrincipal;
 import org.nuxeo.ecm.core.api.impl.FacetFilter;
@@ -34,6 +35,9 @@ import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
  * transformers.
  * <p>
  * You can also include a limit and offset, to get a subset of the total.
+ * <p>
+ * Since 10.10-HF74, a keyset can be included instead of an offset, to get the results following the given values of
+ * the ORDER BY keys, see {@link org.nuxeo.ecm.core.query.sql.model.Keysets}.
  *
  * @author Florent Guillaume
  */
@@ -59,6 +63,9 @@ public class QueryFilter implements org.nuxeo.ecm.core.api.query.QueryFilter<SQL
 
     protected final long offset;
 
+    /** @since 10.10-HF74 */
+    protected final List<Serializable> keyset;
+
     /**
      * Constructs a query filter.
      * <p>
@@ -66,6 +73,20 @@ public class QueryFilter implements org.nuxeo.ecm.core.api.query.QueryFilter<SQL
      */
     public QueryFilter(NuxeoPrincipal principal, String[] principals, String[] permissions, FacetFilter facetFilter,
             Collection<SQLQuery.Transformer> queryTransformers, long limit, long offset) {
+        this(principal, principals, permissions, facetFilter, queryTransformers, limit, offset, null);
+    }
+
+    /**
+     * Constructs a query filter using keyset pagination.
+     * <p>
+     * Note that the principal MUST be {@link Serializable}.
+     *
+     * @param keyset the values of the ORDER BY keys of the last row of the previous page, an empty list for the first
+     *            page, or {@code null} for no keyset pagination
+     * @since 10.10-HF74
+     */
+    public QueryFilter(NuxeoPrincipal principal, String[] principals, String[] permissions, FacetFilter facetFilter,
+            Collection<SQLQuery.Transformer> queryTransformers, long limit, long offset, List<Serializable> keyset) {
         this.principal = principal;
         this.principals = principals;
         this.permissions = permissions;
@@ -73,6 +94,7 @@ public class QueryFilter implements org.nuxeo.ecm.core.api.query.QueryFilter<SQL
         this.queryTransformers = queryTransformers;
         this.limit = limit;
         this.offset = offset;
+        this.keyset = keyset;
     }
 
     public static QueryFilter withoutLimitOffset(QueryFilter other) {
@@ -82,7 +104,8 @@ public class QueryFilter implements org.nuxeo.ecm.core.api.query.QueryFilter<SQL
                 other.permissions, //
                 other.facetFilter, //
                 other.queryTransformers, //
-                0, 0);
+                0, 0, //
+                other.keyset);
     }
 
     public NuxeoPrincipal getPrincipal() {
@@ -113,8 +136,20 @@ public class QueryFilter implements org.nuxeo.ecm.core.api.query.QueryFilter<SQL
         return offset;
     }
 
+    /**
+     * Gets the keyset to seek after, or {@code null} if keyset pagination is not used.
+     *
+     * @since 10.10-HF74
+     */
+    public List<Serializable> getKeyset() {
+        return keyset;
+    }
+
     @Override
     public String toString() {
+        if (keyset != null) {
+            return String.format("QueryFilter(principal=%s, limit=%d, keyset=%s)", principal, limit, keyset);
+        }
         return String.format("QueryFilter(principal=%s, limit=%d, offset=%d)", principal, limit, offset);
     }
 }
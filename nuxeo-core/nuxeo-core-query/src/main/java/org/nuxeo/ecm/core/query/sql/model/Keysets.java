@@ -0,0 +1,125 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.query.sql.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+
+/**
+ * Helper for keyset pagination.
+ * <p>
+ * Instead of skipping the rows of the previous pages with an offset, keyset pagination restricts the query to the rows
+ * that sort after the last row of the previous page. The keyset is the list of values of the ORDER BY keys for this
+ * last row. An {@code ecm:uuid} key is always added as last key to get a total order.
+ * <p>
+ * Rows having a {@code NULL} value for one of the ORDER BY keys are never returned after the first page, so keyset
+ * pagination should only be used on non-null keys.
+ *
+ * @since 10.10-HF74
+ */
+public class Keysets {
+
+    private Keysets() {
+        // no instantiation allowed
+    }
+
+    /**
+     * Gets the keys of the query, which are its ORDER BY expressions followed by {@code ecm:uuid} if needed.
+     *
+     * @throws QueryParseException if the ORDER BY cannot be used for keyset pagination
+     */
+    public static List<OrderByExpr> getKeys(SQLQuery query) {
+        List<OrderByExpr> keys = new ArrayList<>();
+        if (query.orderBy != null) {
+            for (OrderByExpr expr : query.orderBy.elements) {
+                String name = expr.reference.name;
+                if (NXQL.ECM_PATH.equals(name) || NXQL.ECM_FULLTEXT_SCORE.equals(name)) {
+                    throw new QueryParseException("Keyset pagination cannot be used with ORDER BY " + name);
+                }
+                keys.add(expr);
+                if (NXQL.ECM_UUID.equals(name)) {
+                    // unique, next keys are never used
+                    break;
+                }
+            }
+        }
+        if (keys.isEmpty() || !NXQL.ECM_UUID.equals(keys.get(keys.size() - 1).reference.name)) {
+            keys.add(OrderByExprs.asc(NXQL.ECM_UUID));
+        }
+        return keys;
+    }
+
+    /**
+     * Restricts the query to the rows following the given keyset, and orders it by its keys.
+     *
+     * @param keyset the values of the keys for the last row of the previous page, or an empty list for the first page
+     * @return the new query
+     * @throws QueryParseException if the keyset does not match the keys of the query
+     */
+    public static SQLQuery apply(SQLQuery query, List<Serializable> keyset) {
+        List<OrderByExpr> keys = getKeys(query);
+        Predicate predicate = query.where == null ? null : query.where.predicate;
+        if (!keyset.isEmpty()) {
+            if (keyset.size() != keys.size()) {
+                throw new QueryParseException(
+                        "Keyset " + keyset + " does not match the ORDER BY keys " + keys + " of query: " + query);
+            }
+            Predicate seek = seek(keys, keyset);
+            predicate = predicate == null ? seek : Predicates.and(predicate, seek);
+        }
+        WhereClause where = predicate == null ? null : new WhereClause(predicate);
+        return new SQLQuery(query.select, query.from, where, query.groupBy, query.having,
+                new OrderByClause(new OrderByList(keys)), query.limit, query.offset);
+    }
+
+    /**
+     * Builds {@code k1 > v1 OR (k1 = v1 AND k2 > v2) OR ...}, using {@code <} for descending keys.
+     */
+    protected static Predicate seek(List<OrderByExpr> keys, List<Serializable> keyset) {
+        Predicate result = null;
+        Predicate equalities = null;
+        for (int i = 0; i < keys.size(); i++) {
+            OrderByExpr key = keys.get(i);
+            Serializable value = keyset.get(i);
+            if (value == null) {
+                throw new QueryParseException("Keyset cannot contain null values: " + keyset);
+            }
+            Literal literal = toLiteral(value);
+            Operator op = key.isDescending ? Operator.LT : Operator.GT;
+            Predicate after = new Predicate(key.reference, op, literal);
+            if (equalities != null) {
+                after = Predicates.and(equalities, after);
+            }
+            result = result == null ? after : Predicates.or(result, after);
+            Predicate equality = new Predicate(key.reference, Operator.EQ, literal);
+            equalities = equalities == null ? equality : Predicates.and(equalities, equality);
+        }
+        return result;
+    }
+
+    protected static Literal toLiteral(Serializable value) {
+        if (value instanceof Boolean) {
+            // NXQL booleans are 0 / 1
+            return new IntegerLiteral(((Boolean) value).booleanValue() ? 1L : 0L);
+        }
+        return Literals.toLiteral(value);
+    }
+
+}
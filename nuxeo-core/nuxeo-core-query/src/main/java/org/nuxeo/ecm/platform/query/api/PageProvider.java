@@ -78,6 +78,20 @@ public interface PageProvider<T> extends Serializable {
      */
     public static final String SKIP_AGGREGATES_PROP = "skipAggregates";
 
+    /**
+     * Boolean property enabling keyset pagination, see {@link #getNextPageToken()}.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String KEYSET_PAGINATION_PROP = "keysetPagination";
+
+    /**
+     * Property holding a page token, as returned by {@link #getNextPageToken()}, designating the page to fetch.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String PAGE_TOKEN_PROP = "pageToken";
+
     /**
      * Returns the provider identifier
      */
@@ -473,4 +487,21 @@ public interface PageProvider<T> extends Serializable {
      * @since 9.3
      */
     long getResultsCountLimit();
+
+    /**
+     * Returns an opaque token designating the next page, or {@code null} if there is none.
+     * <p>
+     * When keyset pagination is enabled, the token holds the sort values of the last entry of the current page, so that
+     * the next page can be fetched without skipping all the entries of the previous pages.
+     *
+     * @since 10.10-HF74
+     */
+    String getNextPageToken();
+
+    /**
+     * Moves to the page designated by a token previously returned by {@link #getNextPageToken()}.
+     *
+     * @since 10.10-HF74
+     */
+    void setPageToken(String pageToken);
 }
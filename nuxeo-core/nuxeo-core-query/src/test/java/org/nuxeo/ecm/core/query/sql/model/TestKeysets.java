@@ -0,0 +1,90 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.query.sql.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+
+public class TestKeysets {
+
+    protected static void assertKeyset(String expected, String query, Serializable... keyset) {
+        SQLQuery sqlQuery = Keysets.apply(SQLQueryParser.parse(query), Arrays.asList(keyset));
+        SQLQuery expectedQuery = SQLQueryParser.parse(expected);
+        assertEquals(expectedQuery.where.predicate, sqlQuery.where.predicate);
+        assertEquals(expectedQuery.orderBy.elements, sqlQuery.orderBy.elements);
+    }
+
+    @Test
+    public void testKeys() {
+        List<OrderByExpr> keys = Keysets.getKeys(SQLQueryParser.parse("SELECT * FROM Document"));
+        assertEquals(Collections.singletonList(OrderByExprs.asc("ecm:uuid")), keys);
+        keys = Keysets.getKeys(SQLQueryParser.parse("SELECT * FROM Document ORDER BY dc:title DESC"));
+        assertEquals(Arrays.asList(OrderByExprs.desc("dc:title"), OrderByExprs.asc("ecm:uuid")), keys);
+        keys = Keysets.getKeys(SQLQueryParser.parse("SELECT * FROM Document ORDER BY ecm:uuid DESC, dc:title"));
+        assertEquals(Collections.singletonList(OrderByExprs.desc("ecm:uuid")), keys);
+    }
+
+    @Test
+    public void testFirstPage() {
+        SQLQuery sqlQuery = Keysets.apply(SQLQueryParser.parse("SELECT * FROM Document ORDER BY dc:title"),
+                Collections.emptyList());
+        assertEquals(null, sqlQuery.where);
+        assertEquals(Arrays.asList(OrderByExprs.asc("dc:title"), OrderByExprs.asc("ecm:uuid")),
+                sqlQuery.orderBy.elements);
+    }
+
+    @Test
+    public void testSeek() {
+        assertKeyset("SELECT * FROM Document WHERE ecm:uuid > 'id1' ORDER BY ecm:uuid", //
+                "SELECT * FROM Document", "id1");
+        assertKeyset("SELECT * FROM Document WHERE ecm:isProxy = 0" //
+                + " AND (dc:title < 'foo' OR dc:title = 'foo' AND ecm:uuid > 'id1')" //
+                + " ORDER BY dc:title DESC, ecm:uuid", //
+                "SELECT * FROM Document WHERE ecm:isProxy = 0 ORDER BY dc:title DESC", "foo", "id1");
+        assertKeyset("SELECT * FROM Document WHERE my:long > 3" //
+                + " OR my:long = 3 AND my:bool > 1" //
+                + " OR my:long = 3 AND my:bool = 1 AND ecm:uuid > 'id1'" //
+                + " ORDER BY my:long, my:bool, ecm:uuid", //
+                "SELECT * FROM Document ORDER BY my:long, my:bool", Long.valueOf(3), Boolean.TRUE, "id1");
+    }
+
+    @Test
+    public void testInvalidKeyset() {
+        try {
+            Keysets.apply(SQLQueryParser.parse("SELECT * FROM Document ORDER BY dc:title"),
+                    Collections.singletonList("id1"));
+            fail("should fail on keyset size");
+        } catch (QueryParseException e) {
+            // ok
+        }
+        try {
+            Keysets.apply(SQLQueryParser.parse("SELECT * FROM Document ORDER BY ecm:path"), Collections.emptyList());
+            fail("should fail on ecm:path");
+        } catch (QueryParseException e) {
+            // ok
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -41,6 +42,8 @@ import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.kv.AbstractKeyValueStoreProvider;
 import org.nuxeo.runtime.kv.KeyValueStoreDescriptor;
 
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.JedisDataException;
 
 /**
@@ -282,4 +285,87 @@ public class RedisKeyValueStore extends AbstractKeyValueStoreProvider {
         return result.longValue();
     }
 
+    @Override
+    public void putAll(Map<String, byte[]> values, long ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        RedisExecutor redisExecutor = Framework.getService(RedisExecutor.class);
+        redisExecutor.execute(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            values.forEach((key, value) -> {
+                byte[] keyb = getBytes(namespace + key);
+                if (value == null) {
+                    pipeline.del(keyb);
+                } else if (ttl == 0) {
+                    pipeline.set(keyb, value);
+                } else {
+                    pipeline.setex(keyb, (int) ttl, value);
+                }
+            });
+            pipeline.sync();
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte[][] byteKeys = new byte[keys.size()][];
+        int i = 0;
+        for (String key : keys) {
+            byteKeys[i++] = getBytes(namespace + key);
+        }
+        RedisExecutor redisExecutor = Framework.getService(RedisExecutor.class);
+        redisExecutor.execute(jedis -> jedis.del(byteKeys));
+    }
+
+    @Override
+    public void setTTL(Collection<String> keys, long ttl) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        RedisExecutor redisExecutor = Framework.getService(RedisExecutor.class);
+        redisExecutor.execute(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            keys.forEach(key -> {
+                byte[] keyb = getBytes(namespace + key);
+                if (ttl == 0) {
+                    pipeline.persist(keyb);
+                } else {
+                    pipeline.expire(keyb, (int) ttl);
+                }
+            });
+            pipeline.sync();
+            return null;
+        });
+    }
+
+    @Override
+    public Map<String, Long> addAndGet(Map<String, Long> deltas) throws NumberFormatException { // NOSONAR
+        if (deltas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        RedisExecutor redisExecutor = Framework.getService(RedisExecutor.class);
+        Map<String, Response<Long>> responses = redisExecutor.execute(jedis -> {
+            Map<String, Response<Long>> map = new HashMap<>(deltas.size());
+            Pipeline pipeline = jedis.pipelined();
+            deltas.forEach((key, delta) -> map.put(key,
+                    pipeline.incrBy(getBytes(namespace + key), delta.longValue())));
+            pipeline.sync();
+            return map;
+        });
+        Map<String, Long> map = new HashMap<>(deltas.size());
+        for (Entry<String, Response<Long>> es : responses.entrySet()) {
+            try {
+                map.put(es.getKey(), es.getValue().get());
+            } catch (JedisDataException e) {
+                throw new NumberFormatException();
+            }
+        }
+        return map;
+    }
+
 }
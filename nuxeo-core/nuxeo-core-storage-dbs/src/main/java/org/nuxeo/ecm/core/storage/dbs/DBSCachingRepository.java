@@ -27,11 +27,15 @@ import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -49,6 +53,9 @@ import org.nuxeo.ecm.core.query.sql.model.OrderByClause;
 import org.nuxeo.ecm.core.storage.State;
 import org.nuxeo.ecm.core.storage.State.StateDiff;
 import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.ConditionalUpdates;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
 import org.nuxeo.runtime.metrics.MetricsService;
 
 import com.codahale.metrics.MetricRegistry;
@@ -78,6 +85,24 @@ public class DBSCachingRepository implements DBSRepository {
 
     private final DBSInvalidations invalidations;
 
+    /** @since 10.10-HF74 */
+    private final DBSSharedCache sharedCache;
+
+    /**
+     * Ids modified by the current thread's transaction, to be invalidated in the shared cache at commit or rollback.
+     *
+     * @since 10.10-HF74
+     */
+    private final ThreadLocal<Set<String>> sharedInvalidations = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * Ids modified by a transaction of this node not yet completed, with the number of such transactions. Their states
+     * in the shared cache are stale until completion, so they are read from the repository.
+     *
+     * @since 10.10-HF74
+     */
+    private final Map<String, Integer> pendingSharedInvalidations = new ConcurrentHashMap<>();
+
     protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
 
     public DBSCachingRepository(DBSRepository repository, DBSRepositoryDescriptor descriptor) {
@@ -95,6 +120,26 @@ public class DBSCachingRepository implements DBSRepository {
         if (descriptor.isClusteringEnabled()) {
             initClusterInvalidator(descriptor);
         }
+        if (StringUtils.isNotBlank(descriptor.cacheSharedKeyValueStore)) {
+            KeyValueStore store = getSharedKeyValueStore(descriptor.cacheSharedKeyValueStore.trim());
+            long ttl = TimeUnit.MINUTES.toSeconds(descriptor.cacheTTL.longValue());
+            sharedCache = new DBSSharedCache(store, repository.getName(), ttl);
+            if (log.isInfoEnabled()) {
+                log.info(String.format("DBS shared cache activated on '%s' repository using Key/Value store '%s'",
+                        repository.getName(), descriptor.cacheSharedKeyValueStore));
+            }
+        } else {
+            sharedCache = null;
+        }
+    }
+
+    /**
+     * Gets the Key/Value store backing the shared cache.
+     *
+     * @since 10.10-HF74
+     */
+    protected KeyValueStore getSharedKeyValueStore(String name) {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(name);
     }
 
     protected <T> Cache<String, T> newCache(DBSRepositoryDescriptor descriptor) {
@@ -145,6 +190,7 @@ public class DBSCachingRepository implements DBSRepository {
     @Override
     public void commit() {
         repository.commit();
+        sendSharedInvalidations();
         sendInvalidationsToOther();
         processReceivedInvalidations();
     }
@@ -152,6 +198,8 @@ public class DBSCachingRepository implements DBSRepository {
     @Override
     public void rollback() {
         repository.rollback();
+        // the undo log replayed by the rollback went through updateState/deleteStates
+        sendSharedInvalidations();
     }
 
     @Override
@@ -164,6 +212,9 @@ public class DBSCachingRepository implements DBSRepository {
         String cacheName = MetricRegistry.name("nuxeo", "repositories", repository.getName(), "cache");
         String childCacheName = MetricRegistry.name("nuxeo", "repositories", repository.getName(), "childCache");
         registry.removeMatching((name, metric) -> name.startsWith(cacheName) || name.startsWith(childCacheName));
+        if (sharedCache != null) {
+            sharedCache.close();
+        }
         if (log.isInfoEnabled()) {
             log.info(String.format("DBS cache deactivated on '%s' repository", repository.getName()));
         }
@@ -178,6 +229,9 @@ public class DBSCachingRepository implements DBSRepository {
     public State readState(String id) {
         State state = cache.getIfPresent(id);
         if (state == null) {
+            if (sharedCache != null) {
+                return readStates(Collections.singletonList(id)).stream().findFirst().orElse(null);
+            }
             state = repository.readState(id);
             if (state != null) {
                 putInCache(state);
@@ -197,10 +251,34 @@ public class DBSCachingRepository implements DBSRepository {
         ImmutableMap<String, State> statesMap = cache.getAllPresent(ids);
         List<String> idsToRetrieve = new ArrayList<>(ids);
         idsToRetrieve.removeAll(statesMap.keySet());
+        Map<String, Long> versions = null;
+        List<State> sharedStates = Collections.emptyList();
+        if (sharedCache != null && !idsToRetrieve.isEmpty()) {
+            // Read missing states from shared cache, remembering versions for the ones to read from repository
+            // (skip the ones modified by a pending transaction, their shared states are stale)
+            List<String> sharedIds = idsToRetrieve.stream()
+                                                  .filter(id -> !pendingSharedInvalidations.containsKey(id))
+                                                  .collect(Collectors.toList());
+            versions = new HashMap<>();
+            Map<String, State> sharedStatesMap = sharedIds.isEmpty() ? Collections.emptyMap()
+                    : sharedCache.getAll(sharedIds, versions);
+            idsToRetrieve.removeAll(sharedStatesMap.keySet());
+            sharedStates = new ArrayList<>(sharedStatesMap.values());
+            sharedStates.forEach(this::putInCache);
+        }
         // Read missing states from repository
         List<State> states = repository.readStates(idsToRetrieve);
         // Cache them
         states.forEach(this::putInCache);
+        if (versions != null) {
+            for (State state : states) {
+                Long version = versions.get(state.get(KEY_ID).toString());
+                if (version != null) {
+                    sharedCache.put(state, version.longValue());
+                }
+            }
+        }
+        states.addAll(sharedStates);
         // Add previous cached one
         states.addAll(statesMap.values());
         return states;
@@ -275,6 +353,14 @@ public class DBSCachingRepository implements DBSRepository {
 
     private void invalidateAll(Collection<String> ids) {
         cache.invalidateAll(ids);
+        if (sharedCache != null) {
+            Set<String> threadIds = sharedInvalidations.get();
+            for (String id : ids) {
+                if (threadIds.add(id)) {
+                    pendingSharedInvalidations.merge(id, Integer.valueOf(1), (a, b) -> Integer.valueOf(a + b));
+                }
+            }
+        }
         if (clusterInvalidator != null) {
             synchronized (invalidations) {
                 invalidations.addAll(ids);
@@ -282,6 +368,30 @@ public class DBSCachingRepository implements DBSRepository {
         }
     }
 
+    /**
+     * Invalidates in the shared cache the states modified by the current thread's transaction.
+     *
+     * @since 10.10-HF74
+     */
+    protected void sendSharedInvalidations() {
+        if (sharedCache != null) {
+            Set<String> ids = sharedInvalidations.get();
+            if (!ids.isEmpty()) {
+                try {
+                    sharedCache.invalidate(ids);
+                } finally {
+                    // a concurrent read may have cached a stale shared state before the ids were marked pending
+                    cache.invalidateAll(ids);
+                    for (String id : ids) {
+                        pendingSharedInvalidations.computeIfPresent(id,
+                                (k, n) -> n.intValue() == 1 ? null : Integer.valueOf(n.intValue() - 1));
+                    }
+                    ids.clear();
+                }
+            }
+        }
+    }
+
     protected void sendInvalidationsToOther() {
         DBSInvalidations invals;
         synchronized (invalidations) {
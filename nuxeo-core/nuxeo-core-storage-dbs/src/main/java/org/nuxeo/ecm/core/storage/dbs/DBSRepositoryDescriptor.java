@@ -130,6 +130,15 @@ public class DBSRepositoryDescriptor implements Cloneable {
     @XNode("cache@concurrencyLevel")
     public Integer cacheConcurrencyLevel;
 
+    /**
+     * The name of the Key/Value store used as a cache shared by all the cluster nodes, behind the local cache. If not
+     * set, there is no shared cache.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("cache@sharedKeyValueStore")
+    public String cacheSharedKeyValueStore;
+
     /** @since 8.10 */
     @XNode("clustering@id")
     public String clusterNodeId;
@@ -203,6 +212,9 @@ public class DBSRepositoryDescriptor implements Cloneable {
         if (other.cacheConcurrencyLevel != null) {
             cacheConcurrencyLevel = other.cacheConcurrencyLevel;
         }
+        if (other.cacheSharedKeyValueStore != null) {
+            cacheSharedKeyValueStore = other.cacheSharedKeyValueStore;
+        }
         if (other.clusterNodeId != null) {
             clusterNodeId = other.clusterNodeId;
         }
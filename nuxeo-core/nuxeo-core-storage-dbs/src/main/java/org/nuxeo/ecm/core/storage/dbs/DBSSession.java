@@ -116,6 +116,7 @@ import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.api.PartialList;
 import org.nuxeo.ecm.core.api.PropertyException;
 import org.nuxeo.ecm.core.api.ScrollResult;
+import org.nuxeo.ecm.core.api.ScrollResultImpl;
 import org.nuxeo.ecm.core.api.VersionModel;
 import org.nuxeo.ecm.core.api.local.ClientLoginModule;
 import org.nuxeo.ecm.core.api.repository.FulltextConfiguration;
@@ -133,6 +134,7 @@ import org.nuxeo.ecm.core.query.QueryFilter;
 import org.nuxeo.ecm.core.query.QueryParseException;
 import org.nuxeo.ecm.core.query.sql.NXQL;
 import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+import org.nuxeo.ecm.core.query.sql.model.Keysets;
 import org.nuxeo.ecm.core.query.sql.model.Operand;
 import org.nuxeo.ecm.core.query.sql.model.OrderByClause;
 import org.nuxeo.ecm.core.query.sql.model.OrderByExpr;
@@ -195,6 +197,9 @@ public class DBSSession extends BaseSession {
 
     protected boolean isLatestVersionDisabled = false;
 
+    /** Prefix of the scroll ids returned by {@link #keysetScroll}, followed by the last returned id. */
+    protected static final String KEYSET_SCROLL_PREFIX = "keyset:"; // @since 10.10-HF74
+
     public DBSSession(DBSRepository repository) {
         super(repository);
         transaction = new DBSTransactionState(repository, this);
@@ -1554,13 +1559,26 @@ public class DBSSession extends BaseSession {
             throw new NuxeoException("No QueryMaker accepts query type: " + queryType);
         }
 
+        return doQueryAndFetch(SQLQueryParser.parse(query), queryFilter, distinctDocuments, countUpTo, idKeyHolder);
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    protected PartialList<Map<String, Serializable>> doQueryAndFetch(SQLQuery sqlQuery, QueryFilter queryFilter,
+            boolean distinctDocuments, int countUpTo, Mutable<String> idKeyHolder) {
         // transform the query according to the transformers defined by the
         // security policies
-        SQLQuery sqlQuery = SQLQueryParser.parse(query);
         for (SQLQuery.Transformer transformer : queryFilter.getQueryTransformers()) {
             sqlQuery = transformer.transform(queryFilter.getPrincipal(), sqlQuery);
         }
 
+        // keyset pagination: seek after the last row of the previous page
+        // the added predicate and ORDER BY are then translated by the repository query builder
+        if (queryFilter.getKeyset() != null) {
+            sqlQuery = Keysets.apply(sqlQuery, queryFilter.getKeyset());
+        }
+
         SelectClause selectClause = sqlQuery.select;
         if (selectClause.isEmpty()) {
             // turned into SELECT ecm:uuid
@@ -1822,6 +1840,34 @@ public class DBSSession extends BaseSession {
         return ((DBSRepository) repository).scroll(scrollId);
     }
 
+    @Override
+    public ScrollResult<String> keysetScroll(String query, QueryFilter queryFilter, int batchSize, String scrollId) {
+        List<Serializable> keyset = Collections.emptyList();
+        if (scrollId != null) {
+            if (!scrollId.startsWith(KEYSET_SCROLL_PREFIX)) {
+                throw new NuxeoException("Invalid keyset scrollId: " + scrollId);
+            }
+            keyset = Collections.singletonList(scrollId.substring(KEYSET_SCROLL_PREFIX.length()));
+        }
+        // SELECT ecm:uuid FROM ... WHERE (...) AND ecm:uuid > lastId ORDER BY ecm:uuid, the seek and the ORDER BY
+        // being added from the keyset
+        SQLQuery sqlQuery = SQLQueryParser.parse(query);
+        SelectClause select = new SelectClause();
+        select.add(new Reference(NXQL.ECM_UUID));
+        sqlQuery = new SQLQuery(select, sqlQuery.from, sqlQuery.where);
+        QueryFilter batchFilter = new QueryFilter(queryFilter.getPrincipal(), queryFilter.getPrincipals(),
+                queryFilter.getPermissions(), queryFilter.getFacetFilter(), queryFilter.getQueryTransformers(),
+                batchSize, 0, keyset);
+        PartialList<Map<String, Serializable>> projections = doQueryAndFetch(sqlQuery, batchFilter, true, 0, null);
+        if (projections.isEmpty()) {
+            return new ScrollResultImpl<>(scrollId, Collections.emptyList());
+        }
+        List<String> results = projections.stream()
+                                          .map(proj -> (String) proj.get(NXQL.ECM_UUID))
+                                          .collect(Collectors.toList());
+        return new ScrollResultImpl<>(KEYSET_SCROLL_PREFIX + results.get(results.size() - 1), results);
+    }
+
     private String countUpToAsString(long countUpTo) {
         if (countUpTo > 0) {
             return String.format("count total results up to %d", countUpTo);
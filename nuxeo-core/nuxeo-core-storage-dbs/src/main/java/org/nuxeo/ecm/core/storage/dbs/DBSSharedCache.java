@@ -0,0 +1,199 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.dbs;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.storage.State;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Second-level cache of document states shared by all the nodes of a cluster, stored in a {@link KeyValueStore}.
+ * <p>
+ * Each document has a version counter, incremented after each commit or rollback that touched it. Cached states are
+ * stored along with the version that was current when they were read from the database, and are only valid while this
+ * version is still the current one. A reader that races with a writer therefore at worst stores an entry that will
+ * never be used.
+ *
+ * @since 10.10-HF74
+ */
+public class DBSSharedCache {
+
+    private static final Log log = LogFactory.getLog(DBSSharedCache.class);
+
+    protected static final String PREFIX = "dbscache:";
+
+    protected static final String VERSION_PREFIX = "v:";
+
+    protected static final String STATE_PREFIX = "s:";
+
+    protected static final Long ONE = Long.valueOf(1);
+
+    protected final KeyValueStore store;
+
+    protected final String keyPrefix;
+
+    protected final long ttl;
+
+    protected final String metricsName;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final Counter hits;
+
+    protected final Counter misses;
+
+    protected final Counter invalidations;
+
+    /**
+     * Constructs a shared cache.
+     *
+     * @param store the Key/Value store holding the cache
+     * @param repositoryName the repository name
+     * @param ttl the TTL of cached states, in seconds
+     */
+    public DBSSharedCache(KeyValueStore store, String repositoryName, long ttl) {
+        this.store = store;
+        this.keyPrefix = PREFIX + repositoryName + ':';
+        this.ttl = ttl;
+        metricsName = MetricRegistry.name("nuxeo", "repositories", repositoryName, "sharedCache");
+        hits = registry.counter(MetricRegistry.name(metricsName, "hits"));
+        misses = registry.counter(MetricRegistry.name(metricsName, "misses"));
+        invalidations = registry.counter(MetricRegistry.name(metricsName, "invalidations"));
+    }
+
+    protected String versionKey(String id) {
+        return keyPrefix + VERSION_PREFIX + id;
+    }
+
+    protected String stateKey(String id) {
+        return keyPrefix + STATE_PREFIX + id;
+    }
+
+    /**
+     * Gets the valid cached states for the given ids, in a single round trip to the store.
+     *
+     * @param ids the document ids
+     * @param versions a map filled with the current version of each document, to be passed to
+     *            {@link #put(State, long)} if the document is then read from the database
+     * @return the cached states found, keyed by id
+     */
+    public Map<String, State> getAll(Collection<String> ids, Map<String, Long> versions) {
+        Set<String> keys = new LinkedHashSet<>(2 * ids.size());
+        for (String id : ids) {
+            keys.add(versionKey(id));
+            keys.add(stateKey(id));
+        }
+        Map<String, byte[]> values = store.get(keys);
+        Map<String, State> states = new HashMap<>();
+        for (String id : ids) {
+            byte[] versionBytes = values.get(versionKey(id));
+            long version = versionBytes == null ? 0 : Long.parseLong(new String(versionBytes, UTF_8));
+            versions.put(id, Long.valueOf(version));
+            State state = decode(values.get(stateKey(id)), version);
+            if (state == null) {
+                misses.inc();
+            } else {
+                hits.inc();
+                states.put(id, state);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Puts a state read from the database in the cache.
+     *
+     * @param state the state
+     * @param version the version of the document read before the state was read from the database
+     */
+    public void put(State state, long version) {
+        String id = state.get(DBSDocument.KEY_ID).toString();
+        byte[] bytes = SerializationUtils.serialize(state);
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + bytes.length);
+        buffer.putLong(version);
+        buffer.put(bytes);
+        store.put(stateKey(id), buffer.array(), ttl);
+    }
+
+    /**
+     * Invalidates the cached states of the given documents on all the nodes, by incrementing their versions.
+     * <p>
+     * Versions expire {@code 2 * ttl} after the last invalidation, and then count again from 0. A state stored with a
+     * version that comes up again would then be valid again, so the states are also removed here: only a reader that
+     * read a version before this invalidation and stores its state after it, and whose entry outlives the version,
+     * could still resurrect it, which requires the reader to be delayed by more than the TTL.
+     *
+     * @param ids the document ids
+     */
+    public void invalidate(Collection<String> ids) {
+        Map<String, Long> deltas = new HashMap<>(ids.size());
+        List<String> stateKeys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            deltas.put(versionKey(id), ONE);
+            stateKeys.add(stateKey(id));
+        }
+        store.addAndGet(deltas);
+        // keep versions longer than states, see above
+        // (not rewritten with putAll, which could move back a version concurrently incremented by another node)
+        store.setTTL(deltas.keySet(), 2 * ttl);
+        store.deleteAll(stateKeys);
+        invalidations.inc(ids.size());
+    }
+
+    protected State decode(byte[] bytes, long version) {
+        if (bytes == null || bytes.length < Long.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getLong() != version) {
+            return null;
+        }
+        try {
+            return SerializationUtils.deserialize(new ByteArrayInputStream(bytes, Long.BYTES, bytes.length - Long.BYTES));
+        } catch (SerializationException e) {
+            log.warn("Cannot deserialize shared cache entry, ignoring: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Removes the metrics of this cache.
+     */
+    public void close() {
+        registry.removeMatching((name, metric) -> name.startsWith(metricsName));
+    }
+
+}
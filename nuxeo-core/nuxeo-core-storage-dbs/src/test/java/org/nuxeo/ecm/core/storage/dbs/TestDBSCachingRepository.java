@@ -42,6 +42,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.nuxeo.ecm.core.storage.State;
 import org.nuxeo.ecm.core.storage.State.StateDiff;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.kv.MemKeyValueStore;
 
 public class TestDBSCachingRepository {
 
@@ -167,6 +169,88 @@ public class TestDBSCachingRepository {
         assertEquals(dbState, cachedState);
     }
 
+    @Test
+    public void testSharedCache() {
+        String id = "ID";
+        KeyValueStore store = new MemKeyValueStore();
+        DBSCachingRepository node1 = newSharedCachingRepository(store);
+        DBSCachingRepository node2 = newSharedCachingRepository(store);
+        try {
+            // First read on node 1 - call sub repository and fill shared cache
+            State dbState = node1.readState(id);
+            verify(subRepository, times(1)).readStates(eq(Collections.singletonList(id)));
+
+            // First read on node 2 - call shared cache
+            State sharedState = node2.readState(id);
+            verify(subRepository, times(1)).readStates(eq(Collections.singletonList(id)));
+            assertEquals(dbState, sharedState);
+
+            // Update on node 1 invalidates the shared cache at commit
+            node1.updateState(id, mock(StateDiff.class), null);
+            node1.commit();
+
+            // Read on a fresh node - call sub repository
+            DBSCachingRepository node3 = newSharedCachingRepository(store);
+            try {
+                node3.readState(id);
+                verify(subRepository, times(2)).readStates(eq(Collections.singletonList(id)));
+            } finally {
+                node3.shutdown();
+            }
+        } finally {
+            node1.shutdown();
+            node2.shutdown();
+        }
+    }
+
+    @Test
+    public void testSharedCacheNotReadBeforeCommit() throws Exception {
+        String id = "ID";
+        KeyValueStore store = new MemKeyValueStore();
+        DBSCachingRepository node = newSharedCachingRepository(store);
+        try {
+            // First read - call sub repository and fill shared cache
+            node.readState(id);
+            verify(subRepository, times(1)).readStates(eq(Collections.singletonList(id)));
+
+            // Update, not yet committed
+            node.updateState(id, mock(StateDiff.class), null);
+
+            // Read from another thread - the shared state is stale, call sub repository
+            Thread thread = new Thread(() -> node.readState(id));
+            thread.start();
+            thread.join();
+            verify(subRepository, times(2)).readStates(eq(Collections.singletonList(id)));
+
+            // Commit invalidates the local cache again, as another thread may have cached a stale shared state
+            node.commit();
+            node.readState(id);
+            verify(subRepository, times(3)).readStates(eq(Collections.singletonList(id)));
+
+            // Then the shared cache is used again
+            DBSCachingRepository node2 = newSharedCachingRepository(store);
+            try {
+                node2.readState(id);
+                verify(subRepository, times(3)).readStates(eq(Collections.singletonList(id)));
+            } finally {
+                node2.shutdown();
+            }
+        } finally {
+            node.shutdown();
+        }
+    }
+
+    private DBSCachingRepository newSharedCachingRepository(KeyValueStore store) {
+        DBSRepositoryDescriptor descriptor = newDBSRepositoryDescriptor();
+        descriptor.cacheSharedKeyValueStore = "shared";
+        return new DBSCachingRepository(subRepository, descriptor) {
+            @Override
+            protected KeyValueStore getSharedKeyValueStore(String name) {
+                return store;
+            }
+        };
+    }
+
     private State newState(String id) {
         State state = new State();
         state.setSingle(KEY_ID, id);
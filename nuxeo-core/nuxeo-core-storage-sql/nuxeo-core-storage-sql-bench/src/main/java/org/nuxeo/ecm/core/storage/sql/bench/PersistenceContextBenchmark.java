@@ -0,0 +1,75 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.nuxeo.ecm.core.storage.sql.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@code PersistenceContext} save of modified fragments, flushed as a row batch through the caching
+ * mapper (if enabled) to the {@code JDBCRowMapper}.
+ *
+ * @since 10.10-HF74
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceContextBenchmark {
+
+    /** The number of documents modified before each save. */
+    @Param({ "1", "10", "100" })
+    public int modified;
+
+    protected List<Node> nodes;
+
+    protected long counter;
+
+    @Setup(Level.Trial)
+    public void setUp(RepositoryState repositoryState, SessionState sessionState) {
+        nodes = sessionState.session.getNodesByIds(repositoryState.randomIds(modified));
+    }
+
+    @Benchmark
+    public void save(SessionState sessionState) {
+        for (Node node : nodes) {
+            node.setSimpleProperty("dc:description", "description " + counter++);
+        }
+        sessionState.session.save();
+    }
+
+    @Benchmark
+    public List<Node> getNodesByIds(RepositoryState repositoryState, SessionState sessionState) {
+        return sessionState.session.getNodesByIds(repositoryState.randomIds(modified));
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.bench;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.nuxeo.ecm.core.blob.BlobManager;
+import org.nuxeo.ecm.core.blob.BlobManagerComponent;
+import org.nuxeo.ecm.core.blob.BlobProviderDescriptor;
+import org.nuxeo.ecm.core.blob.binary.DefaultBinaryManager;
+import org.nuxeo.ecm.core.repository.RepositoryService;
+import org.nuxeo.ecm.core.storage.sql.CachingMapper;
+import org.nuxeo.ecm.core.storage.sql.Node;
+import org.nuxeo.ecm.core.storage.sql.OffHeapCachingMapper;
+import org.nuxeo.ecm.core.storage.sql.RepositoryDescriptor;
+import org.nuxeo.ecm.core.storage.sql.RepositoryImpl;
+import org.nuxeo.ecm.core.storage.sql.SessionImpl;
+import org.nuxeo.ecm.core.storage.sql.SoftRefCachingMapper;
+import org.nuxeo.ecm.core.storage.sql.coremodel.SQLRepositoryService;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.test.runner.RuntimeHarness;
+import org.nuxeo.runtime.test.runner.RuntimeHarnessImpl;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state holding a running Nuxeo runtime with a VCS repository backed by an in-memory H2 database.
+ * <p>
+ * The repository is populated with a single folder containing {@link #documents} documents.
+ * <p>
+ * Another database can be used by passing the {@value #URL_PROPERTY}, {@value #DRIVER_PROPERTY},
+ * {@value #USER_PROPERTY} and {@value #PASSWORD_PROPERTY} system properties.
+ *
+ * @since 10.10-HF74
+ */
+@State(Scope.Benchmark)
+public class RepositoryState {
+
+    public static final String REPOSITORY_NAME = "bench";
+
+    public static final String URL_PROPERTY = "nuxeo.bench.vcs.url";
+
+    public static final String DRIVER_PROPERTY = "nuxeo.bench.vcs.driver";
+
+    public static final String USER_PROPERTY = "nuxeo.bench.vcs.user";
+
+    public static final String PASSWORD_PROPERTY = "nuxeo.bench.vcs.password";
+
+    protected static final String URL_FORMAT = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+
+    protected static final String BENCH_BUNDLE = "org.nuxeo.ecm.core.storage.sql.bench";
+
+    protected static final String[] BUNDLES = { "org.nuxeo.runtime.jtajca", "org.nuxeo.runtime.datasource",
+            "org.nuxeo.runtime.kv", "org.nuxeo.runtime.migration", "org.nuxeo.ecm.core.schema",
+            "org.nuxeo.ecm.core.api", "org.nuxeo.ecm.core", "org.nuxeo.ecm.core.event", "org.nuxeo.ecm.core.storage",
+            "org.nuxeo.ecm.core.storage.sql", "org.nuxeo.ecm.platform.el", BENCH_BUNDLE };
+
+    /**
+     * The caching mapper to use in front of the {@code JDBCRowMapper}: {@code soft} for the
+     * {@link SoftRefCachingMapper}, {@code offheap} for the {@link OffHeapCachingMapper}, {@code none} to disable the
+     * caching mapper.
+     */
+    @Param({ "soft", "offheap", "none" })
+    public String cache;
+
+    /** The number of documents created in the benchmark folder. */
+    @Param({ "1000" })
+    public int documents;
+
+    protected RuntimeHarness harness;
+
+    protected BlobProviderDescriptor blobProviderDescriptor;
+
+    public RepositoryImpl repository;
+
+    public Serializable folderId;
+
+    public List<Serializable> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        harness = new RuntimeHarnessImpl(getClass());
+        harness.start();
+        Properties properties = Framework.getProperties();
+        properties.setProperty(URL_PROPERTY,
+                System.getProperty(URL_PROPERTY, String.format(URL_FORMAT, "nuxeobench" + cache)));
+        properties.setProperty(DRIVER_PROPERTY, System.getProperty(DRIVER_PROPERTY, "org.h2.Driver"));
+        properties.setProperty(USER_PROPERTY, System.getProperty(USER_PROPERTY, "sa"));
+        properties.setProperty(PASSWORD_PROPERTY, System.getProperty(PASSWORD_PROPERTY, ""));
+        configure(properties);
+        for (String bundle : BUNDLES) {
+            harness.deployBundle(bundle);
+        }
+        harness.fireFrameworkStarted();
+        repository = newRepository();
+        populate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository != null) {
+            repository.close();
+            repository = null;
+        }
+        if (blobProviderDescriptor != null) {
+            BlobManagerComponent blobManager = (BlobManagerComponent) Framework.getService(BlobManager.class);
+            blobManager.unregisterBlobProvider(blobProviderDescriptor);
+            blobProviderDescriptor = null;
+        }
+        harness.stop();
+    }
+
+    /**
+     * Sets additional framework properties before the bundles are deployed.
+     */
+    protected void configure(Properties properties) {
+        // nothing by default
+    }
+
+    protected RepositoryImpl newRepository() {
+        RepositoryDescriptor descriptor = new RepositoryDescriptor();
+        descriptor.name = REPOSITORY_NAME;
+        descriptor.setFulltextDisabled(true);
+        Class<? extends CachingMapper> cachingMapperClass = getCachingMapperClass();
+        if (cachingMapperClass == null) {
+            descriptor.setCachingMapperEnabled(false);
+        } else {
+            descriptor.cachingMapperClass = cachingMapperClass;
+        }
+        SQLRepositoryService sqlRepositoryService = Framework.getService(SQLRepositoryService.class);
+        sqlRepositoryService.registerContribution(descriptor, "repository", null);
+        Framework.getService(RepositoryService.class).start(null);
+        blobProviderDescriptor = new BlobProviderDescriptor();
+        blobProviderDescriptor.name = REPOSITORY_NAME;
+        blobProviderDescriptor.klass = DefaultBinaryManager.class;
+        BlobManagerComponent blobManager = (BlobManagerComponent) Framework.getService(BlobManager.class);
+        blobManager.registerBlobProvider(blobProviderDescriptor);
+        return sqlRepositoryService.getRepositoryImpl(REPOSITORY_NAME);
+    }
+
+    protected Class<? extends CachingMapper> getCachingMapperClass() {
+        switch (cache) {
+        case "soft":
+            return SoftRefCachingMapper.class;
+        case "offheap":
+            return OffHeapCachingMapper.class;
+        case "none":
+            return null;
+        default:
+            throw new IllegalArgumentException("Unknown cache: " + cache);
+        }
+    }
+
+    protected void populate() throws Exception {
+        SessionImpl session = repository.getConnection();
+        try {
+            Node root = session.getRootNode();
+            Node folder = session.addChildNode(root, "folder", null, "Folder", false);
+            folderId = folder.getId();
+            ids = new ArrayList<>(documents);
+            for (int i = 0; i < documents; i++) {
+                Node node = session.addChildNode(folder, "doc" + i, null, "File", false);
+                node.setSimpleProperty("dc:title", "Document " + i);
+                ids.add(node.getId());
+            }
+            session.save();
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Gets the id of a random document of the benchmark folder.
+     */
+    public Serializable randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Gets the ids of {@code count} random documents of the benchmark folder.
+     */
+    public List<Serializable> randomIds(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Serializable> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(ids.get(random.nextInt(ids.size())));
+        }
+        return list;
+    }
+
+}
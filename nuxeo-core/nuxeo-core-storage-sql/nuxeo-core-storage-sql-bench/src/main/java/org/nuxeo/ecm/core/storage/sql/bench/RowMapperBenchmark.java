@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.bench;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.nuxeo.ecm.core.storage.sql.Model;
+import org.nuxeo.ecm.core.storage.sql.Row;
+import org.nuxeo.ecm.core.storage.sql.RowId;
+import org.nuxeo.ecm.core.storage.sql.SelectionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the row-level read operations of the session mapper, which goes through the caching mapper (if
+ * enabled) down to the {@code JDBCRowMapper}.
+ *
+ * @since 10.10-HF74
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+
+    /** The number of documents read by a batched read. */
+    @Param({ "50" })
+    public int batchSize;
+
+    @Benchmark
+    public Row readSimpleRow(RepositoryState repositoryState, SessionState sessionState) {
+        RowId rowId = new RowId(Model.HIER_TABLE_NAME, repositoryState.randomId());
+        return sessionState.mapper.readSimpleRow(rowId);
+    }
+
+    @Benchmark
+    public List<? extends RowId> readBatch(RepositoryState repositoryState, SessionState sessionState) {
+        Collection<RowId> rowIds = new ArrayList<>(batchSize * 2);
+        for (Serializable id : repositoryState.randomIds(batchSize)) {
+            rowIds.add(new RowId(Model.HIER_TABLE_NAME, id));
+            rowIds.add(new RowId("dublincore", id));
+        }
+        return sessionState.mapper.read(rowIds, false);
+    }
+
+    @Benchmark
+    public List<Row> readChildren(RepositoryState repositoryState, SessionState sessionState) {
+        return sessionState.mapper.readSelectionRows(SelectionType.CHILDREN, repositoryState.folderId, null, null,
+                false);
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.bench;
+
+import javax.resource.ResourceException;
+
+import org.nuxeo.ecm.core.storage.sql.Mapper;
+import org.nuxeo.ecm.core.storage.sql.SessionImpl;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state holding a session on the {@link RepositoryState} repository, one per benchmark thread as sessions
+ * are bound to the thread that opened them.
+ *
+ * @since 10.10-HF74
+ */
+@State(Scope.Thread)
+public class SessionState {
+
+    public SessionImpl session;
+
+    /** The session mapper, a caching mapper unless caching is disabled. */
+    public Mapper mapper;
+
+    @Setup(Level.Trial)
+    public void open(RepositoryState repositoryState) {
+        session = repositoryState.repository.getConnection();
+        mapper = session.getMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws ResourceException {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+    }
+
+}
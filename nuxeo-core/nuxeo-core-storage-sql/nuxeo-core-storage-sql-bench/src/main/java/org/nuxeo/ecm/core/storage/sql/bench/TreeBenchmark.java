@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.bench;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.resource.ResourceException;
+
+import org.nuxeo.ecm.core.storage.sql.Mapper;
+import org.nuxeo.ecm.core.storage.sql.RowMapper.NodeInfo;
+import org.nuxeo.ecm.core.storage.sql.SessionImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the ancestors and descendants resolution of the session mapper on the deep tree of {@link TreeState},
+ * as used to compute the path of query results and to remove a tree.
+ * <p>
+ * Ancestors and descendants aren't cached, so this is best run with {@code -p cache=none}.
+ *
+ * @since 10.10-HF74
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeBenchmark {
+
+    protected SessionImpl session;
+
+    protected Mapper mapper;
+
+    @Setup(Level.Trial)
+    public void open(TreeState treeState) {
+        session = treeState.repository.getConnection();
+        mapper = session.getMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws ResourceException {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+    }
+
+    @Benchmark
+    public Set<Serializable> getAncestorsIds(TreeState treeState) {
+        return mapper.getAncestorsIds(Collections.singleton(treeState.randomId()));
+    }
+
+    @Benchmark
+    public Set<Serializable> getAncestorsIdsOfAllLeaves(TreeState treeState) {
+        return mapper.getAncestorsIds(treeState.ids);
+    }
+
+    @Benchmark
+    public List<NodeInfo> getDescendantsInfo(TreeState treeState) {
+        return mapper.getDescendantsInfo(treeState.folderId);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.bench;
+
+import java.util.ArrayList;
+import java.util.Properties;
+
+import org.nuxeo.ecm.core.storage.sql.Node;
+import org.nuxeo.ecm.core.storage.sql.SessionImpl;
+import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.Dialect;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state holding a repository populated with a deep tree: {@link #branches} branches of {@link #depth}
+ * nested folders under a single top folder. The leaves of the branches are the benchmark {@link #ids}, and the top
+ * folder is the benchmark {@link #folderId}.
+ * <p>
+ * The {@link #recursiveQueries} parameter compares recursive queries with the previous strategy of the dialect
+ * (stored functions or one query per tree level). H2 does not use recursive queries, so the comparison is meaningful
+ * on other databases, see {@link RepositoryState}.
+ *
+ * @since 10.10-HF74
+ */
+@State(Scope.Benchmark)
+public class TreeState extends RepositoryState {
+
+    /** Whether ancestors and descendants are fetched using recursive queries. */
+    @Param({ "true", "false" })
+    public boolean recursiveQueries;
+
+    /** The number of nested folders in each branch. */
+    @Param({ "20", "50" })
+    public int depth;
+
+    /** The number of branches under the top folder. */
+    @Param({ "10" })
+    public int branches;
+
+    @Override
+    protected void configure(Properties properties) {
+        properties.setProperty(Dialect.RECURSIVE_QUERIES_PROP, String.valueOf(recursiveQueries));
+    }
+
+    @Override
+    protected void populate() throws Exception {
+        SessionImpl session = repository.getConnection();
+        try {
+            Node root = session.getRootNode();
+            Node top = session.addChildNode(root, "tree", null, "Folder", false);
+            folderId = top.getId();
+            ids = new ArrayList<>(branches);
+            for (int i = 0; i < branches; i++) {
+                Node node = top;
+                for (int j = 0; j < depth; j++) {
+                    node = session.addChildNode(node, "branch" + i + "-" + j, null, "Folder", false);
+                }
+                ids.add(node.getId());
+            }
+            session.save();
+        } finally {
+            session.close();
+        }
+    }
+
+}
@@ -44,6 +44,9 @@ public class EmbeddedFunctions {
 
     protected static final String READ_VERSION = "ReadVersion";
 
+    // @since 10.10-HF74
+    protected static final String EVERYONE = "Everyone";
+
     // for debug
     private static boolean isLogEnabled() {
         return false;
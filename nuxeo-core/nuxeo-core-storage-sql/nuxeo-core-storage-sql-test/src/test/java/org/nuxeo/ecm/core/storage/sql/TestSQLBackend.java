@@ -73,7 +73,9 @@ import org.nuxeo.ecm.core.api.DocumentExistsException;
 import org.nuxeo.ecm.core.api.IterableQueryResult;
 import org.nuxeo.ecm.core.api.Lock;
 import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
 import org.nuxeo.ecm.core.api.PartialList;
+import org.nuxeo.ecm.core.api.impl.UserPrincipal;
 import org.nuxeo.ecm.core.api.model.PropertyNotFoundException;
 import org.nuxeo.ecm.core.blob.BlobManager;
 import org.nuxeo.ecm.core.blob.BlobProvider;
@@ -83,17 +85,28 @@ import org.nuxeo.ecm.core.event.EventService;
 import org.nuxeo.ecm.core.model.LockManager;
 import org.nuxeo.ecm.core.query.QueryFilter;
 import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.core.query.sql.model.Predicate;
+import org.nuxeo.ecm.core.query.sql.model.Reference;
 import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+import org.nuxeo.ecm.core.query.sql.model.StringLiteral;
+import org.nuxeo.ecm.core.query.sql.model.WhereClause;
 import org.nuxeo.ecm.core.storage.sql.coremodel.SQLRepositoryService;
 import org.nuxeo.ecm.core.storage.sql.jdbc.JDBCConnection;
 import org.nuxeo.ecm.core.storage.sql.jdbc.JDBCMapperConnector;
 import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.Dialect;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.test.runner.ConditionalIgnoreRule;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.transaction.TransactionHelper;
 import org.nuxeo.runtime.transaction.TransactionRuntimeException;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 @Deploy("org.nuxeo.ecm.core.storage.sql.test.tests:OSGI-INF/test-backend-core-types-contrib.xml")
 public class TestSQLBackend extends SQLBackendTestCase {
 
@@ -2636,6 +2649,113 @@ public class TestSQLBackend extends SQLBackendTestCase {
         assertEquals("proxyinfo", proxyCopy.getSimpleProperty("info:info").getString());
     }
 
+    @Test
+    public void testQueryPlanCache() throws Exception {
+        Session session = repository.getConnection();
+        Node root = session.getRootNode();
+        Node nodea = session.addChildNode(root, "foo", null, "TestDoc", false);
+        nodea.setSimpleProperty("tst:title", "hello");
+        Node nodeb = session.addChildNode(root, "bar", null, "TestDoc", false);
+        nodeb.setSimpleProperty("tst:title", "world");
+        session.save();
+
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        Counter hits = registry.counter(
+                MetricRegistry.name("nuxeo", "repositories", repository.getName(), "queryplans", "hits"));
+        long before = hits.getCount();
+
+        String nxql = "SELECT * FROM TestDoc WHERE tst:title = '%s' AND ecm:name IN ('foo', 'bar')";
+        PartialList<Serializable> res = session.query(String.format(nxql, "hello"), QueryFilter.EMPTY, false);
+        assertEquals(1, res.size());
+        assertEquals(nodea.getId(), res.get(0));
+        // same shape, the cached plan is reused with the new literal
+        res = session.query(String.format(nxql, "world"), QueryFilter.EMPTY, false);
+        assertEquals(1, res.size());
+        assertEquals(nodeb.getId(), res.get(0));
+        res = session.query(String.format(nxql, "other"), QueryFilter.EMPTY, false);
+        assertEquals(0, res.size());
+        assertEquals(before + 2, hits.getCount());
+
+        // different shape
+        res = session.query("SELECT * FROM TestDoc WHERE tst:title = 'hello' OR tst:title = 'world'",
+                QueryFilter.EMPTY, false);
+        assertEquals(2, res.size());
+        assertEquals(before + 2, hits.getCount());
+    }
+
+    @Test
+    public void testQueryPlanCacheSecurity() throws Exception {
+        Session session = repository.getConnection();
+        Node root = session.getRootNode();
+        root.getCollectionProperty(Model.ACL_PROP).setValue(new ACLRow[0]);
+        Node foo = session.addChildNode(root, "foo", null, "TestDoc", false);
+        foo.getCollectionProperty(Model.ACL_PROP)
+           .setValue(new ACLRow[] { new ACLRow(0, "test", true, "Read", "bob", null) });
+        Node bar = session.addChildNode(root, "bar", null, "TestDoc", false);
+        bar.getCollectionProperty(Model.ACL_PROP)
+           .setValue(new ACLRow[] { new ACLRow(0, "test", true, "Read", "alice", null) });
+        Node baz = session.addChildNode(root, "baz", null, "TestDoc", false);
+        baz.getCollectionProperty(Model.ACL_PROP)
+           .setValue(new ACLRow[] { new ACLRow(0, "test", true, "Read", "members", null) });
+        session.save();
+        session.updateReadAcls();
+
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        Counter hits = registry.counter(
+                MetricRegistry.name("nuxeo", "repositories", repository.getName(), "queryplans", "hits"));
+        long before = hits.getCount();
+        String nxql = "SELECT * FROM TestDoc WHERE ecm:name IN ('foo', 'bar', 'baz')";
+        String[] bobPrincipals = { "bob", "members", "Everyone" };
+        String[] alicePrincipals = { "alice", "Everyone" };
+
+        // same shape for two users, the principals are rebound in the cached plan
+        assertEquals(new HashSet<>(Arrays.asList(foo.getId(), baz.getId())),
+                queryIds(session, nxql, null, bobPrincipals, Collections.emptyList()));
+        assertEquals(before, hits.getCount());
+        assertEquals(Collections.singleton(bar.getId()),
+                queryIds(session, nxql, null, alicePrincipals, Collections.emptyList()));
+        assertEquals(before + 1, hits.getCount());
+
+        // with transformers the plan is keyed on the user
+        List<SQLQuery.Transformer> transformers = Collections.singletonList(new BobOnlyBazTransformer());
+        NuxeoPrincipal bob = new UserPrincipal("bob", Collections.singletonList("members"), false, false);
+        NuxeoPrincipal alice = new UserPrincipal("alice", Collections.emptyList(), false, false);
+        assertEquals(Collections.singleton(baz.getId()),
+                queryIds(session, nxql, bob, bobPrincipals, transformers));
+        assertEquals(Collections.singleton(bar.getId()),
+                queryIds(session, nxql, alice, alicePrincipals, transformers));
+        assertEquals(before + 1, hits.getCount());
+        assertEquals(Collections.singleton(baz.getId()),
+                queryIds(session, nxql, bob, bobPrincipals, transformers));
+        assertEquals(before + 2, hits.getCount());
+        session.close();
+    }
+
+    protected Set<Serializable> queryIds(Session session, String nxql, NuxeoPrincipal principal, String[] principals,
+            List<SQLQuery.Transformer> transformers) {
+        QueryFilter qf = new QueryFilter(principal, principals, new String[] { "Read" }, null, transformers, 0, 0);
+        return new HashSet<>(session.query(nxql, qf, false));
+    }
+
+    /**
+     * Restricts the queries of bob to the document named baz.
+     */
+    protected static class BobOnlyBazTransformer implements SQLQuery.Transformer {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public SQLQuery transform(NuxeoPrincipal principal, SQLQuery query) {
+            if (!"bob".equals(principal.getName())) {
+                return query;
+            }
+            Predicate baz = new Predicate(new Reference(NXQL.ECM_NAME), Operator.EQ, new StringLiteral("baz"));
+            WhereClause where = new WhereClause(new Predicate(query.where.predicate, Operator.AND, baz));
+            return new SQLQuery(query.select, query.from, where, query.groupBy, query.having, query.orderBy,
+                    query.limit, query.offset);
+        }
+    }
+
     @Test
     public void testProxyQueryStartsWith() throws Exception {
         assumeTrue(isProxiesEnabled());
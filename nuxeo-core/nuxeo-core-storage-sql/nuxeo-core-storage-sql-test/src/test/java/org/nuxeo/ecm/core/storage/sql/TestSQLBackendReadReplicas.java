@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.IterableQueryResult;
+import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.runtime.metrics.MetricsService;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Routing of queries to read replicas, using a "replica" datasource on the test database.
+ *
+ * @since 10.10-HF74
+ */
+@Deploy("org.nuxeo.ecm.core.storage.sql.test.tests:OSGI-INF/test-backend-core-types-contrib.xml")
+@Deploy("org.nuxeo.ecm.core.storage.sql.test.tests:OSGI-INF/test-read-replica-ds.xml")
+public class TestSQLBackendReadReplicas extends SQLBackendTestCase {
+
+    protected static final long STALENESS = 500;
+
+    protected static final String QUERY = "SELECT * FROM TestDoc";
+
+    @Override
+    protected RepositoryDescriptor newDescriptor(String name, long clusteringDelay) {
+        RepositoryDescriptor descriptor = super.newDescriptor(name, clusteringDelay);
+        descriptor.readReplicaDataSources = Collections.singletonList("jdbc/replica_test");
+        descriptor.setReadReplicasStaleness(STALENESS);
+        return descriptor;
+    }
+
+    protected Counter getRoutedQueries() {
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        return registry.counter(MetricRegistry.name("nuxeo", "repositories", repository.getName(), "readreplicas",
+                "queries"));
+    }
+
+    protected void waitForStaleness() throws InterruptedException {
+        Thread.sleep(STALENESS + 100);
+    }
+
+    @Test
+    public void testStaleness() throws Exception {
+        Counter routed = getRoutedQueries();
+        Session session = repository.getConnection();
+        session.addChildNode(session.getRootNode(), "foo", null, "TestDoc", false);
+        session.save();
+
+        // just written, query the primary
+        long count = routed.getCount();
+        assertEquals(1, session.query(QUERY, QueryFilter.EMPTY, false).size());
+        assertEquals(count, routed.getCount());
+
+        // replica assumed to have caught up
+        waitForStaleness();
+        assertEquals(1, session.query(QUERY, QueryFilter.EMPTY, false).size());
+        assertEquals(count + 1, routed.getCount());
+        session.close();
+    }
+
+    @Test
+    public void testWriteTransactionStaysOnPrimary() throws Exception {
+        Counter routed = getRoutedQueries();
+        Session session = repository.getConnection();
+        waitForStaleness();
+        TransactionHelper.startTransaction();
+        try {
+            TransactionHelper.lookupTransactionManager().getTransaction().enlistResource((SessionImpl) session);
+            // read-only so far, routed
+            long count = routed.getCount();
+            assertEquals(0, session.query(QUERY, QueryFilter.EMPTY, false).size());
+            assertEquals(count + 1, routed.getCount());
+
+            // written in the transaction, pinned to the primary, which sees the uncommitted change
+            session.addChildNode(session.getRootNode(), "foo", null, "TestDoc", false);
+            session.save();
+            assertEquals(1, session.query(QUERY, QueryFilter.EMPTY, false).size());
+            assertEquals(count + 1, routed.getCount());
+        } finally {
+            TransactionHelper.commitOrRollbackTransaction();
+        }
+
+        // just committed, query the primary
+        long count = routed.getCount();
+        assertEquals(1, session.query(QUERY, QueryFilter.EMPTY, false).size());
+        assertEquals(count, routed.getCount());
+
+        waitForStaleness();
+        assertEquals(1, session.query(QUERY, QueryFilter.EMPTY, false).size());
+        assertEquals(count + 1, routed.getCount());
+        session.close();
+    }
+
+    @Test
+    public void testReplicaConnectionsClosed() throws Exception {
+        Counter routed = getRoutedQueries();
+        Session session = repository.getConnection();
+        waitForStaleness();
+        long count = routed.getCount();
+        // the replica datasource has a single connection, a leak would make the next queries use the primary
+        for (int i = 0; i < 3; i++) {
+            session.query(QUERY, QueryFilter.EMPTY, false);
+            try (IterableQueryResult res = session.queryAndFetch(QUERY, "NXQL", QueryFilter.EMPTY)) {
+                assertEquals(0, res.size());
+            }
+        }
+        assertEquals(count + 6, routed.getCount());
+        session.close();
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+import org.nuxeo.ecm.core.storage.sql.RowMapper.NodeInfo;
+import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.Dialect;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+
+/**
+ * All the tests of TestSQLBackend with ancestors, descendants and ACLs fetched through recursive queries, plus
+ * additional tests.
+ * <p>
+ * Recursive queries are opt-in on H2, so this runs them where the default configuration doesn't.
+ *
+ * @since 10.10-HF74
+ */
+@WithFrameworkProperty(name = Dialect.RECURSIVE_QUERIES_PROP, value = "true")
+public class TestSQLBackendRecursiveQueries extends TestSQLBackend {
+
+    /**
+     * Only run for H2, other databases already use recursive queries by default when they support them.
+     */
+    @BeforeClass
+    public static void assumeH2() {
+        assumeTrue(DatabaseHelper.DATABASE instanceof DatabaseH2);
+    }
+
+    @Test
+    public void testRecursiveAncestorsAndDescendants() throws Exception {
+        SessionImpl session = repository.getConnection();
+        Node root = session.getRootNode();
+        Node folder1 = session.addChildNode(root, "folder1", null, "TestDoc", false);
+        Node folder2 = session.addChildNode(folder1, "folder2", null, "TestDoc", false);
+        Node folder3 = session.addChildNode(folder2, "folder3", null, "TestDoc", false);
+        Node doc1 = session.addChildNode(folder3, "doc1", null, "TestDoc", false);
+        Node doc2 = session.addChildNode(folder1, "doc2", null, "TestDoc", false);
+        Node other = session.addChildNode(root, "other", null, "TestDoc", false);
+        session.save();
+
+        Mapper mapper = session.getMapper();
+        Set<Serializable> ancestors = mapper.getAncestorsIds(Arrays.asList(doc1.getId(), doc2.getId()));
+        assertEquals(new HashSet<>(Arrays.asList(root.getId(), folder1.getId(), folder2.getId(), folder3.getId())),
+                ancestors);
+        assertEquals(Collections.singleton(root.getId()),
+                mapper.getAncestorsIds(Collections.singletonList(other.getId())));
+
+        Set<Serializable> descendants = mapper.getDescendantsInfo(folder1.getId())
+                                              .stream()
+                                              .map(info -> info.id)
+                                              .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList(folder2.getId(), folder3.getId(), doc1.getId(), doc2.getId())),
+                descendants);
+        assertEquals(Collections.emptyList(), mapper.getDescendantsInfo(doc1.getId()));
+
+        // removal goes through the descendants query
+        session.removeNode(folder1);
+        session.save();
+        assertEquals(Collections.singleton(root.getId()),
+                mapper.getAncestorsIds(Collections.singletonList(other.getId())));
+        descendants = mapper.getDescendantsInfo(root.getId()).stream().map(info -> info.id).collect(Collectors.toSet());
+        assertTrue(descendants.contains(other.getId()));
+        assertFalse(descendants.contains(folder1.getId()));
+        assertFalse(descendants.contains(doc1.getId()));
+        session.close();
+    }
+
+    @Test
+    public void testRecursiveSecurityCheckOnDeepTree() throws Exception {
+        SessionImpl session = repository.getConnection();
+        Node root = session.getRootNode();
+        root.getCollectionProperty(Model.ACL_PROP).setValue(new ACLRow[0]);
+        List<Serializable> ids = new ArrayList<>();
+        Node parent = root;
+        for (int i = 1; i <= 30; i++) {
+            Node node = session.addChildNode(parent, "f" + i, null, "TestDoc", false);
+            ids.add(node.getId());
+            ACLRow[] acls;
+            if (i == 1 || i == 20) {
+                acls = new ACLRow[] { new ACLRow(0, "local", true, "Read", "bob", null) };
+            } else if (i == 10) {
+                // block inheritance
+                acls = new ACLRow[] { new ACLRow(0, "local", true, "Read", "alice", null),
+                        new ACLRow(1, "local", false, "Read", "Everyone", null) };
+            } else {
+                acls = new ACLRow[0];
+            }
+            node.getCollectionProperty(Model.ACL_PROP).setValue(acls);
+            parent = node;
+        }
+        session.save();
+        session.updateReadAcls();
+
+        // f1 to f9 and f20 to f30
+        Set<Serializable> bobDocs = new HashSet<>(ids.subList(0, 9));
+        bobDocs.addAll(ids.subList(19, 30));
+        assertEquals(bobDocs, queryIds(session, "bob", "Everyone"));
+        // f10 to f30
+        assertEquals(new HashSet<>(ids.subList(9, 30)), queryIds(session, "alice", "Everyone"));
+        assertEquals(Collections.emptySet(), queryIds(session, "carol", "Everyone"));
+        // the deny to Everyone doesn't apply without the Everyone principal
+        assertEquals(new HashSet<>(ids), queryIds(session, "bob"));
+        session.close();
+    }
+
+    protected Set<Serializable> queryIds(SessionImpl session, String... principals) {
+        QueryFilter qf = new QueryFilter(null, principals, new String[] { "Read" }, null,
+                Collections.<SQLQuery.Transformer> emptyList(), 0, 0);
+        return new HashSet<>(session.query("SELECT * FROM TestDoc", qf, false));
+    }
+
+}
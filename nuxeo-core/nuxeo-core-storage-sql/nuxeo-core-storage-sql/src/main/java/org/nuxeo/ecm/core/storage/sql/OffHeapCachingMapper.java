@@ -0,0 +1,174 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.nuxeo.common.utils.SizeUtils;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * A {@link CachingMapper} keeping its cached rows serialized outside of the Java heap, in a cache bounded by a number
+ * of bytes and evicting the least recently used rows.
+ * <p>
+ * Contrary to the {@link SoftRefCachingMapper}, the size of the cache does not depend on the GC behavior, and the
+ * cached rows do not add to the heap. The invalidation logic is the same.
+ * <p>
+ * The following properties can be configured on the caching mapper of the repository descriptor:
+ * <ul>
+ * <li>{@value #MAX_SIZE_PROP}: the maximum off-heap size of the cache of each mapper, for instance {@code 32MB}
+ * (default {@value #DEFAULT_MAX_SIZE}),
+ * <li>{@value #BLOCK_SIZE_PROP}: the allocation unit of the off-heap memory, in bytes (default
+ * {@value OffHeapRowCache#DEFAULT_BLOCK_SIZE}).
+ * </ul>
+ * Note that there is one cache per mapper, so the total off-heap memory used is bounded by the maximum size multiplied
+ * by the maximum number of sessions of the repository pool. The JVM {@code -XX:MaxDirectMemorySize} must be configured
+ * accordingly.
+ *
+ * @since 10.10-HF74
+ */
+public class OffHeapCachingMapper extends SoftRefCachingMapper {
+
+    public static final String MAX_SIZE_PROP = "maxSize";
+
+    public static final String BLOCK_SIZE_PROP = "blockSize";
+
+    public static final String DEFAULT_MAX_SIZE = "16MB";
+
+    protected static final byte[] ABSENT_BYTES = new byte[0];
+
+    protected OffHeapRowCache rowCache;
+
+    protected String repositoryName;
+
+    /** Hit and miss counters per table. */
+    protected final Map<String, Counter[]> tableCounters = new HashMap<>();
+
+    protected Counter evictionCount;
+
+    public OffHeapCachingMapper() {
+        // rows are cached in the off-heap row cache, not in the soft-referenced map
+        super(Collections.emptyMap());
+    }
+
+    @Override
+    public void initialize(String repositoryName, Model model, Mapper mapper, InvalidationsPropagator cachePropagator,
+            Map<String, String> properties) {
+        String maxSize = StringUtils.defaultIfBlank(properties.get(MAX_SIZE_PROP), DEFAULT_MAX_SIZE);
+        String blockSize = properties.get(BLOCK_SIZE_PROP);
+        rowCache = new OffHeapRowCache(SizeUtils.parseSizeInBytes(maxSize),
+                StringUtils.isBlank(blockSize) ? OffHeapRowCache.DEFAULT_BLOCK_SIZE : Integer.parseInt(blockSize));
+        super.initialize(repositoryName, model, mapper, cachePropagator, properties);
+    }
+
+    @Override
+    protected void setMetrics(String repositoryName) {
+        this.repositoryName = repositoryName;
+        cacheHitCount = registry.counter(
+                MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap", "hits"));
+        cacheGetTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap", "get"));
+        sorRows = registry.counter(
+                MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap", "sor", "rows"));
+        sorGetTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap", "sor", "get"));
+        evictionCount = registry.counter(
+                MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap", "evictions"));
+    }
+
+    /**
+     * Gets the hit and miss counters for a table.
+     */
+    protected Counter[] getTableCounters(String tableName) {
+        return tableCounters.computeIfAbsent(tableName, name -> new Counter[] {
+                registry.counter(MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap",
+                        "tables", name, "hits")),
+                registry.counter(MetricRegistry.name("nuxeo", "repositories", repositoryName, "caches", "off-heap",
+                        "tables", name, "misses")) });
+    }
+
+    @Override
+    protected void cachePut(Row row) {
+        // for ACL collections, make sure the order is correct, see SoftRefCachingRowMapper
+        if (row.isCollection() && row.values.length > 0 && row.values[0] instanceof ACLRow) {
+            row = row.clone();
+            row.values = sortACLRows((ACLRow[]) row.values);
+        }
+        doCachePut(new RowId(row), RowSerializer.serialize(row));
+    }
+
+    @Override
+    protected void cachePutAbsent(RowId rowId) {
+        doCachePut(new RowId(rowId), ABSENT_BYTES);
+    }
+
+    protected void doCachePut(RowId rowId, byte[] bytes) {
+        long evictions = rowCache.getEvictionCount();
+        rowCache.put(rowId, bytes);
+        evictionCount.inc(rowCache.getEvictionCount() - evictions);
+    }
+
+    @Override
+    protected Row cacheGet(RowId rowId) {
+        final Timer.Context context = cacheGetTimer.time();
+        try {
+            byte[] bytes = rowCache.get(rowId);
+            Counter[] counters = getTableCounters(rowId.tableName);
+            if (bytes == null) {
+                counters[1].inc();
+                return null;
+            }
+            cacheHitCount.inc();
+            counters[0].inc();
+            if (bytes.length == 0) {
+                return new Row(ABSENT, (Serializable) null);
+            }
+            return RowSerializer.deserialize(rowId, bytes);
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Override
+    protected void cacheRemove(RowId rowId) {
+        rowCache.remove(rowId);
+    }
+
+    @Override
+    public void clearCache() {
+        rowCache.clear();
+        super.clearCache();
+    }
+
+    @Override
+    public long getCacheSize() {
+        return rowCache.size();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        rowCache.close();
+    }
+
+}
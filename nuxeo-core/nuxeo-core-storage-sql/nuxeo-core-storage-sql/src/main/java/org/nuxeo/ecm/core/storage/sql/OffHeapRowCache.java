@@ -0,0 +1,272 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A byte-bounded LRU store of serialized rows, keeping the serialized data outside of the Java heap.
+ * <p>
+ * The memory is allocated in direct buffer chunks (lazily, up to the maximum size), each chunk being divided in
+ * fixed-size blocks. A value is stored in as many blocks as needed, and only the small on-heap index maps a key to its
+ * blocks. When no free block is available and the maximum size has been reached, least recently used entries are
+ * evicted.
+ * <p>
+ * The off-heap memory is freed by {@link #close}, without waiting for the buffers to be garbage collected when the JVM
+ * allows it.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @since 10.10-HF74
+ */
+public class OffHeapRowCache {
+
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    protected static final int CHUNK_SIZE = 1024 * 1024;
+
+    // Unsafe.invokeCleaner(ByteBuffer) is looked up as it only exists since Java 9
+    protected static final Object UNSAFE;
+
+    protected static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    protected final int blockSize;
+
+    protected final int blocksPerChunk;
+
+    protected final int maxBlocks;
+
+    protected final List<ByteBuffer> chunks = new ArrayList<>();
+
+    /** Stack of free block numbers. */
+    protected int[] freeBlocks;
+
+    protected int freeCount;
+
+    /** Number of blocks allocated in the chunks. */
+    protected int allocatedBlocks;
+
+    /**
+     * The index, in access order. Each value holds the data length followed by the block numbers holding the data.
+     */
+    protected final LinkedHashMap<RowId, int[]> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    protected long evictionCount;
+
+    /**
+     * Constructs a cache holding at most {@code maxSize} bytes of serialized data.
+     *
+     * @param maxSize the maximum size of the off-heap memory, in bytes
+     * @param blockSize the allocation unit, in bytes
+     */
+    public OffHeapRowCache(long maxSize, int blockSize) {
+        if (blockSize <= 0 || blockSize > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        blocksPerChunk = CHUNK_SIZE / blockSize;
+        long max = Math.max(maxSize, CHUNK_SIZE) / CHUNK_SIZE * blocksPerChunk;
+        maxBlocks = (int) Math.min(max, Integer.MAX_VALUE / blocksPerChunk * blocksPerChunk);
+        freeBlocks = new int[0];
+    }
+
+    /**
+     * Puts a value in the cache. An empty value does not use any off-heap memory.
+     * <p>
+     * If the value is larger than the maximum size of the cache, it is not stored.
+     */
+    public void put(RowId key, byte[] data) {
+        remove(key);
+        int needed = (data.length + blockSize - 1) / blockSize;
+        if (needed > maxBlocks) {
+            return;
+        }
+        while (freeCount < needed) {
+            if (allocatedBlocks < maxBlocks) {
+                allocateChunk();
+            } else {
+                evictEldest();
+            }
+        }
+        int[] entry = new int[needed + 1];
+        entry[0] = data.length;
+        int offset = 0;
+        for (int i = 1; i <= needed; i++) {
+            int block = freeBlocks[--freeCount];
+            entry[i] = block;
+            int length = Math.min(blockSize, data.length - offset);
+            ByteBuffer buffer = chunkBuffer(block);
+            buffer.put(data, offset, length);
+            offset += length;
+        }
+        index.put(key, entry);
+    }
+
+    /**
+     * Gets a value from the cache, or {@code null} if absent. The entry becomes the most recently used one.
+     */
+    public byte[] get(RowId key) {
+        int[] entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        byte[] data = new byte[entry[0]];
+        int offset = 0;
+        for (int i = 1; i < entry.length; i++) {
+            int length = Math.min(blockSize, data.length - offset);
+            ByteBuffer buffer = chunkBuffer(entry[i]);
+            buffer.get(data, offset, length);
+            offset += length;
+        }
+        return data;
+    }
+
+    /**
+     * Removes a value from the cache.
+     */
+    public void remove(RowId key) {
+        int[] entry = index.remove(key);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    /**
+     * Removes all the values from the cache. The off-heap memory is kept for reuse.
+     */
+    public void clear() {
+        index.clear();
+        freeCount = 0;
+        for (int block = allocatedBlocks - 1; block >= 0; block--) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    /**
+     * Removes all the values from the cache and frees the off-heap memory. Memory is allocated again if the cache is
+     * used afterwards.
+     */
+    public void close() {
+        index.clear();
+        chunks.forEach(OffHeapRowCache::free);
+        chunks.clear();
+        freeBlocks = new int[0];
+        freeCount = 0;
+        allocatedBlocks = 0;
+    }
+
+    /** The number of entries in the cache. */
+    public int size() {
+        return index.size();
+    }
+
+    /** The number of off-heap bytes holding data. */
+    public long getUsedBytes() {
+        return (long) (allocatedBlocks - freeCount) * blockSize;
+    }
+
+    /** The number of off-heap bytes allocated. */
+    public long getAllocatedBytes() {
+        return (long) allocatedBlocks * blockSize;
+    }
+
+    /** The number of entries evicted to make room for new ones since creation. */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    protected void evictEldest() {
+        Iterator<Map.Entry<RowId, int[]>> it = index.entrySet().iterator();
+        if (!it.hasNext()) {
+            // cannot happen as needed <= maxBlocks
+            throw new IllegalStateException("No entry to evict");
+        }
+        int[] entry = it.next().getValue();
+        it.remove();
+        release(entry);
+        evictionCount++;
+    }
+
+    protected void release(int[] entry) {
+        for (int i = 1; i < entry.length; i++) {
+            freeBlocks[freeCount++] = entry[i];
+        }
+    }
+
+    protected void allocateChunk() {
+        chunks.add(ByteBuffer.allocateDirect(blocksPerChunk * blockSize));
+        int newAllocatedBlocks = allocatedBlocks + blocksPerChunk;
+        if (freeBlocks.length < newAllocatedBlocks) {
+            int[] array = new int[newAllocatedBlocks];
+            System.arraycopy(freeBlocks, 0, array, 0, freeCount);
+            freeBlocks = array;
+        }
+        // push in reverse order so that blocks are used in ascending order
+        for (int block = newAllocatedBlocks - 1; block >= allocatedBlocks; block--) {
+            freeBlocks[freeCount++] = block;
+        }
+        allocatedBlocks = newAllocatedBlocks;
+    }
+
+    /**
+     * Frees the memory of a direct buffer, which must not be used anymore. On Java 8 the memory is freed when the
+     * buffer is garbage collected.
+     */
+    protected static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // memory freed by the garbage collector
+        }
+    }
+
+    /**
+     * Gets a view of the chunk holding the given block, positioned at the start of the block.
+     */
+    protected ByteBuffer chunkBuffer(int block) {
+        ByteBuffer buffer = chunks.get(block / blocksPerChunk).duplicate();
+        buffer.position((block % blocksPerChunk) * blockSize);
+        return buffer;
+    }
+
+}
@@ -50,6 +50,12 @@ public class RepositoryDescriptor {
 
     public static final int DEFAULT_PATH_OPTIM_VERSION = 2;
 
+    /** @since 10.10-HF74 */
+    public static final int DEFAULT_QUERY_PLAN_CACHE_SIZE = 1000;
+
+    /** @since 10.10-HF74 */
+    public static final long DEFAULT_READ_REPLICAS_STALENESS = 1000;
+
     /** At startup, DDL changes are not detected. */
     public static final String DDL_MODE_IGNORE = "ignore";
 
@@ -198,6 +204,11 @@ public class RepositoryDescriptor {
         return defaultTrue(cachingMapperEnabled);
     }
 
+    /** @since 10.10-HF74 */
+    public void setCachingMapperEnabled(boolean enabled) {
+        cachingMapperEnabled = Boolean.valueOf(enabled);
+    }
+
     @XNodeMap(value = "cachingMapper/property", key = "@name", type = HashMap.class, componentType = String.class)
     public Map<String, String> cachingMapperProperties = new HashMap<>();
 
@@ -412,6 +423,42 @@ public class RepositoryDescriptor {
         return readAclMaxSize == null ? 0 : readAclMaxSize.intValue();
     }
 
+    /* @since 10.10-HF74 */
+    @XNode("queryPlanCache@size")
+    private Integer queryPlanCacheSize;
+
+    /**
+     * Gets the maximum number of compiled NXQL query plans kept by the repository, {@code 0} disables the cache.
+     *
+     * @since 10.10-HF74
+     */
+    public int getQueryPlanCacheSize() {
+        return queryPlanCacheSize == null ? DEFAULT_QUERY_PLAN_CACHE_SIZE : queryPlanCacheSize.intValue();
+    }
+
+    /* @since 10.10-HF74 */
+    @XNodeList(value = "readReplicas/dataSource", type = ArrayList.class, componentType = String.class)
+    public List<String> readReplicaDataSources = new ArrayList<>(0);
+
+    /* @since 10.10-HF74 */
+    @XNode("readReplicas@staleness")
+    private Long readReplicasStaleness;
+
+    /**
+     * Gets the time, in milliseconds, after which changes are assumed to be visible on the read replicas. Reads go to
+     * the primary datasource until this time has elapsed since the last invalidation. {@code 0} disables the check.
+     *
+     * @since 10.10-HF74
+     */
+    public long getReadReplicasStaleness() {
+        return readReplicasStaleness == null ? DEFAULT_READ_REPLICAS_STALENESS : readReplicasStaleness.longValue();
+    }
+
+    /** @since 10.10-HF74 */
+    protected void setReadReplicasStaleness(long staleness) {
+        readReplicasStaleness = Long.valueOf(staleness);
+    }
+
     @XNode("usersSeparator@key")
     public String usersSeparatorKey;
 
@@ -465,6 +512,9 @@ public class RepositoryDescriptor {
         pathOptimizationsVersion = other.pathOptimizationsVersion;
         aclOptimizationsEnabled = other.aclOptimizationsEnabled;
         readAclMaxSize = other.readAclMaxSize;
+        queryPlanCacheSize = other.queryPlanCacheSize;
+        readReplicaDataSources = new ArrayList<>(other.readReplicaDataSources);
+        readReplicasStaleness = other.readReplicasStaleness;
         usersSeparatorKey = other.usersSeparatorKey;
         changeTokenEnabled = other.changeTokenEnabled;
     }
@@ -569,6 +619,13 @@ public class RepositoryDescriptor {
         if (other.readAclMaxSize != null) {
             readAclMaxSize = other.readAclMaxSize;
         }
+        if (other.queryPlanCacheSize != null) {
+            queryPlanCacheSize = other.queryPlanCacheSize;
+        }
+        readReplicaDataSources.addAll(other.readReplicaDataSources);
+        if (other.readReplicasStaleness != null) {
+            readReplicasStaleness = other.readReplicasStaleness;
+        }
         if (other.usersSeparatorKey != null) {
             usersSeparatorKey = other.usersSeparatorKey;
         }
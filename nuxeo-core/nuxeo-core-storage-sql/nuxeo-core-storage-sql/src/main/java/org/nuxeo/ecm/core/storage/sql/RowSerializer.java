@@ -0,0 +1,288 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.nuxeo.ecm.core.api.NuxeoException;
+
+/**
+ * Compact binary serialization of {@link Row} data, used to store rows outside of the Java heap.
+ * <p>
+ * The table name and id of the row are not serialized, they are provided by the {@link RowId} used as a key when
+ * deserializing. The usual column value types are written with a dedicated tag, other values fall back to Java
+ * serialization.
+ *
+ * @since 10.10-HF74
+ */
+public class RowSerializer {
+
+    protected static final byte SIMPLE = 1;
+
+    protected static final byte COLLECTION = 2;
+
+    protected static final byte NULL = 0;
+
+    protected static final byte STRING = 1;
+
+    protected static final byte LONG = 2;
+
+    protected static final byte BOOLEAN = 3;
+
+    protected static final byte DOUBLE = 4;
+
+    protected static final byte CALENDAR = 5;
+
+    protected static final byte ACL = 6;
+
+    protected static final byte ARRAY = 7;
+
+    protected static final byte OPAQUE = 8;
+
+    protected static final byte JAVA = 9;
+
+    protected static final Map<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+    private RowSerializer() {
+        // utility class
+    }
+
+    /**
+     * Serializes the keys and values of a row.
+     */
+    public static byte[] serialize(Row row) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(baos)) {
+            if (row.isCollection()) {
+                out.writeByte(COLLECTION);
+                writeValue(out, row.values);
+            } else {
+                out.writeByte(SIMPLE);
+                out.writeInt(row.size);
+                for (int i = 0; i < row.size; i++) {
+                    writeString(out, row.keys[i]);
+                    writeValue(out, row.values[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new NuxeoException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Deserializes a row serialized by {@link #serialize}.
+     *
+     * @param rowId the table name and id of the row
+     * @param bytes the serialized keys and values
+     */
+    public static Row deserialize(RowId rowId, byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte kind = in.readByte();
+            if (kind == COLLECTION) {
+                return new Row(rowId.tableName, rowId.id, (Serializable[]) readValue(in));
+            }
+            Row row = new Row(rowId.tableName, rowId.id);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String key = readString(in);
+                row.putNew(key, readValue(in));
+            }
+            return row;
+        } catch (IOException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+    protected static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    protected static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    protected static void writeCalendar(DataOutputStream out, Calendar calendar) throws IOException {
+        out.writeLong(calendar.getTimeInMillis());
+        writeString(out, calendar.getTimeZone().getID());
+    }
+
+    protected static Calendar readCalendar(DataInputStream in) throws IOException {
+        long millis = in.readLong();
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(readString(in)));
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    protected static void writeNullableString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            writeString(out, string);
+        }
+    }
+
+    protected static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    protected static void writeNullableCalendar(DataOutputStream out, Calendar calendar) throws IOException {
+        out.writeBoolean(calendar != null);
+        if (calendar != null) {
+            writeCalendar(out, calendar);
+        }
+    }
+
+    protected static Calendar readNullableCalendar(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readCalendar(in) : null;
+    }
+
+    protected static void writeValue(DataOutputStream out, Serializable value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong(((Long) value).longValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(((Boolean) value).booleanValue());
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Double) value).doubleValue());
+        } else if (value.getClass() == GregorianCalendar.class) {
+            out.writeByte(CALENDAR);
+            writeCalendar(out, (Calendar) value);
+        } else if (value instanceof ACLRow) {
+            ACLRow acl = (ACLRow) value;
+            out.writeByte(ACL);
+            out.writeInt(acl.pos);
+            writeNullableString(out, acl.name);
+            out.writeBoolean(acl.grant);
+            writeNullableString(out, acl.permission);
+            writeNullableString(out, acl.user);
+            writeNullableString(out, acl.group);
+            writeNullableString(out, acl.creator);
+            writeNullableCalendar(out, acl.begin);
+            writeNullableCalendar(out, acl.end);
+            out.writeBoolean(acl.status != null);
+            if (acl.status != null) {
+                out.writeLong(acl.status.longValue());
+            }
+        } else if (value instanceof Serializable[]) {
+            Serializable[] array = (Serializable[]) value;
+            out.writeByte(ARRAY);
+            writeString(out, array.getClass().getComponentType().getName());
+            out.writeInt(array.length);
+            for (Serializable v : array) {
+                writeValue(out, v);
+            }
+        } else if (value == Row.OPAQUE) {
+            out.writeByte(OPAQUE);
+        } else {
+            out.writeByte(JAVA);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(value);
+            }
+            out.writeInt(baos.size());
+            baos.writeTo(out);
+        }
+    }
+
+    protected static Serializable readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+        case NULL:
+            return null;
+        case STRING:
+            return readString(in);
+        case LONG:
+            return Long.valueOf(in.readLong());
+        case BOOLEAN:
+            return Boolean.valueOf(in.readBoolean());
+        case DOUBLE:
+            return Double.valueOf(in.readDouble());
+        case CALENDAR:
+            return readCalendar(in);
+        case ACL:
+            int pos = in.readInt();
+            String name = readNullableString(in);
+            boolean grant = in.readBoolean();
+            String permission = readNullableString(in);
+            String user = readNullableString(in);
+            String group = readNullableString(in);
+            String creator = readNullableString(in);
+            Calendar begin = readNullableCalendar(in);
+            Calendar end = readNullableCalendar(in);
+            Long status = in.readBoolean() ? Long.valueOf(in.readLong()) : null;
+            return new ACLRow(pos, name, grant, permission, user, group, creator, begin, end, status);
+        case ARRAY:
+            Class<?> componentType = getClass(readString(in));
+            int length = in.readInt();
+            Serializable[] array = (Serializable[]) Array.newInstance(componentType, length);
+            for (int i = 0; i < length; i++) {
+                array[i] = readValue(in);
+            }
+            return array;
+        case OPAQUE:
+            return Row.OPAQUE;
+        case JAVA:
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (Serializable) ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        default:
+            throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    protected static Class<?> getClass(String className) throws IOException {
+        Class<?> klass = CLASSES.get(className);
+        if (klass == null) {
+            try {
+                klass = Class.forName(className, false, RowSerializer.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+            CLASSES.put(className, klass);
+        }
+        return klass;
+    }
+
+}
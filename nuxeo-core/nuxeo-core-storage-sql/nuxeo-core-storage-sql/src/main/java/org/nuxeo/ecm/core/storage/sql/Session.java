@@ -156,6 +156,15 @@ public interface Session extends Connection {
      */
     ScrollResult<String> scroll(String scrollId);
 
+    /**
+     * Executes the given query and returns the batch of results following the position encoded in the
+     * {@code scrollId}, ordered by document id, without keeping any server-side cursor.
+     *
+     * @param scrollId the scroll id of the previous batch, or {@code null} for the first batch
+     * @since 10.10-HF74
+     */
+    ScrollResult<String> keysetScroll(String query, QueryFilter queryFilter, int batchSize, String scrollId);
+
     /**
      * Interface for a class that knows how to resolve a node path into a node id.
      */
@@ -772,6 +772,11 @@ public class SessionImpl implements Session, XAResource {
         return mapper.scroll(scrollId);
     }
 
+    @Override
+    public ScrollResult<String> keysetScroll(String query, QueryFilter queryFilter, int batchSize, String scrollId) {
+        return mapper.keysetScroll(query, queryFilter, batchSize, scrollId);
+    }
+
     /**
      * Gets complex children names defined by the primary type and the list of mixins.
      */
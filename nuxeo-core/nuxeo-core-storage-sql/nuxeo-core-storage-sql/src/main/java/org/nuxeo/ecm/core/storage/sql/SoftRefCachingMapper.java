@@ -45,6 +45,18 @@ public class SoftRefCachingMapper extends SoftRefCachingRowMapper implements Cac
      */
     public Mapper mapper;
 
+    public SoftRefCachingMapper() {
+        super();
+    }
+
+    /**
+     * @param cache the map holding the cached rows
+     * @since 10.10-HF74
+     */
+    protected SoftRefCachingMapper(Map<RowId, Row> cache) {
+        super(cache);
+    }
+
     @Override
     public void initialize(String repositoryName, Model model, Mapper mapper, InvalidationsPropagator cachePropagator,
             Map<String, String> properties) {
@@ -48,7 +48,7 @@ import com.codahale.metrics.Timer;
  */
 public class SoftRefCachingRowMapper implements RowMapper {
 
-    private static final String ABSENT = "__ABSENT__\0\0\0";
+    protected static final String ABSENT = "__ABSENT__\0\0\0";
 
     /**
      * The cached rows. All held data is identical to what is present in the underlying {@link RowMapper} and could be
@@ -106,7 +106,17 @@ public class SoftRefCachingRowMapper implements RowMapper {
 
     @SuppressWarnings("unchecked")
     public SoftRefCachingRowMapper() {
-        cache = new ReferenceMap(AbstractReferenceMap.HARD, AbstractReferenceMap.SOFT);
+        this(new ReferenceMap(AbstractReferenceMap.HARD, AbstractReferenceMap.SOFT));
+    }
+
+    /**
+     * Constructor for subclasses caching the rows elsewhere, which then override the {@code cache*} methods.
+     *
+     * @param cache the map holding the cached rows
+     * @since 10.10-HF74
+     */
+    protected SoftRefCachingRowMapper(Map<RowId, Row> cache) {
+        this.cache = cache;
         localInvalidations = new Invalidations();
         cacheQueue = new InvalidationsQueue("mapper-" + this);
     }
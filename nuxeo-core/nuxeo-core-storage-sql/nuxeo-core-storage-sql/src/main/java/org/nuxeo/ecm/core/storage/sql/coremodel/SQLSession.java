@@ -57,6 +57,7 @@ import org.nuxeo.ecm.core.model.Document;
 import org.nuxeo.ecm.core.model.LockManager;
 import org.nuxeo.ecm.core.model.Repository;
 import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.query.QueryParseException;
 import org.nuxeo.ecm.core.query.sql.NXQL;
 import org.nuxeo.ecm.core.schema.DocumentType;
 import org.nuxeo.ecm.core.schema.SchemaManager;
@@ -173,6 +174,11 @@ public class SQLSession extends BaseSession {
         return session.scroll(scrollId);
     }
 
+    @Override
+    public ScrollResult<String> keysetScroll(String query, QueryFilter queryFilter, int batchSize, String scrollId) {
+        return session.keysetScroll(query, queryFilter, batchSize, scrollId);
+    }
+
     @Override
     public Document getDocumentByUUID(String uuid) throws DocumentNotFoundException {
         /*
@@ -389,6 +395,9 @@ public class SQLSession extends BaseSession {
         long limit = 0;
         long offset = 0;
         if (orderByPath != null) {
+            if (queryFilter.getKeyset() != null) {
+                throw new QueryParseException("Keyset pagination cannot be used with ORDER BY " + NXQL.ECM_PATH);
+            }
             query = matcher.group(1);
             limit = queryFilter.getLimit();
             offset = queryFilter.getOffset();
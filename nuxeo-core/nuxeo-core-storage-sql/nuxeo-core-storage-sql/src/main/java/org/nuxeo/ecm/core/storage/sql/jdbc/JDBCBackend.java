@@ -157,6 +157,9 @@ public class JDBCBackend implements RepositoryBackend {
         if (clusterInvalidator != null) {
             clusterInvalidator.close();
         }
+        if (sqlInfo != null && sqlInfo.getQueryPlanCache() != null) {
+            sqlInfo.getQueryPlanCache().clear();
+        }
     }
 
 }
@@ -32,6 +32,7 @@ import java.io.Serializable;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Array;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -53,7 +54,10 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
@@ -71,6 +75,18 @@ import org.nuxeo.ecm.core.api.ScrollResultImpl;
 import org.nuxeo.ecm.core.blob.DocumentBlobManager;
 import org.nuxeo.ecm.core.model.LockManager;
 import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.core.query.sql.model.OrderByClause;
+import org.nuxeo.ecm.core.query.sql.model.OrderByExpr;
+import org.nuxeo.ecm.core.query.sql.model.OrderByList;
+import org.nuxeo.ecm.core.query.sql.model.Predicate;
+import org.nuxeo.ecm.core.query.sql.model.Reference;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+import org.nuxeo.ecm.core.query.sql.model.SelectClause;
+import org.nuxeo.ecm.core.query.sql.model.StringLiteral;
+import org.nuxeo.ecm.core.query.sql.model.WhereClause;
 import org.nuxeo.ecm.core.storage.sql.ClusterInvalidator;
 import org.nuxeo.ecm.core.storage.sql.ColumnType;
 import org.nuxeo.ecm.core.storage.sql.ColumnType.WrappedId;
@@ -90,6 +106,7 @@ import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.Dialect;
 import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.DialectOracle;
 import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.SQLStatement.ListCollector;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.transaction.TransactionHelper;
 
 /**
  * A {@link JDBCMapper} maps objects to and from a JDBC database. It is specific to a given database connection, as it
@@ -129,6 +146,15 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
 
     protected static final String NOSCROLL_ID = "noscroll";
 
+    /** Prefix of the scroll ids returned by {@link #keysetScroll}, followed by the last returned id. */
+    protected static final String KEYSET_SCROLL_PREFIX = "keyset:"; // @since 10.10-HF74
+
+    /** Whether the current transaction wrote to the primary database, queries then stay on it. */
+    protected boolean transactionWrites; // @since 10.10-HF74
+
+    /** Principals keys whose read ACLs were prepared in the current transaction. */
+    protected Set<String> transactionPreparedUserReadAcls; // @since 10.10-HF74
+
     /**
      * Creates a new Mapper.
      *
@@ -683,12 +709,165 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
         return null;
     }
 
+    /**
+     * Builds a query, going through the compiled query plan cache for NXQL queries.
+     *
+     * @since 10.10-HF74
+     */
+    protected QueryMaker.Query buildQuery(QueryMaker queryMaker, PathResolver pathResolver, String query,
+            QueryFilter queryFilter, Object... params) {
+        QueryPlanCache queryPlanCache = sqlInfo.getQueryPlanCache();
+        if (queryPlanCache != null && queryMaker.getClass() == NXQLQueryMaker.class
+                && (params == null || params.length == 0) && queryFilter.getKeyset() == null) {
+            return queryPlanCache.buildQuery((NXQLQueryMaker) queryMaker, sqlInfo, model, pathResolver, query,
+                    queryFilter);
+        }
+        return queryMaker.buildQuery(sqlInfo, model, pathResolver, query, queryFilter, params);
+    }
+
+    /*
+     * ----- Read replicas -----
+     */
+
+    @Override
+    public Invalidations receiveInvalidations() {
+        Invalidations invalidations = super.receiveInvalidations();
+        ReadReplicas readReplicas = sqlInfo.getReadReplicas();
+        if (readReplicas != null && invalidations != null && !invalidations.isEmpty()) {
+            readReplicas.invalidated();
+            // read acls may have been rebuilt or vacuumed by another node
+            readReplicas.clearUserReadAcls();
+        }
+        return invalidations;
+    }
+
+    @Override
+    public void write(RowBatch batch) {
+        transactionWrite();
+        super.write(batch);
+    }
+
+    @Override
+    public CopyResult copy(IdWithTypes source, Serializable destParentId, String destName, Row overwriteRow,
+            boolean excludeSpecialChildren, boolean excludeACL) {
+        transactionWrite();
+        return super.copy(source, destParentId, destName, overwriteRow, excludeSpecialChildren, excludeACL);
+    }
+
+    @Override
+    public void remove(Serializable rootId, List<NodeInfo> nodeInfos) {
+        transactionWrite();
+        super.remove(rootId, nodeInfos);
+    }
+
+    /**
+     * Records a write to the primary database. In a transaction, queries stay on the primary until it completes.
+     *
+     * @since 10.10-HF74
+     */
+    protected void transactionWrite() {
+        ReadReplicas readReplicas = sqlInfo.getReadReplicas();
+        if (readReplicas == null) {
+            return;
+        }
+        if (registerTransactionSynchronization()) {
+            transactionWrites = true;
+        } else {
+            // auto-commit
+            readReplicas.invalidated();
+        }
+    }
+
+    /**
+     * Records the preparation of the read ACLs of the given principals on the primary database.
+     *
+     * @since 10.10-HF74
+     */
+    protected void transactionPreparedUserReadAcls(QueryFilter queryFilter) {
+        ReadReplicas readReplicas = sqlInfo.getReadReplicas();
+        if (readReplicas == null) {
+            return;
+        }
+        String key = getUserReadAclsKey(queryFilter);
+        if (registerTransactionSynchronization()) {
+            transactionPreparedUserReadAcls.add(key);
+        } else {
+            // auto-commit
+            readReplicas.userReadAclsPrepared(Collections.singleton(key));
+        }
+    }
+
+    protected String getUserReadAclsKey(QueryFilter queryFilter) {
+        return String.join(Dialect.ARRAY_SEP, queryFilter.getPrincipals());
+    }
+
+    /**
+     * Registers a synchronization to reset the transaction state on completion, if a transaction is active.
+     *
+     * @return {@code true} if a transaction is active
+     */
+    protected boolean registerTransactionSynchronization() {
+        if (!TransactionHelper.isTransactionActiveOrMarkedRollback()) {
+            return false;
+        }
+        if (transactionPreparedUserReadAcls == null) {
+            transactionPreparedUserReadAcls = new HashSet<>();
+            TransactionHelper.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    ReadReplicas readReplicas = sqlInfo.getReadReplicas();
+                    if (status == Status.STATUS_COMMITTED) {
+                        if (transactionWrites) {
+                            readReplicas.invalidated();
+                        }
+                        readReplicas.userReadAclsPrepared(transactionPreparedUserReadAcls);
+                    }
+                    transactionWrites = false;
+                    transactionPreparedUserReadAcls = null;
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Gets a connection to a read replica if the query can be routed to it, otherwise {@code null}. The connection
+     * <strong>MUST</strong> be closed by the caller.
+     * <p>
+     * The read ACLs of the principals must have been prepared on the primary beforehand, as a replica cannot prepare
+     * them; the query is routed once they have been prepared for the staleness.
+     *
+     * @since 10.10-HF74
+     */
+    protected Connection getReadReplicaConnection(QueryFilter queryFilter) {
+        ReadReplicas readReplicas = sqlInfo.getReadReplicas();
+        if (readReplicas == null || transactionWrites || !readReplicas.isFresh()) {
+            return null;
+        }
+        if (dialect.needsPrepareUserReadAcls() && dialect.getPrepareUserReadAclsSql() != null
+                && queryFilter.getPrincipals() != null
+                && !readReplicas.isUserReadAclsPrepared(getUserReadAclsKey(queryFilter))) {
+            return null;
+        }
+        try {
+            return readReplicas.getConnection();
+        } catch (SQLException e) {
+            log.warn("Cannot connect to read replica, using primary: " + e.getMessage());
+            return null;
+        }
+    }
+
     protected void prepareUserReadAcls(QueryFilter queryFilter) {
         String sql = dialect.getPrepareUserReadAclsSql();
         Serializable principals = queryFilter.getPrincipals();
         if (sql == null || principals == null) {
             return;
         }
+        transactionPreparedUserReadAcls(queryFilter);
         if (!dialect.supportsArrays()) {
             principals = String.join(Dialect.ARRAY_SEP, (String[]) principals);
         }
@@ -726,18 +905,35 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
     @Override
     public IterableQueryResult queryAndFetch(String query, String queryType, QueryFilter queryFilter,
             boolean distinctDocuments, Object... params) {
-        if (dialect.needsPrepareUserReadAcls()) {
-            prepareUserReadAcls(queryFilter);
-        }
         QueryMaker queryMaker = findQueryMaker(queryType);
         if (queryMaker == null) {
             throw new NuxeoException("No QueryMaker accepts query: " + queryType + ": " + query);
         }
+        if (dialect.needsPrepareUserReadAcls()) {
+            prepareUserReadAcls(queryFilter);
+        }
+        Connection replica = getReadReplicaConnection(queryFilter);
         query = computeDistinctDocuments(query, distinctDocuments);
         try {
-            return new ResultSetQueryResult(queryMaker, query, queryFilter, pathResolver, this, params);
+            return new ResultSetQueryResult(queryMaker, query, queryFilter, pathResolver, this,
+                    replica == null ? connection : replica, params);
         } catch (SQLException e) {
+            closeReadReplicaConnection(replica);
             throw new NuxeoException("Invalid query: " + queryType + ": " + query, e, SC_BAD_REQUEST);
+        } catch (RuntimeException e) {
+            closeReadReplicaConnection(replica);
+            throw e;
+        }
+    }
+
+    protected void closeReadReplicaConnection(Connection replica) {
+        if (replica == null) {
+            return;
+        }
+        try {
+            replica.close();
+        } catch (SQLException e) {
+            log.error("Failed to close read replica connection", e);
         }
     }
 
@@ -768,15 +964,35 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
 
     protected <T> PartialList<T> queryProjection(String query, String queryType, QueryFilter queryFilter,
             long countUpTo, BiFunctionSQLException<SQLInfoSelect, ResultSet, T> extractor, Object... params) {
-        if (dialect.needsPrepareUserReadAcls()) {
-            prepareUserReadAcls(queryFilter);
-        }
         QueryMaker queryMaker = findQueryMaker(queryType);
         if (queryMaker == null) {
             throw new NuxeoException("No QueryMaker accepts query: " + queryType + ": " + query);
         }
-        QueryMaker.Query q = queryMaker.buildQuery(sqlInfo, model, pathResolver, query, queryFilter, params);
+        if (dialect.needsPrepareUserReadAcls()) {
+            prepareUserReadAcls(queryFilter);
+        }
+        Connection replica = getReadReplicaConnection(queryFilter);
+        try {
+            QueryMaker.Query q = buildQuery(queryMaker, pathResolver, query, queryFilter, params);
+            return queryProjection(q, query, queryFilter, countUpTo, extractor,
+                    replica == null ? connection : replica);
+        } finally {
+            closeReadReplicaConnection(replica);
+        }
+    }
 
+    protected <T> PartialList<T> queryProjection(QueryMaker.Query q, String query, QueryFilter queryFilter,
+            long countUpTo, BiFunctionSQLException<SQLInfoSelect, ResultSet, T> extractor) {
+        return queryProjection(q, query, queryFilter, countUpTo, extractor, connection);
+    }
+
+    /**
+     * Executes a query on the given connection, which is either the primary one or a read replica.
+     *
+     * @since 10.10-HF74
+     */
+    protected <T> PartialList<T> queryProjection(QueryMaker.Query q, String query, QueryFilter queryFilter,
+            long countUpTo, BiFunctionSQLException<SQLInfoSelect, ResultSet, T> extractor, Connection connection) {
         if (q == null) {
             logger.log("Query cannot return anything due to conflicting clauses");
             return new PartialList<>(Collections.emptyList(), 0);
@@ -901,7 +1117,7 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
             } else {
                 jdbcType = dialect.getJDBCTypeAndString(ColumnType.CLOB).jdbcType;
             }
-            Array array = dialect.createArrayOf(jdbcType, (Object[]) object, connection);
+            Array array = dialect.createArrayOf(jdbcType, (Object[]) object, ps.getConnection());
             ps.setArray(i, array);
         } else {
             ps.setObject(i, object);
@@ -931,13 +1147,51 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
         return scrollSearch(query, queryFilter, batchSize, keepAliveSeconds);
     }
 
+    @Override
+    public ScrollResult<String> keysetScroll(String query, QueryFilter queryFilter, int batchSize, String scrollId) {
+        String lastId = null;
+        if (scrollId != null) {
+            if (!scrollId.startsWith(KEYSET_SCROLL_PREFIX)) {
+                throw new NuxeoException("Invalid keyset scrollId: " + scrollId);
+            }
+            lastId = scrollId.substring(KEYSET_SCROLL_PREFIX.length());
+        }
+        if (dialect.needsPrepareUserReadAcls()) {
+            prepareUserReadAcls(queryFilter);
+        }
+        // SELECT ecm:uuid FROM ... WHERE (...) AND ecm:uuid > lastId ORDER BY ecm:uuid
+        SQLQuery sqlQuery = SQLQueryParser.parse(query);
+        Predicate predicate = sqlQuery.where == null ? null : sqlQuery.where.predicate;
+        if (lastId != null) {
+            Predicate seek = new Predicate(new Reference(NXQL.ECM_UUID), Operator.GT, new StringLiteral(lastId));
+            predicate = predicate == null ? seek : new Predicate(predicate, Operator.AND, seek);
+        }
+        SelectClause select = new SelectClause();
+        select.add(new Reference(NXQL.ECM_UUID));
+        OrderByClause orderBy = new OrderByClause(
+                new OrderByList(new OrderByExpr(new Reference(NXQL.ECM_UUID), false)));
+        WhereClause where = predicate == null ? null : new WhereClause(predicate);
+        sqlQuery = new SQLQuery(select, sqlQuery.from, where, orderBy);
+        QueryFilter batchFilter = new QueryFilter(queryFilter.getPrincipal(), queryFilter.getPrincipals(),
+                queryFilter.getPermissions(), queryFilter.getFacetFilter(), queryFilter.getQueryTransformers(),
+                batchSize, 0);
+        QueryMaker.Query q = new NXQLQueryMaker().buildQuery(sqlInfo, model, pathResolver, sqlQuery, batchFilter);
+        PartialList<Serializable> ids = queryProjection(q, query, batchFilter, 0,
+                (info, rs) -> info.whatColumns.get(0).getFromResultSet(rs, 1));
+        if (ids.isEmpty()) {
+            return new ScrollResultImpl<>(scrollId, Collections.emptyList());
+        }
+        List<String> results = ids.stream().map(String::valueOf).collect(Collectors.toList());
+        return new ScrollResultImpl<>(KEYSET_SCROLL_PREFIX + results.get(results.size() - 1), results);
+    }
+
     protected void checkForTimedoutScroll() {
         cursorResults.forEach((id, cursor) -> cursor.timedOut(id));
     }
 
     protected ScrollResult<String> scrollSearch(String query, QueryFilter queryFilter, int batchSize, int keepAliveSeconds) {
         QueryMaker queryMaker = findQueryMaker("NXQL");
-        QueryMaker.Query q = queryMaker.buildQuery(sqlInfo, model, pathResolver, query, queryFilter);
+        QueryMaker.Query q = buildQuery(queryMaker, pathResolver, query, queryFilter);
         if (q == null) {
             logger.log("Query cannot return anything due to conflicting clauses");
             throw new NuxeoException("Query cannot return anything due to conflicting clauses");
@@ -1086,6 +1340,10 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
 
     @Override
     public Set<Serializable> getAncestorsIds(Collection<Serializable> ids) {
+        if (!dialect.supportsFastDescendants() && dialect.supportsRecursiveQueries()) {
+            // without an ancestors table, a recursive query beats walking up the tree level by level
+            return getAncestorsIdsRecursive(ids);
+        }
         SQLInfoSelect select = sqlInfo.getSelectAncestorsIds();
         if (select == null) {
             return getAncestorsIdsIterative(ids);
@@ -1135,6 +1393,57 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
         }
     }
 
+    /**
+     * Uses a recursive query, in chunks of ids.
+     *
+     * @since 10.10-HF74
+     */
+    protected Set<Serializable> getAncestorsIdsRecursive(Collection<Serializable> ids) {
+        List<Serializable> list = new ArrayList<>(ids);
+        Set<Serializable> res = new HashSet<>();
+        int size = list.size();
+        int chunkSize = sqlInfo.getMaximumArgsForIn();
+        for (int start = 0; start < size; start += chunkSize) {
+            List<Serializable> chunk = list.subList(start, Math.min(start + chunkSize, size));
+            SQLInfoSelect select = sqlInfo.getSelectAncestorsIdsRecursive(chunk);
+            if (logger.isLogEnabled()) {
+                logger.logSQL(select.sql, chunk);
+            }
+            Column what = select.whatColumns.get(0);
+            try (PreparedStatement ps = connection.prepareStatement(select.sql)) {
+                if (!select.whereColumns.isEmpty()) {
+                    Column where = select.whereColumns.get(0);
+                    int i = 1;
+                    for (Serializable id : chunk) {
+                        where.setToPreparedStatement(ps, i++, id);
+                    }
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    countExecute();
+                    List<Serializable> debugIds = null;
+                    if (logger.isLogEnabled()) {
+                        debugIds = new LinkedList<>();
+                    }
+                    while (rs.next()) {
+                        Serializable id = what.getFromResultSet(rs, 1);
+                        if (id != null) {
+                            res.add(id);
+                            if (logger.isLogEnabled()) {
+                                debugIds.add(id); // NOSONAR
+                            }
+                        }
+                    }
+                    if (logger.isLogEnabled()) {
+                        logger.logIds(debugIds, false, 0);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new NuxeoException("Failed to get ancestors ids", e);
+            }
+        }
+        return res;
+    }
+
     /**
      * Uses iterative parentid selection.
      */
@@ -1225,6 +1534,10 @@ public class JDBCMapper extends JDBCRowMapper implements Mapper {
         } catch (SQLException e) {
             throw new NuxeoException("Failed to rebuild read acls", e);
         }
+        ReadReplicas readReplicas = sqlInfo.getReadReplicas();
+        if (readReplicas != null) {
+            readReplicas.clearUserReadAcls();
+        }
         log.debug("rebuildReadAcls: done.");
     }
 
@@ -1270,11 +1270,11 @@ public class JDBCRowMapper extends JDBCConnection implements RowMapper {
 
     @Override
     public List<NodeInfo> getDescendantsInfo(Serializable rootId) {
-        if (!dialect.supportsFastDescendants()) {
+        if (!dialect.supportsFastDescendants() && !dialect.supportsRecursiveQueries()) {
             return getDescendantsInfoIterative(rootId);
         }
         List<NodeInfo> descendants = new LinkedList<>();
-        String sql = sqlInfo.getSelectDescendantsInfoSql();
+        String sql = sqlInfo.getSelectDescendantsInfoSql(rootId);
         if (logger.isLogEnabled()) {
             logger.logSQL(sql, Collections.singletonList(rootId));
         }
@@ -1284,7 +1284,9 @@ public class JDBCRowMapper extends JDBCConnection implements RowMapper {
             if (logger.isLogEnabled()) {
                 debugValues = new LinkedList<>();
             }
-            dialect.setId(ps, 1, rootId); // parent id
+            if (!sqlInfo.isSelectDescendantsInfoInlined()) {
+                dialect.setId(ps, 1, rootId); // parent id
+            }
             try (ResultSet rs = ps.executeQuery()) {
                 countExecute();
                 while (rs.next()) {
@@ -63,6 +63,7 @@ import org.nuxeo.ecm.core.query.sql.model.FromClause;
 import org.nuxeo.ecm.core.query.sql.model.FromList;
 import org.nuxeo.ecm.core.query.sql.model.Function;
 import org.nuxeo.ecm.core.query.sql.model.IntegerLiteral;
+import org.nuxeo.ecm.core.query.sql.model.Keysets;
 import org.nuxeo.ecm.core.query.sql.model.Literal;
 import org.nuxeo.ecm.core.query.sql.model.LiteralList;
 import org.nuxeo.ecm.core.query.sql.model.MultiExpression;
@@ -299,6 +300,18 @@ public class NXQLQueryMaker implements QueryMaker {
     @Override
     public Query buildQuery(SQLInfo sqlInfo, Model model, PathResolver pathResolver, String query,
             QueryFilter queryFilter, Object... params) {
+        return buildQuery(sqlInfo, model, pathResolver, SQLQueryParser.parse(query), queryFilter, params);
+    }
+
+    /**
+     * Builds the query from an already parsed NXQL query.
+     * <p>
+     * The passed query may be modified.
+     *
+     * @since 10.10-HF74
+     */
+    public Query buildQuery(SQLInfo sqlInfo, Model model, PathResolver pathResolver, SQLQuery sqlQuery,
+            QueryFilter queryFilter, Object... params) {
         this.sqlInfo = sqlInfo;
         database = sqlInfo.database;
         dialect = sqlInfo.dialect;
@@ -313,11 +326,15 @@ public class NXQLQueryMaker implements QueryMaker {
 
         // transform the query according to the transformers defined by the
         // security policies
-        SQLQuery sqlQuery = SQLQueryParser.parse(query);
         for (SQLQuery.Transformer transformer : queryFilter.getQueryTransformers()) {
             sqlQuery = transformer.transform(queryFilter.getPrincipal(), sqlQuery);
         }
 
+        // keyset pagination: seek after the last row of the previous page
+        if (queryFilter.getKeyset() != null) {
+            sqlQuery = Keysets.apply(sqlQuery, queryFilter.getKeyset());
+        }
+
         // SELECT * -> SELECT ecm:uuid
         SelectClause selectClause = sqlQuery.select;
         if (selectClause.isEmpty()) {
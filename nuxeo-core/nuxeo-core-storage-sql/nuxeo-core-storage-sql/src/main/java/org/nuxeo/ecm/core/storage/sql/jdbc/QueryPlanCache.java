@@ -0,0 +1,515 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.jdbc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.impl.FacetFilter;
+import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+import org.nuxeo.ecm.core.query.sql.model.DateLiteral;
+import org.nuxeo.ecm.core.query.sql.model.FromClause;
+import org.nuxeo.ecm.core.query.sql.model.Function;
+import org.nuxeo.ecm.core.query.sql.model.IdentityQueryTransformer;
+import org.nuxeo.ecm.core.query.sql.model.Literal;
+import org.nuxeo.ecm.core.query.sql.model.LiteralList;
+import org.nuxeo.ecm.core.query.sql.model.MultiExpression;
+import org.nuxeo.ecm.core.query.sql.model.Operand;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.core.query.sql.model.Predicate;
+import org.nuxeo.ecm.core.query.sql.model.Reference;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+import org.nuxeo.ecm.core.query.sql.model.StringLiteral;
+import org.nuxeo.ecm.core.query.sql.model.WhereClause;
+import org.nuxeo.ecm.core.storage.sql.ColumnType.WrappedId;
+import org.nuxeo.ecm.core.storage.sql.Model;
+import org.nuxeo.ecm.core.storage.sql.Session.PathResolver;
+import org.nuxeo.ecm.core.storage.sql.jdbc.QueryMaker.Query;
+import org.nuxeo.ecm.core.storage.sql.jdbc.SQLInfo.SQLInfoSelect;
+import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.Dialect;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Bounded cache of compiled NXQL query plans.
+ * <p>
+ * A plan is keyed by the shape of the query: the parsed NXQL where the string literals compared to plain columns are
+ * replaced by placeholders, together with the parts of the {@link QueryFilter} that influence the generated SQL. A plan
+ * holds the generated SQL and its parameters, in which the literals, principals and permissions are rebound at each
+ * use.
+ * <p>
+ * The first plan of a shape is built with placeholders and checked against the full build of the actual query. Shapes
+ * for which the generated SQL depends on the literal values are remembered as not cacheable. Queries whose generated
+ * SQL depends on data or time (paths, {@code NOW()}, trash and tag migration states) are never cached.
+ * <p>
+ * The cache belongs to a {@link SQLInfo} and is therefore dropped with the model when the repository is initialized
+ * again.
+ *
+ * @since 10.10-HF74
+ */
+public class QueryPlanCache {
+
+    private static final Log log = LogFactory.getLog(QueryPlanCache.class);
+
+    protected static final String PLACEHOLDER = "\u0000nxql:";
+
+    protected static final String PRINCIPALS_PLACEHOLDER = PLACEHOLDER + "principals";
+
+    protected static final String PERMISSIONS_PLACEHOLDER = PLACEHOLDER + "permissions";
+
+    /** System properties whose string literals are passed as is to the database. */
+    protected static final Set<String> REBINDABLE_SYSTEM_PROPERTIES = new HashSet<>(
+            Arrays.asList(NXQL.ECM_UUID, NXQL.ECM_PARENTID, NXQL.ECM_NAME, NXQL.ECM_LIFECYCLESTATE));
+
+    protected static final Set<Operator> REBINDABLE_OPERATORS = new HashSet<>(Arrays.asList(Operator.EQ,
+            Operator.NOTEQ, Operator.LT, Operator.GT, Operator.LTEQ, Operator.GTEQ, Operator.IN, Operator.NOTIN));
+
+    protected static final Shape NOT_CACHEABLE_SHAPE = new Shape(null, Collections.emptyList());
+
+    protected static final Plan NOT_CACHEABLE_PLAN = new Plan(null, new Object[0]);
+
+    protected static final Object INVALID_SLOT = new Object();
+
+    protected final Map<String, Shape> shapes;
+
+    protected final Map<List<Object>, Plan> plans;
+
+    protected final Counter hits;
+
+    protected final Counter misses;
+
+    public QueryPlanCache(String repositoryName, int maxSize) {
+        shapes = Collections.synchronizedMap(new LRUCache<>(maxSize));
+        plans = Collections.synchronizedMap(new LRUCache<>(maxSize));
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        hits = registry.counter(MetricRegistry.name("nuxeo", "repositories", repositoryName, "queryplans", "hits"));
+        misses = registry.counter(
+                MetricRegistry.name("nuxeo", "repositories", repositoryName, "queryplans", "misses"));
+        String gaugeName = MetricRegistry.name("nuxeo", "repositories", repositoryName, "queryplans", "size");
+        registry.remove(gaugeName);
+        registry.register(gaugeName, new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return Integer.valueOf(plans.size());
+            }
+        });
+        gaugeName = MetricRegistry.name("nuxeo", "repositories", repositoryName, "queryplans", "hit-ratio");
+        registry.remove(gaugeName);
+        registry.register(gaugeName, new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                long hitCount = hits.getCount();
+                return Ratio.of(hitCount, hitCount + misses.getCount());
+            }
+        });
+    }
+
+    /**
+     * Builds the query, reusing a compiled plan for queries of the same shape.
+     */
+    public Query buildQuery(NXQLQueryMaker queryMaker, SQLInfo sqlInfo, Model model, PathResolver pathResolver,
+            String query, QueryFilter queryFilter) {
+        Shape shape = shapes.get(query);
+        if (shape == null) {
+            shape = Shape.of(query);
+            shapes.put(query, shape);
+        }
+        if (shape == NOT_CACHEABLE_SHAPE) {
+            return queryMaker.buildQuery(sqlInfo, model, pathResolver, query, queryFilter);
+        }
+        List<Object> key = shape.getKey(queryFilter);
+        Plan plan = plans.get(key);
+        if (plan != null && plan != NOT_CACHEABLE_PLAN) {
+            hits.inc();
+            return plan.bind(shape.values, queryFilter);
+        }
+        misses.inc();
+        Query q = queryMaker.buildQuery(sqlInfo, model, pathResolver, query, queryFilter);
+        if (plan == null && q != null) {
+            plans.put(key, compile(sqlInfo, model, pathResolver, shape, queryFilter, q));
+        }
+        return q;
+    }
+
+    /**
+     * Drops all the cached plans.
+     */
+    public void clear() {
+        shapes.clear();
+        plans.clear();
+    }
+
+    /**
+     * Builds the plan of a shape with placeholders, and checks it against the actual query.
+     */
+    protected Plan compile(SQLInfo sqlInfo, Model model, PathResolver pathResolver, Shape shape,
+            QueryFilter queryFilter, Query expected) {
+        String[] principals = queryFilter.getPrincipals() == null ? null : new String[] { PRINCIPALS_PLACEHOLDER };
+        String[] permissions = queryFilter.getPermissions() == null ? null
+                : new String[] { PERMISSIONS_PLACEHOLDER };
+        QueryFilter placeholderFilter = new QueryFilter(queryFilter.getPrincipal(), principals, permissions,
+                queryFilter.getFacetFilter(), queryFilter.getQueryTransformers(), queryFilter.getLimit(),
+                queryFilter.getOffset());
+        Query q;
+        try {
+            q = new NXQLQueryMaker().buildQuery(sqlInfo, model, pathResolver, shape.newQuery(), placeholderFilter);
+        } catch (RuntimeException e) {
+            log.debug("Cannot build query plan for: " + shape.query, e);
+            return NOT_CACHEABLE_PLAN;
+        }
+        if (q == null || q.selectInfo.sql.contains(PLACEHOLDER)) {
+            return NOT_CACHEABLE_PLAN;
+        }
+        int[] uses = new int[shape.values.size()];
+        Object[] params = new Object[q.selectParams.size()];
+        int i = 0;
+        for (Serializable param : q.selectParams) {
+            Object slot = toSlot(param, uses);
+            if (slot == INVALID_SLOT) {
+                return NOT_CACHEABLE_PLAN;
+            }
+            params[i++] = slot;
+        }
+        for (int use : uses) {
+            if (use != 1) {
+                return NOT_CACHEABLE_PLAN;
+            }
+        }
+        Plan plan = new Plan(q.selectInfo, params);
+        if (!isSameQuery(plan.bind(shape.values, queryFilter), expected)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Query plan depends on literal values, not caching: " + shape.query);
+            }
+            return NOT_CACHEABLE_PLAN;
+        }
+        return plan;
+    }
+
+    protected static Object toSlot(Serializable param, int[] uses) {
+        if (param instanceof WrappedId && ((WrappedId) param).string.startsWith(PLACEHOLDER)) {
+            return toLiteralSlot(((WrappedId) param).string, true, uses);
+        } else if (param instanceof String && ((String) param).startsWith(PLACEHOLDER)) {
+            if (PRINCIPALS_PLACEHOLDER.equals(param)) {
+                return new Slot(Slot.PRINCIPALS, -1, true);
+            } else if (PERMISSIONS_PLACEHOLDER.equals(param)) {
+                return new Slot(Slot.PERMISSIONS, -1, true);
+            }
+            return toLiteralSlot((String) param, false, uses);
+        } else if (param instanceof String[] && ((String[]) param).length == 1) {
+            String string = ((String[]) param)[0];
+            if (PRINCIPALS_PLACEHOLDER.equals(string)) {
+                return new Slot(Slot.PRINCIPALS, -1, false);
+            } else if (PERMISSIONS_PLACEHOLDER.equals(string)) {
+                return new Slot(Slot.PERMISSIONS, -1, false);
+            }
+        }
+        String string = param instanceof Object[] ? Arrays.deepToString((Object[]) param) : String.valueOf(param);
+        if (string.contains(PLACEHOLDER)) {
+            // placeholder transformed by the query maker
+            return INVALID_SLOT;
+        }
+        return param;
+    }
+
+    protected static Object toLiteralSlot(String placeholder, boolean wrapped, int[] uses) {
+        int index;
+        try {
+            index = Integer.parseInt(placeholder.substring(PLACEHOLDER.length()));
+        } catch (NumberFormatException e) {
+            return INVALID_SLOT;
+        }
+        if (index < 0 || index >= uses.length) {
+            return INVALID_SLOT;
+        }
+        uses[index]++;
+        return new Slot(Slot.LITERAL, index, wrapped);
+    }
+
+    protected static boolean isSameQuery(Query q1, Query q2) {
+        if (!q1.selectInfo.sql.equals(q2.selectInfo.sql) || q1.selectParams.size() != q2.selectParams.size()) {
+            return false;
+        }
+        for (int i = 0; i < q1.selectParams.size(); i++) {
+            Serializable p1 = q1.selectParams.get(i);
+            Serializable p2 = q2.selectParams.get(i);
+            if (p1 instanceof WrappedId && p2 instanceof WrappedId) {
+                if (!((WrappedId) p1).string.equals(((WrappedId) p2).string)) {
+                    return false;
+                }
+            } else if (!Objects.deepEquals(p1, p2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A parameter of a plan that is rebound at each use.
+     */
+    protected static class Slot {
+
+        protected static final int LITERAL = 0;
+
+        protected static final int PRINCIPALS = 1;
+
+        protected static final int PERMISSIONS = 2;
+
+        protected final int kind;
+
+        protected final int index;
+
+        /** Wrapped id for a literal, joined array for principals and permissions. */
+        protected final boolean flag;
+
+        protected Slot(int kind, int index, boolean flag) {
+            this.kind = kind;
+            this.index = index;
+            this.flag = flag;
+        }
+
+        protected Serializable bind(List<String> values, QueryFilter queryFilter) {
+            switch (kind) {
+            case LITERAL:
+                String value = values.get(index);
+                return flag ? new WrappedId(value) : value;
+            case PRINCIPALS:
+                return flag ? StringUtils.join(queryFilter.getPrincipals(), Dialect.ARRAY_SEP)
+                        : queryFilter.getPrincipals();
+            case PERMISSIONS:
+                return flag ? StringUtils.join(queryFilter.getPermissions(), Dialect.ARRAY_SEP)
+                        : queryFilter.getPermissions();
+            default:
+                throw new AssertionError(kind);
+            }
+        }
+    }
+
+    /**
+     * A compiled query: the generated SQL and its parameters, either constants or {@link Slot}s.
+     */
+    protected static class Plan {
+
+        protected final SQLInfoSelect selectInfo;
+
+        protected final Object[] params;
+
+        protected Plan(SQLInfoSelect selectInfo, Object[] params) {
+            this.selectInfo = selectInfo;
+            this.params = params;
+        }
+
+        protected Query bind(List<String> values, QueryFilter queryFilter) {
+            Query q = new Query();
+            q.selectInfo = selectInfo;
+            for (Object param : params) {
+                q.selectParams.add(
+                        param instanceof Slot ? ((Slot) param).bind(values, queryFilter) : (Serializable) param);
+            }
+            return q;
+        }
+    }
+
+    /**
+     * The shape of a query, and the literal values extracted from it.
+     */
+    protected static class Shape {
+
+        /** The query with placeholders instead of the rebindable literals. */
+        protected final SQLQuery query;
+
+        protected final List<String> values;
+
+        protected Shape(SQLQuery query, List<String> values) {
+            this.query = query;
+            this.values = values;
+        }
+
+        protected static Shape of(String query) {
+            ShapeExtractor extractor = new ShapeExtractor();
+            SQLQuery shape;
+            try {
+                SQLQuery sqlQuery = SQLQueryParser.parse(query);
+                if (sqlQuery.groupBy != null || sqlQuery.having != null) {
+                    return NOT_CACHEABLE_SHAPE;
+                }
+                shape = extractor.transform(sqlQuery);
+            } catch (RuntimeException e) {
+                // invalid query, the actual build will report it
+                return NOT_CACHEABLE_SHAPE;
+            }
+            if (!extractor.cacheable) {
+                return NOT_CACHEABLE_SHAPE;
+            }
+            return new Shape(shape, extractor.values);
+        }
+
+        /**
+         * Returns a copy of the query with placeholders, which can be modified by the query maker.
+         */
+        protected SQLQuery newQuery() {
+            return new ShapeExtractor().transform(query);
+        }
+
+        /**
+         * Gets the plan key for this shape and the given query filter.
+         * <p>
+         * Select and from lists are maps whose equality ignores ordering, so their keys are listed explicitly.
+         */
+        protected List<Object> getKey(QueryFilter queryFilter) {
+            List<Object> key = new ArrayList<>();
+            key.add(new ArrayList<>(query.select.elements.keySet()));
+            key.add(query.select);
+            key.add(Integer.valueOf(query.from.type));
+            key.add(new ArrayList<>(query.from.elements.keySet()));
+            key.add(query.from);
+            key.add(query.where == null ? null : query.where.predicate);
+            key.add(query.orderBy);
+            key.add(Long.valueOf(query.limit));
+            key.add(Long.valueOf(query.offset));
+            key.add(Boolean.valueOf(queryFilter.getPrincipals() != null));
+            key.add(Boolean.valueOf(queryFilter.getPermissions() != null));
+            FacetFilter facetFilter = queryFilter.getFacetFilter();
+            key.add(facetFilter == null ? null : facetFilter.required);
+            key.add(facetFilter == null ? null : facetFilter.excluded);
+            Collection<SQLQuery.Transformer> transformers = queryFilter.getQueryTransformers();
+            if (transformers != null && !transformers.isEmpty()) {
+                // transformers may generate different clauses depending on the user
+                List<Object> transformerClasses = new ArrayList<>(transformers.size());
+                transformers.forEach(transformer -> transformerClasses.add(transformer.getClass()));
+                key.add(transformerClasses);
+                key.add(queryFilter.getPrincipal() == null ? null : queryFilter.getPrincipal().getName());
+                key.add(queryFilter.getPrincipals() == null ? null : Arrays.asList(queryFilter.getPrincipals()));
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Replaces the rebindable string literals of a query by placeholders, and detects queries that cannot be cached.
+     */
+    protected static class ShapeExtractor extends IdentityQueryTransformer {
+
+        protected final List<String> values = new ArrayList<>();
+
+        protected boolean cacheable = true;
+
+        @Override
+        public FromClause transform(FromClause node) {
+            return new FromClause(node.type, transform(node.elements));
+        }
+
+        @Override
+        public WhereClause transform(WhereClause node) {
+            if (node == null || node.predicate == null) {
+                return node;
+            }
+            return super.transform(node);
+        }
+
+        @Override
+        public Predicate transform(Predicate node) {
+            if (node instanceof MultiExpression || !isRebindable(node)) {
+                return super.transform(node);
+            }
+            Operand rvalue;
+            if (node.rvalue instanceof StringLiteral) {
+                rvalue = placeholder((StringLiteral) node.rvalue);
+            } else {
+                LiteralList list = new LiteralList();
+                for (Literal literal : (LiteralList) node.rvalue) {
+                    list.add(literal instanceof StringLiteral ? placeholder((StringLiteral) literal)
+                            : transform(literal));
+                }
+                rvalue = list;
+            }
+            Predicate predicate = new Predicate(transform(node.lvalue), node.operator, rvalue);
+            predicate.info = node.info;
+            return predicate;
+        }
+
+        protected boolean isRebindable(Predicate node) {
+            if (!(node.lvalue instanceof Reference) || !REBINDABLE_OPERATORS.contains(node.operator)) {
+                return false;
+            }
+            Reference reference = (Reference) node.lvalue;
+            if (reference.cast != null || reference.name.startsWith(NXQL.ECM_PREFIX)
+                    && !REBINDABLE_SYSTEM_PROPERTIES.contains(reference.name)) {
+                return false;
+            }
+            return node.rvalue instanceof StringLiteral || node.rvalue instanceof LiteralList;
+        }
+
+        protected StringLiteral placeholder(StringLiteral literal) {
+            StringLiteral placeholder = new StringLiteral(PLACEHOLDER + values.size());
+            values.add(literal.value);
+            return placeholder;
+        }
+
+        @Override
+        public Operator transform(Operator node) {
+            // DIV is built with the same id as SUB, they cannot be told apart in a key
+            if (node == Operator.STARTSWITH || node.equals(Operator.SUB)) {
+                cacheable = false;
+            }
+            return node;
+        }
+
+        @Override
+        public Reference transform(Reference node) {
+            String name = node.name;
+            if (NXQL.ECM_PATH.equals(name) || NXQL.ECM_ISTRASHED.equals(name) || NXQL.ECM_TAG.equals(name)
+                    || name.startsWith(NXQLQueryMaker.ECM_TAG_STAR)) {
+                // depends on the path resolver or on migration states
+                cacheable = false;
+            }
+            return super.transform(node);
+        }
+
+        @Override
+        public Operand transform(Function node) {
+            if (NXQL.NOW_FUNCTION.equalsIgnoreCase(node.name)) {
+                cacheable = false;
+            }
+            return super.transform(node);
+        }
+
+        @Override
+        public Literal transform(DateLiteral node) {
+            // DATE and TIMESTAMP literals of the same instant are equal, and rarely repeated anyway
+            cacheable = false;
+            return node;
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.nuxeo.runtime.datasource.ConnectionHelper;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Read-only datasources to which the queries made outside of write transactions are routed.
+ * <p>
+ * Replicas lag behind the primary database, so a query is routed only if no invalidation was sent or received during
+ * the configured staleness. On databases where the read ACLs of a user must be prepared before querying, the
+ * preparation is always done on the primary, and queries for these principals are routed only once the transaction
+ * that first prepared them has been committed for at least the staleness. As the read ACLs caches may be truncated
+ * when read ACLs are rebuilt or vacuumed, possibly by another node, the prepared principals are forgotten at that time
+ * and whenever invalidations are received.
+ * <p>
+ * The replicas belong to a {@link SQLInfo} and are therefore shared by all the mappers of a repository.
+ *
+ * @since 10.10-HF74
+ */
+public class ReadReplicas {
+
+    /** Maximum number of principals keys whose read ACLs preparation time is remembered. */
+    public static final int MAX_PREPARED_USER_READ_ACLS = 10_000;
+
+    protected final List<String> dataSourceNames;
+
+    protected final long staleness;
+
+    protected final AtomicInteger next = new AtomicInteger();
+
+    protected final Map<String, Long> preparedUserReadAcls = Collections.synchronizedMap(
+            new LRUCache<>(MAX_PREPARED_USER_READ_ACLS));
+
+    protected final Counter queries;
+
+    protected volatile long lastInvalidation;
+
+    public ReadReplicas(String repositoryName, List<String> dataSourceNames, long staleness) {
+        this.dataSourceNames = new ArrayList<>(dataSourceNames);
+        this.staleness = staleness;
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        queries = registry.counter(MetricRegistry.name("nuxeo", "repositories", repositoryName, "readreplicas",
+                "queries"));
+    }
+
+    /**
+     * Records that changes were committed to the primary database, or received from another cluster node.
+     */
+    public void invalidated() {
+        lastInvalidation = System.currentTimeMillis();
+    }
+
+    /**
+     * Checks whether the replicas are assumed to have caught up with the last invalidation.
+     */
+    public boolean isFresh() {
+        return staleness <= 0 || System.currentTimeMillis() - lastInvalidation >= staleness;
+    }
+
+    /**
+     * Records that the read ACLs of the given principals keys were prepared in a committed transaction.
+     */
+    public void userReadAclsPrepared(Collection<String> keys) {
+        Long now = Long.valueOf(System.currentTimeMillis());
+        for (String key : keys) {
+            preparedUserReadAcls.putIfAbsent(key, now);
+        }
+    }
+
+    /**
+     * Forgets the principals keys whose read ACLs were prepared, as the read ACLs caches may have been truncated.
+     */
+    public void clearUserReadAcls() {
+        preparedUserReadAcls.clear();
+    }
+
+    /**
+     * Checks whether the read ACLs of the given principals key are assumed to be prepared on the replicas.
+     */
+    public boolean isUserReadAclsPrepared(String key) {
+        Long prepared = preparedUserReadAcls.get(key);
+        return prepared != null
+                && (staleness <= 0 || System.currentTimeMillis() - prepared.longValue() >= staleness);
+    }
+
+    /**
+     * Gets a new connection to one of the replicas, chosen in turn. The connection <strong>MUST</strong> be closed by
+     * the caller.
+     */
+    public Connection getConnection() throws SQLException {
+        int index = Math.floorMod(next.getAndIncrement(), dataSourceNames.size());
+        Connection connection = ConnectionHelper.getConnection(dataSourceNames.get(index), true);
+        queries.inc();
+        return connection;
+    }
+
+}
@@ -19,6 +19,7 @@
 package org.nuxeo.ecm.core.storage.sql.jdbc;
 
 import java.io.Serializable;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -51,16 +52,32 @@ public class ResultSetQueryResult implements IterableQueryResult, Iterator<Map<S
 
     private final JDBCLogger logger;
 
+    /** Connection owned by this result, closed with it. */
+    private Connection ownedConnection;
+
     public ResultSetQueryResult(QueryMaker queryMaker, String query, QueryFilter queryFilter, PathResolver pathResolver,
             JDBCMapper mapper, Object... params) throws SQLException {
+        this(queryMaker, query, queryFilter, pathResolver, mapper, mapper.connection, params);
+    }
+
+    /**
+     * Executes the query on the given connection. If it is not the mapper's connection, it is closed with this result.
+     *
+     * @since 10.10-HF74
+     */
+    public ResultSetQueryResult(QueryMaker queryMaker, String query, QueryFilter queryFilter, PathResolver pathResolver,
+            JDBCMapper mapper, Connection connection, Object... params) throws SQLException {
         logger = mapper.logger;
-        q = queryMaker.buildQuery(mapper.sqlInfo, mapper.model, pathResolver, query, queryFilter, params);
+        q = mapper.buildQuery(queryMaker, pathResolver, query, queryFilter, params);
         if (q == null) {
             // no result
             size = 0;
             ps = null;
             rs = null;
             eof = true;
+            if (connection != mapper.connection) {
+                connection.close();
+            }
             return;
         } else {
             eof = false;
@@ -68,7 +85,7 @@ public class ResultSetQueryResult implements IterableQueryResult, Iterator<Map<S
         if (logger.isLogEnabled()) {
             logger.logSQL(q.selectInfo.sql, q.selectParams);
         }
-        ps = mapper.connection.prepareStatement(q.selectInfo.sql, ResultSet.TYPE_SCROLL_INSENSITIVE,
+        ps = connection.prepareStatement(q.selectInfo.sql, ResultSet.TYPE_SCROLL_INSENSITIVE,
                 ResultSet.CONCUR_READ_ONLY);
         int i = 1;
         for (Serializable object : q.selectParams) {
@@ -76,6 +93,9 @@ public class ResultSetQueryResult implements IterableQueryResult, Iterator<Map<S
         }
         rs = ps.executeQuery();
         mapper.countExecute();
+        if (connection != mapper.connection) {
+            ownedConnection = connection;
+        }
         // rs.setFetchDirection(ResultSet.FETCH_UNKNOWN); fails in H2
     }
 
@@ -96,12 +116,16 @@ public class ResultSetQueryResult implements IterableQueryResult, Iterator<Map<S
         try {
             rs.close();
             closePreparedStatement(ps);
+            if (ownedConnection != null) {
+                ownedConnection.close();
+            }
         } catch (SQLException e) {
             logger.error("Error closing statement: " + e.getMessage(), e);
         } finally {
             pos = -1;
             rs = null;
             ps = null;
+            ownedConnection = null;
         }
     }
 
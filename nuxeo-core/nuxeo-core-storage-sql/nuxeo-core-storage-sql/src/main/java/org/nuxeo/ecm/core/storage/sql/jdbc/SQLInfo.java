@@ -138,6 +138,10 @@ public class SQLInfo {
 
     protected List<Column> getBinariesColumns;
 
+    protected final QueryPlanCache queryPlanCache; // @since 10.10-HF74
+
+    protected final ReadReplicas readReplicas; // @since 10.10-HF74
+
     /**
      * Generates and holds the needed SQL statements given a {@link Model} and a {@link Dialect}.
      *
@@ -177,6 +181,13 @@ public class SQLInfo {
         getBinariesSql = new ArrayList<>(1);
         getBinariesColumns = new ArrayList<>(1);
 
+        int queryPlanCacheSize = repositoryDescriptor.getQueryPlanCacheSize();
+        queryPlanCache = queryPlanCacheSize > 0 ? new QueryPlanCache(repositoryDescriptor.name, queryPlanCacheSize)
+                : null;
+        readReplicas = repositoryDescriptor.readReplicaDataSources.isEmpty() ? null
+                : new ReadReplicas(repositoryDescriptor.name, repositoryDescriptor.readReplicaDataSources,
+                        repositoryDescriptor.getReadReplicasStaleness());
+
         initSQL();
         initSelections();
 
@@ -191,6 +202,24 @@ public class SQLInfo {
         return database;
     }
 
+    /**
+     * Gets the cache of compiled NXQL query plans, or {@code null} if disabled.
+     *
+     * @since 10.10-HF74
+     */
+    public QueryPlanCache getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
+    /**
+     * Gets the read replicas to which read-only queries are routed, or {@code null} if none are configured.
+     *
+     * @since 10.10-HF74
+     */
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
     // ----- select -----
 
     public String getSelectRootIdSql() {
@@ -463,6 +492,57 @@ public class SQLInfo {
         return new SQLInfoSelect(sql, Collections.singletonList(mainColumn), null, null);
     }
 
+    /**
+     * Select all ancestors ids for several fragments, using a recursive query.
+     * <p>
+     * Alternative to stored functions and to the iterative {@link #getSelectParentIds}, when the dialect
+     * {@linkplain Dialect#supportsRecursiveQueries supports recursive queries}.
+     *
+     * @since 10.10-HF74
+     */
+    public SQLInfoSelect getSelectAncestorsIdsRecursive(int nids) {
+        Column mainColumn = database.getTable(Model.HIER_TABLE_NAME).getColumn(Model.MAIN_KEY);
+        return getSelectAncestorsIdsRecursive(String.join(", ", Collections.nCopies(nids, "?")),
+                Collections.singletonList(mainColumn));
+    }
+
+    /**
+     * Select all ancestors ids for the given fragments, using a recursive query.
+     * <p>
+     * The ids are inlined in the SQL if the dialect {@linkplain Dialect#needsInlinedRecursiveQueryIds needs it}, in
+     * which case the returned select has no where columns.
+     *
+     * @since 10.10-HF74
+     */
+    public SQLInfoSelect getSelectAncestorsIdsRecursive(Collection<Serializable> ids) {
+        if (!dialect.needsInlinedRecursiveQueryIds()) {
+            return getSelectAncestorsIdsRecursive(ids.size());
+        }
+        String idsSql = ids.stream().map(dialect::getIdLiteral).collect(Collectors.joining(", "));
+        return getSelectAncestorsIdsRecursive(idsSql, Collections.emptyList());
+    }
+
+    protected SQLInfoSelect getSelectAncestorsIdsRecursive(String idsSql, List<Column> whereColumns) {
+        Table table = database.getTable(Model.HIER_TABLE_NAME);
+        Column mainColumn = table.getColumn(Model.MAIN_KEY);
+        Column parentColumn = table.getColumn(Model.HIER_PARENT_KEY);
+        String whats = mainColumn.getFullQuotedName() + ", " + parentColumn.getFullQuotedName();
+        Select initial = new Select(table);
+        initial.setWhat(whats);
+        initial.setFrom(table.getQuotedName());
+        initial.setWhere(
+                mainColumn.getFullQuotedName() + " IN (" + idsSql + ")" + getSoftDeleteClause(Model.HIER_TABLE_NAME));
+        Select recursive = new Select(table);
+        recursive.setWhat(whats);
+        recursive.setFrom(table.getQuotedName() + " JOIN nxancestors ON " + mainColumn.getFullQuotedName()
+                + " = nxancestors.parentid");
+        // no soft-delete check needed, as ancestors of a non-deleted doc
+        // aren't deleted either
+        String sql = dialect.getRecursiveQuerySql("nxancestors", "id, parentid", initial.getStatement(),
+                recursive.getStatement(), "SELECT DISTINCT parentid FROM nxancestors WHERE parentid IS NOT NULL");
+        return new SQLInfoSelect(sql, Collections.singletonList(parentColumn), whereColumns, null);
+    }
+
     /**
      * Select parentid by ids for all values of several fragments.
      */
@@ -803,12 +883,7 @@ public class SQLInfo {
 
     protected void initSelectDescendantsSQL() {
         Table hierTable = database.getTable(Model.HIER_TABLE_NAME);
-        Table proxyTable = null;
-        if (proxiesEnabled) {
-            proxyTable = database.getTable(Model.PROXY_TABLE_NAME);
-        }
-        Column mainColumn = hierTable.getColumn(Model.MAIN_KEY);
-        List<Column> whatCols = new ArrayList<>(Arrays.asList(mainColumn, //
+        List<Column> whatCols = new ArrayList<>(Arrays.asList(hierTable.getColumn(Model.MAIN_KEY), //
                 hierTable.getColumn(Model.HIER_PARENT_KEY), //
                 hierTable.getColumn(Model.MAIN_PRIMARY_TYPE_KEY), //
                 hierTable.getColumn(Model.HIER_CHILD_ISPROPERTY_KEY), //
@@ -816,24 +891,74 @@ public class SQLInfo {
                 hierTable.getColumn(Model.MAIN_HAS_LEGAL_HOLD_KEY), //
                 hierTable.getColumn(Model.MAIN_IS_RETENTION_ACTIVE_KEY)));
         if (proxiesEnabled) {
+            Table proxyTable = database.getTable(Model.PROXY_TABLE_NAME);
             whatCols.add(proxyTable.getColumn(Model.PROXY_VERSIONABLE_KEY));
             whatCols.add(proxyTable.getColumn(Model.PROXY_TARGET_KEY));
         }
         // no mixins, not used to decide if we have a version or proxy
-        String whats = whatCols.stream().map(Column::getFullQuotedName).collect(Collectors.joining(", "));
+        selectDescendantsInfoWhatColumns = whatCols;
+        selectDescendantsInfoSql = buildSelectDescendantsInfoSql("?");
+    }
+
+    /**
+     * Select descendants info for the given root id, which is inlined in the SQL if the dialect uses recursive queries
+     * and {@linkplain Dialect#needsInlinedRecursiveQueryIds needs it}. Otherwise it is passed as the only parameter.
+     *
+     * @since 10.10-HF74
+     */
+    public String getSelectDescendantsInfoSql(Serializable rootId) {
+        if (isSelectDescendantsInfoInlined()) {
+            return buildSelectDescendantsInfoSql(dialect.getIdLiteral(rootId));
+        }
+        return selectDescendantsInfoSql;
+    }
+
+    /**
+     * Checks whether the root id is inlined in the SQL returned by {@link #getSelectDescendantsInfoSql(Serializable)}.
+     *
+     * @since 10.10-HF74
+     */
+    public boolean isSelectDescendantsInfoInlined() {
+        return !dialect.supportsFastDescendants() && dialect.supportsRecursiveQueries()
+                && dialect.needsInlinedRecursiveQueryIds();
+    }
+
+    protected String buildSelectDescendantsInfoSql(String rootIdSql) {
+        Table hierTable = database.getTable(Model.HIER_TABLE_NAME);
+        Column mainColumn = hierTable.getColumn(Model.MAIN_KEY);
+        String whats = selectDescendantsInfoWhatColumns.stream().map(Column::getFullQuotedName).collect(
+                Collectors.joining(", "));
         Select select = new Select(null);
         select.setWhat(whats);
         String from = hierTable.getQuotedName();
         if (proxiesEnabled) {
+            Table proxyTable = database.getTable(Model.PROXY_TABLE_NAME);
             from += " LEFT JOIN " + proxyTable.getQuotedName() + " ON " + mainColumn.getFullQuotedName() + " = "
                     + proxyTable.getColumn(Model.MAIN_KEY).getFullQuotedName();
         }
-        select.setFrom(from);
-        String where = dialect.getInTreeSql(mainColumn.getFullQuotedName(), null);
-        where += getSoftDeleteClause(Model.HIER_TABLE_NAME);
-        select.setWhere(where);
-        selectDescendantsInfoSql = select.getStatement();
-        selectDescendantsInfoWhatColumns = whatCols;
+        if (!dialect.supportsFastDescendants() && dialect.supportsRecursiveQueries()) {
+            Column parentColumn = hierTable.getColumn(Model.HIER_PARENT_KEY);
+            String notComplex = hierTable.getColumn(Model.HIER_CHILD_ISPROPERTY_KEY).getFullQuotedName() + " = "
+                    + dialect.toBooleanValueString(false) + getSoftDeleteClause(Model.HIER_TABLE_NAME);
+            Select initial = new Select(hierTable);
+            initial.setWhat(mainColumn.getFullQuotedName());
+            initial.setFrom(hierTable.getQuotedName());
+            initial.setWhere(parentColumn.getFullQuotedName() + " = " + rootIdSql + " AND " + notComplex);
+            Select recursive = new Select(hierTable);
+            recursive.setWhat(mainColumn.getFullQuotedName());
+            recursive.setFrom(hierTable.getQuotedName() + " JOIN nxdescendants ON "
+                    + parentColumn.getFullQuotedName() + " = nxdescendants.id");
+            recursive.setWhere(notComplex);
+            select.setFrom(from + " JOIN nxdescendants ON " + mainColumn.getFullQuotedName() + " = nxdescendants.id");
+            return dialect.getRecursiveQuerySql("nxdescendants", "id", initial.getStatement(),
+                    recursive.getStatement(), select.getStatement());
+        } else {
+            select.setFrom(from);
+            String where = dialect.getInTreeSql(mainColumn.getFullQuotedName(), null);
+            where += getSoftDeleteClause(Model.HIER_TABLE_NAME);
+            select.setWhere(where);
+            return select.getStatement();
+        }
     }
 
     /**
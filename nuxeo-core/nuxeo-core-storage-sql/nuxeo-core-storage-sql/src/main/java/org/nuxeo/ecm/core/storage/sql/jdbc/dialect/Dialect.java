@@ -88,6 +88,21 @@ public abstract class Dialect {
      */
     protected String descending;
 
+    /**
+     * Property used to disable the use of recursive queries to fetch ancestors and descendants, falling back to stored
+     * functions or per-level queries.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String RECURSIVE_QUERIES_PROP = "nuxeo.vcs.use-recursive-queries";
+
+    /**
+     * Whether recursive queries are used, computed from {@link #RECURSIVE_QUERIES_PROP}.
+     *
+     * @since 10.10-HF74
+     */
+    protected Boolean recursiveQueries;
+
     /**
      * System property to override the dialect to use globally instead of the one auto-detected. It can be suffixed by
      * "." and the database name (without spaces and as returned by the database itself) to override only for a specific
@@ -1243,6 +1258,72 @@ public abstract class Dialect {
         return null;
     }
 
+    /**
+     * Checks whether the database can evaluate recursive common table expressions ({@code WITH RECURSIVE}). Ids of the
+     * initial query are passed as parameters unless {@link #needsInlinedRecursiveQueryIds} says otherwise.
+     *
+     * @since 10.10-HF74
+     */
+    protected boolean hasRecursiveQueries() {
+        return false;
+    }
+
+    /**
+     * Checks whether ancestors and descendants are fetched using a single recursive query, as built by
+     * {@link #getRecursiveQuerySql}. This can be disabled through {@link #RECURSIVE_QUERIES_PROP}.
+     * <p>
+     * The dialects also use it for security: the H2 security check fetches the ACLs of all the ancestors in one query,
+     * and the SQL Server {@link #getUpdateReadAclsSql read ACLs update} collects the descendants of the modified
+     * documents in one query instead of one query per level. Oracle already uses {@code CONNECT BY} there.
+     *
+     * @since 10.10-HF74
+     */
+    public boolean supportsRecursiveQueries() {
+        if (recursiveQueries == null) {
+            recursiveQueries = Boolean.valueOf(hasRecursiveQueries()
+                    && Boolean.parseBoolean(Framework.getProperty(RECURSIVE_QUERIES_PROP, "true")));
+        }
+        return recursiveQueries.booleanValue();
+    }
+
+    /**
+     * Checks whether the ids in the initial query of a recursive query must be inlined as literals, for databases that
+     * don't accept parameters there.
+     *
+     * @since 10.10-HF74
+     */
+    public boolean needsInlinedRecursiveQueryIds() {
+        return false;
+    }
+
+    /**
+     * Gets the SQL literal for an id, used when it cannot be passed as a parameter.
+     *
+     * @since 10.10-HF74
+     */
+    public String getIdLiteral(Serializable id) {
+        if (id instanceof Number) {
+            return id.toString();
+        }
+        return "'" + id.toString().replace("'", "''") + "'";
+    }
+
+    /**
+     * Gets the SQL for a recursive query.
+     *
+     * @param name the name of the common table expression
+     * @param columns the comma-separated columns of the common table expression
+     * @param initialSql the initial query
+     * @param recursiveSql the recursive query, referencing the common table expression
+     * @param sql the final query, selecting from the common table expression
+     * @since 10.10-HF74
+     */
+    public String getRecursiveQuerySql(String name, String columns, String initialSql, String recursiveSql,
+            String sql) {
+        return "WITH RECURSIVE " + name + " (" + columns + ") AS (" + initialSql + " UNION ALL " + recursiveSql + ") "
+                + sql;
+    }
+
     /**
      * Gets the SQL descending sort direction with option to sort nulls last. Use to unify database behavior.
      *
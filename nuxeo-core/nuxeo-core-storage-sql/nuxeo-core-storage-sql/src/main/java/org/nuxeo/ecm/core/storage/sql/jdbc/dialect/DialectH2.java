@@ -48,6 +48,7 @@ import org.nuxeo.ecm.core.storage.sql.jdbc.db.Column;
 import org.nuxeo.ecm.core.storage.sql.jdbc.db.Database;
 import org.nuxeo.ecm.core.storage.sql.jdbc.db.Join;
 import org.nuxeo.ecm.core.storage.sql.jdbc.db.Table;
+import org.nuxeo.runtime.api.Framework;
 
 /**
  * H2-specific dialect.
@@ -289,7 +290,9 @@ public class DialectH2 extends Dialect {
 
     @Override
     public String getSecurityCheckSql(String idColumnName) {
-        return String.format("NX_ACCESS_ALLOWED2(%s, ?, ?, %s, %s)", idColumnName, disableVersionACL,
+        // the recursive variant fetches the ACLs of all the ancestors in one query
+        String function = supportsRecursiveQueries() ? "NX_ACCESS_ALLOWED_RECURSIVE" : "NX_ACCESS_ALLOWED2";
+        return String.format("%s(%s, ?, ?, %s, %s)", function, idColumnName, disableVersionACL,
                 disableReadVersionPermission);
     }
 
@@ -406,6 +409,18 @@ public class DialectH2 extends Dialect {
         return "SELECT * FROM NX_CLUSTER_GET_INVALS(?)";
     }
 
+    @Override
+    protected boolean hasRecursiveQueries() {
+        // recursive queries are experimental in H2, use them only if explicitly enabled
+        return Boolean.parseBoolean(Framework.getProperty(RECURSIVE_QUERIES_PROP, "false"));
+    }
+
+    @Override
+    public boolean needsInlinedRecursiveQueryIds() {
+        // H2 only accepts parameters in the final query
+        return true;
+    }
+
     @Override
     public boolean supportsPaging() {
         return true;
@@ -636,6 +636,18 @@ public class DialectOracle extends Dialect {
         return String.format("NX_ACCESS_ALLOWED(%s, ?, ?) = 1", idColumnName);
     }
 
+    @Override
+    protected boolean hasRecursiveQueries() {
+        return true;
+    }
+
+    @Override
+    public String getRecursiveQuerySql(String name, String columns, String initialSql, String recursiveSql,
+            String sql) {
+        // no RECURSIVE keyword
+        return "WITH " + name + " (" + columns + ") AS (" + initialSql + " UNION ALL " + recursiveSql + ") " + sql;
+    }
+
     @Override
     public boolean supportsFastDescendants() {
         return pathOptimizationsEnabled;
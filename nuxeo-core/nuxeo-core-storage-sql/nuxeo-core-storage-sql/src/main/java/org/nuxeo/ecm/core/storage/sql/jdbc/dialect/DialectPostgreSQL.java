@@ -856,6 +856,11 @@ public class DialectPostgreSQL extends Dialect {
         return pathOptimizationsEnabled;
     }
 
+    @Override
+    protected boolean hasRecursiveQueries() {
+        return true;
+    }
+
     @Override
     public String getInTreeSql(String idColumnName, String id) {
         String cast;
@@ -521,6 +521,19 @@ public class DialectSQLServer extends Dialect {
         return String.format("dbo.NX_ACCESS_ALLOWED(%s, ?, ?) = 1", idColumnName);
     }
 
+    @Override
+    protected boolean hasRecursiveQueries() {
+        return true;
+    }
+
+    @Override
+    public String getRecursiveQuerySql(String name, String columns, String initialSql, String recursiveSql,
+            String sql) {
+        // no RECURSIVE keyword, and lift the default limit of 100 levels
+        return "WITH " + name + " (" + columns + ") AS (" + initialSql + " UNION ALL " + recursiveSql + ") " + sql
+                + " OPTION (MAXRECURSION 0)";
+    }
+
     @Override
     public boolean supportsFastDescendants() {
         return pathOptimizationsEnabled;
@@ -662,6 +675,7 @@ public class DialectSQLServer extends Dialect {
         properties.put("fulltextSearchEnabled", Boolean.valueOf(!fulltextSearchDisabled));
         properties.put("fulltextCatalog", fulltextCatalog);
         properties.put("aclOptimizationsEnabled", Boolean.valueOf(aclOptimizationsEnabled));
+        properties.put("recursiveQueriesEnabled", Boolean.valueOf(supportsRecursiveQueries()));
         properties.put("pathOptimizationsEnabled", Boolean.valueOf(pathOptimizationsEnabled));
         properties.put("clusteringEnabled", Boolean.valueOf(clusteringEnabled));
         properties.put("proxiesEnabled", Boolean.valueOf(proxiesEnabled));
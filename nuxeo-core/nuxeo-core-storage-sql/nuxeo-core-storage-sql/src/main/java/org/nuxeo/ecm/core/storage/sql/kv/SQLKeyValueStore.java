@@ -33,6 +33,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -148,6 +149,9 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected String deleteSQL;
 
+    /** @since 10.10-HF74 */
+    protected String deleteMultiSQL;
+
     protected String deleteIfLongSQL;
 
     protected String deleteIfStringSQL;
@@ -162,6 +166,9 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected String setTTLSQL;
 
+    /** @since 10.10-HF74 */
+    protected String setTTLMultiSQL;
+
     protected String existsSQL;
 
     protected String insertSQL;
@@ -170,6 +177,9 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected String updateLongSQL;
 
+    /** @since 10.10-HF74 */
+    protected String incrementLongSQL;
+
     protected String updateReturningPostgreSQLSql;
 
     protected String updateReturningOracleSql;
@@ -246,6 +256,7 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         getLongSQL = "SELECT " + longColName + " FROM " + tableName + " WHERE " + keyColName + " = ?";
         deleteAllSQL = "DELETE FROM " + tableName;
         deleteSQL = "DELETE FROM " + tableName + " WHERE " + keyColName + " = ?";
+        deleteMultiSQL = "DELETE FROM " + tableName + " WHERE " + keyColName + " IN (%s)";
         deleteIfLongSQL = deleteSQL + " AND " + longColName + " = ?";
         deleteIfStringSQL = deleteSQL + " AND " + dialect.getQuotedNameForExpression(stringCol) + " = ?";
         deleteIfBytesSQL = deleteSQL + " AND " + bytesColName + " = ?";
@@ -257,12 +268,15 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
             keyStreamPrefixSQL += esc;
         }
         setTTLSQL = "UPDATE " + tableName + " SET " + ttlColName + " = ? WHERE " + keyColName + " = ?";
+        setTTLMultiSQL = "UPDATE " + tableName + " SET " + ttlColName + " = ? WHERE " + keyColName + " IN (%s)";
         existsSQL = "SELECT 1 FROM " + tableName + " WHERE " + keyColName + " = ?";
         insertSQL = "INSERT INTO " + tableName + "(" + keyColName + ", " + longColName + ", " + stringColName + ", "
                 + bytesColName + ", " + ttlColName + ") VALUES (?, ?, ?, ?, ?)";
         insertLongSQL = "INSERT INTO " + tableName + "(" + keyColName + ", " + longColName + ") VALUES (?, ?)";
         updateLongSQL = "UPDATE " + tableName + " SET " + longColName + " = ? WHERE " + keyColName + " = ? AND "
                 + longColName + " = ?";
+        incrementLongSQL = "UPDATE " + tableName + " SET " + longColName + " = " + longColName + " + ? WHERE "
+                + keyColName + " = ? AND " + stringColName + " IS NULL AND " + bytesColName + " IS NULL";
         updateReturningPostgreSQLSql = "UPDATE " + tableName + " SET " + longColName + " = " + longColName
                 + " + ? WHERE " + keyColName + " = ? AND " + stringColName + " IS NULL AND " + bytesColName
                 + " IS NULL RETURNING " + longColName;
@@ -703,38 +717,44 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         if (keys.isEmpty()) {
             return;
         }
-        runWithConnection((Connection connection) -> {
-            String sql = String.format(getMultiSQL, nParams(keys.size()));
-            logger.logSQL(sql, keys);
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                int i = 1;
-                for (String key : keys) {
-                    keyCol.setToPreparedStatement(ps, i++, key);
-                }
-                try (ResultSet rs = ps.executeQuery()) {
-                    while (rs.next()) {
-                        String key = (String) keyCol.getFromResultSet(rs, 1);
-                        Long longVal = (Long) longCol.getFromResultSet(rs, 2);
-                        String string = (String) stringCol.getFromResultSet(rs, 3);
-                        byte[] bytes = (byte[]) bytesCol.getFromResultSet(rs, 4);
-                        if (logger.isLogEnabled()) {
-                            logger.logResultSet(rs, Arrays.asList(keyCol, longCol, stringCol, bytesCol));
-                        }
-                        Object value;
-                        if (string != null) {
-                            value = string;
-                        } else if (longVal != null) {
-                            value = longVal;
-                        } else {
-                            value = bytes;
-                        }
-                        if (value != null) {
-                            consumer.accept(key, value);
-                        }
+        runWithConnection((Connection connection) -> getObjects(connection, keys, consumer));
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    protected void getObjects(Connection connection, Collection<String> keys, BiConsumer<String, Object> consumer)
+            throws SQLException {
+        String sql = String.format(getMultiSQL, nParams(keys.size()));
+        logger.logSQL(sql, keys);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int i = 1;
+            for (String key : keys) {
+                keyCol.setToPreparedStatement(ps, i++, key);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String key = (String) keyCol.getFromResultSet(rs, 1);
+                    Long longVal = (Long) longCol.getFromResultSet(rs, 2);
+                    String string = (String) stringCol.getFromResultSet(rs, 3);
+                    byte[] bytes = (byte[]) bytesCol.getFromResultSet(rs, 4);
+                    if (logger.isLogEnabled()) {
+                        logger.logResultSet(rs, Arrays.asList(keyCol, longCol, stringCol, bytesCol));
+                    }
+                    Object value;
+                    if (string != null) {
+                        value = string;
+                    } else if (longVal != null) {
+                        value = longVal;
+                    } else {
+                        value = bytes;
+                    }
+                    if (value != null) {
+                        consumer.accept(key, value);
                     }
                 }
             }
-        });
+        }
     }
 
     protected String nParams(int n) {
@@ -1069,6 +1089,165 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         }).longValue();
     }
 
+    @Override
+    public void putAll(Map<String, byte[]> values, long ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<String> deletes = new ArrayList<>();
+        // upserts grouped by SQL, as the dialect may generate different statements
+        Map<String, List<Column>> upsertColumns = new HashMap<>();
+        Map<String, List<List<Serializable>>> upsertValues = new HashMap<>();
+        Long ttlValue = ttlToStorage(ttl);
+        values.forEach((key, bytes) -> {
+            Object value = toStorage(bytes);
+            if (value == null) {
+                deletes.add(key);
+                return;
+            }
+            Long longValue = value instanceof Long ? (Long) value : null;
+            String stringValue = value instanceof String ? (String) value : null;
+            byte[] bytesValue = value instanceof byte[] ? (byte[]) value : null;
+            List<Column> psColumns = new ArrayList<>();
+            List<Serializable> psValues = new ArrayList<>();
+            String sql = dialect.getUpsertSql(Arrays.asList(keyCol, longCol, stringCol, bytesCol, ttlCol),
+                    Arrays.asList(key, longValue, stringValue, bytesValue, ttlValue), psColumns, psValues);
+            upsertColumns.putIfAbsent(sql, psColumns);
+            upsertValues.computeIfAbsent(sql, k -> new ArrayList<>()).add(psValues);
+        });
+        deleteAll(deletes);
+        if (upsertValues.isEmpty()) {
+            return;
+        }
+        boolean batched = runWithConnection((Connection connection) -> {
+            for (Map.Entry<String, List<List<Serializable>>> es : upsertValues.entrySet()) {
+                String sql = es.getKey();
+                List<Column> psColumns = upsertColumns.get(sql);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (List<Serializable> psValues : es.getValue()) {
+                        setToPreparedStatement(sql, ps, psColumns, psValues);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                } catch (SQLException e) {
+                    if (!dialect.isConcurrentUpdateException(e)) {
+                        throw e;
+                    }
+                    // Oracle MERGE can fail on concurrent upserts of the same key
+                    // in that case redo all puts one by one, with retries
+                    return Boolean.FALSE;
+                }
+            }
+            return Boolean.TRUE;
+        }).booleanValue();
+        if (!batched) {
+            values.forEach((key, bytes) -> {
+                if (bytes != null) {
+                    put(key, bytes, ttl);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        runWithConnection((Connection connection) -> {
+            String sql = String.format(deleteMultiSQL, nParams(keys.size()));
+            logger.logSQL(sql, keys);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int i = 1;
+                for (String key : keys) {
+                    keyCol.setToPreparedStatement(ps, i++, key);
+                }
+                ps.execute();
+            }
+        });
+    }
+
+    @Override
+    public void setTTL(Collection<String> keys, long ttl) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        runWithConnection((Connection connection) -> {
+            String sql = String.format(setTTLMultiSQL, nParams(keys.size()));
+            Long ttlValue = ttlToStorage(ttl);
+            if (logger.isLogEnabled()) {
+                List<Serializable> values = new ArrayList<>(keys.size() + 1);
+                values.add(ttlValue);
+                values.addAll(keys);
+                logger.logSQL(sql, values);
+            }
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ttlCol.setToPreparedStatement(ps, 1, ttlValue);
+                int i = 2;
+                for (String key : keys) {
+                    keyCol.setToPreparedStatement(ps, i++, key);
+                }
+                ps.execute();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Existing long values are incremented in a single batch, and read back in the same transaction. Missing keys or
+     * values that are not stored as longs are then dealt with one by one.
+     */
+    @Override
+    public Map<String, Long> addAndGet(Map<String, Long> deltas) throws NumberFormatException { // NOSONAR
+        if (deltas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> keys = new ArrayList<>(deltas.keySet());
+        Map<String, Long> map = new HashMap<>(keys.size());
+        runWithConnection((Connection connection) -> {
+            connection.setAutoCommit(false);
+            boolean ok = false;
+            try {
+                List<String> updated = new ArrayList<>(keys.size());
+                try (PreparedStatement ps = connection.prepareStatement(incrementLongSQL)) {
+                    for (String key : keys) {
+                        setToPreparedStatement(incrementLongSQL, ps, longCol, deltas.get(key), keyCol, key);
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                            // cannot know which rows were updated, let the caller do it one by one
+                            return;
+                        }
+                        if (counts[i] > 0) {
+                            updated.add(keys.get(i));
+                        }
+                    }
+                }
+                if (!updated.isEmpty()) {
+                    // rows are locked by the update, so we read exactly the values we wrote
+                    getObjects(connection, updated, (key, value) -> map.put(key, toLong(value)));
+                }
+                ok = true;
+            } finally {
+                if (ok) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(true);
+            }
+        });
+        for (String key : keys) {
+            if (!map.containsKey(key)) {
+                map.put(key, Long.valueOf(addAndGet(key, deltas.get(key).longValue())));
+            }
+        }
+        return map;
+    }
+
     protected void sleepBeforeRetry() {
         try {
             Thread.sleep(5);
@@ -221,6 +221,11 @@ public class ConnectionImpl implements Session {
         return getSession().scroll(scrollId);
     }
 
+    @Override
+    public ScrollResult<String> keysetScroll(String query, QueryFilter queryFilter, int batchSize, String scrollId) {
+        return getSession().keysetScroll(query, queryFilter, batchSize, scrollId);
+    }
+
     @Override
     public boolean hasChildNode(Node parent, String name, boolean complexProp) {
         return getSession().hasChildNode(parent, name, complexProp);
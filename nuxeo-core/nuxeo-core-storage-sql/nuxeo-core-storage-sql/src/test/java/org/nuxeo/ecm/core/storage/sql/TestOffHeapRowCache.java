@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class TestOffHeapRowCache {
+
+    protected static final int MB = 1024 * 1024;
+
+    protected static RowId rowId(int i) {
+        return new RowId("hierarchy", "id" + i);
+    }
+
+    protected static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i + seed);
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        OffHeapRowCache cache = new OffHeapRowCache(MB, 16);
+        byte[] small = bytes(5, 1);
+        byte[] large = bytes(100, 2);
+        cache.put(rowId(1), small);
+        cache.put(rowId(2), large);
+        cache.put(rowId(3), new byte[0]);
+        assertEquals(3, cache.size());
+        assertArrayEquals(small, cache.get(rowId(1)));
+        assertArrayEquals(large, cache.get(rowId(2)));
+        assertArrayEquals(new byte[0], cache.get(rowId(3)));
+        assertNull(cache.get(rowId(4)));
+        // 1 block + 7 blocks
+        assertEquals(8 * 16, cache.getUsedBytes());
+
+        // overwrite
+        cache.put(rowId(1), large);
+        assertArrayEquals(large, cache.get(rowId(1)));
+        assertEquals(14 * 16, cache.getUsedBytes());
+
+        cache.remove(rowId(1));
+        assertNull(cache.get(rowId(1)));
+        assertEquals(7 * 16, cache.getUsedBytes());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+        assertNull(cache.get(rowId(2)));
+    }
+
+    @Test
+    public void testLRUEviction() {
+        // one chunk of 1MB, 1024 blocks of 1KB
+        OffHeapRowCache cache = new OffHeapRowCache(MB, 1024);
+        for (int i = 0; i < 1024; i++) {
+            cache.put(rowId(i), bytes(1024, i));
+        }
+        assertEquals(1024, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        // access the first entry so that it is the most recently used
+        assertArrayEquals(bytes(1024, 0), cache.get(rowId(0)));
+        // add one more, the eldest (1) is evicted
+        cache.put(rowId(1024), bytes(1024, 1024));
+        assertEquals(1024, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get(rowId(1)));
+        assertArrayEquals(bytes(1024, 0), cache.get(rowId(0)));
+        assertArrayEquals(bytes(1024, 1024), cache.get(rowId(1024)));
+        assertEquals(MB, cache.getAllocatedBytes());
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapRowCache cache = new OffHeapRowCache(2 * MB, 1024);
+        for (int i = 0; i < 1500; i++) {
+            cache.put(rowId(i), bytes(1024, i));
+        }
+        assertEquals(2 * MB, cache.getAllocatedBytes());
+        cache.close();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getAllocatedBytes());
+        assertNull(cache.get(rowId(1)));
+        // memory is allocated again when needed
+        cache.put(rowId(1), bytes(100, 1));
+        assertArrayEquals(bytes(100, 1), cache.get(rowId(1)));
+        assertEquals(MB, cache.getAllocatedBytes());
+    }
+
+    @Test
+    public void testTooLarge() {
+        OffHeapRowCache cache = new OffHeapRowCache(MB, 1024);
+        cache.put(rowId(1), bytes(MB + 1, 0));
+        assertNull(cache.get(rowId(1)));
+        assertEquals(0, cache.size());
+    }
+
+}
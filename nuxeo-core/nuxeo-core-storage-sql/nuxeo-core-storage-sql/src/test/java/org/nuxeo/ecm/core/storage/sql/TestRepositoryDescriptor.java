@@ -61,6 +61,8 @@ public class TestRepositoryDescriptor {
         assertEquals("foo", desc.name);
         assertTrue(desc.getClusteringEnabled());
         assertEquals(1234, desc.getClusteringDelay());
+        assertEquals(Collections.singletonList("jdbc/replica1"), desc.readReplicaDataSources);
+        assertEquals(2000, desc.getReadReplicasStaleness());
     }
 
     @Test
@@ -150,6 +152,8 @@ public class TestRepositoryDescriptor {
         desc.merge(desc2);
         assertFalse(desc.getClusteringEnabled());
         assertEquals(Arrays.asList("file1", "file2", "file3"), desc.sqlInitFiles);
+        assertEquals(Arrays.asList("jdbc/replica1", "jdbc/replica2"), desc.readReplicaDataSources);
+        assertEquals(2000, desc.getReadReplicasStaleness());
         assertTrue(desc.getPathOptimizationsEnabled());
         assertEquals(2, desc.getPathOptimizationsVersion());
 
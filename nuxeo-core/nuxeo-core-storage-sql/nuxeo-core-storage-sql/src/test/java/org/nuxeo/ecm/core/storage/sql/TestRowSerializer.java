@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.model.DeltaLong;
+
+public class TestRowSerializer {
+
+    protected static Row roundTrip(Row row) {
+        byte[] bytes = RowSerializer.serialize(row);
+        return RowSerializer.deserialize(new RowId(row), bytes);
+    }
+
+    @Test
+    public void testSimpleRow() {
+        Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("Europe/Paris"));
+        cal.setTimeInMillis(1234567890123L);
+        Row row = new Row("dublincore", "123");
+        row.putNew("title", "café");
+        row.putNew("nullvalue", null);
+        row.putNew("count", Long.valueOf(42));
+        row.putNew("flag", Boolean.TRUE);
+        row.putNew("ratio", Double.valueOf(0.5));
+        row.putNew("modified", cal);
+        row.putNew("subjects", new String[] { "a", "b" });
+        row.putNew("opaque", Row.OPAQUE);
+        row.putNew("delta", DeltaLong.valueOf(Long.valueOf(1), 2));
+
+        Row res = roundTrip(row);
+        assertEquals("dublincore", res.tableName);
+        assertEquals("123", res.id);
+        assertEquals(row.getKeys(), res.getKeys());
+        assertEquals("café", res.get("title"));
+        assertEquals(null, res.get("nullvalue"));
+        assertEquals(Long.valueOf(42), res.get("count"));
+        assertEquals(Boolean.TRUE, res.get("flag"));
+        assertEquals(Double.valueOf(0.5), res.get("ratio"));
+        assertEquals(cal, res.get("modified"));
+        assertArrayEquals(new String[] { "a", "b" }, (String[]) res.get("subjects"));
+        assertSame(Row.OPAQUE, res.get("opaque"));
+        assertEquals(row.get("delta"), res.get("delta"));
+    }
+
+    @Test
+    public void testCollectionRow() {
+        Row row = new Row("dc_subjects", "123", new String[] { "foo", "bar" });
+        Row res = roundTrip(row);
+        assertTrue(res.isCollection());
+        assertTrue(res.values instanceof String[]);
+        assertArrayEquals(row.values, res.values);
+    }
+
+    @Test
+    public void testACLRow() {
+        Calendar begin = new GregorianCalendar(2020, 1, 2);
+        ACLRow acl1 = new ACLRow(0, "local", true, "Read", "bob", null, "admin", begin, null, Long.valueOf(1));
+        ACLRow acl2 = new ACLRow(1, "local", false, "Everything", null, "members", null, null, null, null);
+        Row row = new Row("acls", "123", new Serializable[] { acl1, acl2 });
+        Row res = roundTrip(row);
+        assertTrue(res.isCollection());
+        assertEquals(2, res.values.length);
+        ACLRow res1 = (ACLRow) res.values[0];
+        ACLRow res2 = (ACLRow) res.values[1];
+        assertEquals(acl1.toString(), res1.toString());
+        assertEquals(begin, res1.begin);
+        assertEquals(acl2.toString(), res2.toString());
+    }
+
+}
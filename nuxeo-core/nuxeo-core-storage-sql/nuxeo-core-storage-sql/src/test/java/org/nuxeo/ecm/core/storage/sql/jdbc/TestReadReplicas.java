@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.storage.sql.jdbc;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * @since 10.10-HF74
+ */
+public class TestReadReplicas {
+
+    protected static final String KEY = "bob|members|Everyone";
+
+    protected ReadReplicas newReadReplicas(long staleness) {
+        return new ReadReplicas("test", Collections.singletonList("jdbc/replica"), staleness);
+    }
+
+    @Test
+    public void testStaleness() throws Exception {
+        ReadReplicas readReplicas = newReadReplicas(200);
+        assertTrue(readReplicas.isFresh());
+        readReplicas.invalidated();
+        assertFalse(readReplicas.isFresh());
+        Thread.sleep(300);
+        assertTrue(readReplicas.isFresh());
+    }
+
+    @Test
+    public void testNoStaleness() {
+        ReadReplicas readReplicas = newReadReplicas(0);
+        readReplicas.invalidated();
+        assertTrue(readReplicas.isFresh());
+        readReplicas.userReadAclsPrepared(Collections.singleton(KEY));
+        assertTrue(readReplicas.isUserReadAclsPrepared(KEY));
+    }
+
+    @Test
+    public void testUserReadAcls() throws Exception {
+        ReadReplicas readReplicas = newReadReplicas(200);
+        assertFalse(readReplicas.isUserReadAclsPrepared(KEY));
+
+        // prepared, but maybe not yet replicated
+        readReplicas.userReadAclsPrepared(Collections.singleton(KEY));
+        assertFalse(readReplicas.isUserReadAclsPrepared(KEY));
+        Thread.sleep(300);
+        assertTrue(readReplicas.isUserReadAclsPrepared(KEY));
+
+        // prepared again, the first preparation time is kept
+        readReplicas.userReadAclsPrepared(Collections.singleton(KEY));
+        assertTrue(readReplicas.isUserReadAclsPrepared(KEY));
+
+        // read acls caches truncated
+        readReplicas.clearUserReadAcls();
+        assertFalse(readReplicas.isUserReadAclsPrepared(KEY));
+        readReplicas.userReadAclsPrepared(Collections.singleton(KEY));
+        assertFalse(readReplicas.isUserReadAclsPrepared(KEY));
+    }
+
+    @Test
+    public void testUserReadAclsBounded() {
+        ReadReplicas readReplicas = newReadReplicas(0);
+        readReplicas.userReadAclsPrepared(Collections.singleton(KEY));
+        for (int i = 0; i < ReadReplicas.MAX_PREPARED_USER_READ_ACLS; i++) {
+            readReplicas.userReadAclsPrepared(Collections.singleton("user" + i));
+        }
+        assertFalse(readReplicas.isUserReadAclsPrepared(KEY));
+        assertTrue(readReplicas.isUserReadAclsPrepared("user0"));
+    }
+
+}
@@ -386,4 +386,20 @@ public class TestDialectQuerySyntax {
         assertDialectFT("\"foo bar*\"", "\"foo bar*\"");
     }
 
+    @Test
+    public void testRecursiveQuerySql() throws Exception {
+        String initial = "SELECT id FROM hierarchy WHERE parentid = ?";
+        String recursive = "SELECT hierarchy.id FROM hierarchy JOIN t ON hierarchy.parentid = t.id";
+        String sql = "SELECT id FROM t";
+        dialect = new DialectPostgreSQL(metadata, repositoryDescriptor);
+        assertEquals("WITH RECURSIVE t (id) AS (" + initial + " UNION ALL " + recursive + ") " + sql,
+                dialect.getRecursiveQuerySql("t", "id", initial, recursive, sql));
+        dialect = new DialectOracle(metadata, repositoryDescriptor);
+        assertEquals("WITH t (id) AS (" + initial + " UNION ALL " + recursive + ") " + sql,
+                dialect.getRecursiveQuerySql("t", "id", initial, recursive, sql));
+        dialect = new DialectSQLServer(metadata, repositoryDescriptor);
+        assertEquals("WITH t (id) AS (" + initial + " UNION ALL " + recursive + ") " + sql
+                + " OPTION (MAXRECURSION 0)", dialect.getRecursiveQuerySql("t", "id", initial, recursive, sql));
+    }
+
 }
@@ -121,6 +121,18 @@ public class FulltextExtractorWork extends AbstractWork {
         return 1;
     }
 
+    /**
+     * The extraction reads the document when the work runs, so a pending extraction with the same options covers the
+     * later modifications.
+     *
+     * @since 10.10-HF74
+     */
+    @Override
+    public String getCoalescingKey() {
+        return CATEGORY + ':' + repositoryName + ':' + docId + ':' + updateSimpleText + ':' + updateBinaryText + ':'
+                + useJobId;
+    }
+
     @Override
     public void work() {
         openSystemSession();
@@ -334,6 +334,32 @@ public class TestSQLRepositoryAPI {
         assertFalse(session.exists(child.getRef()));
     }
 
+    @Test
+    public void testCreateDocumentsBatch() {
+        List<DocumentModel> docs = new ArrayList<>();
+        docs.add(session.createDocumentModel("/", "folder", "Folder"));
+        // children of a parent created in the same batch
+        for (int i = 0; i < 5; i++) {
+            DocumentModel doc = session.createDocumentModel("/folder", "file" + i, "File");
+            doc.setPropertyValue("dc:title", "Title " + i);
+            docs.add(doc);
+        }
+        List<DocumentModel> created = session.createDocuments(docs);
+        assertEquals(6, created.size());
+        assertEquals("/folder", created.get(0).getPathAsString());
+        assertEquals("/folder/file3", created.get(4).getPathAsString());
+        assertNotNull(created.get(4).getId());
+
+        // the batch was flushed, it's visible to queries
+        DocumentModelList list = session.query("SELECT * FROM File WHERE ecm:path STARTSWITH '/folder'");
+        assertEquals(5, list.size());
+
+        session.save();
+        reopenSession();
+        DocumentModel doc = session.getDocument(new PathRef("/folder/file2"));
+        assertEquals("Title 2", doc.getPropertyValue("dc:title"));
+    }
+
     @Test
     public void testLists() {
         DocumentModel root = session.getRootDocument();
@@ -1436,6 +1462,34 @@ public class TestSQLRepositoryAPI {
         assertFalse(session.exists(returnedChildDocs.get(0).getRef()));
     }
 
+    @Test
+    public void testDeepTree() {
+        int depth = 25;
+        DocumentModel folder = session.getRootDocument();
+        List<DocumentModel> folders = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            folder = session.createDocumentModel(folder.getPathAsString(), "level" + i, "Folder");
+            folder = session.createDocument(folder);
+            folders.add(folder);
+        }
+        DocumentModel file = session.createDocumentModel(folder.getPathAsString(), "file", "File");
+        file = session.createDocument(file);
+        String path = file.getPathAsString();
+        session.save();
+        reopenSession();
+
+        // the ancestors of query results are fetched in bulk to compute their path
+        DocumentModelList list = session.query("SELECT * FROM File WHERE ecm:name = 'file'");
+        assertEquals(1, list.size());
+        assertEquals(path, list.get(0).getPathAsString());
+
+        // the descendants are fetched in bulk to remove a tree
+        session.removeDocument(folders.get(0).getRef());
+        session.save();
+        assertFalse(session.exists(file.getRef()));
+        assertFalse(session.exists(folders.get(depth - 1).getRef()));
+    }
+
     @Test
     public void testRemoveVersion() {
         DocumentModel doc = session.createDocumentModel("/", "doc", "File");
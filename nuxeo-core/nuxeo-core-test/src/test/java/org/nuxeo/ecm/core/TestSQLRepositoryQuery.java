@@ -931,6 +931,46 @@ public class TestSQLRepositoryQuery {
         }
     }
 
+    @Test
+    public void testKeysetQuery() throws Exception {
+        createDocs();
+
+        String sql = "SELECT * FROM Document WHERE ecm:isVersion = 0 ORDER BY ecm:name DESC";
+        List<String> expected = session.query(sql)
+                                       .stream()
+                                       .map(DocumentModel::getName)
+                                       .collect(Collectors.toList());
+        assertEquals(7, expected.size());
+
+        List<String> names = new ArrayList<>();
+        // first page
+        DocumentModelList dml = session.keysetQuery(sql, null, 3, Collections.emptyList(), true);
+        assertEquals(3, dml.size());
+        assertEquals(7, dml.totalSize());
+        dml.forEach(doc -> names.add(doc.getName()));
+        // next page, seeking after the last document, only the following documents are counted
+        DocumentModel last = dml.get(2);
+        dml = session.keysetQuery(sql, null, 3, Arrays.asList(last.getName(), last.getId()), true);
+        assertEquals(3, dml.size());
+        assertEquals(4, dml.totalSize());
+        dml.forEach(doc -> names.add(doc.getName()));
+        // last page
+        last = dml.get(2);
+        dml = session.keysetQuery(sql, null, 3, Arrays.asList(last.getName(), last.getId()), true);
+        assertEquals(1, dml.size());
+        assertEquals(1, dml.totalSize());
+        dml.forEach(doc -> names.add(doc.getName()));
+        assertEquals(expected, names);
+
+        // the keyset must match the ORDER BY keys
+        try {
+            session.keysetQuery(sql, null, 3, Collections.singletonList(last.getId()), true);
+            fail("keyset not matching the ORDER BY should fail");
+        } catch (QueryParseException e) {
+            // ok
+        }
+    }
+
     @Test
     public void testQueryConstantsLeft() throws Exception {
         assumeTrue("DBS MongoDB cannot query const = const", !isDBSMongoDB());
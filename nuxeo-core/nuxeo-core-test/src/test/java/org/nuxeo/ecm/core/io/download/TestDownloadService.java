@@ -913,4 +913,108 @@ public class TestDownloadService {
         }
     }
 
+    @Test
+    public void testFileBlobDownload() throws IOException {
+        doTestFileBlobDownload(null, "Hello World");
+        doTestFileBlobDownload("0-4", "Hello");
+        doTestFileBlobDownload("6-10", "World");
+    }
+
+    protected void doTestFileBlobDownload(String range, String expectedResult) throws IOException {
+        Blob blob = new FileBlob(new ByteArrayInputStream("Hello World".getBytes("UTF-8")));
+        blob.setFilename("myFile.txt");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getMethod()).thenReturn("GET");
+        if (range != null) {
+            when(req.getHeader("Range")).thenReturn("bytes=" + range);
+        }
+
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        ServletOutputStream sos = new DummyServletOutputStream() {
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+        };
+        when(resp.getOutputStream()).thenReturn(sos);
+
+        DownloadContext context = DownloadContext.builder(req, resp).blob(blob).reason("test").build();
+        downloadService.downloadBlob(context);
+
+        assertEquals(expectedResult, out.toString("UTF-8"));
+    }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.core.api.tests:OSGI-INF/test-default-blob-provider.xml")
+    @Deploy("org.nuxeo.ecm.core.test.tests:OSGI-INF/test-download-service-sendfile.xml")
+    public void testDownloadWithSendfile() throws IOException {
+        DefaultBinaryManager binaryManager = new DefaultBinaryManager();
+        binaryManager.initialize("repo", Collections.emptyMap());
+        Blob source = new FileBlob(new ByteArrayInputStream(CONTENT.getBytes("UTF-8")));
+        Binary binary = binaryManager.getBinary(source);
+        String digest = binary.getDigest();
+        long length = binary.getFile().length();
+        Blob blob = new BinaryBlob(binary, digest, "cafe.txt", "text/plain", "utf-8", "MD5", digest, length);
+
+        // mock request response, with a connector supporting sendfile
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getMethod()).thenReturn("GET");
+        when(req.getHeader("Range")).thenReturn("bytes=2-5");
+        when(req.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(TRUE);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        ServletOutputStream sos = new DummyServletOutputStream() {
+            @Override
+            public void write(int b) {
+                throw new NuxeoException("Not supposed to write to response");
+            }
+        };
+        when(resp.getOutputStream()).thenReturn(sos);
+
+        DownloadContext context = DownloadContext.builder(req, resp).blob(blob).reason("test").build();
+        downloadService.downloadBlob(context);
+
+        verify(req).setAttribute(eq("org.apache.tomcat.sendfile.filename"), eq(binary.getFile().getAbsolutePath()));
+        verify(req).setAttribute(eq("org.apache.tomcat.sendfile.start"), eq(Long.valueOf(2)));
+        verify(req).setAttribute(eq("org.apache.tomcat.sendfile.end"), eq(Long.valueOf(6)));
+        verify(resp).setContentLengthLong(eq(4L));
+    }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.core.api.tests:OSGI-INF/test-default-blob-provider.xml")
+    @Deploy("org.nuxeo.ecm.core.test.tests:OSGI-INF/test-download-service-sendfile.xml")
+    public void testDownloadWithSendfileNotFromStore() throws IOException {
+        // a managed blob whose file is not in the store, like a cache or decrypted file
+        Path tmp = Files.createTempFile("nxdownload", ".txt");
+        try {
+            Files.write(tmp, CONTENT.getBytes("UTF-8"));
+            Binary binary = new Binary(tmp.toFile(), "1234", "repo");
+            long length = tmp.toFile().length();
+            Blob blob = new BinaryBlob(binary, "1234", "cafe.txt", "text/plain", "utf-8", "MD5", "1234", length);
+
+            HttpServletRequest req = mock(HttpServletRequest.class);
+            when(req.getMethod()).thenReturn("GET");
+            when(req.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(TRUE);
+            HttpServletResponse resp = mock(HttpServletResponse.class);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ServletOutputStream sos = new DummyServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    out.write(b);
+                }
+            };
+            when(resp.getOutputStream()).thenReturn(sos);
+
+            DownloadContext context = DownloadContext.builder(req, resp).blob(blob).reason("test").build();
+            downloadService.downloadBlob(context);
+
+            // transferred by us, the file may not exist anymore when the container would send it
+            verify(req, never()).setAttribute(eq("org.apache.tomcat.sendfile.filename"), any());
+            assertEquals(CONTENT, out.toString("UTF-8"));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
 }
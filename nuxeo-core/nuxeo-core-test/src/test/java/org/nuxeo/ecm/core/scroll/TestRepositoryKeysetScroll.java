@@ -0,0 +1,69 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.scroll;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.scroll.Scroll;
+import org.nuxeo.ecm.core.api.scroll.ScrollRequest;
+
+/**
+ * @since 10.10-HF74
+ */
+public class TestRepositoryKeysetScroll extends TestRepositoryScroll {
+
+    @Override
+    public String getScrollName() {
+        return "keyset";
+    }
+
+    @Test
+    public void testSeveralBatches() throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(createADocument());
+        }
+        Collections.sort(expected);
+        String nxql = "SELECT * FROM Document ORDER BY dc:title";
+        ScrollRequest request = DocumentScrollRequest.builder(nxql)
+                                                     .name(getScrollName())
+                                                     .username(USERNAME)
+                                                     .size(2)
+                                                     .build();
+        List<String> ids = new ArrayList<>();
+        try (Scroll scroll = service.scroll(request)) {
+            assertTrue(scroll.hasNext());
+            ids.addAll(scroll.next());
+            assertEquals(2, ids.size());
+            // no cursor is held, the scroll continues in another transaction
+            txFeature.nextTransaction();
+            while (scroll.hasNext()) {
+                ids.addAll(scroll.next());
+            }
+            assertFalse(scroll.hasNext());
+        }
+        // ids are returned in id order whatever the requested order
+        assertEquals(expected, ids);
+    }
+
+}
@@ -693,6 +693,15 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
     @Override
     public DocumentModel createDocument(DocumentModel docModel) {
+        return createDocument(docModel, null);
+    }
+
+    /**
+     * Creates a document, resolving its parent through the given cache of already checked parents, if any.
+     *
+     * @since 10.10-HF74
+     */
+    protected DocumentModel createDocument(DocumentModel docModel, Map<DocumentRef, Document> parents) {
 
         // start by removing disallowed characters
         CharacterFilteringService charFilteringService = Framework.getService(CharacterFilteringService.class);
@@ -713,7 +722,7 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         String childName = docModel.getName();
         Map<String, Serializable> options = getContextMapEventInfo(docModel);
 
-        Document parent = fillCreateOptions(parentRef, childName, options);
+        Document parent = fillCreateOptions(parentRef, childName, options, parents);
 
         // get initial life cycle state info
         String initialLifecycleState = null;
@@ -778,6 +787,15 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
     protected Document fillCreateOptions(DocumentRef parentRef, String childName, Map<String, Serializable> options)
             throws DocumentSecurityException {
+        return fillCreateOptions(parentRef, childName, options, null);
+    }
+
+    /**
+     * @param parents a cache of parents already resolved and checked for {@code AddChildren}, or {@code null}
+     * @since 10.10-HF74
+     */
+    protected Document fillCreateOptions(DocumentRef parentRef, String childName, Map<String, Serializable> options,
+            Map<DocumentRef, Document> parents) throws DocumentSecurityException {
         Document parent;
         if (parentRef == null || EMPTY_PATH.equals(parentRef)) {
             parent = getSession().getNullDocument();
@@ -786,8 +804,14 @@ public abstract class AbstractSession implements CoreSession, Serializable {
             options.put(CoreEventConstants.DESTINATION_NAME, childName);
             options.put(CoreEventConstants.DESTINATION_EXISTS, false);
         } else {
-            parent = resolveReference(parentRef);
-            checkPermission(parent, ADD_CHILDREN);
+            parent = parents == null ? null : parents.get(parentRef);
+            if (parent == null) {
+                parent = resolveReference(parentRef);
+                checkPermission(parent, ADD_CHILDREN);
+                if (parents != null) {
+                    parents.put(parentRef, parent);
+                }
+            }
             options.put(CoreEventConstants.DESTINATION_REF, parentRef);
             options.put(CoreEventConstants.DESTINATION_PATH, parent.getPath());
             options.put(CoreEventConstants.DESTINATION_NAME, childName);
@@ -868,6 +892,19 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         return models;
     }
 
+    @Override
+    public List<DocumentModel> createDocuments(List<DocumentModel> docModels) {
+        Map<DocumentRef, Document> parents = new HashMap<>();
+        List<DocumentModel> models = new ArrayList<>(docModels.size());
+        for (DocumentModel docModel : docModels) {
+            models.add(createDocument(docModel, parents));
+        }
+        // flush all the created states at once, without the session saved event: DBS writes them with
+        // DBSRepository.createStates, VCS with one JDBC batch per table in JDBCRowMapper.writeCreates
+        getSession().save();
+        return models;
+    }
+
     @Override
     public boolean exists(DocumentRef docRef) {
         try {
@@ -1192,6 +1229,32 @@ public abstract class AbstractSession implements CoreSession, Serializable {
     @Override
     public DocumentModelList query(String query, String queryType, Filter filter, long limit, long offset,
             long countUpTo) {
+        return query(query, queryType, filter, limit, offset, countUpTo, null);
+    }
+
+    @Override
+    public DocumentModelList keysetQuery(String query, Filter filter, long limit, List<Serializable> keyset,
+            boolean countTotal) {
+        long countUpTo = computeCountUpTo(countTotal);
+        return keysetQuery(query, filter, limit, keyset, countUpTo);
+    }
+
+    @Override
+    public DocumentModelList keysetQuery(String query, Filter filter, long limit, List<Serializable> keyset,
+            long countUpTo) {
+        if (keyset == null) {
+            throw new IllegalArgumentException("Keyset must not be null, use an empty list for the first page");
+        }
+        return query(query, NXQL.NXQL, filter, limit, 0, countUpTo, keyset);
+    }
+
+    /**
+     * Executes the query using either an offset or a keyset.
+     *
+     * @since 10.10-HF74
+     */
+    protected DocumentModelList query(String query, String queryType, Filter filter, long limit, long offset,
+            long countUpTo, List<Serializable> keyset) {
         SecurityService securityService = getSecurityService();
         NuxeoPrincipal principal = getPrincipal();
         try {
@@ -1210,7 +1273,7 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
             QueryFilter queryFilter = new QueryFilter(principal, principals, permissions,
                     filter instanceof FacetFilter ? (FacetFilter) filter : null, transformers, postFilter ? 0 : limit,
-                    postFilter ? 0 : offset);
+                    postFilter ? 0 : offset, keyset);
 
             // get document list with total size
             PartialList<Document> pl = getSession().query(query, queryType, queryFilter, postFilter ? -1 : countUpTo);
@@ -1360,6 +1423,22 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         return getSession().scroll(scrollId);
     }
 
+    @Override
+    public ScrollResult<String> keysetScroll(String query, int batchSize, String scrollId) {
+        QueryFilter queryFilter;
+        if (isAdministrator()) {
+            queryFilter = new QueryFilter(null, null, null, null, Collections.emptyList(), 0, 0);
+        } else {
+            SecurityService securityService = getSecurityService();
+            NuxeoPrincipal principal = getPrincipal();
+            String[] principals = getPrincipalsToCheck();
+            String[] permissions = securityService.getPermissionsToCheck(BROWSE);
+            Collection<Transformer> transformers = getPoliciesQueryTransformers(NXQL.NXQL);
+            queryFilter = new QueryFilter(principal, principals, permissions, null, transformers, 0, 0);
+        }
+        return getSession().keysetScroll(query, queryFilter, batchSize, scrollId);
+    }
+
     @Override
     public void removeChildren(DocumentRef docRef) {
         // TODO: check req permissions with td
@@ -125,7 +125,15 @@ public class StreamAuditEventListener implements EventListener, Synchronization
         LogAppender<Record> appender = getLogManager().getAppender(STREAM_NAME);
         // all log entries for a transaction goes to the same partition preserving ordering
         String partitionKey = getPartitionKey();
-        entries.get().forEach(entry -> writeEntry(appender, partitionKey, entry));
+        List<Record> records = new ArrayList<>(entries.get().size());
+        for (LogEntry entry : entries.get()) {
+            Record record = asRecord(partitionKey, entry);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        // pipeline the writes instead of waiting for each one
+        appender.appendAll(partitionKey, records);
     }
 
     protected String getPartitionKey() {
@@ -139,13 +147,22 @@ public class StreamAuditEventListener implements EventListener, Synchronization
     }
 
     protected void writeEntry(LogAppender<Record> appender, String partitionKey, LogEntry entry) {
+        Record record = asRecord(partitionKey, entry);
+        if (record != null) {
+            appender.append(partitionKey, record);
+        }
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    protected Record asRecord(String partitionKey, LogEntry entry) {
         String json = asJson(entry);
         if (json == null) {
-            return;
+            return null;
         }
         long timestamp = getTimestampForEntry(entry);
-        appender.append(partitionKey, new Record(partitionKey, json.getBytes(UTF_8),
-                Watermark.ofTimestamp(timestamp).getValue()));
+        return new Record(partitionKey, json.getBytes(UTF_8), Watermark.ofTimestamp(timestamp).getValue());
     }
 
     protected long getTimestampForEntry(LogEntry entry) {
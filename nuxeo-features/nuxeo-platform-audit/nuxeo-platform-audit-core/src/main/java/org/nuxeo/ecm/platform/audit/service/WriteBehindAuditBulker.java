@@ -0,0 +1,320 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.platform.audit.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.ecm.platform.audit.service.extension.AuditBulkerDescriptor;
+import org.nuxeo.ecm.platform.audit.service.management.AuditBulkerMBean;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.management.ResourcePublisher;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
+/**
+ * Write-behind audit bulker: log entries from all transactions are queued and written by a background thread in
+ * batches bounded by size and time, using the bulk write of the backend (JDBC batch, Elasticsearch bulk, MongoDB
+ * insertMany).
+ * <p>
+ * The queue is bounded by {@code capacity}. When it is full, {@link #offer} waits up to {@code offerTimeout}
+ * milliseconds for room, then writes the entry itself, so that producers are slowed down instead of exhausting the
+ * memory.
+ * <p>
+ * The following metrics are exposed: {@code nuxeo.audit.size} (queued entries), {@code nuxeo.audit.lag} (age in
+ * milliseconds of the oldest queued entry), {@code nuxeo.audit.queued}, {@code nuxeo.audit.drained},
+ * {@code nuxeo.audit.overflow} (entries written by the producer), {@code nuxeo.audit.errors} (entries that failed to
+ * be written) and the {@code nuxeo.audit.flush} timer.
+ *
+ * @since 10.10-HF74
+ */
+@SuppressWarnings("deprecation")
+public class WriteBehindAuditBulker implements AuditBulkerMBean, AuditBulker {
+
+    private static final Log log = LogFactory.getLog(WriteBehindAuditBulker.class);
+
+    protected static final String SIZE_GAUGE = MetricRegistry.name("nuxeo", "audit", "size");
+
+    protected static final String LAG_GAUGE = MetricRegistry.name("nuxeo", "audit", "lag");
+
+    protected static final long STOP_TIMEOUT_MS = 10_000;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final Counter queuedCount = registry.counter(MetricRegistry.name("nuxeo", "audit", "queued"));
+
+    protected final Counter drainedCount = registry.counter(MetricRegistry.name("nuxeo", "audit", "drained"));
+
+    protected final Counter overflowCount = registry.counter(MetricRegistry.name("nuxeo", "audit", "overflow"));
+
+    protected final Counter errorCount = registry.counter(MetricRegistry.name("nuxeo", "audit", "errors"));
+
+    protected final Timer flushTimer = registry.timer(MetricRegistry.name("nuxeo", "audit", "flush"));
+
+    protected final AuditBackend backend;
+
+    protected final BlockingQueue<Pending> queue;
+
+    protected final long offerTimeout;
+
+    protected volatile int timeout;
+
+    protected volatile int bulksize;
+
+    protected volatile boolean stopped;
+
+    protected Thread thread;
+
+    /** Number of entries queued or being written. */
+    protected final AtomicInteger pending = new AtomicInteger();
+
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    protected final Condition isEmpty = lock.newCondition();
+
+    /** A queued log entry with its queuing time. */
+    protected static class Pending {
+
+        protected final LogEntry entry;
+
+        protected final long time = System.currentTimeMillis();
+
+        protected Pending(LogEntry entry) {
+            this.entry = entry;
+        }
+    }
+
+    protected WriteBehindAuditBulker(AuditBackend backend, AuditBulkerDescriptor config) {
+        this.backend = backend;
+        timeout = config.timeout;
+        bulksize = config.size;
+        queue = new LinkedBlockingQueue<>(config.capacity);
+        offerTimeout = config.offerTimeout;
+    }
+
+    @Override
+    public void onApplicationStarted() {
+        stopped = false;
+        thread = new Thread(this::run, "Nuxeo-Audit-WriteBehind");
+        thread.setDaemon(true);
+        thread.start();
+        ResourcePublisher publisher = Framework.getService(ResourcePublisher.class);
+        if (publisher != null) {
+            publisher.registerResource("audit-bulker", "audit-bulker", AuditBulkerMBean.class, this);
+        }
+        registry.register(SIZE_GAUGE, (Gauge<Integer>) queue::size);
+        registry.register(LAG_GAUGE, (Gauge<Long>) this::getLag);
+    }
+
+    @Override
+    public void onApplicationStopped() {
+        registry.remove(SIZE_GAUGE);
+        registry.remove(LAG_GAUGE);
+        ResourcePublisher publisher = Framework.getService(ResourcePublisher.class);
+        if (publisher != null) {
+            publisher.unregisterResource("audit-bulker", "audit-bulker");
+        }
+        stopped = true;
+        try {
+            // let the writer finish its current batch, it exits at its next poll
+            thread.join(STOP_TIMEOUT_MS);
+            if (thread.isAlive()) {
+                log.warn("Audit write-behind thread did not stop in time, interrupting it");
+                thread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            thread = null;
+        }
+        // don't lose what was still queued
+        drain();
+    }
+
+    /**
+     * Writes the queued entries from the calling thread.
+     */
+    protected void drain() {
+        List<Pending> batch = new ArrayList<>();
+        while (queue.drainTo(batch, bulksize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Returns the age in milliseconds of the oldest queued entry, or 0 if the queue is empty.
+     */
+    public long getLag() {
+        Pending first = queue.peek();
+        return first == null ? 0 : System.currentTimeMillis() - first.time;
+    }
+
+    @Override
+    public void offer(LogEntry entry) {
+        if (log.isDebugEnabled()) {
+            log.debug("offered " + entry);
+        }
+        pending.incrementAndGet();
+        Pending p = new Pending(entry);
+        if (stopped) {
+            // there is no writer thread anymore, late entries are written synchronously
+            flush(Collections.singletonList(p));
+            return;
+        }
+        boolean queued;
+        try {
+            queued = queue.offer(p, offerTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (queued) {
+            queuedCount.inc();
+            if (stopped) {
+                // stopped while queuing, the final drain may already be done
+                drain();
+            }
+        } else {
+            // queue is full: write it ourselves, which slows down the producer
+            overflowCount.inc();
+            flush(Collections.singletonList(p));
+        }
+    }
+
+    @Override
+    public boolean await(long time, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(time);
+        lock.lock();
+        try {
+            while (pending.get() > 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = isEmpty.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected void run() {
+        log.info("write-behind audit logger started");
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (!stopped) {
+                Pending first = queue.poll(timeout, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // collect until the batch is full or the first entry is too old
+                batch.add(first);
+                long deadline = first.time + timeout;
+                while (batch.size() < bulksize) {
+                    if (queue.drainTo(batch, bulksize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+        log.info("write-behind audit logger stopped");
+    }
+
+    protected void flush(List<Pending> batch) {
+        List<LogEntry> entries = new ArrayList<>(batch.size());
+        batch.forEach(p -> entries.add(p.entry));
+        try (Timer.Context context = flushTimer.time()) {
+            backend.addLogEntries(entries);
+            drainedCount.inc(entries.size());
+            if (log.isDebugEnabled()) {
+                log.debug("flushed " + entries.size() + " events");
+            }
+        } catch (RuntimeException e) {
+            errorCount.inc(entries.size());
+            log.error("Cannot write " + entries.size() + " audit entries", e);
+        } finally {
+            if (pending.addAndGet(-entries.size()) <= 0) {
+                lock.lock();
+                try {
+                    isEmpty.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getBulkTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public void setBulkTimeout(int value) {
+        timeout = value;
+    }
+
+    @Override
+    public int getBulkSize() {
+        return bulksize;
+    }
+
+    @Override
+    public void setBulkSize(int value) {
+        bulksize = value;
+    }
+
+    @Override
+    public void resetMetrics() {
+        queuedCount.dec(queuedCount.getCount());
+        drainedCount.dec(drainedCount.getCount());
+        overflowCount.dec(overflowCount.getCount());
+        errorCount.dec(errorCount.getCount());
+    }
+
+}
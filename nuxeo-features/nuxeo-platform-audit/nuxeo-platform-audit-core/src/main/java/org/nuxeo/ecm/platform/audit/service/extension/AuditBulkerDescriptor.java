@@ -45,6 +45,23 @@ public class AuditBulkerDescriptor implements Serializable {
     @XNode("size")
     public int size = 1000;
 
+    /**
+     * Maximum number of queued entries, used by {@link org.nuxeo.ecm.platform.audit.service.WriteBehindAuditBulker}.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("capacity")
+    public int capacity = 100_000;
+
+    /**
+     * Time in milliseconds a producer waits for room in a full queue before writing its entry itself, used by
+     * {@link org.nuxeo.ecm.platform.audit.service.WriteBehindAuditBulker}.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("offerTimeout")
+    public int offerTimeout = 1000; // 1 second
+
     public AuditBulker newInstance(AuditBackend backend) {
         try {
             Constructor<? extends AuditBulker> declaredConstructor = klass.getDeclaredConstructor(AuditBackend.class, AuditBulkerDescriptor.class);
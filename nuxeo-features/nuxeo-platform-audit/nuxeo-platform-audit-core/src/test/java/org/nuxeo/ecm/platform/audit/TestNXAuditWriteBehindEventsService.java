@@ -0,0 +1,38 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.platform.audit;
+
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.test.annotations.Granularity;
+import org.nuxeo.ecm.core.test.annotations.RepositoryConfig;
+import org.nuxeo.ecm.platform.audit.TestNXAuditEventsService.MyInit;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * @since 10.10-HF74
+ */
+@RunWith(FeaturesRunner.class)
+@Features(AuditWriteBehindFeature.class)
+@RepositoryConfig(init = MyInit.class, cleanup = Granularity.METHOD)
+public class TestNXAuditWriteBehindEventsService extends TestNXAuditEventsService {
+
+    @Override
+    public boolean extendedInfosComputedWithFullDocumentModel() {
+        return false;
+    }
+
+}
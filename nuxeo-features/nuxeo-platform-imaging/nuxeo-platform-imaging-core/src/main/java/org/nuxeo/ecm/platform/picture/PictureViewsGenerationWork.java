@@ -69,6 +69,16 @@ public class PictureViewsGenerationWork extends AbstractWork {
         return false;
     }
 
+    /**
+     * Picture views are computed from the document when the work runs, a pending work covers the later modifications.
+     *
+     * @since 10.10-HF74
+     */
+    @Override
+    public String getCoalescingKey() {
+        return getId();
+    }
+
     @Override
     public boolean isGroupJoin() {
         // This is a GroupJoin work with a trigger that can be used on the last work execution
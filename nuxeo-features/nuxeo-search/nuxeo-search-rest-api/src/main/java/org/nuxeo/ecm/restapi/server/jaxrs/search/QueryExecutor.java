@@ -74,6 +74,13 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
      */
     public static final String CURRENT_PAGE_OFFSET = "offset";
 
+    /**
+     * Token returned as {@code nextPageToken} by a previous search, currentPageIndex and offset are then ignored.
+     *
+     * @since 10.10-HF74
+     */
+    public static final String PAGE_TOKEN = "pageToken";
+
     public static final String MAX_RESULTS = "maxResults";
 
     public static final String SORT_BY = "sortBy";
@@ -114,12 +121,17 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
 
     protected boolean skipAggregates;
 
+    // @since 10.10-HF74
+    protected boolean keysetPagination;
+
     private static final Log log = LogFactory.getLog(SearchObject.class);
 
     public void initExecutor() {
         pageProviderService = Framework.getService(PageProviderService.class);
         skipAggregates = Boolean.parseBoolean(
                 ctx.getHttpHeaders().getRequestHeaders().getFirst(PageProvider.SKIP_AGGREGATES_PROP));
+        keysetPagination = Boolean.parseBoolean(
+                ctx.getHttpHeaders().getRequestHeaders().getFirst(PageProvider.KEYSET_PAGINATION_PROP));
     }
 
     protected String getQuery(MultivaluedMap<String, String> queryParams) {
@@ -146,6 +158,14 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         return null;
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    protected String getPageToken(MultivaluedMap<String, String> queryParams) {
+        String pageToken = queryParams.getFirst(PAGE_TOKEN);
+        return StringUtils.isBlank(pageToken) ? null : pageToken;
+    }
+
     protected Long getPageSize(MultivaluedMap<String, String> queryParams) {
         String pageSize = queryParams.getFirst(PAGE_SIZE);
         if (pageSize != null && !pageSize.isEmpty()) {
@@ -280,6 +300,22 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         Map<String, Serializable> props = new HashMap<>();
         props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) ctx.getCoreSession());
         props.put(PageProvider.SKIP_AGGREGATES_PROP, skipAggregates);
+        if (keysetPagination) {
+            // don't override the page provider definition when not requested
+            props.put(PageProvider.KEYSET_PAGINATION_PROP, Boolean.TRUE);
+        }
+        return props;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    protected Map<String, Serializable> getProperties(MultivaluedMap<String, String> queryParams) {
+        Map<String, Serializable> props = getProperties();
+        String pageToken = getPageToken(queryParams);
+        if (pageToken != null) {
+            props.put(PageProvider.PAGE_TOKEN_PROP, pageToken);
+        }
         return props;
     }
 
@@ -299,7 +335,7 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         Map<String, String> namedParameters = getNamedParameters(queryParams);
         Object[] parameters = getParameters(queryParams);
         List<SortInfo> sortInfo = getSortInfo(queryParams);
-        Map<String, Serializable> props = getProperties();
+        Map<String, Serializable> props = getProperties(queryParams);
 
         DocumentModel searchDocumentModel = PageProviderHelper.getSearchDocumentModel(ctx.getCoreSession(), null,
                 namedParameters);
@@ -322,7 +358,7 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         List<SortInfo> sortInfo = getSortInfo(queryParams);
         List<QuickFilter> quickFilters = getQuickFilters(pageProviderName, queryParams);
         List<String> highlights = getHighlights(queryParams);
-        Map<String, Serializable> props = getProperties();
+        Map<String, Serializable> props = getProperties(queryParams);
 
         DocumentModel searchDocumentModel = PageProviderHelper.getSearchDocumentModel(ctx.getCoreSession(),
                 pageProviderName, namedParameters);
@@ -110,6 +110,14 @@ public class APIRoot extends ModuleRoot {
         }
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    @Path("/stream")
+    public Object stream() {
+        return newObject("stream");
+    }
+
     /**
      * @since 7.2
      */
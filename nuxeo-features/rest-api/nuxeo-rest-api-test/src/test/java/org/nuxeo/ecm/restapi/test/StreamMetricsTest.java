@@ -0,0 +1,85 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.restapi.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.bulk.BulkService;
+import org.nuxeo.ecm.core.bulk.CoreBulkFeature;
+import org.nuxeo.ecm.core.bulk.action.SetPropertiesAction;
+import org.nuxeo.ecm.core.bulk.message.BulkCommand;
+import org.nuxeo.ecm.core.test.annotations.Granularity;
+import org.nuxeo.ecm.core.test.annotations.RepositoryConfig;
+import org.nuxeo.jaxrs.test.CloseableClientResponse;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * @since 10.10-HF74
+ */
+@RunWith(FeaturesRunner.class)
+@Features({ CoreBulkFeature.class, RestServerFeature.class })
+@RepositoryConfig(cleanup = Granularity.METHOD, init = RestServerInit.class)
+public class StreamMetricsTest extends BaseTest {
+
+    @Inject
+    protected BulkService bulkService;
+
+    @Test
+    public void testGetStreamMetrics() throws Exception {
+        // run a bulk command to get some activity on the bulk processor
+        BulkCommand command = new BulkCommand.Builder(SetPropertiesAction.ACTION_NAME,
+                "SELECT * FROM Document WHERE ecm:isVersion = 0").user(session.getPrincipal().getName())
+                                                                 .repository(session.getRepositoryName())
+                                                                 .param("dc:description", "new description")
+                                                                 .build();
+        String commandId = bulkService.submit(command);
+        assertTrue("Bulk action didn't finish", bulkService.await(commandId, Duration.ofSeconds(10)));
+
+        try (CloseableClientResponse response = getResponse(RequestType.GET, "stream/metrics")) {
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            JsonNode node = mapper.readTree(response.getEntityInputStream());
+            JsonNode status = null;
+            for (JsonNode processor : node.get("bulk").get("processors")) {
+                for (JsonNode computation : processor.get("computations")) {
+                    if ("status".equals(computation.get("name").asText())) {
+                        status = computation;
+                    }
+                }
+            }
+            assertNotNull("No metrics for the bulk status computation: " + node, status);
+            assertTrue(status.get("records").get("count").asLong() > 0);
+            assertNotNull(status.get("latencyMs").get("p99"));
+            assertTrue(status.get("checkpoint").get("count").asLong() > 0);
+            JsonNode stream = status.get("streams").get(0);
+            assertEquals("status", stream.get("name").asText());
+            assertNotNull(stream.get("lag"));
+            assertTrue(stream.get("partitions").size() > 0);
+        }
+    }
+
+}
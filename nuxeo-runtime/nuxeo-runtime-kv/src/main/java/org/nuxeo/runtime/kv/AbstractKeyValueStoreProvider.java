@@ -206,4 +206,42 @@ public abstract class AbstractKeyValueStoreProvider implements KeyValueStoreProv
         }
     }
 
+    /*
+     * This default implementation is uninteresting. It is expected that underlying storage implementations
+     * will leverage bulk writes to deliver significant optimizations over this simple loop.
+     */
+    @Override
+    public void putAll(Map<String, byte[]> values, long ttl) {
+        values.forEach((key, value) -> put(key, value, ttl));
+    }
+
+    /*
+     * This default implementation is uninteresting. It is expected that underlying storage implementations
+     * will leverage bulk writes to deliver significant optimizations over this simple loop.
+     */
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        keys.forEach(key -> put(key, (byte[]) null, 0));
+    }
+
+    /*
+     * This default implementation is uninteresting. It is expected that underlying storage implementations
+     * will leverage bulk writes to deliver significant optimizations over this simple loop.
+     */
+    @Override
+    public Map<String, Long> addAndGet(Map<String, Long> deltas) throws NumberFormatException { // NOSONAR
+        Map<String, Long> map = new HashMap<>(deltas.size());
+        deltas.forEach((key, delta) -> map.put(key, Long.valueOf(addAndGet(key, delta.longValue()))));
+        return map;
+    }
+
+    /*
+     * This default implementation is uninteresting. It is expected that underlying storage implementations
+     * will leverage bulk writes to deliver significant optimizations over this simple loop.
+     */
+    @Override
+    public void setTTL(Collection<String> keys, long ttl) {
+        keys.forEach(key -> setTTL(key, ttl));
+    }
+
 }
@@ -223,4 +223,50 @@ public interface KeyValueStore {
      */
     long addAndGet(String key, long delta);
 
+    /**
+     * Sets the values associated to the keys, with the given TTL.
+     * <p>
+     * A {@code null} value removes the key, as for {@link #put(String, byte[], long)}. The operation is not atomic,
+     * but implementations do it in as few round trips as possible.
+     *
+     * @param values the key/value map
+     * @param ttl the TTL, in seconds (0 for infinite)
+     * @since 10.10-HF74
+     */
+    void putAll(Map<String, byte[]> values, long ttl);
+
+    /**
+     * Removes the given keys.
+     * <p>
+     * The operation is not atomic, but implementations do it in as few round trips as possible.
+     *
+     * @param keys the keys
+     * @since 10.10-HF74
+     */
+    void deleteAll(Collection<String> keys);
+
+    /**
+     * Adds the deltas to the values associated to the keys, interpreted as longs represented as strings.
+     * <p>
+     * Each addition is atomic, as for {@link #addAndGet(String, long)}, but the whole operation is not. Depending on
+     * the implementation, the returned values may also include additions done concurrently on the same keys.
+     *
+     * @param deltas the key/delta map
+     * @return the key/new value map
+     * @throws NumberFormatException if an existing value cannot be interpreted as a {@code long}
+     * @since 10.10-HF74
+     */
+    Map<String, Long> addAndGet(Map<String, Long> deltas);
+
+    /**
+     * Sets the TTL for the existing keys among the given ones.
+     * <p>
+     * The operation is not atomic, but implementations do it in as few round trips as possible.
+     *
+     * @param keys the keys
+     * @param ttl the TTL, in seconds (0 for infinite)
+     * @since 10.10-HF74
+     */
+    void setTTL(Collection<String> keys, long ttl);
+
 }
@@ -21,7 +21,10 @@ package org.nuxeo.runtime.kv;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -145,4 +148,29 @@ public class MemKeyValueStore extends AbstractKeyValueStoreProvider {
         }
     }
 
+    @Override
+    public long addAndGet(String key, long delta) throws NumberFormatException { // NOSONAR
+        return addAndGet(Collections.singletonMap(key, Long.valueOf(delta))).get(key).longValue();
+    }
+
+    @Override
+    public Map<String, Long> addAndGet(Map<String, Long> deltas) throws NumberFormatException { // NOSONAR
+        Map<String, Long> result = new HashMap<>(deltas.size());
+        // a single lock for all the keys instead of a compare-and-set loop per key
+        writeLock.lock();
+        try {
+            deltas.forEach((key, delta) -> {
+                Objects.requireNonNull(key);
+                Long base = bytesToLong(map.get(key));
+                long value = (base == null ? 0 : base.longValue()) + delta.longValue();
+                map.put(key, longToBytes(Long.valueOf(value)));
+                doSetTTL(key, 0);
+                result.put(key, Long.valueOf(value));
+            });
+        } finally {
+            writeLock.unlock();
+        }
+        return result;
+    }
+
 }
@@ -384,6 +384,71 @@ public abstract class AbstractKeyValueStoreTest {
         }
     }
 
+    @Test
+    public void testPutAllDeleteAll() {
+        store.putAll(Collections.emptyMap(), 0);
+        store.deleteAll(Collections.emptyList());
+
+        String key1 = "foo1";
+        String key2 = "foo2";
+        String key3 = "foo3";
+        String key4 = "foo4";
+        Set<String> keys = new HashSet<>(Arrays.asList(key1, key2, key3, key4));
+
+        store.put(key3, MOO_B);
+        Map<String, byte[]> values = new HashMap<>();
+        values.put(key1, BAR_B);
+        values.put(key2, NOT_UTF_8);
+        values.put(key3, null);
+        store.putAll(values, 0);
+        Map<String, byte[]> storeBMap = store.get(keys);
+        assertArrayEquals(BAR_B, storeBMap.get(key1));
+        assertArrayEquals(NOT_UTF_8, storeBMap.get(key2));
+        assertEquals(2, storeBMap.size());
+
+        // overwrite
+        store.putAll(Collections.singletonMap(key1, GEE_B), 0);
+        assertEquals(GEE, store.getString(key1));
+
+        store.deleteAll(Arrays.asList(key1, key3, key4));
+        assertNull(store.get(key1));
+        assertArrayEquals(NOT_UTF_8, store.get(key2));
+        store.deleteAll(keys);
+        assertTrue(store.get(keys).isEmpty());
+    }
+
+    @SuppressWarnings("boxing")
+    @Test
+    public void testAddAndGetMany() {
+        assertTrue(store.addAndGet(Collections.emptyMap()).isEmpty());
+
+        String key1 = "foo1";
+        String key2 = "foo2";
+        String key3 = "foo3";
+
+        store.put(key1, 10L);
+        store.put(key2, "20");
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(key1, 1L);
+        deltas.put(key2, 2L);
+        deltas.put(key3, 3L);
+        Map<String, Long> expected = new HashMap<>();
+        expected.put(key1, 11L);
+        expected.put(key2, 22L);
+        expected.put(key3, 3L);
+        assertEquals(expected, store.addAndGet(deltas));
+        assertEquals(expected, store.getLongs(deltas.keySet()));
+
+        // store a value that cannot be interpreted as a Long
+        store.put(key1, "notalong");
+        try {
+            store.addAndGet(deltas);
+            fail("shouldn't allow to add");
+        } catch (NumberFormatException e) {
+            // ok
+        }
+    }
+
     @Test
     public void testCompareAndSet() {
         String key = "foo";
@@ -508,6 +573,32 @@ public abstract class AbstractKeyValueStoreTest {
         assertNull(store.get(key));
     }
 
+    @Test
+    public void testTTLMany() throws Exception {
+        assumeFalse("Ignored because of slow TTL expiration", hasSlowTTLExpiration());
+        int shortTTL = 3; // 3s
+
+        store.setTTL(Collections.emptyList(), shortTTL);
+
+        String key1 = "foo1";
+        String key2 = "foo2";
+        String key3 = "foo3";
+        store.put(key1, BAR_B, shortTTL);
+        store.put(key2, GEE_B, shortTTL);
+        store.setTTL(Arrays.asList(key1, key3), 0); // unset TTL, key3 does not exist
+        Thread.sleep((shortTTL + 2) * 1000); // sleep a bit more in case expiration is late
+        sleepForTTLExpiration();
+        assertEquals(BAR, store.getString(key1));
+        assertNull(store.get(key2));
+        assertNull(store.get(key3));
+
+        store.setTTL(Arrays.asList(key1, key2), shortTTL); // set TTL
+        Thread.sleep((shortTTL + 2) * 1000); // sleep a bit more in case expiration is late
+        sleepForTTLExpiration();
+        assertNull(store.get(key1));
+        assertNull(store.get(key2));
+    }
+
     @Test
     public void testAddAndGet() throws Exception {
         String key = "foo";
@@ -25,6 +25,8 @@ import java.util.Map;
 import org.nuxeo.common.xmap.annotation.XNode;
 import org.nuxeo.common.xmap.annotation.XNodeMap;
 import org.nuxeo.common.xmap.annotation.XObject;
+import org.nuxeo.lib.stream.codec.CompressedCodec;
+import org.nuxeo.lib.stream.codec.CompressedCodec.Compression;
 import org.nuxeo.runtime.model.Descriptor;
 
 @XObject("codec")
@@ -39,6 +41,56 @@ public class CodecDescriptor implements Descriptor {
     @XNodeMap(value = "option", key = "@name", type = HashMap.class, componentType = String.class)
     public Map<String, String> options = new HashMap<>();
 
+    /**
+     * Compression of the encoded payload: {@code lz4} or {@code zstd}, no compression when not set.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("compression@algorithm")
+    protected String compression;
+
+    /**
+     * @since 10.10-HF74
+     */
+    @XNode("compression@level")
+    protected int compressionLevel = CompressedCodec.DEFAULT_ZSTD_LEVEL;
+
+    /**
+     * Path of a zstd dictionary file.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("compression@dictionary")
+    protected String compressionDictionary;
+
+    /**
+     * @since 10.10-HF74
+     */
+    @XNode("compression@minSize")
+    protected int compressionMinSize = CompressedCodec.DEFAULT_MIN_SIZE;
+
+    /**
+     * Maximum uncompressed size of a record, larger payloads are rejected when decoding.
+     *
+     * @since 10.10-HF74
+     */
+    @XNode("compression@maxSize")
+    protected int compressionMaxSize = CompressedCodec.DEFAULT_MAX_SIZE;
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isCompressed() {
+        return compression != null && !compression.trim().isEmpty();
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public Compression getCompression() {
+        return isCompressed() ? Compression.of(compression) : null;
+    }
+
     @Override
     public String getId() {
         return name;
@@ -19,6 +19,9 @@
  */
 package org.nuxeo.runtime.codec;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +29,8 @@ import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.codec.CompressedCodec;
+import org.nuxeo.lib.stream.codec.CompressedCodec.Compression;
 import org.nuxeo.runtime.kafka.KafkaConfigServiceImpl;
 import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.DefaultComponent;
@@ -38,6 +43,15 @@ public class CodecServiceImpl extends DefaultComponent implements CodecService {
 
     protected final Map<String, CodecFactory> codecFactories = new HashMap<>();
 
+    /**
+     * Codec name to compression options and prepared dictionary, shared by all the codecs created.
+     *
+     * @since 10.10-HF74
+     */
+    protected final Map<String, CodecDescriptor> compressedCodecs = new HashMap<>();
+
+    protected final Map<String, CompressedCodec.Dictionary> dictionaries = new HashMap<>();
+
     @Override
     public void start(ComponentContext context) {
         super.start(context);
@@ -51,6 +65,26 @@ public class CodecServiceImpl extends DefaultComponent implements CodecService {
             } catch (ReflectiveOperationException e) {
                 throw new IllegalArgumentException("Invalid class: " + getClass(), e);
             }
+            if (descriptor.isCompressed()) {
+                registerCompression(descriptor);
+            }
+        }
+    }
+
+    protected void registerCompression(CodecDescriptor descriptor) {
+        Compression compression = descriptor.getCompression();
+        log.debug("Codec: {} compressed with: {}", descriptor::getId, () -> compression);
+        compressedCodecs.put(descriptor.getId(), descriptor);
+        String dictionary = descriptor.compressionDictionary;
+        if (dictionary != null && !dictionary.trim().isEmpty()) {
+            try {
+                byte[] bytes = Files.readAllBytes(Paths.get(dictionary.trim()));
+                dictionaries.put(descriptor.getId(),
+                        new CompressedCodec.Dictionary(bytes, descriptor.compressionLevel));
+            } catch (IOException e) {
+                throw new IllegalArgumentException(
+                        "Cannot read compression dictionary: " + dictionary + " for codec: " + descriptor.getId(), e);
+            }
         }
     }
 
@@ -58,6 +92,8 @@ public class CodecServiceImpl extends DefaultComponent implements CodecService {
     public void stop(ComponentContext context) throws InterruptedException {
         super.stop(context);
         codecFactories.clear();
+        compressedCodecs.clear();
+        dictionaries.clear();
     }
 
     @Override
@@ -72,6 +108,12 @@ public class CodecServiceImpl extends DefaultComponent implements CodecService {
                     String.format("Invalid codec name: %s, requested for class: %s", codecName, objectClass));
         }
         // TODO codec are thread safe so we can use a cache codecName, objectClass -> codec
-        return codecFactories.get(codecName).newCodec(objectClass);
+        Codec<T> codec = codecFactories.get(codecName).newCodec(objectClass);
+        CodecDescriptor compressed = compressedCodecs.get(codecName);
+        if (compressed == null) {
+            return codec;
+        }
+        return new CompressedCodec<>(codec, compressed.getCompression(), compressed.compressionLevel,
+                dictionaries.get(codecName), compressed.compressionMinSize, compressed.compressionMaxSize);
     }
 }
@@ -62,6 +62,18 @@ public class StreamProcessorDescriptor implements Descriptor {
         @XNode("@concurrency")
         public Integer concurrency = DEFAULT_CONCURRENCY;
 
+        // @since 10.10-HF74 enables autoscaling of the computation threads between concurrency and maxConcurrency
+        @XNode("@maxConcurrency")
+        public Integer maxConcurrency;
+
+        // @since 10.10-HF74 runs the computation on virtual threads when supported by the JVM
+        @XNode("@virtualThreads")
+        public boolean virtualThreads;
+
+        // @since 10.10-HF74 provides a partition local state persisted into a changelog stream
+        @XNode("@stateful")
+        public boolean stateful;
+
         @Override
         public String getId() {
             return name;
@@ -134,6 +146,12 @@ public class StreamProcessorDescriptor implements Descriptor {
 
         public static final Duration DEFAULT_BATCH_THRESHOLD = Duration.ofSeconds(1);
 
+        public static final Integer DEFAULT_READ_BATCH_SIZE = 1;
+
+        public static final Duration DEFAULT_AUTOSCALE_TARGET_LATENCY = Duration.ofMinutes(1);
+
+        public static final Duration DEFAULT_AUTOSCALE_INTERVAL = Duration.ofSeconds(30);
+
         @XNode("@name")
         public String name;
 
@@ -169,6 +187,17 @@ public class StreamProcessorDescriptor implements Descriptor {
         @XNode("@batchThreshold")
         public Duration batchThreshold = DEFAULT_BATCH_THRESHOLD;
 
+        // @since 10.10-HF74 read and process records by batch
+        @XNode("@readBatchSize")
+        public Integer readBatchSize = DEFAULT_READ_BATCH_SIZE;
+
+        // @since 10.10-HF74 autoscaling used only for computation with a maxConcurrency
+        @XNode("@autoscaleTargetLatency")
+        public Duration autoscaleTargetLatency = DEFAULT_AUTOSCALE_TARGET_LATENCY;
+
+        @XNode("@autoscaleInterval")
+        public Duration autoscaleInterval = DEFAULT_AUTOSCALE_INTERVAL;
+
         protected int getSkipFirstFailures() {
             return Integer.parseInt(
                     Framework.getProperty(RECOVERY_SKIP_FIRST_FAILURES_OPTION, Integer.toString(skipFirstFailures)));
@@ -180,6 +209,8 @@ public class StreamProcessorDescriptor implements Descriptor {
                                                                TimeUnit.MILLISECONDS);
             return new ComputationPolicyBuilder().retryPolicy(retryPolicy)
                                                  .batchPolicy(batchCapacity, batchThreshold)
+                                                 .readBatchSize(readBatchSize)
+                                                 .autoscalePolicy(autoscaleTargetLatency, autoscaleInterval)
                                                  .continueOnFailure(continueOnFailure)
                                                  .skipFirstFailures(getSkipFirstFailures());
         }
@@ -38,4 +38,12 @@ public interface StreamService {
      * @since 11.1
      */
     StreamManager getStreamManager(String configName);
+
+    /**
+     * Returns the metrics of the stream processors running on this node as a JSON document: throughput, latency
+     * percentiles and checkpoint duration per computation, lag and latency per partition.
+     *
+     * @since 10.10-HF74
+     */
+    String getMetrics();
 }
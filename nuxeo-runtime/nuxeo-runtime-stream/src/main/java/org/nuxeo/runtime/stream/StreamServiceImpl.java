@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 import org.apache.logging.log4j.Logger;
 import org.nuxeo.common.Environment;
@@ -36,6 +37,7 @@ import org.nuxeo.lib.stream.computation.StreamManager;
 import org.nuxeo.lib.stream.computation.StreamProcessor;
 import org.nuxeo.lib.stream.computation.Topology;
 import org.nuxeo.lib.stream.computation.log.LogStreamManager;
+import org.nuxeo.lib.stream.computation.log.StreamMetrics;
 import org.nuxeo.lib.stream.log.LogManager;
 import org.nuxeo.lib.stream.log.chronicle.ChronicleLogManager;
 import org.nuxeo.lib.stream.log.kafka.KafkaLogManager;
@@ -58,6 +60,12 @@ public class StreamServiceImpl extends DefaultComponent implements StreamService
 
     public static final String NUXEO_STREAM_RET_DURATION_PROP = "nuxeo.stream.chronicle.retention.duration";
 
+    // @since 10.10-HF74
+    public static final String NUXEO_STREAM_RET_CONSUMER_PROP = "nuxeo.stream.chronicle.retention.consumer";
+
+    // @since 10.10-HF74
+    public static final String NUXEO_STREAM_RET_COMPRESS_PROP = "nuxeo.stream.chronicle.retention.compress";
+
     public static final String DEFAULT_CODEC = "avro";
 
     protected static final String XP_LOG_CONFIG = "logConfig";
@@ -105,6 +113,17 @@ public class StreamServiceImpl extends DefaultComponent implements StreamService
         return streamManagers.computeIfAbsent(name, app -> new LogStreamManager(getLogManager(name)));
     }
 
+    @Override
+    public String getMetrics() {
+        Map<String, LogStreamManager> managers = new TreeMap<>();
+        streamManagers.forEach((name, manager) -> {
+            if (manager instanceof LogStreamManager) {
+                managers.put(name, (LogStreamManager) manager);
+            }
+        });
+        return new StreamMetrics().asJson(managers);
+    }
+
     protected LogManager createKafkaLogManager(LogConfigDescriptor config) {
         String kafkaConfig = config.options.getOrDefault("kafkaConfig", "default");
         KafkaConfigService service = Framework.getService(KafkaConfigService.class);
@@ -117,7 +136,11 @@ public class StreamServiceImpl extends DefaultComponent implements StreamService
         String directory = config.options.getOrDefault("directory", config.getId());
         Path path = getChroniclePath(basePath, directory);
         String retention = getChronicleRetention(config.options.getOrDefault("retention", null));
-        return new ChronicleLogManager(path, retention);
+        boolean consumerRetention = Boolean.parseBoolean(config.options.getOrDefault("consumerRetention",
+                Framework.getProperty(NUXEO_STREAM_RET_CONSUMER_PROP, "false")));
+        boolean compressCycles = Boolean.parseBoolean(config.options.getOrDefault("compressRetention",
+                Framework.getProperty(NUXEO_STREAM_RET_COMPRESS_PROP, "false")));
+        return new ChronicleLogManager(path, retention, consumerRetention, compressCycles);
     }
 
     protected String getChronicleRetention(String retention) {
@@ -198,6 +221,11 @@ public class StreamServiceImpl extends DefaultComponent implements StreamService
         Settings settings = new Settings(descriptor.defaultConcurrency, descriptor.defaultPartitions, actualCodec,
                 descriptor.getDefaultPolicy());
         descriptor.computations.forEach(comp -> settings.setConcurrency(comp.name, comp.concurrency));
+        descriptor.computations.stream()
+                               .filter(comp -> comp.maxConcurrency != null)
+                               .forEach(comp -> settings.setMaxConcurrency(comp.name, comp.maxConcurrency));
+        descriptor.computations.forEach(comp -> settings.setVirtualThreads(comp.name, comp.virtualThreads));
+        descriptor.computations.forEach(comp -> settings.setStateful(comp.name, comp.stateful));
         descriptor.policies.forEach(policy -> settings.setPolicy(policy.name, descriptor.getPolicy(policy.name)));
         for (StreamProcessorDescriptor.StreamDescriptor streamDescriptor : descriptor.streams) {
             settings.setPartitions(streamDescriptor.name,
@@ -20,6 +20,7 @@ package org.nuxeo.runtime.stream.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.nuxeo.lib.stream.codec.NoCodec.NO_CODEC;
 
 import java.util.EnumSet;
@@ -65,6 +66,11 @@ public class TestCodecService {
         checkCodec(record, codec, 20);
         codec = service.getCodec("avroJson", Record.class);
         checkCodec(record, codec, 75);
+        // too small to be compressed
+        codec = service.getCodec("avroLz4", Record.class);
+        checkCodec(record, codec, 30);
+        codec = service.getCodec("avroZstd", Record.class);
+        checkCodec(record, codec, 30);
 
         codec = service.getCodec("java", Record.class);
         checkCodec(record, codec, 90);
@@ -73,6 +79,26 @@ public class TestCodecService {
         assertEquals(NO_CODEC, codec);
     }
 
+    @Test
+    public void testCompressedCodec() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            value.append("some value ").append(i);
+        }
+        Record record = Record.of("key", value.toString().getBytes("UTF-8"));
+        int size = service.getCodec("avro", Record.class).encode(record).length;
+
+        Codec<Record> codec = service.getCodec("avroLz4", Record.class);
+        assertEquals("avro-lz4", codec.getName());
+        assertTrue(codec.encode(record).length < size);
+        assertEquals(record, codec.decode(codec.encode(record)));
+
+        codec = service.getCodec("avroZstd", Record.class);
+        assertEquals("avro-zstd", codec.getName());
+        assertTrue(codec.encode(record).length < size);
+        assertEquals(record, codec.decode(codec.encode(record)));
+    }
+
     private void checkCodec(Record src, Codec<Record> codec, int expectedSize) {
         assertNotNull(codec);
         byte[] data = codec.encode(src);
@@ -0,0 +1,289 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.codec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * A codec decorator that compresses the payload of another codec using LZ4 or zstd.
+ * <p>
+ * A compressed payload starts with a 12 bytes header: a 3 bytes magic, the compression algorithm, the uncompressed
+ * length and the id of the zstd dictionary (0 when there is no dictionary). Payloads without this header are decoded
+ * as is by the underlying codec, so records written before compression was enabled stay readable. Payloads smaller
+ * than the minimum size are not compressed.
+ * <p>
+ * Decoding does not depend on the configured algorithm, a LZ4 payload is readable by a zstd codec and vice versa, only
+ * a zstd dictionary payload requires the same dictionary. Payloads whose header announces an uncompressed length above
+ * the maximum size are rejected without allocating it.
+ *
+ * @since 10.10-HF74
+ */
+public class CompressedCodec<T> implements Codec<T> {
+
+    public enum Compression {
+        LZ4((byte) 1), ZSTD((byte) 2);
+
+        protected final byte id;
+
+        Compression(byte id) {
+            this.id = id;
+        }
+
+        public static Compression of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown compression: " + name + ", expecting lz4 or zstd", e);
+            }
+        }
+
+        protected static Compression of(byte id) {
+            for (Compression compression : values()) {
+                if (compression.id == id) {
+                    return compression;
+                }
+            }
+            return null;
+        }
+    }
+
+    protected static final byte[] MAGIC = { 'N', 'X', 'Z' };
+
+    protected static final int HEADER_SIZE = MAGIC.length + 1 + Integer.BYTES + Integer.BYTES;
+
+    public static final int DEFAULT_MIN_SIZE = 64;
+
+    public static final int DEFAULT_ZSTD_LEVEL = 3;
+
+    public static final int DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+
+    protected static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    protected final Codec<T> codec;
+
+    protected final Compression compression;
+
+    protected final int level;
+
+    protected final int minSize;
+
+    protected final int maxSize;
+
+    protected final int dictionaryId;
+
+    protected final ZstdDictCompress dictCompress;
+
+    protected final ZstdDictDecompress dictDecompress;
+
+    protected final LZ4Compressor lz4Compressor;
+
+    // payloads are external input, the fast decompressor trusts the stored length and is unsafe on corrupted data
+    protected final LZ4SafeDecompressor lz4Decompressor;
+
+    public CompressedCodec(Codec<T> codec, Compression compression) {
+        this(codec, compression, DEFAULT_ZSTD_LEVEL, null, DEFAULT_MIN_SIZE);
+    }
+
+    /**
+     * @param codec the codec used to encode the object before compression
+     * @param compression the compression algorithm
+     * @param level the zstd compression level, not used with LZ4
+     * @param dictionary an optional zstd dictionary, can be {@code null}
+     * @param minSize payloads smaller than this size are not compressed
+     */
+    public CompressedCodec(Codec<T> codec, Compression compression, int level, byte[] dictionary, int minSize) {
+        this(codec, compression, level,
+                dictionary == null || dictionary.length == 0 ? null : new Dictionary(dictionary, level), minSize,
+                DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param codec the codec used to encode the object before compression
+     * @param compression the compression algorithm
+     * @param level the zstd compression level, not used with LZ4
+     * @param dictionary an optional prepared zstd dictionary, can be {@code null}
+     * @param minSize payloads smaller than this size are not compressed
+     * @param maxSize the maximum uncompressed size of a payload to decode
+     */
+    public CompressedCodec(Codec<T> codec, Compression compression, int level, Dictionary dictionary, int minSize,
+            int maxSize) {
+        if (codec == null || codec instanceof NoCodec) {
+            throw new IllegalArgumentException("A compressed codec requires an encoding codec");
+        }
+        if (dictionary != null && compression != Compression.ZSTD) {
+            throw new IllegalArgumentException("Dictionary is only supported with zstd compression");
+        }
+        this.codec = codec;
+        this.compression = compression;
+        this.level = level;
+        this.minSize = Math.max(minSize, 0);
+        this.maxSize = maxSize > 0 ? maxSize : DEFAULT_MAX_SIZE;
+        if (dictionary != null) {
+            dictionaryId = dictionary.id;
+            dictCompress = dictionary.compress;
+            dictDecompress = dictionary.decompress;
+        } else {
+            dictionaryId = 0;
+            dictCompress = null;
+            dictDecompress = null;
+        }
+        lz4Compressor = LZ4.fastCompressor();
+        lz4Decompressor = LZ4.safeDecompressor();
+    }
+
+    /**
+     * A zstd dictionary prepared for compression at a given level and for decompression.
+     * <p>
+     * Preparing a dictionary is costly, an instance should be shared by all the codecs using it.
+     */
+    public static class Dictionary {
+
+        protected final int id;
+
+        protected final ZstdDictCompress compress;
+
+        protected final ZstdDictDecompress decompress;
+
+        public Dictionary(byte[] dictionary, int level) {
+            id = getDictionaryId(dictionary);
+            compress = new ZstdDictCompress(dictionary, level);
+            decompress = new ZstdDictDecompress(dictionary);
+        }
+    }
+
+    /**
+     * Returns a non zero identifier of the dictionary stored in the header of compressed payloads.
+     */
+    protected static int getDictionaryId(byte[] dictionary) {
+        CRC32 crc = new CRC32();
+        crc.update(dictionary);
+        int id = (int) crc.getValue();
+        return id == 0 ? 1 : id;
+    }
+
+    @Override
+    public String getName() {
+        return codec.getName() + "-" + compression.name().toLowerCase();
+    }
+
+    @Override
+    public byte[] encode(T object) {
+        byte[] data = codec.encode(object);
+        if (data.length < minSize) {
+            return data;
+        }
+        switch (compression) {
+        case LZ4:
+            return encodeLz4(data);
+        case ZSTD:
+        default:
+            return encodeZstd(data);
+        }
+    }
+
+    protected byte[] encodeLz4(byte[] data) {
+        byte[] ret = new byte[HEADER_SIZE + lz4Compressor.maxCompressedLength(data.length)];
+        int size = lz4Compressor.compress(data, 0, data.length, ret, HEADER_SIZE);
+        writeHeader(ret, Compression.LZ4, data.length, 0);
+        return Arrays.copyOf(ret, HEADER_SIZE + size);
+    }
+
+    protected byte[] encodeZstd(byte[] data) {
+        byte[] compressed = dictCompress == null ? Zstd.compress(data, level) : Zstd.compress(data, dictCompress);
+        byte[] ret = new byte[HEADER_SIZE + compressed.length];
+        writeHeader(ret, Compression.ZSTD, data.length, dictionaryId);
+        System.arraycopy(compressed, 0, ret, HEADER_SIZE, compressed.length);
+        return ret;
+    }
+
+    protected void writeHeader(byte[] data, Compression algorithm, int length, int dictId) {
+        ByteBuffer.wrap(data).put(MAGIC).put(algorithm.id).putInt(length).putInt(dictId);
+    }
+
+    @Override
+    public T decode(byte[] data) {
+        if (!hasHeader(data)) {
+            return codec.decode(data);
+        }
+        byte[] uncompressed;
+        try {
+            uncompressed = decompress(data);
+        } catch (RuntimeException e) {
+            // an uncompressed payload that happens to start with the magic
+            try {
+                return codec.decode(data);
+            } catch (IllegalArgumentException ignored) {
+                e.addSuppressed(ignored);
+                throw new IllegalArgumentException("Invalid compressed payload", e);
+            }
+        }
+        return codec.decode(uncompressed);
+    }
+
+    protected boolean hasHeader(byte[] data) {
+        if (data == null || data.length < HEADER_SIZE) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return Compression.of(data[MAGIC.length]) != null;
+    }
+
+    protected byte[] decompress(byte[] data) {
+        ByteBuffer header = ByteBuffer.wrap(data, MAGIC.length, HEADER_SIZE - MAGIC.length);
+        Compression algorithm = Compression.of(header.get());
+        int length = header.getInt();
+        int dictId = header.getInt();
+        if (length < 0 || length > maxSize) {
+            throw new IllegalArgumentException("Invalid uncompressed length: " + length + ", max size: " + maxSize);
+        }
+        if (algorithm == Compression.LZ4) {
+            byte[] ret = new byte[length];
+            int size = lz4Decompressor.decompress(data, HEADER_SIZE, data.length - HEADER_SIZE, ret, 0, length);
+            if (size != length) {
+                throw new IllegalArgumentException("Invalid LZ4 payload, expected: " + length + " got: " + size);
+            }
+            return ret;
+        }
+        byte[] compressed = Arrays.copyOfRange(data, HEADER_SIZE, data.length);
+        byte[] ret;
+        if (dictId == 0) {
+            ret = Zstd.decompress(compressed, length);
+        } else if (dictId == dictionaryId) {
+            ret = Zstd.decompress(compressed, dictDecompress, length);
+        } else {
+            throw new IllegalArgumentException("Payload compressed with an unknown zstd dictionary: " + dictId);
+        }
+        if (ret.length != length) {
+            throw new IllegalArgumentException("Invalid zstd payload, expected: " + length + " got: " + ret.length);
+        }
+        return ret;
+    }
+
+}
@@ -47,6 +47,12 @@ public abstract class AbstractBatchComputation extends AbstractComputation {
 
     protected boolean removeLastRecordOnRetry;
 
+    // @since 10.10-HF74
+    protected int removeRecordsOnRetry;
+
+    // @since 10.10-HF74
+    protected boolean flushOnProcessRecords;
+
     /**
      * Constructor
      *
@@ -111,6 +117,26 @@ public abstract class AbstractBatchComputation extends AbstractComputation {
         }
     }
 
+    @Override
+    public void processRecords(ComputationContext context, String inputStreamName, List<Record> records) {
+        if (!inputStreamName.equals(currentInputStream) && !batchRecords.isEmpty()) {
+            batchProcess(context);
+            // the checkpoint is done after all the records are processed, don't leave pending records behind it
+            flushOnProcessRecords = true;
+        }
+        if (newBatch) {
+            currentInputStream = inputStreamName;
+            newBatch = false;
+        }
+        batchRecords.addAll(records);
+        if (flushOnProcessRecords || batchRecords.size() >= context.getPolicy().getBatchCapacity()) {
+            removeRecordsOnRetry = records.size();
+            batchProcess(context);
+            removeRecordsOnRetry = 0;
+        }
+        flushOnProcessRecords = false;
+    }
+
     private void batchProcess(ComputationContext context) {
         batchProcess(context, currentInputStream, batchRecords);
         checkpointBatch(context);
@@ -129,6 +155,10 @@ public abstract class AbstractBatchComputation extends AbstractComputation {
             // but first we have to remove the record from the batch
             batchRecords.remove(batchRecords.size() -1);
             removeLastRecordOnRetry = false;
+        } else if (removeRecordsOnRetry > 0) {
+            // same for processRecords with the records of the batch
+            batchRecords.subList(Math.max(0, batchRecords.size() - removeRecordsOnRetry), batchRecords.size()).clear();
+            removeRecordsOnRetry = 0;
         }
         log.warn(String.format("Computation: %s fails to process batch of %d records, last record: %s, retrying ...",
                 metadata.name(), batchRecords.size(), context.getLastOffset()), failure);
@@ -142,6 +172,8 @@ public abstract class AbstractBatchComputation extends AbstractComputation {
         batchFailure(context, currentInputStream, batchRecords);
         batchRecords.clear();
         newBatch = true;
+        removeRecordsOnRetry = 0;
+        flushOnProcessRecords = false;
     }
 
 }
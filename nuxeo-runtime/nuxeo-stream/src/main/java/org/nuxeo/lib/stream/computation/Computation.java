@@ -19,6 +19,8 @@
  */
 package org.nuxeo.lib.stream.computation;
 
+import java.util.List;
+
 /**
  * Computation receives records from input streams one at a time, it can produce record on its output streams. A timer
  * processing can be used for windowing computation.
@@ -53,6 +55,25 @@ public interface Computation {
      */
     void processRecord(ComputationContext context, String inputStreamName, Record record);
 
+    /**
+     * Process a batch of incoming records read from the same input stream. This is used instead of
+     * {@link #processRecord} when the computation policy reads records by batch, see
+     * {@link ComputationPolicyBuilder#readBatchSize(int)}.
+     * <p>
+     * The default implementation calls {@link #processRecord} for each record. On failure the retry policy is applied
+     * to the whole batch.
+     *
+     * @param context The computation context object provided by the system.
+     * @param inputStreamName Name of the input stream that provides the records.
+     * @param records The records, in the order they were read.
+     * @since 10.10-HF74
+     */
+    default void processRecords(ComputationContext context, String inputStreamName, List<Record> records) {
+        for (Record record : records) {
+            processRecord(context, inputStreamName, record);
+        }
+    }
+
     /**
      * Process a timer callback previously set via {@link ComputationContext#setTimer(String, long)}.
      *
@@ -82,5 +82,13 @@ public interface ComputationContext {
      */
     ComputationPolicy getPolicy();
 
+    /**
+     * Gets the partition local state of the computation, changes are persisted on checkpoint.
+     *
+     * @throws IllegalStateException if the computation is not declared as stateful
+     * @since 10.10-HF74
+     */
+    StateStore getState();
+
 }
 
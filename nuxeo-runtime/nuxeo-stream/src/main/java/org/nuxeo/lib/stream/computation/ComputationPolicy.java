@@ -46,12 +46,21 @@ public class ComputationPolicy {
 
     protected final int skipFirstFailures;
 
+    protected final int readBatchSize;
+
+    protected final Duration autoscaleTargetLatency;
+
+    protected final Duration autoscaleInterval;
+
     public ComputationPolicy(ComputationPolicyBuilder builder) {
         batchCapacity = builder.batchCapacity;
         batchThreshold = builder.batchThreshold;
         skipFailure = builder.skipFailure;
         retryPolicy = builder.retryPolicy;
         skipFirstFailures = builder.skipFirstFailures;
+        readBatchSize = builder.readBatchSize;
+        autoscaleTargetLatency = builder.autoscaleTargetLatency;
+        autoscaleInterval = builder.autoscaleInterval;
     }
 
     public RetryPolicy getRetryPolicy() {
@@ -74,6 +83,33 @@ public class ComputationPolicy {
         return skipFirstFailures;
     }
 
+    /**
+     * Returns the maximum number of records read and processed at once.
+     *
+     * @since 10.10-HF74
+     */
+    public int getReadBatchSize() {
+        return readBatchSize;
+    }
+
+    /**
+     * Returns the expected time to process the lag, used to scale the computation thread pool.
+     *
+     * @since 10.10-HF74
+     */
+    public Duration getAutoscaleTargetLatency() {
+        return autoscaleTargetLatency;
+    }
+
+    /**
+     * Returns the delay between two scaling decisions.
+     *
+     * @since 10.10-HF74
+     */
+    public Duration getAutoscaleInterval() {
+        return autoscaleInterval;
+    }
+
     /**
      * @deprecated since 10.3 use {@link #continueOnFailure()} instead
      */
@@ -86,6 +122,8 @@ public class ComputationPolicy {
     public String toString() {
         return "ComputationPolicy{" + "maxRetries=" + retryPolicy.getMaxRetries() + ", delay=" + retryPolicy.getDelay()
                 + ", delayMax=" + retryPolicy.getMaxDelay() + ", continueOnFailure=" + skipFailure + ", batchCapacity="
-                + batchCapacity + ", batchThreshold=" + batchThreshold + '}';
+                + batchCapacity + ", batchThreshold=" + batchThreshold + ", readBatchSize=" + readBatchSize
+                + ", autoscaleTargetLatency=" + autoscaleTargetLatency + ", autoscaleInterval=" + autoscaleInterval
+                + '}';
     }
 }
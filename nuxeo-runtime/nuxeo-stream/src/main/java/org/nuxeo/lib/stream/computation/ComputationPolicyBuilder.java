@@ -33,6 +33,12 @@ public class ComputationPolicyBuilder {
 
     protected static final int DEFAULT_BATCH_THRESHOLD_SECOND = 1;
 
+    protected static final int DEFAULT_READ_BATCH_SIZE = 1;
+
+    protected static final Duration DEFAULT_AUTOSCALE_TARGET_LATENCY = Duration.ofMinutes(1);
+
+    protected static final Duration DEFAULT_AUTOSCALE_INTERVAL = Duration.ofSeconds(30);
+
     protected RetryPolicy retryPolicy = ComputationPolicy.NO_RETRY;
 
     protected boolean skipFailure = false;
@@ -43,6 +49,12 @@ public class ComputationPolicyBuilder {
 
     protected Duration batchThreshold = Duration.ofSeconds(DEFAULT_BATCH_THRESHOLD_SECOND);
 
+    protected int readBatchSize = DEFAULT_READ_BATCH_SIZE;
+
+    protected Duration autoscaleTargetLatency = DEFAULT_AUTOSCALE_TARGET_LATENCY;
+
+    protected Duration autoscaleInterval = DEFAULT_AUTOSCALE_INTERVAL;
+
     public ComputationPolicyBuilder() {
         // Empty constructor
     }
@@ -61,6 +73,35 @@ public class ComputationPolicyBuilder {
         return this;
     }
 
+    /**
+     * Reads up to {@code size} records at once and processes them with {@link Computation#processRecords}, the
+     * checkpoint is done once for all the records read.
+     * <p>
+     * The default size of 1 reads and processes records one at a time with {@link Computation#processRecord}.
+     *
+     * @since 10.10-HF74
+     */
+    public ComputationPolicyBuilder readBatchSize(int size) {
+        readBatchSize = Math.max(1, size);
+        return this;
+    }
+
+    /**
+     * Defines how the computation thread pool is scaled when a max concurrency is set.
+     * <p>
+     * Every {@code interval} the time needed to process the lag is estimated from the mean processing time, threads are
+     * added to process it within the {@code targetLatency}, a thread is removed when fewer threads are enough.
+     *
+     * @param targetLatency the expected time to process the lag
+     * @param interval the delay between two scaling decisions
+     * @since 10.10-HF74
+     */
+    public ComputationPolicyBuilder autoscalePolicy(Duration targetLatency, Duration interval) {
+        autoscaleTargetLatency = targetLatency;
+        autoscaleInterval = interval;
+        return this;
+    }
+
     /**
      * Defines what to do in case of failure during the batch processing.
      */
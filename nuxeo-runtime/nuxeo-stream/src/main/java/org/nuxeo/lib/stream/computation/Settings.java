@@ -46,11 +46,19 @@ public class Settings {
 
     protected final Map<String, RecordFilterChain> filters = new HashMap<>();
 
+    protected final Map<String, Integer> weights = new HashMap<>();
+
     // computations
     protected final int defaultConcurrency;
 
     protected final Map<String, Integer> concurrencies = new HashMap<>();
 
+    protected final Map<String, Integer> maxConcurrencies = new HashMap<>();
+
+    protected final Map<String, Boolean> virtualThreads = new HashMap<>();
+
+    protected final Map<String, Boolean> stateful = new HashMap<>();
+
     protected final ComputationPolicy defaultPolicy;
 
     protected final Map<String, ComputationPolicy> policies = new HashMap<>();
@@ -112,6 +120,62 @@ public class Settings {
         return concurrencies.getOrDefault(computationName, defaultConcurrency);
     }
 
+    /**
+     * Enables the autoscaling of the computation thread pool, the number of threads is adjusted between the
+     * concurrency and this maximum depending on the computation lag.
+     *
+     * @since 10.10-HF74
+     */
+    public Settings setMaxConcurrency(String computationName, int maxConcurrency) {
+        maxConcurrencies.put(computationName, maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Returns the maximum size of the computation thread pool, this is the concurrency when autoscaling is not
+     * enabled.
+     *
+     * @since 10.10-HF74
+     */
+    public int getMaxConcurrency(String computationName) {
+        return Math.max(getConcurrency(computationName), maxConcurrencies.getOrDefault(computationName, 0));
+    }
+
+    /**
+     * Runs the computation on virtual threads, platform threads are used if the JVM does not support virtual threads.
+     *
+     * @since 10.10-HF74
+     */
+    public Settings setVirtualThreads(String computationName, boolean value) {
+        virtualThreads.put(computationName, value);
+        return this;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isVirtualThreads(String computationName) {
+        return virtualThreads.getOrDefault(computationName, Boolean.FALSE);
+    }
+
+    /**
+     * Provides a partition local {@link StateStore} to the computation, the state is persisted into a changelog
+     * stream.
+     *
+     * @since 10.10-HF74
+     */
+    public Settings setStateful(String computationName, boolean value) {
+        stateful.put(computationName, value);
+        return this;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isStateful(String computationName) {
+        return stateful.getOrDefault(computationName, Boolean.FALSE);
+    }
+
     /**
      * Sets the number of partitions for a stream.
      */
@@ -124,6 +188,30 @@ public class Settings {
         return partitions.getOrDefault(streamName, defaultPartitions);
     }
 
+    /**
+     * Sets the weight of an input stream, when a computation reads from multiple weighted streams the streams are
+     * served using a weighted fair scheduling instead of being read as a single set of partitions.
+     *
+     * @since 10.10-HF74
+     */
+    public Settings setWeight(String streamName, int weight) {
+        if (weight <= 0) {
+            weights.remove(streamName);
+        } else {
+            weights.put(streamName, weight);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the weight of a stream, 0 if the stream is not weighted.
+     *
+     * @since 10.10-HF74
+     */
+    public int getWeight(String streamName) {
+        return weights.getOrDefault(streamName, 0);
+    }
+
     /**
      * Sets the codec for a stream.
      *
@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.computation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Set;
+
+/**
+ * A partition local key value store available to a computation.
+ * <p>
+ * The state is kept in memory and the changes are persisted on checkpoint into a changelog stream, the state is
+ * restored from this changelog when partitions are assigned to the computation thread.<br/>
+ * The state is local to the partitions assigned to the computation thread, to be restored on the same thread after a
+ * rebalance, state keys must be partitioned like the input records, using the record key is a good practice.
+ *
+ * @since 10.10-HF74
+ */
+public interface StateStore {
+
+    /**
+     * Returns the value associated with the key or {@code null} if the key does not exist.
+     */
+    byte[] get(String key);
+
+    /**
+     * Returns the string value associated with the key or {@code null} if the key does not exist.
+     */
+    default String getString(String key) {
+        byte[] value = get(key);
+        return value == null ? null : new String(value, UTF_8);
+    }
+
+    /**
+     * Associates the value with the key, a {@code null} value removes the key.
+     */
+    void put(String key, byte[] value);
+
+    /**
+     * Associates the string value with the key, a {@code null} value removes the key.
+     */
+    default void put(String key, String value) {
+        put(key, value == null ? null : value.getBytes(UTF_8));
+    }
+
+    /**
+     * Removes the key.
+     */
+    default void remove(String key) {
+        put(key, (byte[]) null);
+    }
+
+    /**
+     * Returns the keys of the state.
+     */
+    Set<String> keys();
+
+}
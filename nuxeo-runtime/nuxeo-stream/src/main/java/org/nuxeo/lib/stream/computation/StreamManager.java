@@ -18,6 +18,8 @@
  */
 package org.nuxeo.lib.stream.computation;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.nuxeo.lib.stream.log.LogOffset;
 
 /**
@@ -49,4 +51,19 @@ public interface StreamManager {
      * Appends a record to a processor's source stream.
      */
     LogOffset append(String stream, Record record);
+
+    /**
+     * Appends a record to a processor's source stream without waiting for the write to be acknowledged.
+     *
+     * @since 10.10-HF74
+     */
+    default CompletableFuture<LogOffset> appendAsync(String stream, Record record) {
+        CompletableFuture<LogOffset> ret = new CompletableFuture<>();
+        try {
+            ret.complete(append(stream, record));
+        } catch (RuntimeException e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
 }
@@ -29,6 +29,7 @@ import org.nuxeo.lib.stream.computation.ComputationContext;
 import org.nuxeo.lib.stream.computation.ComputationMetadataMapping;
 import org.nuxeo.lib.stream.computation.ComputationPolicy;
 import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.StateStore;
 import org.nuxeo.lib.stream.computation.StreamManager;
 import org.nuxeo.lib.stream.log.LogOffset;
 
@@ -54,6 +55,9 @@ public class ComputationContextImpl implements ComputationContext {
 
     protected LogOffset lastOffset;
 
+    // @since 10.10-HF74
+    protected StateStoreImpl state;
+
     public ComputationContextImpl(StreamManager streamManager, ComputationMetadataMapping metadata,
             ComputationPolicy policy) {
         this.manager = streamManager;
@@ -128,6 +132,28 @@ public class ComputationContextImpl implements ComputationContext {
         return policy;
     }
 
+    @Override
+    public StateStore getState() {
+        if (state == null) {
+            throw new IllegalStateException("Computation is not stateful: " + metadata.name());
+        }
+        return state;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public StateStoreImpl getStateStore() {
+        return state;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public void setStateStore(StateStoreImpl state) {
+        this.state = state;
+    }
+
     public void setLastOffset(LogOffset lastOffset) {
         this.lastOffset = lastOffset;
     }
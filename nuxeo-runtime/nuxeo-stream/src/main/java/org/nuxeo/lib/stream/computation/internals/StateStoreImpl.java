@@ -0,0 +1,90 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.computation.internals;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.nuxeo.lib.stream.computation.StateStore;
+
+/**
+ * In memory state that tracks the changes to persist on checkpoint.
+ *
+ * @since 10.10-HF74
+ */
+public class StateStoreImpl implements StateStore {
+
+    protected final Map<String, byte[]> values = new HashMap<>();
+
+    // changes since the last checkpoint, a null value is a removed key
+    protected final Map<String, byte[]> changes = new LinkedHashMap<>();
+
+    @Override
+    public byte[] get(String key) {
+        Objects.requireNonNull(key);
+        return values.get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value) {
+        Objects.requireNonNull(key);
+        if (value == null) {
+            if (values.remove(key) == null && !changes.containsKey(key)) {
+                // nothing to persist
+                return;
+            }
+        } else {
+            values.put(key, value);
+        }
+        changes.put(key, value);
+    }
+
+    @Override
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns the changes since the last checkpoint, a {@code null} value denotes a removed key.
+     */
+    public Map<String, byte[]> getChanges() {
+        return changes;
+    }
+
+    public void clearChanges() {
+        changes.clear();
+    }
+
+    /**
+     * Applies a changelog entry without tracking it as a change.
+     */
+    public void restore(String key, byte[] value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+}
@@ -18,17 +18,24 @@
  */
 package org.nuxeo.lib.stream.computation.log;
 
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -40,46 +47,123 @@ import org.nuxeo.lib.stream.computation.ComputationPolicy;
 import org.nuxeo.lib.stream.computation.Watermark;
 import org.nuxeo.lib.stream.log.LogPartition;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
 /**
  * Pool of ComputationRunner
+ * <p>
+ * When the max number of threads is greater than the initial one, the pool can be scaled, see {@link #autoscale}.
  *
  * @since 9.3
  */
 public class ComputationPool {
     private static final Log log = LogFactory.getLog(ComputationPool.class);
 
+    // @since 10.10-HF74
+    protected static final Duration REBALANCE_TIMEOUT = Duration.ofMinutes(2);
+
     protected final ComputationMetadataMapping metadata;
 
-    protected final int threads;
+    protected volatile int threads;
+
+    // @since 10.10-HF74
+    protected final int minThreads;
+
+    // @since 10.10-HF74
+    protected final int maxThreads;
 
     protected final Supplier<Computation> supplier;
 
     protected final List<List<LogPartition>> defaultAssignments;
 
+    // @since 10.10-HF74
+    protected final IntFunction<List<List<LogPartition>>> assignments;
+
     protected final List<ComputationRunner> runners;
 
+    // @since 10.10-HF74
+    protected final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+
     protected final LogStreamManager streamManager;
 
     protected final ComputationPolicy policy;
 
+    // @since 10.10-HF74
+    protected final boolean virtualThreads;
+
     protected ExecutorService threadPool;
 
+    // @since 10.10-HF74 number of threads to start once the stopped runners have released their partitions
+    protected volatile int pendingThreads;
+
+    // @since 10.10-HF74
+    protected long lastLag = -1;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(
+            ComputationRunner.NUXEO_METRICS_REGISTRY_NAME);
+
+    protected String threadsGaugeName;
+
+    protected Counter scaleUpCount;
+
+    protected Counter scaleDownCount;
+
+    protected Timer processRecordTimer;
+
     public ComputationPool(Supplier<Computation> supplier, ComputationMetadataMapping metadata,
             List<List<LogPartition>> defaultAssignments, LogStreamManager streamManager, ComputationPolicy policy) {
+        this(supplier, metadata, threads -> defaultAssignments, defaultAssignments.size(), defaultAssignments.size(),
+                streamManager, policy, false);
+    }
+
+    /**
+     * Creates a pool that can be scaled between {@code minThreads} and {@code maxThreads}.
+     *
+     * @param assignments returns the partitions assignments for a number of threads
+     * @param virtualThreads runs the runners on virtual threads if supported by the JVM
+     * @since 10.10-HF74
+     */
+    public ComputationPool(Supplier<Computation> supplier, ComputationMetadataMapping metadata,
+            IntFunction<List<List<LogPartition>>> assignments, int minThreads, int maxThreads,
+            LogStreamManager streamManager, ComputationPolicy policy, boolean virtualThreads) {
         Objects.requireNonNull(policy);
         this.supplier = supplier;
         this.metadata = metadata;
+        this.assignments = assignments;
+        this.defaultAssignments = assignments.apply(minThreads);
         this.threads = defaultAssignments.size();
+        this.minThreads = threads;
+        this.maxThreads = Math.max(threads, maxThreads);
         this.streamManager = streamManager;
-        this.defaultAssignments = defaultAssignments;
         this.policy = policy;
-        this.runners = new ArrayList<>(threads);
+        this.virtualThreads = virtualThreads;
+        this.runners = new CopyOnWriteArrayList<>();
     }
 
     public String getComputationName() {
         return metadata.name();
     }
 
+    /**
+     * Returns the current number of threads.
+     *
+     * @since 10.10-HF74
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isAutoscaled() {
+        return minThreads > 0 && maxThreads > minThreads;
+    }
+
     @SuppressWarnings("FutureReturnValueIgnored")
     public void start() {
         if (threads == 0) {
@@ -87,19 +171,156 @@ public class ComputationPool {
             return;
         }
         log.info(metadata.name() + ": Starting pool");
-        threadPool = newFixedThreadPool(threads, new NamedThreadFactory(metadata.name() + "Pool"));
-        defaultAssignments.forEach(assignments -> {
-            ComputationRunner runner = new ComputationRunner(supplier, metadata, assignments, streamManager, policy);
-            threadPool.submit(runner);
-            runners.add(runner);
-        });
-        // close the pool no new admission
-        threadPool.shutdown();
+        registerMetrics();
+        if (virtualThreads && !NamedThreadFactory.isVirtualThreadSupported()) {
+            log.warn(metadata.name() + ": Virtual threads not supported by the JVM, using platform threads");
+        }
+        ThreadFactory threadFactory = new NamedThreadFactory(metadata.name() + "Pool", virtualThreads);
+        if (isAutoscaled()) {
+            threadPool = newCachedThreadPool(threadFactory);
+        } else {
+            threadPool = newFixedThreadPool(threads, threadFactory);
+        }
+        defaultAssignments.forEach(this::startRunner);
+        if (!isAutoscaled()) {
+            // close the pool no new admission
+            threadPool.shutdown();
+        }
         log.debug(metadata.name() + ": Pool started, threads: " + threads);
     }
 
+    protected void startRunner(List<LogPartition> assignments) {
+        ComputationRunner runner = new ComputationRunner(supplier, metadata, assignments, streamManager, policy);
+        futures.add(threadPool.submit(runner));
+        runners.add(runner);
+    }
+
+    protected void registerMetrics() {
+        String prefix = MetricRegistry.name("nuxeo", "stream", "computation", metadata.name());
+        threadsGaugeName = MetricRegistry.name(prefix, "threads");
+        registry.remove(threadsGaugeName);
+        registry.register(threadsGaugeName, (Gauge<Integer>) this::getThreads);
+        scaleUpCount = registry.counter(MetricRegistry.name(prefix, "autoscale", "up"));
+        scaleDownCount = registry.counter(MetricRegistry.name(prefix, "autoscale", "down"));
+        processRecordTimer = registry.timer(MetricRegistry.name(prefix, "processRecord"));
+    }
+
+    /**
+     * Scales the pool so the lag can be processed within the policy target latency.
+     * <p>
+     * The number of threads needed is estimated from the mean processing time of a record, threads are added at once
+     * but removed one at a time when the lag is not growing.
+     *
+     * @param lag the number of records to process for the computation
+     * @return {@code true} if the number of threads has changed
+     * @since 10.10-HF74
+     */
+    public boolean autoscale(long lag) {
+        if (!isAutoscaled()) {
+            return false;
+        }
+        int target = getAutoscaleThreads(lag);
+        lastLag = lag;
+        return scale(target);
+    }
+
+    protected int getAutoscaleThreads(long lag) {
+        int current = threads;
+        if (lag == 0) {
+            return current - 1;
+        }
+        // the timer measures a batch of records when reading by batch
+        double recordNs = processRecordTimer.getSnapshot().getMean() / policy.getReadBatchSize();
+        if (recordNs <= 0) {
+            // nothing processed yet, add a thread when the lag grows
+            return lastLag >= 0 && lag > lastLag ? current + 1 : current;
+        }
+        int needed = (int) Math.ceil(lag * recordNs / policy.getAutoscaleTargetLatency().toNanos());
+        if (needed > current) {
+            return needed;
+        }
+        if (needed < current && lastLag >= 0 && lag <= lastLag) {
+            return current - 1;
+        }
+        return current;
+    }
+
+    /**
+     * Changes the number of threads within the pool bounds.
+     * <p>
+     * When the log supports subscription, runners are added or removed and the partitions are rebalanced among the
+     * group consumers. Otherwise all the runners are stopped and new runners are started once the partitions are
+     * released, using the assignments for the new number of threads.
+     *
+     * @return {@code true} if the number of threads has changed
+     * @since 10.10-HF74
+     */
+    public synchronized boolean scale(int newThreads) {
+        if (threadPool == null || threadPool.isShutdown()) {
+            return false;
+        }
+        if (pendingThreads > 0) {
+            // previous rebalance not yet completed
+            return startPendingRunners();
+        }
+        int target = Math.max(minThreads, Math.min(maxThreads, newThreads));
+        if (target == threads) {
+            return false;
+        }
+        log.info(String.format("%s: Scaling from %d to %d threads", metadata.name(), threads, target));
+        if (target > threads) {
+            scaleUpCount.inc();
+        } else {
+            scaleDownCount.inc();
+        }
+        futures.removeIf(Future::isDone);
+        threads = target;
+        if (streamManager.supportSubscribe()) {
+            while (runners.size() < target) {
+                startRunner(Collections.emptyList());
+            }
+            while (runners.size() > target) {
+                runners.remove(runners.size() - 1).stop();
+            }
+            return true;
+        }
+        runners.forEach(ComputationRunner::stop);
+        runners.clear();
+        pendingThreads = target;
+        startPendingRunners();
+        return true;
+    }
+
+    protected boolean startPendingRunners() {
+        long deadline = System.currentTimeMillis() + REBALANCE_TIMEOUT.toMillis();
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.warn(metadata.name() + ": Timeout waiting for runners to release their partitions");
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException | CancellationException e) {
+                // failure already logged by the runner
+            }
+        }
+        futures.clear();
+        assignments.apply(pendingThreads).forEach(this::startRunner);
+        pendingThreads = 0;
+        return true;
+    }
+
     public boolean isTerminated() {
-        return threadPool == null ? true : threadPool.isTerminated();
+        if (threadPool == null) {
+            return true;
+        }
+        if (!threadPool.isShutdown()) {
+            // autoscaled pool
+            return pendingThreads == 0 && futures.stream().allMatch(Future::isDone);
+        }
+        return threadPool.isTerminated();
     }
 
     public boolean waitForAssignments(Duration timeout) throws InterruptedException {
@@ -150,10 +371,17 @@ public class ComputationPool {
             }
         }
         runners.clear();
+        futures.clear();
+        pendingThreads = 0;
         threadPool = null;
+        if (threadsGaugeName != null) {
+            registry.remove(threadsGaugeName);
+        }
     }
 
     protected boolean awaitPoolTermination(Duration timeout) {
+        // no new admission for autoscaled pool
+        threadPool.shutdown();
         try {
             if (!threadPool.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
                 log.warn(metadata.name() + ": Timeout on wait for pool termination");
@@ -191,14 +419,30 @@ public class ComputationPool {
 
         protected final String prefix;
 
+        protected final boolean virtual;
+
         public NamedThreadFactory(String prefix) {
+            this(prefix, false);
+        }
+
+        /**
+         * @param virtual creates virtual threads if supported by the JVM
+         * @since 10.10-HF74
+         */
+        public NamedThreadFactory(String prefix, boolean virtual) {
             this.prefix = prefix;
+            this.virtual = virtual && isVirtualThreadSupported();
+        }
+
+        public static boolean isVirtualThreadSupported() {
+            return VirtualThreads.isSupported();
         }
 
         @SuppressWarnings("NullableProblems")
         @Override
         public Thread newThread(Runnable r) {
-            Thread t = new Thread(r, String.format("%s-%02d", prefix, count.getAndIncrement()));
+            String name = String.format("%s-%02d", prefix, count.getAndIncrement());
+            Thread t = virtual ? VirtualThreads.newThread(r, name) : new Thread(r, name);
             t.setUncaughtExceptionHandler((t1, e) -> log.error("Uncaught exception: " + e.getMessage(), e));
             return t;
         }
@@ -20,25 +20,35 @@ package org.nuxeo.lib.stream.computation.log;
 
 import java.nio.channels.ClosedByInterruptException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.nuxeo.lib.stream.StreamRuntimeException;
 import org.nuxeo.lib.stream.computation.Computation;
 import org.nuxeo.lib.stream.computation.ComputationMetadataMapping;
 import org.nuxeo.lib.stream.computation.ComputationPolicy;
 import org.nuxeo.lib.stream.computation.Record;
 import org.nuxeo.lib.stream.computation.Watermark;
 import org.nuxeo.lib.stream.computation.internals.ComputationContextImpl;
+import org.nuxeo.lib.stream.computation.internals.StateStoreImpl;
 import org.nuxeo.lib.stream.computation.internals.WatermarkMonotonicInterval;
+import org.nuxeo.lib.stream.log.LogAppender;
+import org.nuxeo.lib.stream.log.LogLag;
+import org.nuxeo.lib.stream.log.LogOffset;
 import org.nuxeo.lib.stream.log.LogPartition;
 import org.nuxeo.lib.stream.log.LogRecord;
 import org.nuxeo.lib.stream.log.LogTailer;
@@ -46,6 +56,7 @@ import org.nuxeo.lib.stream.log.RebalanceException;
 import org.nuxeo.lib.stream.log.RebalanceListener;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.SharedMetricRegistries;
 import com.codahale.metrics.Timer;
@@ -71,6 +82,15 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     // @since 2021.13
     protected static final int CHECKPOINT_PAUSE_MS = 45_000;
 
+    // @since 10.10-HF74
+    protected static final Duration RESTORE_READ_TIMEOUT = Duration.ofSeconds(1);
+
+    // @since 10.10-HF74 the restore fails if no changelog entry can be read during this time before reaching the end
+    protected static final Duration RESTORE_TIMEOUT = Duration.ofMinutes(2);
+
+    // @since 10.10-HF74 the record flag used to mark a removed key in the changelog
+    public static final Record.Flag TOMBSTONE_FLAG = Record.Flag.INTERNAL1;
+
     // @since 2021.15
     public static final long SLOW_COMPUTATION_THRESHOLD_NS = 10 * 60 * 1_000_000_000L;
 
@@ -130,10 +150,20 @@ public class ComputationRunner implements Runnable, RebalanceListener {
 
     protected Counter runningCount;
 
+    // times each call to the computation: a single record, or a batch of records when readBatchSize > 1
     protected Timer processRecordTimer;
 
+    // @since 10.10-HF74 the records processed, whatever the read batch size
+    protected Meter recordsMeter;
+
     protected Timer processTimerTimer;
 
+    // @since 10.10-HF74
+    protected Timer latencyTimer;
+
+    // @since 10.10-HF74
+    protected Timer checkpointTimer;
+
     // @since 11.1
     protected static AtomicInteger skipFailures = new AtomicInteger(0);
 
@@ -158,6 +188,13 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         if (metadata.inputStreams().isEmpty()) {
             this.tailer = null;
             assignmentLatch.countDown();
+        } else if (streamManager.isWeighted(metadata.inputStreams())) {
+            boolean subscribe = streamManager.supportSubscribe();
+            this.tailer = streamManager.createWeightedTailer(metadata.name(), metadata.inputStreams(),
+                    defaultAssignment, subscribe ? this : null);
+            if (!subscribe) {
+                assignmentLatch.countDown();
+            }
         } else if (streamManager.supportSubscribe()) {
             this.tailer = streamManager.subscribe(metadata.name(), metadata.inputStreams(), this);
         } else {
@@ -195,6 +232,7 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         log.debug(metadata.name() + ": Init");
         registerMetrics();
         ReturnCode returnCode = ReturnCode.TERMINATE;
+        restoreState(tailer == null ? null : tailer.assignments());
         computation.init(context);
         log.debug(metadata.name() + ": Start");
         try {
@@ -274,8 +312,14 @@ public class ComputationRunner implements Runnable, RebalanceListener {
                 MetricRegistry.name("nuxeo", "stream", "computation", metadata.name(), "skippedRecord"));
         processRecordTimer = registry.timer(
                 MetricRegistry.name("nuxeo", "stream", "computation", metadata.name(), "processRecord"));
+        recordsMeter = registry.meter(
+                MetricRegistry.name("nuxeo", "stream", "computation", metadata.name(), "records"));
         processTimerTimer = registry.timer(
                 MetricRegistry.name("nuxeo", "stream", "computation", metadata.name(), "processTimer"));
+        latencyTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "stream", "computation", metadata.name(), "latency"));
+        checkpointTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "stream", "computation", metadata.name(), "checkpoint"));
     }
 
     protected void closeTailer() {
@@ -372,6 +416,9 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         if (tailer == null) {
             return false;
         }
+        if (policy.getReadBatchSize() > 1) {
+            return processRecords();
+        }
         Duration timeoutRead = getTimeoutDuration();
         LogRecord<Record> logRecord = null;
         try {
@@ -398,7 +445,9 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         inRecords++;
         lowWatermark.mark(record.getWatermark());
         context.setLastOffset(logRecord.offset());
+        updateLatency(logRecord.offset(), record.getWatermark());
         String from = metadata.reverseMap(stream);
+        recordsMeter.mark();
         processRecordWithRetry(from, record);
         checkRecordFlags(record);
         checkSourceLowWatermark();
@@ -407,6 +456,20 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         return true;
     }
 
+    /**
+     * Tracks the end to end latency of the record and the last record timestamp processed on its partition.
+     *
+     * @since 10.10-HF74
+     */
+    protected void updateLatency(LogOffset offset, long watermark) {
+        long timestamp = Watermark.ofValue(watermark).getTimestamp();
+        if (timestamp <= 0) {
+            return;
+        }
+        latencyTimer.update(Math.max(0, System.currentTimeMillis() - timestamp), TimeUnit.MILLISECONDS);
+        streamManager.markPartition(metadata.name(), offset.partition(), timestamp);
+    }
+
     protected void processRecordWithRetry(String from, Record record) {
         runningCount.inc();
         try (Timer.Context ignored = processRecordTimer.time()) {
@@ -426,6 +489,101 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         }
     }
 
+    /**
+     * Reads records by batch and processes consecutive records of the same input stream with a single call to
+     * {@link Computation#processRecords}, the checkpoint is done once for the batch.
+     * <p>
+     * When the batch fails and the policy continues on failure, its records are processed one by one so that only the
+     * failing records are skipped.
+     *
+     * @since 10.10-HF74
+     */
+    protected boolean processRecords() throws InterruptedException {
+        List<LogRecord<Record>> logRecords;
+        try {
+            logRecords = tailer.readBatch(policy.getReadBatchSize(), getTimeoutDuration());
+        } catch (RebalanceException e) {
+            // the revoke has done a checkpoint we can continue
+            return false;
+        }
+        List<Record> processed = new ArrayList<>(logRecords.size());
+        List<LogRecord<Record>> records = new ArrayList<>(logRecords.size());
+        String stream = null;
+        for (LogRecord<Record> logRecord : logRecords) {
+            Record record = logRecord.message();
+            String recordStream = logRecord.offset().partition().name();
+            Record filteredRecord = streamManager.getFilter(recordStream).afterRead(record, logRecord.offset());
+            if (filteredRecord == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug(metadata.name() + ": Filtering skip record: " + record);
+                }
+                continue;
+            }
+            if (!recordStream.equals(stream) && !records.isEmpty()) {
+                processRecordsWithRetry(metadata.reverseMap(stream), records);
+                records = new ArrayList<>(logRecords.size());
+            }
+            stream = recordStream;
+            inRecords++;
+            lowWatermark.mark(filteredRecord.getWatermark());
+            context.setLastOffset(logRecord.offset());
+            updateLatency(logRecord.offset(), filteredRecord.getWatermark());
+            records.add(filteredRecord == record ? logRecord : new LogRecord<>(filteredRecord, logRecord.offset()));
+            processed.add(filteredRecord);
+        }
+        if (processed.isEmpty()) {
+            return false;
+        }
+        lastReadTime = System.currentTimeMillis();
+        processRecordsWithRetry(metadata.reverseMap(stream), records);
+        processed.forEach(this::checkRecordFlags);
+        checkSourceLowWatermark();
+        setThreadName("records");
+        checkpointIfNecessary();
+        return true;
+    }
+
+    protected void processRecordsWithRetry(String from, List<LogRecord<Record>> logRecords) {
+        List<Record> records = logRecords.stream().map(LogRecord::message).collect(Collectors.toList());
+        recordsMeter.mark(records.size());
+        runningCount.inc();
+        try (Timer.Context ignored = processRecordTimer.time()) {
+            Failsafe.with(policy.getRetryPolicy())
+                    .onRetry(failure -> computation.processRetry(context, failure))
+                    .onFailure(failure -> computation.processFailure(context, failure))
+                    .withFallback(() -> processRecordsFallback(from, logRecords))
+                    .run(() -> computation.processRecords(context, from, records));
+            long duration = ignored.stop();
+            if (duration > SLOW_COMPUTATION_THRESHOLD_NS && processRecordTimer.getCount() > 100
+                    && duration >= processRecordTimer.getSnapshot().getMax()) {
+                log.warn("Slow computation: " + metadata.name() + ", on " + context.getLastOffset() + ", took: "
+                        + duration / 1_000_000_000L + "s, batch of " + records.size() + " records, first record: "
+                        + records.get(0).toString());
+            }
+        } finally {
+            runningCount.dec();
+        }
+    }
+
+    /**
+     * Falls back to processing the records one by one when continuing on failure, each record being retried and
+     * skipped on its own.
+     *
+     * @since 10.10-HF74
+     */
+    protected void processRecordsFallback(String from, List<LogRecord<Record>> logRecords) {
+        if (!policy.continueOnFailure() || logRecords.size() == 1) {
+            processFallback(context);
+            return;
+        }
+        log.warn(String.format("%s: Batch of %d records failed, processing them one by one up to: %s",
+                metadata.name(), logRecords.size(), context.getLastOffset()));
+        for (LogRecord<Record> logRecord : logRecords) {
+            context.setLastOffset(logRecord.offset());
+            processRecordWithRetry(from, logRecord.message());
+        }
+    }
+
     protected void processFallback(ComputationContextImpl context) {
         if (policy.continueOnFailure()) {
             log.error(String.format("%s: Skip record after failure: %s", metadata.name(), context.getLastOffset()));
@@ -498,11 +656,13 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     }
 
     protected void checkpoint() {
-        sendRecords();
-        saveTimers();
-        saveState();
-        // To Simulate slow checkpoint add a Thread.sleep(1)
-        saveOffsets();
+        try (Timer.Context ignored = checkpointTimer.time()) {
+            sendRecords();
+            saveTimers();
+            saveState();
+            // To Simulate slow checkpoint add a Thread.sleep(1)
+            saveOffsets();
+        }
         lowWatermark.checkpoint();
         context.removeCheckpointFlag();
         inCheckpointRecords = inRecords;
@@ -515,7 +675,110 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     }
 
     protected void saveState() {
-        // TODO: save key value store NXP-22112
+        StateStoreImpl state = context.getStateStore();
+        if (state == null || state.getChanges().isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<LogOffset>> appends = new ArrayList<>(state.getChanges().size());
+        state.getChanges().forEach((key, value) -> {
+            Record record;
+            if (value == null) {
+                record = new Record(key, null, Watermark.ofNow().getValue(), EnumSet.of(TOMBSTONE_FLAG));
+            } else {
+                record = Record.of(key, value);
+            }
+            appends.add(streamManager.appendChangelogAsync(metadata.name(), record));
+        });
+        LogAppender.join(appends);
+        state.clearChanges();
+    }
+
+    /**
+     * Rebuilds the state of a stateful computation from the changelog partitions matching the assigned partitions, all
+     * the changelog partitions are used for a source computation.
+     *
+     * @since 10.10-HF74
+     */
+    protected void restoreState(Collection<LogPartition> assignments) {
+        String changelog = streamManager.getChangelog(metadata.name());
+        if (changelog == null) {
+            return;
+        }
+        StateStoreImpl state = new StateStoreImpl();
+        int size = streamManager.getLogManager().size(changelog);
+        List<LogPartition> partitions;
+        if (assignments == null) {
+            partitions = IntStream.range(0, size)
+                                  .mapToObj(i -> LogPartition.of(changelog, i))
+                                  .collect(Collectors.toList());
+        } else {
+            partitions = assignments.stream()
+                                     .map(LogPartition::partition)
+                                     .filter(i -> i < size)
+                                     .distinct()
+                                     .map(i -> LogPartition.of(changelog, i))
+                                     .collect(Collectors.toList());
+        }
+        long entries = 0;
+        if (!partitions.isEmpty()) {
+            // capture the end of the changelog partitions before reading, a null read is not enough to assume that
+            // the whole state has been restored
+            List<LogLag> lags = streamManager.getChangelogLagPerPartition(metadata.name());
+            Map<Integer, LogLag> ends = new HashMap<>();
+            Map<Integer, long[]> positions = new HashMap<>();
+            for (LogPartition partition : partitions) {
+                LogLag lag = lags.get(partition.partition());
+                if (lag.lag() > 0) {
+                    ends.put(partition.partition(), lag);
+                    // last read offset and number of read entries
+                    positions.put(partition.partition(), new long[] { -1, 0 });
+                }
+            }
+            try (LogTailer<Record> changelogTailer = streamManager.createChangelogTailer(metadata.name(),
+                    partitions)) {
+                changelogTailer.toStart();
+                long deadline = System.currentTimeMillis() + RESTORE_TIMEOUT.toMillis();
+                while (!ends.isEmpty()) {
+                    LogRecord<Record> logRecord = changelogTailer.read(RESTORE_READ_TIMEOUT);
+                    if (logRecord == null) {
+                        if (System.currentTimeMillis() > deadline) {
+                            throw new StreamRuntimeException(String.format(
+                                    "%s: Cannot restore state, end not reached within %s, missing: %s, read: %d",
+                                    metadata.name(), RESTORE_TIMEOUT, ends, entries));
+                        }
+                        continue;
+                    }
+                    deadline = System.currentTimeMillis() + RESTORE_TIMEOUT.toMillis();
+                    Record record = logRecord.message();
+                    state.restore(record.getKey(),
+                            record.getFlags().contains(TOMBSTONE_FLAG) ? null : record.getData());
+                    entries++;
+                    int partition = logRecord.offset().partition().partition();
+                    long[] position = positions.get(partition);
+                    if (position != null) {
+                        position[0] = logRecord.offset().offset();
+                        position[1]++;
+                        LogLag end = ends.get(partition);
+                        // Kafka offsets are contiguous, Chronicle gives the exact number of entries
+                        if (position[0] + 1 >= end.upperOffset() || position[1] >= end.lag()) {
+                            ends.remove(partition);
+                            positions.remove(partition);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StreamRuntimeException(e);
+            }
+        }
+        if (entries > 2L * state.size()) {
+            // Chronicle cannot compact a queue, its retention drops whole cycles: rewrite the live entries on next
+            // checkpoint so they outlive the obsolete ones, a Kafka changelog is compacted by the brokers
+            state.keys().forEach(key -> state.getChanges().put(key, state.get(key)));
+        }
+        log.debug(metadata.name() + ": State restored with " + state.size() + " keys from " + entries
+                + " changelog entries on " + partitions);
+        context.setStateStore(state);
     }
 
     protected void saveOffsets() {
@@ -525,15 +788,23 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     }
 
     protected void sendRecords() {
+        // pipeline the appends, the checkpoint waits for all of them before saving the input offsets
+        List<CompletableFuture<LogOffset>> appends = new ArrayList<>();
         for (String stream : metadata.outputStreams()) {
             for (Record record : context.getRecords(stream)) {
                 if (record.getWatermark() == 0) {
                     // use low watermark when not set
                     record.setWatermark(lowWatermark.getLow().getValue());
                 }
-                streamManager.append(stream, record);
-                outRecords++;
+                appends.add(streamManager.appendAsync(stream, record));
             }
+        }
+        if (appends.isEmpty()) {
+            return;
+        }
+        LogAppender.join(appends);
+        outRecords += appends.size();
+        for (String stream : metadata.outputStreams()) {
             context.getRecords(stream).clear();
         }
     }
@@ -563,6 +834,7 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         setThreadName("rebalance assigned");
         // reset the context
         this.context = new ComputationContextImpl(streamManager, metadata, policy);
+        restoreState(partitions);
         log.debug(metadata.name() + ": Init");
         computation.init(context);
         lastReadTime = System.currentTimeMillis();
@@ -19,15 +19,21 @@
 package org.nuxeo.lib.stream.computation.log;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.computation.ComputationMetadataMapping;
 import org.nuxeo.lib.stream.computation.Record;
 import org.nuxeo.lib.stream.computation.RecordFilter;
 import org.nuxeo.lib.stream.computation.RecordFilterChain;
@@ -35,12 +41,15 @@ import org.nuxeo.lib.stream.computation.Settings;
 import org.nuxeo.lib.stream.computation.StreamManager;
 import org.nuxeo.lib.stream.computation.StreamProcessor;
 import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.lib.stream.log.LogLag;
 import org.nuxeo.lib.stream.log.LogManager;
 import org.nuxeo.lib.stream.log.LogOffset;
 import org.nuxeo.lib.stream.log.LogPartition;
 import org.nuxeo.lib.stream.log.LogTailer;
 import org.nuxeo.lib.stream.log.RebalanceListener;
 import org.nuxeo.lib.stream.log.internals.LogOffsetImpl;
+import org.nuxeo.lib.stream.log.internals.MergedRebalanceListener;
+import org.nuxeo.lib.stream.log.internals.WeightedLogTailer;
 
 /**
  * StreamManager based on a LogManager
@@ -50,6 +59,9 @@ import org.nuxeo.lib.stream.log.internals.LogOffsetImpl;
 public class LogStreamManager implements StreamManager {
     private static final Log log = LogFactory.getLog(LogStreamManager.class);
 
+    // @since 10.10-HF74
+    public static final String CHANGELOG_SUFFIX = "-changelog";
+
     protected final LogManager logManager;
 
     public LogStreamManager(LogManager logManager) {
@@ -64,6 +76,15 @@ public class LogStreamManager implements StreamManager {
 
     protected final Set<String> streams = new HashSet<>();
 
+    // @since 10.10-HF74
+    protected final Map<String, String> changelogs = new HashMap<>();
+
+    // @since 10.10-HF74
+    protected final Map<String, Integer> weights = new HashMap<>();
+
+    // timestamp of the last record processed by computation and partition, @since 10.10-HF74
+    protected final Map<String, Long> partitionTimestamps = new ConcurrentHashMap<>();
+
     @Override
     public void register(String processorName, Topology topology, Settings settings) {
         log.debug("Register processor: " + processorName);
@@ -72,6 +93,8 @@ public class LogStreamManager implements StreamManager {
         initStreams(topology, settings);
         initAppenders(topology, settings);
         registerFilters(topology, settings);
+        registerWeights(topology, settings);
+        initChangelogs(topology, settings);
     }
 
     @Override
@@ -88,6 +111,20 @@ public class LogStreamManager implements StreamManager {
         return logManager;
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    public Set<String> getProcessorNames() {
+        return Collections.unmodifiableSet(topologies.keySet());
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public Topology getTopology(String processorName) {
+        return topologies.get(processorName);
+    }
+
     @Override
     public LogOffset append(String stream, Record record) {
         RecordFilterChain filter = filters.get(stream);
@@ -103,6 +140,23 @@ public class LogStreamManager implements StreamManager {
         return offset;
     }
 
+    @Override
+    public CompletableFuture<LogOffset> appendAsync(String stream, Record record) {
+        RecordFilterChain filter = filters.get(stream);
+        if (filter == null) {
+            throw new IllegalArgumentException("Unknown stream: " + stream);
+        }
+        Record filteredRecord = filter.beforeAppend(record);
+        if (filteredRecord == null) {
+            return CompletableFuture.completedFuture(new LogOffsetImpl(stream, 0, 0));
+        }
+        return logManager.<Record> getAppender(stream).appendAsync(filteredRecord.getKey(), filteredRecord).thenApply(
+                offset -> {
+                    filter.afterAppend(filteredRecord, offset);
+                    return offset;
+                });
+    }
+
     public boolean supportSubscribe() {
         return logManager.supportSubscribe();
     }
@@ -120,6 +174,119 @@ public class LogStreamManager implements StreamManager {
         return logManager.createTailer(computationName, streamPartitions, codec);
     }
 
+    /**
+     * Returns {@code true} if one of the streams has a weight, the streams must then be read using a
+     * {@link WeightedLogTailer}.
+     *
+     * @since 10.10-HF74
+     */
+    public boolean isWeighted(Collection<String> streams) {
+        return streams.stream().anyMatch(weights::containsKey);
+    }
+
+    /**
+     * Creates a tailer that serves the streams according to their weights, there is one underlying tailer per stream.
+     * When {@code listener} is not null the underlying tailers are subscribed and their rebalances are merged so the
+     * listener is only notified with the partitions of all the streams, otherwise they are assigned to the partitions.
+     *
+     * @since 10.10-HF74
+     */
+    public LogTailer<Record> createWeightedTailer(String computationName, Collection<String> streams,
+            Collection<LogPartition> streamPartitions, RebalanceListener listener) {
+        Map<String, LogTailer<Record>> tailers = new LinkedHashMap<>();
+        MergedRebalanceListener rebalance = listener == null ? null : new MergedRebalanceListener(streams, listener);
+        for (String stream : streams) {
+            if (rebalance != null) {
+                tailers.put(stream, subscribe(computationName, Collections.singletonList(stream),
+                        rebalance.getLaneListener(stream)));
+                continue;
+            }
+            List<LogPartition> partitions = streamPartitions.stream()
+                                                            .filter(partition -> stream.equals(partition.name()))
+                                                            .collect(Collectors.toList());
+            if (!partitions.isEmpty()) {
+                tailers.put(stream, createTailer(computationName, partitions));
+            }
+        }
+        if (tailers.isEmpty()) {
+            return createTailer(computationName, streamPartitions);
+        }
+        return new WeightedLogTailer<>(tailers, weights, rebalance);
+    }
+
+    /**
+     * Returns the changelog stream used to persist the state of the computation, {@code null} if the computation is
+     * not stateful.
+     *
+     * @since 10.10-HF74
+     */
+    public String getChangelog(String computationName) {
+        return changelogs.get(computationName);
+    }
+
+    /**
+     * Creates a tailer on the changelog partitions.
+     *
+     * @since 10.10-HF74
+     */
+    public LogTailer<Record> createChangelogTailer(String computationName, Collection<LogPartition> partitions) {
+        String changelog = changelogs.get(computationName);
+        if (changelog == null) {
+            throw new IllegalArgumentException("Computation is not stateful: " + computationName);
+        }
+        return logManager.createTailer(computationName + CHANGELOG_SUFFIX, partitions,
+                logManager.<Record> getAppender(changelog).getCodec());
+    }
+
+    /**
+     * Returns the lag of the changelog tailer per partition, this gives the end offset and the number of entries to
+     * read to restore the state.
+     *
+     * @since 10.10-HF74
+     */
+    public List<LogLag> getChangelogLagPerPartition(String computationName) {
+        String changelog = changelogs.get(computationName);
+        if (changelog == null) {
+            throw new IllegalArgumentException("Computation is not stateful: " + computationName);
+        }
+        return logManager.getLagPerPartition(changelog, computationName + CHANGELOG_SUFFIX);
+    }
+
+    /**
+     * Appends a changelog entry, the partition is chosen using the key like for any stream.
+     *
+     * @since 10.10-HF74
+     */
+    public CompletableFuture<LogOffset> appendChangelogAsync(String computationName, Record record) {
+        String changelog = changelogs.get(computationName);
+        if (changelog == null) {
+            throw new IllegalArgumentException("Computation is not stateful: " + computationName);
+        }
+        return logManager.<Record> getAppender(changelog).appendAsync(record.getKey(), record);
+    }
+
+    /**
+     * Keeps track of the timestamp of the last record processed by a computation on a partition.
+     *
+     * @since 10.10-HF74
+     */
+    public void markPartition(String computationName, LogPartition partition, long timestamp) {
+        partitionTimestamps.put(getPartitionKey(computationName, partition), timestamp);
+    }
+
+    /**
+     * Returns the timestamp of the last record processed by the computation on the partition, {@code 0} if unknown.
+     *
+     * @since 10.10-HF74
+     */
+    public long getPartitionTimestamp(String computationName, LogPartition partition) {
+        return partitionTimestamps.getOrDefault(getPartitionKey(computationName, partition), 0L);
+    }
+
+    protected String getPartitionKey(String computationName, LogPartition partition) {
+        return computationName + ":" + partition.name() + ":" + partition.partition();
+    }
+
     public RecordFilter getFilter(String stream) {
         return filters.get(stream);
     }
@@ -165,4 +332,31 @@ public class LogStreamManager implements StreamManager {
         topology.streamsSet().forEach(stream -> filters.put(stream, settings.getFilterChain(stream)));
     }
 
+    protected void registerWeights(Topology topology, Settings settings) {
+        topology.streamsSet().stream().filter(stream -> settings.getWeight(stream) > 0).forEach(
+                stream -> weights.put(stream, settings.getWeight(stream)));
+    }
+
+    /**
+     * The changelog of a stateful computation has as many partitions as its input streams so the state follows the
+     * partition assignments. The changelog is compacted when the Log implementation supports it (Kafka), so only the
+     * last entry of each key is kept.
+     */
+    protected void initChangelogs(Topology topology, Settings settings) {
+        for (ComputationMetadataMapping metadata : topology.metadataList()) {
+            if (!settings.isStateful(metadata.name())) {
+                continue;
+            }
+            String changelog = metadata.name() + CHANGELOG_SUFFIX;
+            int size = metadata.inputStreams().stream().mapToInt(settings::getPartitions).max().orElse(1);
+            if (!logManager.createCompactedIfNotExists(changelog, size) && logManager.size(changelog) != size) {
+                log.warn(String.format(
+                        "Changelog: %s exists with %d partitions instead of %d, state may not follow assignments",
+                        changelog, logManager.size(changelog), size));
+            }
+            logManager.getAppender(changelog, settings.getCodec(changelog));
+            changelogs.put(metadata.name(), changelog);
+        }
+    }
+
 }
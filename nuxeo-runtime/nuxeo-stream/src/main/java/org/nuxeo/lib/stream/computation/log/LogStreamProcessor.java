@@ -31,6 +31,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -65,6 +68,9 @@ public class LogStreamProcessor implements StreamProcessor {
 
     protected final boolean needRegister;
 
+    // @since 10.10-HF74
+    protected ScheduledExecutorService autoscaler;
+
     @Deprecated
     public LogStreamProcessor(LogManager manager) {
         needRegister = true;
@@ -96,6 +102,62 @@ public class LogStreamProcessor implements StreamProcessor {
         this.pools = initPools();
         Objects.requireNonNull(pools);
         pools.forEach(ComputationPool::start);
+        startAutoscaler();
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored")
+    protected void startAutoscaler() {
+        List<ComputationPool> autoscaledPools = pools.stream()
+                                                     .filter(ComputationPool::isAutoscaled)
+                                                     .collect(Collectors.toList());
+        if (autoscaledPools.isEmpty()) {
+            return;
+        }
+        autoscaler = Executors.newSingleThreadScheduledExecutor(
+                new ComputationPool.NamedThreadFactory("StreamAutoscaler"));
+        for (ComputationPool pool : autoscaledPools) {
+            long interval = settings.getPolicy(pool.getComputationName()).getAutoscaleInterval().toMillis();
+            log.debug(String.format("%s: Autoscaling every %d ms", pool.getComputationName(), interval));
+            autoscaler.scheduleWithFixedDelay(() -> autoscale(pool), interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    protected void autoscale(ComputationPool pool) {
+        String name = pool.getComputationName();
+        try {
+            long lag = topology.getMetadata(name)
+                               .inputStreams()
+                               .stream()
+                               .mapToLong(stream -> manager.getLag(stream, name).lag())
+                               .sum();
+            pool.autoscale(lag);
+        } catch (Exception e) {
+            // don't stop the scheduled autoscaling
+            log.error(name + ": Autoscaling failure: " + e.getMessage(), e);
+        }
+    }
+
+    protected void stopAutoscaler(boolean abort) {
+        if (autoscaler == null) {
+            return;
+        }
+        if (abort) {
+            autoscaler.shutdownNow();
+            autoscaler = null;
+            return;
+        }
+        // let a running rebalance complete, partitions would be left without runner otherwise
+        autoscaler.shutdown();
+        try {
+            if (!autoscaler.awaitTermination(ComputationPool.REBALANCE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Timeout waiting for autoscaler termination");
+                autoscaler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while stopping autoscaler");
+        }
+        autoscaler = null;
     }
 
     @Override
@@ -120,6 +182,7 @@ public class LogStreamProcessor implements StreamProcessor {
         if (pools == null) {
             return true;
         }
+        stopAutoscaler(false);
         long failures = pools.parallelStream().filter(comp -> !comp.stop(timeout)).count();
         log.debug(String.format("Stopped %d failure", failures));
         return failures == 0;
@@ -132,6 +195,7 @@ public class LogStreamProcessor implements StreamProcessor {
         if (pools == null) {
             return true;
         }
+        stopAutoscaler(false);
         long failures = pools.stream().filter(comp -> !comp.drainAndStop(timeout)).count();
         log.debug(String.format("Drained and stopped %d failure", failures));
         return failures == 0;
@@ -143,6 +207,7 @@ public class LogStreamProcessor implements StreamProcessor {
         if (pools == null) {
             return;
         }
+        stopAutoscaler(true);
         pools.parallelStream().forEach(ComputationPool::shutdown);
         log.debug("Shutdown done");
     }
@@ -207,11 +272,28 @@ public class LogStreamProcessor implements StreamProcessor {
         return topology.metadataList()
                        .stream()
                        .map(meta -> new ComputationPool(topology.getSupplier(meta.name()), meta,
-                               getDefaultAssignments(meta), streamManager,
-                               settings.getPolicy(meta.name())))
+                               threads -> getAssignments(meta, threads), settings.getConcurrency(meta.name()),
+                               getMaxThreads(meta), streamManager, settings.getPolicy(meta.name()),
+                               settings.isVirtualThreads(meta.name())))
                        .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the max concurrency bounded by the number of partitions, a thread without partition is useless.
+     *
+     * @since 10.10-HF74
+     */
+    protected int getMaxThreads(ComputationMetadataMapping meta) {
+        int threads = settings.getConcurrency(meta.name());
+        int maxThreads = settings.getMaxConcurrency(meta.name());
+        if (threads == 0 || maxThreads <= threads || meta.inputStreams().isEmpty()) {
+            // sources are not scaled
+            return threads;
+        }
+        int partitions = meta.inputStreams().stream().mapToInt(settings::getPartitions).max().orElse(threads);
+        return Math.max(threads, Math.min(maxThreads, partitions));
+    }
+
     @SuppressWarnings("unchecked")
     protected Codec<Record> getCodecForStreams(String name, Set<String> streams) {
         Codec<Record> codec = null;
@@ -231,7 +313,15 @@ public class LogStreamProcessor implements StreamProcessor {
     }
 
     protected List<List<LogPartition>> getDefaultAssignments(ComputationMetadataMapping meta) {
-        int threads = settings.getConcurrency(meta.name());
+        return getAssignments(meta, settings.getConcurrency(meta.name()));
+    }
+
+    /**
+     * Returns the partitions assignments for a number of threads.
+     *
+     * @since 10.10-HF74
+     */
+    protected List<List<LogPartition>> getAssignments(ComputationMetadataMapping meta, int threads) {
         if (threads == 0) {
             return Collections.emptyList();
         }
@@ -0,0 +1,163 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.computation.log;
+
+import static org.nuxeo.lib.stream.computation.log.ComputationRunner.NUXEO_METRICS_REGISTRY_NAME;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.nuxeo.lib.stream.computation.ComputationMetadataMapping;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.lib.stream.log.LogLag;
+import org.nuxeo.lib.stream.log.LogPartition;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Reports the processing metrics of the computations running in this JVM.
+ * <p>
+ * Throughput, end to end latency and checkpoint duration come from the metrics updated by the
+ * {@link ComputationRunner}. The throughput is in records per second, the process time is the duration of a call to
+ * the computation, which handles a batch of records when the read batch size is greater than 1. The end to end
+ * latency is the difference between the processing time and the record watermark. The lag per partition is taken
+ * from the committed positions and the per partition latency is derived from the watermark of the last record
+ * processed on the partition, there is no need to read the streams.
+ *
+ * @since 10.10-HF74
+ */
+public class StreamMetrics {
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(NUXEO_METRICS_REGISTRY_NAME);
+
+    /**
+     * Reports the metrics of the stream managers as a JSON object keyed by stream manager name.
+     */
+    public String asJson(Map<String, LogStreamManager> managers) {
+        ObjectNode ret = MAPPER.createObjectNode();
+        managers.forEach((name, manager) -> ret.set(name, report(manager)));
+        return ret.toString();
+    }
+
+    /**
+     * Reports the metrics of all the processors registered on the stream manager.
+     */
+    public ObjectNode report(LogStreamManager manager) {
+        ObjectNode ret = MAPPER.createObjectNode();
+        ArrayNode processors = ret.putArray("processors");
+        for (String processorName : manager.getProcessorNames()) {
+            ObjectNode processor = processors.addObject();
+            processor.put("name", processorName);
+            ArrayNode computations = processor.putArray("computations");
+            Topology topology = manager.getTopology(processorName);
+            topology.metadataList().forEach(metadata -> computations.add(report(manager, metadata)));
+        }
+        return ret;
+    }
+
+    protected ObjectNode report(LogStreamManager manager, ComputationMetadataMapping metadata) {
+        String name = metadata.name();
+        // only look up existing metrics, a computation that has not run yet has none
+        String prefix = MetricRegistry.name("nuxeo", "stream", "computation", name);
+        MetricFilter filter = (metricName, metric) -> metricName.startsWith(prefix + ".");
+        Map<String, Counter> counters = registry.getCounters(filter);
+        Map<String, Timer> timers = registry.getTimers(filter);
+        Map<String, Meter> meters = registry.getMeters(filter);
+        ObjectNode ret = MAPPER.createObjectNode();
+        ret.put("name", name);
+        ret.put("running", getCount(counters, prefix, "running"));
+        ret.put("failures", getCount(counters, prefix, "failure"));
+        ret.put("skippedRecords", getCount(counters, prefix, "skippedRecord"));
+        Meter recordsMeter = getMeter(meters, prefix, "records");
+        ObjectNode records = ret.putObject("records");
+        records.put("count", recordsMeter.getCount());
+        records.put("rate1m", recordsMeter.getOneMinuteRate());
+        records.put("rate5m", recordsMeter.getFiveMinuteRate());
+        // a record or a batch of records
+        Timer processRecord = getTimer(timers, prefix, "processRecord");
+        putDurations(records.putObject("processTimeMs"), processRecord.getSnapshot());
+        Timer latency = getTimer(timers, prefix, "latency");
+        putDurations(ret.putObject("latencyMs"), latency.getSnapshot());
+        Timer checkpoint = getTimer(timers, prefix, "checkpoint");
+        ObjectNode checkpointNode = ret.putObject("checkpoint");
+        checkpointNode.put("count", checkpoint.getCount());
+        putDurations(checkpointNode.putObject("durationMs"), checkpoint.getSnapshot());
+        ArrayNode streams = ret.putArray("streams");
+        long now = System.currentTimeMillis();
+        for (String stream : metadata.inputStreams()) {
+            ObjectNode streamNode = streams.addObject();
+            streamNode.put("name", stream);
+            List<LogLag> lags = manager.getLogManager().getLagPerPartition(stream, name);
+            streamNode.put("lag", LogLag.of(lags).lag());
+            ArrayNode partitions = streamNode.putArray("partitions");
+            for (int i = 0; i < lags.size(); i++) {
+                LogLag lag = lags.get(i);
+                ObjectNode partition = partitions.addObject();
+                partition.put("partition", i);
+                partition.put("pos", lag.lowerOffset());
+                partition.put("end", lag.upperOffset());
+                partition.put("lag", lag.lag());
+                long timestamp = manager.getPartitionTimestamp(name, LogPartition.of(stream, i));
+                // there is no latency when there is no lag
+                partition.put("latencyMs", lag.lag() > 0 && timestamp > 0 ? Math.max(0, now - timestamp) : 0);
+            }
+        }
+        return ret;
+    }
+
+    protected long getCount(Map<String, Counter> counters, String prefix, String counterName) {
+        Counter counter = counters.get(MetricRegistry.name(prefix, counterName));
+        return counter == null ? 0 : counter.getCount();
+    }
+
+    /**
+     * Returns the registered timer, or an empty timer that is not registered.
+     */
+    protected Timer getTimer(Map<String, Timer> timers, String prefix, String timerName) {
+        Timer timer = timers.get(MetricRegistry.name(prefix, timerName));
+        return timer == null ? new Timer() : timer;
+    }
+
+    /**
+     * Returns the registered meter, or an empty meter that is not registered.
+     */
+    protected Meter getMeter(Map<String, Meter> meters, String prefix, String meterName) {
+        Meter meter = meters.get(MetricRegistry.name(prefix, meterName));
+        return meter == null ? new Meter() : meter;
+    }
+
+    // timer snapshots are in nanoseconds
+    protected void putDurations(ObjectNode node, Snapshot snapshot) {
+        node.put("mean", TimeUnit.NANOSECONDS.toMillis((long) snapshot.getMean()));
+        node.put("p50", TimeUnit.NANOSECONDS.toMillis((long) snapshot.getMedian()));
+        node.put("p95", TimeUnit.NANOSECONDS.toMillis((long) snapshot.get95thPercentile()));
+        node.put("p99", TimeUnit.NANOSECONDS.toMillis((long) snapshot.get99thPercentile()));
+        node.put("max", TimeUnit.NANOSECONDS.toMillis(snapshot.getMax()));
+    }
+
+}
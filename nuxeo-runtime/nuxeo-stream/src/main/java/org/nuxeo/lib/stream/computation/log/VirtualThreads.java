@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.computation.log;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates virtual threads when the JVM supports them, nuxeo-stream still runs on Java 8.
+ *
+ * @since 10.10-HF74
+ */
+final class VirtualThreads {
+
+    // Thread.ofVirtual() and Thread.Builder.unstarted(Runnable) are looked up to run on Java 8
+    private static final Method OF_VIRTUAL;
+
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            // fails when virtual threads are a preview feature not enabled
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ofVirtual = null;
+            unstarted = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    private VirtualThreads() {
+        // utility class
+    }
+
+    static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an unstarted virtual thread, or a platform thread if the JVM does not support virtual threads.
+     */
+    static Thread newThread(Runnable r, String name) {
+        Thread thread;
+        if (OF_VIRTUAL == null) {
+            thread = new Thread(r);
+        } else {
+            try {
+                thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), r);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create virtual thread: " + name, e);
+            }
+        }
+        thread.setName(name);
+        return thread;
+    }
+
+}
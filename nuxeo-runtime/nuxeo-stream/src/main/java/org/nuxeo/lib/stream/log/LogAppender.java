@@ -20,7 +20,13 @@ package org.nuxeo.lib.stream.log;
 
 import java.io.Externalizable;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.nuxeo.lib.stream.StreamRuntimeException;
 
 import org.nuxeo.lib.stream.codec.Codec;
 
@@ -62,6 +68,91 @@ public interface LogAppender<M extends Externalizable> {
         return append(partition, message);
     }
 
+    /**
+     * Append a message into a partition without waiting for the write to be acknowledged. The returned future
+     * completes with the {@link LogOffset} position of the message, or exceptionally if the write fails.
+     * <p>
+     * The default implementation appends synchronously.
+     *
+     * @param partition index lower than {@link #size()}
+     * @since 10.10-HF74
+     */
+    default CompletableFuture<LogOffset> appendAsync(int partition, M message) {
+        CompletableFuture<LogOffset> ret = new CompletableFuture<>();
+        try {
+            ret.complete(append(partition, message));
+        } catch (RuntimeException e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
+
+    /**
+     * Same as {@link #appendAsync(int, Externalizable)}, the queue is chosen using a hash of {@param key}.
+     *
+     * @since 10.10-HF74
+     */
+    default CompletableFuture<LogOffset> appendAsync(String key, M message) {
+        Objects.requireNonNull(key);
+        int partition = (key.hashCode() & 0x7fffffff) % size();
+        return appendAsync(partition, message);
+    }
+
+    /**
+     * Append messages into a partition, returns the {@link LogOffset} positions of the messages in the same order.
+     * Writes are pipelined, this method returns when all the messages are appended.
+     *
+     * @param partition index lower than {@link #size()}
+     * @since 10.10-HF74
+     */
+    default List<LogOffset> appendAll(int partition, List<M> messages) {
+        List<CompletableFuture<LogOffset>> futures = new ArrayList<>(messages.size());
+        for (M message : messages) {
+            futures.add(appendAsync(partition, message));
+        }
+        return join(futures);
+    }
+
+    /**
+     * Same as {@link #appendAll(int, List)}, the queue is chosen using a hash of {@param key}, all the messages go to
+     * the same partition.
+     *
+     * @since 10.10-HF74
+     */
+    default List<LogOffset> appendAll(String key, List<M> messages) {
+        Objects.requireNonNull(key);
+        int partition = (key.hashCode() & 0x7fffffff) % size();
+        return appendAll(partition, messages);
+    }
+
+    /**
+     * Waits for the completion of appends, returns their offsets in the same order.
+     *
+     * @throws StreamRuntimeException if one of the appends failed, after waiting for all of them
+     * @since 10.10-HF74
+     */
+    static List<LogOffset> join(List<CompletableFuture<LogOffset>> futures) {
+        List<LogOffset> ret = new ArrayList<>(futures.size());
+        StreamRuntimeException error = null;
+        for (CompletableFuture<LogOffset> future : futures) {
+            try {
+                ret.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                if (error == null) {
+                    error = cause instanceof StreamRuntimeException ? (StreamRuntimeException) cause
+                            : new StreamRuntimeException(cause);
+                } else {
+                    error.addSuppressed(cause);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return ret;
+    }
+
     /**
      * Wait for consumer to process a message up to the offset. The message is processed if a consumer of the group
      * commits a greater or equals offset. Return {@code true} if the message has been consumed, {@code false} in case
@@ -50,6 +50,17 @@ public interface LogManager extends AutoCloseable {
      */
     boolean createIfNotExists(String name, int size);
 
+    /**
+     * Creates a new compacted Log with {@code size} partitions if the Log does not exists, a record can be removed
+     * once a more recent record with the same key is appended. Returns true it the Log has been created. An
+     * implementation that cannot compact creates a regular Log.
+     *
+     * @since 10.10-HF74
+     */
+    default boolean createCompactedIfNotExists(String name, int size) {
+        return createIfNotExists(name, size);
+    }
+
     /**
      * Tries to delete a Log. Returns true if successfully deleted, might not be possible depending on the
      * implementation.
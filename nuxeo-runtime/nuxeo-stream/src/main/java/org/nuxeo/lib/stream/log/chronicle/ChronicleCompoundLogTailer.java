@@ -22,6 +22,7 @@ import java.io.Externalizable;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.nuxeo.lib.stream.codec.Codec;
@@ -79,6 +80,20 @@ public class ChronicleCompoundLogTailer<M extends Externalizable> implements Log
         return ret;
     }
 
+    @Override
+    public List<LogRecord<M>> readBatch(int maxRecords, Duration timeout) throws InterruptedException {
+        LogRecord<M> record = read(timeout);
+        if (record == null) {
+            return Collections.emptyList();
+        }
+        List<LogRecord<M>> records = new ArrayList<>(Math.min(maxRecords, 64));
+        records.add(record);
+        while (records.size() < maxRecords && (record = read()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
     protected LogRecord<M> read() {
         if (size <= 0) {
             return null;
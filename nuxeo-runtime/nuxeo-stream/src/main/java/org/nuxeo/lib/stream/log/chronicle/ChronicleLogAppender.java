@@ -96,6 +96,9 @@ public class ChronicleLogAppender<M extends Externalizable> implements Closeable
 
     protected final ChronicleRetentionDuration retention;
 
+    // @since 10.10-HF74 the retention listeners hold offset trackers to close with the log
+    protected final List<ChronicleRetentionListener> retentionListeners = new ArrayList<>();
+
     protected final Codec<M> codec;
 
     protected volatile boolean closed;
@@ -188,8 +191,9 @@ public class ChronicleLogAppender<M extends Externalizable> implements Closeable
                                                                              .rollCycle(retention.getRollCycle())
                                                                              .blockSize(blockSize);
             if (!retention.disable()) {
-                listener = new ChronicleRetentionListener(retention);
+                listener = new ChronicleRetentionListener(retention, basePath, i);
                 builder.storeFileListener(listener);
+                retentionListeners.add(listener);
             }
             SingleChronicleQueue queue = builder.build();
             // we don't try to acquire an appender and pretouch because it causes troubles with countExcerpts
@@ -310,6 +314,29 @@ public class ChronicleLogAppender<M extends Externalizable> implements Closeable
         return ret;
     }
 
+    @Override
+    public List<LogOffset> appendAll(int partition, List<M> messages) {
+        // writes are local and synchronous, there is nothing to pipeline but the appender lookup
+        ExcerptAppender appender = partitions.get(partition).acquireAppender();
+        List<LogOffset> ret = new ArrayList<>(messages.size());
+        for (M message : messages) {
+            try {
+                if (NO_CODEC.equals(codec)) {
+                    appender.writeDocument(w -> w.write(MSG_KEY).object(message));
+                } else {
+                    appender.writeDocument(w -> w.write().bytes(codec.encode(message)));
+                }
+            } catch (DecoratedBufferOverflowException e) {
+                throw new StreamRuntimeException(e);
+            }
+            ret.add(new LogOffsetImpl(name, partition, appender.lastIndexAppended()));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("append %d messages to %s-%02d", messages.size(), name, partition));
+        }
+        return ret;
+    }
+
     public LogTailer<M> createTailer(LogPartition partition, String group, Codec<M> codec) {
         return addTailer(new ChronicleLogTailer<>(codec, basePath.toString(),
                 partitions.get(partition.partition()).createTailer(), partition, group, retention));
@@ -390,6 +417,8 @@ public class ChronicleLogAppender<M extends Externalizable> implements Closeable
         tailers.clear();
         partitions.stream().filter(Objects::nonNull).forEach(ChronicleQueue::close);
         partitions.clear();
+        retentionListeners.forEach(ChronicleRetentionListener::close);
+        retentionListeners.clear();
         closed = true;
     }
 
@@ -66,8 +66,24 @@ public class ChronicleLogManager extends AbstractLogManager {
      *            in hours and 'd' in days)
      */
     public ChronicleLogManager(Path basePath, String retentionDuration) {
+        this(basePath, retentionDuration, false, false);
+    }
+
+    /**
+     * Constructor with a tiered retention.
+     *
+     * @param basePath the base path.
+     * @param retentionDuration the retention duration, this is the maximum time period the queue files are retained.
+     * @param consumerRetention when true the queue files are purged as soon as all the consumer groups have committed
+     *            past them, so disk usage follows the consumer lag instead of the retention duration.
+     * @param compressCycles when true the queue files consumed by all groups are compressed and kept until the
+     *            retention duration expires instead of being deleted.
+     * @since 10.10-HF74
+     */
+    public ChronicleLogManager(Path basePath, String retentionDuration, boolean consumerRetention,
+            boolean compressCycles) {
         this.basePath = basePath;
-        this.retention = new ChronicleRetentionDuration(retentionDuration);
+        this.retention = new ChronicleRetentionDuration(retentionDuration, consumerRetention, compressCycles);
     }
 
     protected static void deleteQueueBasePath(Path basePath) {
@@ -93,7 +109,8 @@ public class ChronicleLogManager extends AbstractLogManager {
 
     protected static boolean isChronicleLogFile(Path path) {
         String filename = path.getFileName().toString();
-        return filename.endsWith(".cq4") || filename.endsWith(".cq4t") || METADATA_FILE.equals(filename);
+        return filename.endsWith(".cq4") || filename.endsWith(".cq4t") || filename.endsWith(".cq4.gz")
+                || METADATA_FILE.equals(filename);
     }
 
     public String getBasePath() {
@@ -108,6 +108,20 @@ public class ChronicleLogTailer<M extends Externalizable> implements LogTailer<M
         return ret;
     }
 
+    @Override
+    public List<LogRecord<M>> readBatch(int maxRecords, Duration timeout) throws InterruptedException {
+        LogRecord<M> record = read(timeout);
+        if (record == null) {
+            return Collections.emptyList();
+        }
+        List<LogRecord<M>> records = new ArrayList<>(Math.min(maxRecords, 64));
+        records.add(record);
+        while (records.size() < maxRecords && (record = read()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
     @SuppressWarnings("unchecked")
     protected LogRecord<M> read() {
         if (closed) {
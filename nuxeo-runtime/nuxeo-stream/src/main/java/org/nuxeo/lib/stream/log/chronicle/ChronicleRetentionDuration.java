@@ -44,12 +44,32 @@ public class ChronicleRetentionDuration {
 
     protected final String retention;
 
+    // @since 10.10-HF74
+    protected final boolean consumerAware;
+
+    // @since 10.10-HF74
+    protected final boolean compressCycles;
+
     public static final ChronicleRetentionDuration NONE = new ChronicleRetentionDuration("0d");
 
     public ChronicleRetentionDuration(String retention) {
+        this(retention, false, false);
+    }
+
+    /**
+     * @param retention the retention duration
+     * @param consumerAware drops the cycles once all the consumer groups have committed past them, without waiting for
+     *            the retention duration
+     * @param compressCycles instead of being dropped, the cycles consumed by all the groups are compressed into an
+     *            archive kept until the retention duration expires
+     * @since 10.10-HF74
+     */
+    public ChronicleRetentionDuration(String retention, boolean consumerAware, boolean compressCycles) {
         this.retention = decodeRetention(retention);
         this.rollCycle = decodeRollCycle(this.retention);
         this.retentionCycles = decodeRetentionCycles(this.retention);
+        this.consumerAware = consumerAware;
+        this.compressCycles = compressCycles;
     }
 
     protected String decodeRetention(String retention) {
@@ -64,6 +84,29 @@ public class ChronicleRetentionDuration {
         return retention;
     }
 
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isConsumerAware() {
+        return consumerAware;
+    }
+
+    /**
+     * @since 10.10-HF74
+     */
+    public boolean isCompressCycles() {
+        return compressCycles;
+    }
+
+    /**
+     * Returns the retention duration in milliseconds.
+     *
+     * @since 10.10-HF74
+     */
+    public long getRetentionMillis() {
+        return (long) retentionCycles * rollCycle.length();
+    }
+
     public boolean disable() {
         return retentionCycles <= 0;
     }
@@ -20,11 +20,20 @@ package org.nuxeo.lib.stream.log.chronicle;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -45,10 +54,44 @@ public class ChronicleRetentionListener implements StoreFileListener {
 
     protected SingleChronicleQueue queue;
 
+    // @since 10.10-HF74
+    protected static final String ARCHIVE_SUFFIX = ".gz";
+
     protected long purgedStamp;
 
+    // @since 10.10-HF74 the Log directory, null when the queue is not a Log partition
+    protected final File logPath;
+
+    // @since 10.10-HF74
+    protected final int partition;
+
+    // @since 10.10-HF74 the offset trackers of the consumer groups, kept open between purges
+    protected final Map<String, ChronicleLogOffsetTracker> trackers = new HashMap<>();
+
+    // @since 10.10-HF74 compression runs out of the Chronicle release callback
+    protected static final ExecutorService ARCHIVER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ChronicleArchiver");
+        thread.setDaemon(true);
+        thread.setUncaughtExceptionHandler((t, e) -> log.error("Uncaught exception: {}", e.getMessage(), e));
+        return thread;
+    });
+
+    // @since 10.10-HF74 the cycle files being archived
+    protected final Set<File> archiving = ConcurrentHashMap.newKeySet();
+
     public ChronicleRetentionListener(ChronicleRetentionDuration retention) {
+        this(retention, null, 0);
+    }
+
+    /**
+     * Listener for a Log partition, enables the consumer aware retention.
+     *
+     * @since 10.10-HF74
+     */
+    public ChronicleRetentionListener(ChronicleRetentionDuration retention, File logPath, int partition) {
         this.retention = retention;
+        this.logPath = logPath;
+        this.partition = partition;
     }
 
     public void setQueue(SingleChronicleQueue queue) {
@@ -70,27 +113,165 @@ public class ChronicleRetentionListener implements StoreFileListener {
         }
         List<Integer> cycles = getAllCycles();
         int cyclesToRemove = cycles.size() - retention.getRetentionCycles();
-        if (cyclesToRemove <= 0) {
+        int cyclesConsumed = getConsumedCycles(cycles);
+        if (retention.isCompressCycles()) {
+            purgeArchives();
+        }
+        if (cyclesToRemove <= 0 && cyclesConsumed <= 0) {
             return;
         }
         purgedStamp = System.currentTimeMillis();
-        cycles.subList(0, cyclesToRemove).forEach(this::dropCycle);
+        if (cyclesToRemove > 0) {
+            cycles.subList(0, cyclesToRemove).forEach(this::dropCycle);
+        }
+        if (cyclesConsumed > cyclesToRemove) {
+            // cycles consumed by all the groups but still in the retention duration
+            cycles.subList(Math.max(0, cyclesToRemove), cyclesConsumed)
+                  .forEach(cycle -> dropCycle(cycle, retention.isCompressCycles()));
+        }
         // this is needed to update first cycle, it calls directoryListing.refresh()
         queue.createTailer();
     }
 
+    /**
+     * Returns the number of leading cycles that all the consumer groups have committed past, the last cycle is never
+     * included.
+     *
+     * @since 10.10-HF74
+     */
+    protected int getConsumedCycles(List<Integer> cycles) {
+        if (!retention.isConsumerAware() || logPath == null || cycles.size() <= 1) {
+            return 0;
+        }
+        List<String> groups = getGroups();
+        closeTrackers(groups);
+        if (groups.isEmpty()) {
+            // no consumer, rely on retention duration
+            return 0;
+        }
+        long minOffset = Long.MAX_VALUE;
+        for (String group : groups) {
+            long offset = getTracker(group).readLastCommittedOffset();
+            if (offset <= 0) {
+                log.debug("Group: {} has not committed on partition: {}, no cycle to drop", group, partition);
+                return 0;
+            }
+            minOffset = Math.min(minOffset, offset);
+        }
+        int consumedCycle = queue.rollCycle().toCycle(minOffset);
+        int ret = 0;
+        // keep the last cycle that is acquired by appenders
+        for (int i = 0; i < cycles.size() - 1 && cycles.get(i) < consumedCycle; i++) {
+            ret++;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the cached offset tracker of the group, opening it on first use.
+     *
+     * @since 10.10-HF74
+     */
+    protected ChronicleLogOffsetTracker getTracker(String group) {
+        return trackers.computeIfAbsent(group, g -> new ChronicleLogOffsetTracker(logPath.toString(), partition, g,
+                ChronicleRetentionDuration.disableOf(retention)));
+    }
+
+    /**
+     * Closes the trackers of the groups that are not in the list.
+     *
+     * @since 10.10-HF74
+     */
+    protected void closeTrackers(List<String> groups) {
+        trackers.entrySet().removeIf(entry -> {
+            if (groups.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
+
+    /**
+     * Closes the offset trackers opened by the listener.
+     *
+     * @since 10.10-HF74
+     */
+    public synchronized void close() {
+        trackers.values().forEach(ChronicleLogOffsetTracker::close);
+        trackers.clear();
+    }
+
+    protected List<String> getGroups() {
+        List<String> ret = new ArrayList<>();
+        File[] files = logPath.listFiles(
+                file -> file.isDirectory() && ChronicleLogOffsetTracker.isOffsetTracker(file.getName()));
+        if (files != null) {
+            for (File file : files) {
+                String group = ChronicleLogOffsetTracker.getGroupFromDirectory(file.getName());
+                if (ChronicleLogOffsetTracker.exists(logPath.toPath(), group)) {
+                    ret.add(group);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Deletes the archived cycles older than the retention duration.
+     *
+     * @since 10.10-HF74
+     */
+    protected void purgeArchives() {
+        long limit = System.currentTimeMillis() - retention.getRetentionMillis();
+        File[] archives = queue.file().listFiles(
+                file -> file.getName().endsWith(ARCHIVE_SUFFIX) && file.lastModified() < limit);
+        if (archives == null) {
+            return;
+        }
+        for (File archive : archives) {
+            log.info("Deleting Chronicle archive: {} according to retention: {}", archive::getAbsolutePath,
+                    () -> retention);
+            try {
+                Files.delete(archive.toPath());
+            } catch (IOException | SecurityException e) {
+                log.warn("Unable to delete Chronicle archive: {}, {}", archive::getAbsolutePath, e::getMessage);
+            }
+        }
+    }
+
     protected void dropCycle(Integer cycle) {
+        dropCycle(cycle, false);
+    }
+
+    /**
+     * Removes the cycle file from the queue, when archive is true the file is compressed then removed in the
+     * background.
+     *
+     * @since 10.10-HF74
+     */
+    protected void dropCycle(Integer cycle, boolean archive) {
         WireStore store = queue.storeForCycle(cycle, queue.epoch(), false);
         if (store == null) {
             return;
         }
         File file = store.file();
-        if (file == null || !file.exists()) {
+        if (file == null || !file.exists() || archiving.contains(file)) {
             return;
         }
-        log.info("Deleting Chronicle file: {} according to retention: {}", file::getAbsolutePath, () -> retention);
+        if (archive) {
+            log.info("Archiving consumed Chronicle file: {}", file::getAbsolutePath);
+        } else {
+            log.info("Deleting Chronicle file: {} according to retention: {}", file::getAbsolutePath,
+                    () -> retention);
+        }
         try {
             queue.release(store);
+            if (archive) {
+                archiving.add(file);
+                ARCHIVER.execute(() -> archiveCycle(file));
+                return;
+            }
             Files.delete(file.toPath());
             queue.refreshDirectlyListing();
             log.debug(file + " deleted");
@@ -99,6 +280,35 @@ public class ChronicleRetentionListener implements StoreFileListener {
         }
     }
 
+    /**
+     * Compresses then deletes a released cycle file.
+     *
+     * @since 10.10-HF74
+     */
+    protected void archiveCycle(File file) {
+        try {
+            compress(file);
+            Files.delete(file.toPath());
+            if (!queue.isClosed()) {
+                queue.refreshDirectlyListing();
+            }
+            log.debug(file + " archived");
+        } catch (IOException | SecurityException e) {
+            log.warn("Unable to archive Chronicle file: {}, {}", file::getAbsolutePath, e::getMessage);
+        } finally {
+            archiving.remove(file);
+        }
+    }
+
+    protected void compress(File file) throws IOException {
+        Path archive = file.toPath().resolveSibling(file.getName() + ARCHIVE_SUFFIX);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(archive))) {
+            Files.copy(file.toPath(), out);
+        }
+        // keep the cycle date so the archive expires with the retention
+        Files.setLastModifiedTime(archive, Files.getLastModifiedTime(file.toPath()));
+    }
+
     protected List<Integer> getAllCycles() {
         List<Integer> ret = new ArrayList<>();
         try {
@@ -54,6 +54,15 @@ public abstract class AbstractLogManager implements LogManager {
 
     protected abstract void create(String name, int size);
 
+    /**
+     * Creates a compacted Log, defaults to a regular Log.
+     *
+     * @since 10.10-HF74
+     */
+    protected void createCompacted(String name, int size) {
+        create(name, size);
+    }
+
     protected abstract int getSize(String name);
 
     protected abstract <M extends Externalizable> CloseableLogAppender<M> createAppender(String name, Codec<M> codec);
@@ -73,6 +82,15 @@ public abstract class AbstractLogManager implements LogManager {
         return false;
     }
 
+    @Override
+    public synchronized boolean createCompactedIfNotExists(String name, int size) {
+        if (!exists(name)) {
+            createCompacted(name, size);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public boolean delete(String name) {
         return false;
@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.log.internals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.nuxeo.lib.stream.log.LogPartition;
+import org.nuxeo.lib.stream.log.RebalanceListener;
+
+/**
+ * Merges the rebalance notifications of the lanes of a {@link WeightedLogTailer}, when each lane is subscribed with
+ * its own consumer in the same group.
+ * <p>
+ * A rebalance of the group goes through all the lanes: the revoke is notified on the first lane revoked, with the
+ * partitions of all the lanes, and the assignment is notified only once every lane has been assigned, with the merged
+ * partitions. The listener is not thread safe, lanes are polled by the thread that reads the weighted tailer.
+ *
+ * @since 10.10-HF74
+ */
+public class MergedRebalanceListener {
+
+    protected final RebalanceListener listener;
+
+    protected final Map<String, Collection<LogPartition>> assignments = new LinkedHashMap<>();
+
+    // lanes that have not been assigned since the last revoke
+    protected final Set<String> pending = new LinkedHashSet<>();
+
+    public MergedRebalanceListener(Collection<String> lanes, RebalanceListener listener) {
+        this.listener = listener;
+        lanes.forEach(lane -> assignments.put(lane, Collections.emptyList()));
+        // nothing is assigned until the first rebalance completes on all lanes
+        pending.addAll(lanes);
+    }
+
+    /**
+     * Returns the listener to use when subscribing the lane.
+     */
+    public RebalanceListener getLaneListener(String lane) {
+        if (!assignments.containsKey(lane)) {
+            throw new IllegalArgumentException("Unknown lane: " + lane);
+        }
+        return new RebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<LogPartition> partitions) {
+                laneRevoked(lane);
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<LogPartition> partitions) {
+                laneAssigned(lane, partitions);
+            }
+        };
+    }
+
+    /**
+     * Returns {@code true} while some lanes have not been assigned since the last revoke.
+     */
+    public boolean isRebalancing() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if the lane has not been assigned since the last revoke.
+     */
+    public boolean isPending(String lane) {
+        return pending.contains(lane);
+    }
+
+    /**
+     * Returns the partitions of all the lanes.
+     */
+    public List<LogPartition> getAssignments() {
+        List<LogPartition> ret = new ArrayList<>();
+        assignments.values().forEach(ret::addAll);
+        return ret;
+    }
+
+    protected void laneRevoked(String lane) {
+        if (pending.isEmpty()) {
+            // first lane of a new rebalance, all the lanes are going to be assigned again
+            listener.onPartitionsRevoked(getAssignments());
+            pending.addAll(assignments.keySet());
+        }
+        pending.add(lane);
+    }
+
+    protected void laneAssigned(String lane, Collection<LogPartition> partitions) {
+        assignments.put(lane, new ArrayList<>(partitions));
+        if (pending.remove(lane) && pending.isEmpty()) {
+            listener.onPartitionsAssigned(getAssignments());
+        }
+    }
+
+    /**
+     * Called when a pending lane delivers records without going through a rebalance, its assignment is unchanged.
+     */
+    protected void laneUnchanged(String lane, Collection<LogPartition> partitions) {
+        laneAssigned(lane, partitions);
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.log.internals;
+
+import java.io.Externalizable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.log.LogOffset;
+import org.nuxeo.lib.stream.log.LogPartition;
+import org.nuxeo.lib.stream.log.LogRecord;
+import org.nuxeo.lib.stream.log.LogTailer;
+
+/**
+ * A tailer that reads multiple Logs, each Log being a lane with a weight. Lanes are served using a smooth weighted
+ * round robin: when all lanes have records, a lane with a weight of 4 is read 4 times more often than a lane with a
+ * weight of 1. An empty lane does not accumulate credit, its share is given to the other lanes.
+ * <p>
+ * When the lanes are subscribed, their rebalances are merged by a {@link MergedRebalanceListener}, no record is
+ * returned while a rebalance has not been completed on all the lanes.
+ *
+ * @since 10.10-HF74
+ */
+public class WeightedLogTailer<M extends Externalizable> implements LogTailer<M> {
+
+    protected static final long POLL_INTERVAL_MS = 10;
+
+    protected final List<String> names;
+
+    protected final List<LogTailer<M>> tailers;
+
+    protected final int[] weights;
+
+    protected final long[] credits;
+
+    protected final int totalWeight;
+
+    protected int waitingLane;
+
+    protected final MergedRebalanceListener rebalance;
+
+    /**
+     * Creates a weighted tailer, each tailer must be assigned to a single Log.
+     *
+     * @param tailers the tailers by Log name
+     * @param weights the weights by Log name, a missing or non positive weight is considered as 1
+     */
+    public WeightedLogTailer(Map<String, LogTailer<M>> tailers, Map<String, Integer> weights) {
+        this(tailers, weights, null);
+    }
+
+    /**
+     * Creates a weighted tailer on subscribed lanes.
+     *
+     * @param tailers the tailers by Log name
+     * @param weights the weights by Log name, a missing or non positive weight is considered as 1
+     * @param rebalance the listener used to subscribe the lanes, {@code null} if the tailers are assigned
+     */
+    public WeightedLogTailer(Map<String, LogTailer<M>> tailers, Map<String, Integer> weights,
+            MergedRebalanceListener rebalance) {
+        this.rebalance = rebalance;
+        if (tailers.isEmpty()) {
+            throw new IllegalArgumentException("No tailer to read from");
+        }
+        this.names = new ArrayList<>(tailers.keySet());
+        this.tailers = new ArrayList<>(tailers.values());
+        this.weights = new int[names.size()];
+        this.credits = new long[names.size()];
+        int total = 0;
+        for (int i = 0; i < this.weights.length; i++) {
+            this.weights[i] = Math.max(1, weights.getOrDefault(names.get(i), 1));
+            total += this.weights[i];
+        }
+        this.totalWeight = total;
+    }
+
+    @Override
+    public String group() {
+        return tailers.get(0).group();
+    }
+
+    @Override
+    public Collection<LogPartition> assignments() {
+        if (rebalance != null) {
+            return rebalance.getAssignments();
+        }
+        List<LogPartition> ret = new ArrayList<>();
+        tailers.forEach(tailer -> ret.addAll(tailer.assignments()));
+        return ret;
+    }
+
+    @Override
+    public LogRecord<M> read(Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            if (rebalance != null && rebalance.isRebalancing()) {
+                LogRecord<M> record = readRebalancing(deadline);
+                if (record != null || System.currentTimeMillis() >= deadline) {
+                    return record;
+                }
+                continue;
+            }
+            LogRecord<M> record = readAvailable();
+            if (record != null) {
+                return record;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            // nothing available, wait a bit on each lane in turn
+            waitingLane = (waitingLane + 1) % tailers.size();
+            record = tailers.get(waitingLane).read(Duration.ofMillis(Math.min(remaining, POLL_INTERVAL_MS)));
+            if (record != null) {
+                credits[waitingLane] -= totalWeight;
+                return record;
+            }
+        }
+    }
+
+    /**
+     * Polls only the lanes that have not been assigned yet, so they join the rebalance of the group, the other lanes
+     * are not read until the merged assignment has been notified.
+     */
+    protected LogRecord<M> readRebalancing(long deadline) throws InterruptedException {
+        for (int lane = 0; lane < tailers.size(); lane++) {
+            if (!rebalance.isPending(names.get(lane))) {
+                continue;
+            }
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            LogTailer<M> tailer = tailers.get(lane);
+            // a lane that completes the rebalance raises a RebalanceException
+            LogRecord<M> record = tailer.read(Duration.ofMillis(Math.min(remaining, POLL_INTERVAL_MS)));
+            if (record != null) {
+                // the lane is not part of the rebalance, it keeps its assignment
+                rebalance.laneUnchanged(names.get(lane), tailer.assignments());
+                credits[lane] -= totalWeight;
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tries the lanes by decreasing credit without waiting, the lane that delivers a record is charged.
+     */
+    protected LogRecord<M> readAvailable() throws InterruptedException {
+        int size = tailers.size();
+        boolean[] tried = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            credits[i] += weights[i];
+        }
+        for (int n = 0; n < size; n++) {
+            int lane = -1;
+            for (int i = 0; i < size; i++) {
+                if (!tried[i] && (lane < 0 || credits[i] > credits[lane])) {
+                    lane = i;
+                }
+            }
+            tried[lane] = true;
+            LogRecord<M> record = tailers.get(lane).read(Duration.ZERO);
+            if (record != null) {
+                credits[lane] -= totalWeight;
+                return record;
+            }
+            // an empty lane must not accumulate credit
+            credits[lane] = Math.min(credits[lane], 0);
+        }
+        return null;
+    }
+
+    @Override
+    public void commit() {
+        tailers.forEach(LogTailer::commit);
+    }
+
+    @Override
+    public LogOffset commit(LogPartition partition) {
+        return getTailer(partition).commit(partition);
+    }
+
+    @Override
+    public void toEnd() {
+        tailers.forEach(LogTailer::toEnd);
+    }
+
+    @Override
+    public void toStart() {
+        tailers.forEach(LogTailer::toStart);
+    }
+
+    @Override
+    public void toLastCommitted() {
+        tailers.forEach(LogTailer::toLastCommitted);
+    }
+
+    @Override
+    public void seek(LogOffset offset) {
+        getTailer(offset.partition()).seek(offset);
+    }
+
+    @Override
+    public LogOffset offsetForTimestamp(LogPartition partition, long timestamp) {
+        return getTailer(partition).offsetForTimestamp(partition, timestamp);
+    }
+
+    @Override
+    public void reset() {
+        tailers.forEach(LogTailer::reset);
+    }
+
+    @Override
+    public void reset(LogPartition partition) {
+        getTailer(partition).reset(partition);
+    }
+
+    @Override
+    public void close() {
+        tailers.forEach(LogTailer::close);
+    }
+
+    @Override
+    public boolean closed() {
+        return tailers.stream().allMatch(LogTailer::closed);
+    }
+
+    @Override
+    public Codec<M> getCodec() {
+        return tailers.get(0).getCodec();
+    }
+
+    protected LogTailer<M> getTailer(LogPartition partition) {
+        int index = names.indexOf(partition.name());
+        if (index < 0) {
+            throw new IllegalArgumentException("Partition not assigned to this tailer: " + partition);
+        }
+        return tailers.get(index);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder("WeightedLogTailer{");
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(names.get(i)).append('=').append(weights[i]);
+        }
+        return buf.append('}').toString();
+    }
+}
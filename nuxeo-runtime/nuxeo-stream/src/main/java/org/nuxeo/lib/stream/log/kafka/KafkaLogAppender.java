@@ -22,9 +22,12 @@ import static org.nuxeo.lib.stream.codec.NoCodec.NO_CODEC;
 
 import java.io.Externalizable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -43,6 +46,7 @@ import org.apache.kafka.common.utils.Bytes;
 import org.nuxeo.lib.stream.StreamRuntimeException;
 import org.nuxeo.lib.stream.codec.Codec;
 import org.nuxeo.lib.stream.codec.SerializableCodec;
+import org.nuxeo.lib.stream.log.LogAppender;
 import org.nuxeo.lib.stream.log.LogOffset;
 import org.nuxeo.lib.stream.log.internals.CloseableLogAppender;
 import org.nuxeo.lib.stream.log.internals.LogOffsetImpl;
@@ -159,6 +163,72 @@ public class KafkaLogAppender<M extends Externalizable> implements CloseableLogA
         return ret;
     }
 
+    @Override
+    public CompletableFuture<LogOffset> appendAsync(String key, M message) {
+        Objects.requireNonNull(key);
+        int partition = (key.hashCode() & 0x7fffffff) % size;
+        return appendAsync(partition, key, message);
+    }
+
+    @Override
+    public CompletableFuture<LogOffset> appendAsync(int partition, M message) {
+        String key = String.valueOf(partition);
+        return appendAsync(partition, key, message);
+    }
+
+    /**
+     * Sends the record without waiting for the broker acknowledgment, the producer batches the records sent within its
+     * {@code linger.ms}.
+     *
+     * @since 10.10-HF74
+     */
+    public CompletableFuture<LogOffset> appendAsync(int partition, String key, M message) {
+        Bytes value = Bytes.wrap(encodingCodec.encode(message));
+        ProducerRecord<String, Bytes> record = new ProducerRecord<>(topic, partition, key, value);
+        CompletableFuture<LogOffset> ret = new CompletableFuture<>();
+        // the callback is run by the producer I/O thread, keep it short
+        producer.send(record, (result, exception) -> {
+            if (exception != null) {
+                ret.completeExceptionally(new StreamRuntimeException(
+                        String.format("Unable to send record with key: %s on %s-%02d", key, name, partition),
+                        exception));
+                return;
+            }
+            LogOffset offset = new LogOffsetImpl(name, partition, result.offset());
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Append async to %s-%02d:+%d, len: %d, key: %s, value: %s", name, partition,
+                        offset.offset(), value.get().length, key, message));
+            }
+            ret.complete(offset);
+        });
+        return ret;
+    }
+
+    @Override
+    public List<LogOffset> appendAll(String key, List<M> messages) {
+        Objects.requireNonNull(key);
+        int partition = (key.hashCode() & 0x7fffffff) % size;
+        return appendAll(partition, key, messages);
+    }
+
+    @Override
+    public List<LogOffset> appendAll(int partition, List<M> messages) {
+        return appendAll(partition, String.valueOf(partition), messages);
+    }
+
+    /**
+     * Sends all the records before waiting for their acknowledgments.
+     *
+     * @since 10.10-HF74
+     */
+    public List<LogOffset> appendAll(int partition, String key, List<M> messages) {
+        List<CompletableFuture<LogOffset>> futures = new ArrayList<>(messages.size());
+        for (M message : messages) {
+            futures.add(appendAsync(partition, key, message));
+        }
+        return LogAppender.join(futures);
+    }
+
     @Override
     public boolean waitFor(LogOffset offset, String group, Duration timeout) throws InterruptedException {
         boolean ret = false;
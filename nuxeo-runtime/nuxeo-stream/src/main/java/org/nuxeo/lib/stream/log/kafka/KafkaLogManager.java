@@ -21,6 +21,7 @@ package org.nuxeo.lib.stream.log.kafka;
 import java.io.Externalizable;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -31,6 +32,7 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.utils.Bytes;
 import org.nuxeo.lib.stream.codec.Codec;
 import org.nuxeo.lib.stream.log.LogLag;
@@ -93,6 +95,12 @@ public class KafkaLogManager extends AbstractLogManager {
         kUtils.createTopic(ns.getTopicName(name), size, defaultReplicationFactor);
     }
 
+    @Override
+    protected void createCompacted(String name, int size) {
+        kUtils.createTopic(ns.getTopicName(name), size, defaultReplicationFactor,
+                Collections.singletonMap(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT));
+    }
+
     @Override
     protected int getSize(String name) {
         return kUtils.partitions(ns.getTopicName(name));
@@ -23,11 +23,13 @@ import static org.nuxeo.lib.stream.codec.NoCodec.NO_CODEC;
 
 import java.io.Externalizable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
@@ -153,6 +155,32 @@ public class KafkaLogTailer<M extends Externalizable> implements LogTailer<M>, C
 
     @Override
     public LogRecord<M> read(Duration timeout) throws InterruptedException {
+        if (!fetch(timeout)) {
+            return null;
+        }
+        return nextRecord();
+    }
+
+    @Override
+    public List<LogRecord<M>> readBatch(int maxRecords, Duration timeout) throws InterruptedException {
+        if (!fetch(timeout)) {
+            return Collections.emptyList();
+        }
+        // only drain the records already fetched, don't poll again
+        List<LogRecord<M>> ret = new ArrayList<>(Math.min(maxRecords, records.size()));
+        while (ret.size() < maxRecords && !records.isEmpty()) {
+            ret.add(nextRecord());
+        }
+        return ret;
+    }
+
+    /**
+     * Polls the consumer if there is no fetched record.
+     *
+     * @return {@code true} if there is at least one record to read
+     * @since 10.10-HF74
+     */
+    protected boolean fetch(Duration timeout) throws InterruptedException {
         if (closed) {
             throw new IllegalStateException("The tailer has been closed.");
         }
@@ -167,9 +195,18 @@ public class KafkaLogTailer<M extends Externalizable> implements LogTailer<M>, C
                 if (log.isTraceEnabled()) {
                     log.trace("No data " + id + " after " + timeout.toMillis() + " ms");
                 }
-                return null;
+                return false;
             }
         }
+        return true;
+    }
+
+    /**
+     * Decodes the next fetched record.
+     *
+     * @since 10.10-HF74
+     */
+    protected LogRecord<M> nextRecord() {
         ConsumerRecord<String, Bytes> record = records.poll();
         lastOffsets.put(new TopicPartition(record.topic(), record.partition()), record.offset());
         M value = decodeCodec.decode(record.value().get());
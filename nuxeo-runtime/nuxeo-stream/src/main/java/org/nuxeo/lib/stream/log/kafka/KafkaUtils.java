@@ -162,9 +162,19 @@ public class KafkaUtils implements AutoCloseable {
     }
 
     public void createTopic(String topic, int partitions, short replicationFactor) {
-        log.info("Creating topic: " + topic + ", partitions: " + partitions + ", replications: " + replicationFactor);
+        createTopic(topic, partitions, replicationFactor, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a topic with specific topic configs, like {@code cleanup.policy}.
+     *
+     * @since 10.10-HF74
+     */
+    public void createTopic(String topic, int partitions, short replicationFactor, Map<String, String> configs) {
+        log.info("Creating topic: " + topic + ", partitions: " + partitions + ", replications: " + replicationFactor
+                + (configs.isEmpty() ? "" : ", configs: " + configs));
         CreateTopicsResult ret = adminClient.createTopics(
-                Collections.singletonList(new NewTopic(topic, partitions, replicationFactor)));
+                Collections.singletonList(new NewTopic(topic, partitions, replicationFactor).configs(configs)));
         try {
             ret.all().get(5, TimeUnit.MINUTES);
         } catch (InterruptedException e) {
@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.tests.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.lib.stream.codec.AvroBinaryCodec;
+import org.nuxeo.lib.stream.codec.AvroMessageCodec;
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.codec.CompressedCodec;
+import org.nuxeo.lib.stream.codec.CompressedCodec.Compression;
+import org.nuxeo.lib.stream.codec.SerializableCodec;
+import org.nuxeo.lib.stream.computation.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode throughput of the record codecs, with and without compression. The encoded size of the record is
+ * logged on setup.
+ * <p>
+ * Not run during the build, run it with:
+ *
+ * <pre>
+ * mvn -pl nuxeo-runtime/nuxeo-stream test-compile exec:exec -Pbench
+ * </pre>
+ *
+ * @since 10.10-HF74
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    private static final Log log = LogFactory.getLog(CodecBenchmark.class);
+
+    @Param({ "java", "avroMessage", "avroBinary", "avroLz4", "avroZstd" })
+    public String codecName;
+
+    /** Approximate size of the record data */
+    @Param({ "200", "10000" })
+    public int dataSize;
+
+    protected Codec<Record> codec;
+
+    protected Record record;
+
+    protected byte[] encoded;
+
+    @Setup
+    public void setup() {
+        codec = getCodec(codecName);
+        record = Record.of("0000000000-0000000001", getData(dataSize));
+        encoded = codec.encode(record);
+        log.info(String.format("%s record of %d bytes encoded in %d bytes", codec.getName(), record.getData().length,
+                encoded.length));
+    }
+
+    protected Codec<Record> getCodec(String name) {
+        switch (name) {
+        case "java":
+            return new SerializableCodec<>();
+        case "avroBinary":
+            return new AvroBinaryCodec<>(Record.class);
+        case "avroLz4":
+            return new CompressedCodec<>(new AvroMessageCodec<>(Record.class), Compression.LZ4);
+        case "avroZstd":
+            return new CompressedCodec<>(new AvroMessageCodec<>(Record.class), Compression.ZSTD);
+        case "avroMessage":
+        default:
+            return new AvroMessageCodec<>(Record.class);
+        }
+    }
+
+    /**
+     * Returns a payload looking like a serialized command or document message.
+     */
+    protected byte[] getData(int size) {
+        StringBuilder data = new StringBuilder(size + 100);
+        int i = 0;
+        while (data.length() < size) {
+            data.append("{\"id\":\"")
+                .append(Integer.toHexString(i * 7919))
+                .append("\",\"type\":\"File\",\"title\":\"document ")
+                .append(i++)
+                .append("\",\"lifecycle\":\"project\"}");
+        }
+        return data.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(record);
+    }
+
+    @Benchmark
+    public Record decode() {
+        return codec.decode(encoded);
+    }
+
+}
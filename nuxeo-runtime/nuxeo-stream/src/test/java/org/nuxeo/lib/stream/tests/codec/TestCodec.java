@@ -19,6 +19,7 @@
 package org.nuxeo.lib.stream.tests.codec;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -45,6 +46,8 @@ import org.nuxeo.lib.stream.codec.AvroJsonCodec;
 import org.nuxeo.lib.stream.codec.AvroMessageCodec;
 import org.nuxeo.lib.stream.codec.AvroSchemaStore;
 import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.codec.CompressedCodec;
+import org.nuxeo.lib.stream.codec.CompressedCodec.Compression;
 import org.nuxeo.lib.stream.codec.FileAvroSchemaStore;
 import org.nuxeo.lib.stream.codec.SerializableCodec;
 import org.nuxeo.lib.stream.computation.Record;
@@ -199,6 +202,85 @@ public class TestCodec {
         }
     }
 
+    @Test
+    public void testRecordCompressed() throws Exception {
+        Record src = getBigRecord();
+        Codec<Record> avro = new AvroMessageCodec<>(Record.class);
+        int uncompressedSize = avro.encode(src).length;
+        for (Compression compression : Compression.values()) {
+            Codec<Record> codec = new CompressedCodec<>(avro, compression);
+            assertEquals("avro-" + compression.name().toLowerCase(), codec.getName());
+            Record dest = testCodec(src, codec);
+            assertEquals(src.toString(), dest.toString());
+            assertTrue(codec.encode(src).length < uncompressedSize);
+            // records written without compression are still readable
+            testCodecFromFile("data/record-avro-message.bin", codec);
+            // small records are not compressed
+            assertArrayEquals(avro.encode(getRecord()), codec.encode(getRecord()));
+        }
+        // compression can be switched
+        Codec<Record> lz4 = new CompressedCodec<>(avro, Compression.LZ4);
+        Codec<Record> zstd = new CompressedCodec<>(avro, Compression.ZSTD);
+        assertEquals(src, zstd.decode(lz4.encode(src)));
+        assertEquals(src, lz4.decode(zstd.encode(src)));
+    }
+
+    @Test
+    public void testRecordCompressedWithDictionary() throws Exception {
+        Codec<Record> avro = new AvroMessageCodec<>(Record.class);
+        // a raw content dictionary
+        byte[] dictionary = avro.encode(getBigRecord());
+        Codec<Record> codec = new CompressedCodec<>(avro, Compression.ZSTD, 3, dictionary, 0);
+        Codec<Record> noDictCodec = new CompressedCodec<>(avro, Compression.ZSTD, 3, null, 0);
+        Record src = getBigRecord();
+        src.setKey("anotherKey");
+        testCodec(src, codec);
+        assertTrue(codec.encode(src).length < noDictCodec.encode(src).length);
+        assertEquals(src, codec.decode(noDictCodec.encode(src)));
+        try {
+            noDictCodec.decode(codec.encode(src));
+            fail("failure expected on decode without dictionary");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new CompressedCodec<>(avro, Compression.LZ4, 0, dictionary, 0);
+            fail("dictionary is not supported with lz4");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRecordCompressedWithSharedDictionary() throws Exception {
+        Codec<Record> avro = new AvroMessageCodec<>(Record.class);
+        CompressedCodec.Dictionary dictionary = new CompressedCodec.Dictionary(avro.encode(getBigRecord()), 3);
+        Codec<Record> codec1 = new CompressedCodec<>(avro, Compression.ZSTD, 3, dictionary, 0,
+                CompressedCodec.DEFAULT_MAX_SIZE);
+        Codec<Record> codec2 = new CompressedCodec<>(avro, Compression.ZSTD, 3, dictionary, 0,
+                CompressedCodec.DEFAULT_MAX_SIZE);
+        Record src = getBigRecord();
+        assertEquals(src, codec2.decode(codec1.encode(src)));
+    }
+
+    @Test
+    public void testRecordCompressedMaxSize() throws Exception {
+        Codec<Record> avro = new AvroMessageCodec<>(Record.class);
+        Record src = getBigRecord();
+        int size = avro.encode(src).length;
+        for (Compression compression : Compression.values()) {
+            Codec<Record> codec = new CompressedCodec<>(avro, compression, 3, null, 0, size);
+            assertEquals(src, codec.decode(codec.encode(src)));
+            Codec<Record> smallCodec = new CompressedCodec<>(avro, compression, 3, null, 0, size - 1);
+            try {
+                smallCodec.decode(codec.encode(src));
+                fail("failure expected on decode above max size");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
     protected void testCodecFromFile(String path, Codec<Record> codec) throws IOException {
         byte[] data = readFile(path);
         Record record = codec.decode(data);
@@ -232,6 +314,14 @@ public class TestCodec {
         return src;
     }
 
+    protected Record getBigRecord() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            value.append("{\"id\": \"").append(i).append("\", \"type\": \"File\", \"state\": \"project\"}");
+        }
+        return Record.of("key", value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
     protected String overview(byte[] data) {
         String overview;
         overview = new String(data, UTF_8);
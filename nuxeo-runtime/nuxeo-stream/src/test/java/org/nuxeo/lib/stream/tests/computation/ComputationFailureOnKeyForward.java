@@ -0,0 +1,42 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.tests.computation;
+
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Record;
+
+/**
+ * Computation that always fails on records with a given key.
+ *
+ * @since 10.10-HF74
+ */
+public class ComputationFailureOnKeyForward extends ComputationForward {
+
+    protected final String failureKey;
+
+    public ComputationFailureOnKeyForward(String name, String failureKey) {
+        super(name, 1, 1);
+        this.failureKey = failureKey;
+    }
+
+    @Override
+    public void processRecord(ComputationContext context, String inputStreamName, Record record) {
+        if (failureKey.equals(record.getKey())) {
+            throw new IllegalStateException("Simulated error for test purpose");
+        }
+        super.processRecord(context, inputStreamName, record);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.lib.stream.tests.computation;
+
+import org.nuxeo.lib.stream.computation.AbstractComputation;
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.StateStore;
+
+/**
+ * Stateful computation that counts the records per key and outputs the key with its current count.
+ *
+ * @since 10.10-HF74
+ */
+public class ComputationKeyCounter extends AbstractComputation {
+
+    public ComputationKeyCounter(String name) {
+        super(name, 1, 1);
+    }
+
+    @Override
+    public void processRecord(ComputationContext context, String inputStreamName, Record record) {
+        StateStore state = context.getState();
+        String value = state.getString(record.getKey());
+        long count = value == null ? 1 : Long.parseLong(value) + 1;
+        state.put(record.getKey(), String.valueOf(count));
+        context.produceRecord(OUTPUT_1, record.getKey(), String.valueOf(count).getBytes());
+        context.askForCheckpoint();
+    }
+
+}
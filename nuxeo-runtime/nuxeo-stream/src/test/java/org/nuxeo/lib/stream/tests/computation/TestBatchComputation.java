@@ -23,6 +23,7 @@ import static org.junit.Assert.assertEquals;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Test;
 import org.nuxeo.lib.stream.computation.AbstractBatchComputation;
@@ -100,4 +101,40 @@ public class TestBatchComputation {
         comp.destroy();
     }
 
+    @Test
+    public void testComputationBatchForwardProcessRecords() {
+        int batchCapacity = 5;
+        ComputationPolicy policy = new ComputationPolicyBuilder().batchPolicy(batchCapacity, Duration.ofMillis(500))
+                                                                 .readBatchSize(10)
+                                                                 .build();
+        ComputationBatchForward comp = new ComputationBatchForward("foo", 2);
+        ComputationContextImpl context = new ComputationContextImpl(null,
+                new ComputationMetadataMapping(comp.metadata(), Collections.emptyMap()), policy);
+        comp.init(context);
+        Record aRecord = Record.of("foo", "bar".getBytes(StandardCharsets.UTF_8));
+
+        // below capacity the records are pending
+        comp.processRecords(context, "i1", Collections.nCopies(3, aRecord));
+        assertEquals(0, context.getRecords("o1").size());
+        assertEquals(0, comp.processCounter);
+
+        // capacity reached, all the records are processed, even above capacity
+        comp.processRecords(context, "i1", Collections.nCopies(4, aRecord));
+        assertEquals(7, context.getRecords("o1").size());
+        assertEquals(1, comp.processCounter);
+        context.getRecords("o1").clear();
+
+        // changing input stream processes the pending records and the new ones, so that nothing is left pending when
+        // the runner does the checkpoint
+        List<Record> records = Collections.nCopies(2, aRecord);
+        comp.processRecords(context, "i1", records);
+        assertEquals(0, context.getRecords("o1").size());
+        comp.processRecords(context, "i2", records);
+        assertEquals(4, context.getRecords("o1").size());
+        assertEquals(3, comp.processCounter);
+        assertEquals(0, comp.failureCounter);
+
+        comp.destroy();
+    }
+
 }
@@ -28,6 +28,8 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,6 +48,7 @@ import org.nuxeo.lib.stream.computation.StreamManager;
 import org.nuxeo.lib.stream.computation.StreamProcessor;
 import org.nuxeo.lib.stream.computation.Topology;
 import org.nuxeo.lib.stream.computation.Watermark;
+import org.nuxeo.lib.stream.computation.log.ComputationRunner;
 import org.nuxeo.lib.stream.computation.log.LogStreamManager;
 import org.nuxeo.lib.stream.log.Latency;
 import org.nuxeo.lib.stream.log.LogAppender;
@@ -55,6 +58,10 @@ import org.nuxeo.lib.stream.log.LogPartition;
 import org.nuxeo.lib.stream.log.LogRecord;
 import org.nuxeo.lib.stream.log.LogTailer;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 import net.jodah.failsafe.RetryPolicy;
 
 /**
@@ -68,6 +75,8 @@ public abstract class TestStreamProcessor {
 
     public Codec<Record> codec = new AvroMessageCodec<>(Record.class);
 
+    protected boolean virtualThreads;
+
     public abstract LogManager getLogManager() throws Exception;
 
     public abstract LogManager getSameLogManager();
@@ -91,6 +100,7 @@ public abstract class TestStreamProcessor {
                                     .build();
         // one thread for each computation
         Settings settings = new Settings(concurrency, concurrency, codec).setConcurrency("GENERATOR", 1);
+        topology.metadataList().forEach(meta -> settings.setVirtualThreads(meta.name(), virtualThreads));
         // uncomment to get the plantuml diagram
         // System.out.println(topology.toPlantuml(settings));
         try (LogManager manager = getLogManager()) {
@@ -185,6 +195,17 @@ public abstract class TestStreamProcessor {
         codec = new AvroMessageCodec<>(Record.class);
     }
 
+    @Test
+    public void testSimpleTopoVirtualThreads() throws Exception {
+        // falls back on platform threads if the JVM does not support virtual threads
+        virtualThreads = true;
+        try {
+            testSimpleTopo(100, 1);
+        } finally {
+            virtualThreads = false;
+        }
+    }
+
     @Test
     public void testSimpleTopoFewRecordsOneThread() throws Exception {
         testSimpleTopo(17, 1);
@@ -655,6 +676,150 @@ public abstract class TestStreamProcessor {
 
     }
 
+    @Test
+    public void testPolicyReadBatch() throws Exception {
+        final int nbRecords = 25;
+        Topology topology = Topology.builder()
+                                    .addComputation(() -> new ComputationBatchForward("C1", 1),
+                                            Arrays.asList("i1:input", "o1:output"))
+                                    .build();
+        ComputationPolicy policy = new ComputationPolicyBuilder().batchPolicy(3, Duration.ofMillis(200))
+                                                                 .readBatchSize(10)
+                                                                 .build();
+        try (LogManager manager = getLogManager()) {
+            StreamManager streamManager = new LogStreamManager(manager);
+            Settings settings = new Settings(1, 1, policy);
+            StreamProcessor processor = streamManager.registerAndCreateProcessor("processor", topology, settings);
+            processor.start();
+            processor.waitForAssignments(Duration.ofSeconds(10));
+            for (int i = 0; i < nbRecords; i++) {
+                streamManager.append("input", Record.of("key" + i, null));
+            }
+            assertTrue(processor.drainAndStop(Duration.ofSeconds(20)));
+            LogLag lag = manager.getLag("input", "C1");
+            assertEquals(lag.toString(), 0, lag.lag());
+            assertEquals(nbRecords, countRecordIn(manager, "output"));
+        }
+    }
+
+    @Test
+    public void testPolicyReadBatchContinueOnFailure() throws Exception {
+        final int nbRecords = 10;
+        Topology topology = Topology.builder()
+                                    .addComputation(() -> new ComputationFailureOnKeyForward("C1", "poison"),
+                                            Arrays.asList("i1:input", "o1:output"))
+                                    .build();
+        ComputationPolicy policy = new ComputationPolicyBuilder().readBatchSize(nbRecords)
+                                                                 .retryPolicy(new RetryPolicy(
+                                                                         ComputationPolicy.NO_RETRY))
+                                                                 .continueOnFailure(true)
+                                                                 .build();
+        try (LogManager manager = getLogManager()) {
+            StreamManager streamManager = new LogStreamManager(manager);
+            // single partition so that the failing record is the first of the batch
+            Settings settings = new Settings(1, 1, policy);
+            StreamProcessor processor = streamManager.registerAndCreateProcessor("processor", topology, settings);
+            streamManager.append("input", Record.of("poison", null));
+            for (int i = 1; i < nbRecords; i++) {
+                streamManager.append("input", Record.of("key" + i, null));
+            }
+            processor.start();
+            processor.waitForAssignments(Duration.ofSeconds(10));
+            assertTrue(processor.drainAndStop(Duration.ofSeconds(20)));
+            LogLag lag = manager.getLag("input", "C1");
+            assertEquals(lag.toString(), 0, lag.lag());
+            // only the failing record is skipped, not the whole batch
+            assertEquals(nbRecords - 1, countRecordIn(manager, "output"));
+        }
+    }
+
+    @Test
+    public void testAutoscale() throws Exception {
+        final int nbRecords = 200;
+        // use a dedicated name to get accurate processing time metrics
+        final String name = "autoscaled";
+        Topology topology = Topology.builder()
+                                    .addComputation(() -> new ComputationForwardSlow(name, 1, 1, 20),
+                                            Arrays.asList("i1:input", "o1:output"))
+                                    .build();
+        // 4s are needed to process the records with one thread, more threads are needed to process them in 100ms
+        ComputationPolicy policy = new ComputationPolicyBuilder().autoscalePolicy(Duration.ofMillis(100),
+                Duration.ofMillis(200)).build();
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(ComputationRunner.NUXEO_METRICS_REGISTRY_NAME);
+        Counter scaleUp = registry.counter(
+                MetricRegistry.name("nuxeo", "stream", "computation", name, "autoscale", "up"));
+        long scaleUpCount = scaleUp.getCount();
+        try (LogManager manager = getLogManager()) {
+            StreamManager streamManager = new LogStreamManager(manager);
+            // start with one thread up to 4 threads, there are 4 partitions
+            Settings settings = new Settings(1, 4, policy).setMaxConcurrency(name, 4);
+            StreamProcessor processor = streamManager.registerAndCreateProcessor("processor", topology, settings);
+            for (int i = 0; i < nbRecords; i++) {
+                streamManager.append("input", Record.of("key" + i, null));
+            }
+            processor.start();
+            processor.waitForAssignments(Duration.ofSeconds(10));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (scaleUp.getCount() == scaleUpCount && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertTrue("Pool not scaled up", scaleUp.getCount() > scaleUpCount);
+            assertTrue(processor.drainAndStop(Duration.ofSeconds(20)));
+            LogLag lag = manager.getLag("input", name);
+            assertEquals(lag.toString(), 0, lag.lag());
+            // records can be processed twice on rebalance
+            assertTrue(countRecordIn(manager, "output") >= nbRecords);
+        }
+    }
+
+    @Test
+    public void testStatefulComputation() throws Exception {
+        final int nbKeys = 10;
+        final int nbRecords = 100;
+        final String name = "counter";
+        Topology topology = Topology.builder()
+                                    .addComputation(() -> new ComputationKeyCounter(name),
+                                            Arrays.asList("i1:input", "o1:output"))
+                                    .build();
+        Settings settings = new Settings(2, 2, codec).setStateful(name, true);
+        try (LogManager manager = getLogManager()) {
+            StreamManager streamManager = new LogStreamManager(manager);
+            StreamProcessor processor = streamManager.registerAndCreateProcessor("processor", topology, settings);
+            for (int i = 0; i < nbRecords; i++) {
+                streamManager.append("input", Record.of("key" + (i % nbKeys), null));
+            }
+            processor.start();
+            assertTrue(processor.waitForAssignments(Duration.ofSeconds(10)));
+            assertTrue(processor.drainAndStop(Duration.ofSeconds(20)));
+            assertTrue(manager.exists(name + LogStreamManager.CHANGELOG_SUFFIX));
+        }
+        // a new processor restores the counters from the changelog
+        try (LogManager manager = getSameLogManager()) {
+            StreamManager streamManager = new LogStreamManager(manager);
+            StreamProcessor processor = streamManager.registerAndCreateProcessor("processor", topology, settings);
+            for (int i = 0; i < nbRecords; i++) {
+                streamManager.append("input", Record.of("key" + (i % nbKeys), null));
+            }
+            processor.start();
+            assertTrue(processor.waitForAssignments(Duration.ofSeconds(10)));
+            assertTrue(processor.drainAndStop(Duration.ofSeconds(20)));
+            Map<String, Long> counters = new HashMap<>();
+            for (int i = 0; i < manager.size("output"); i++) {
+                try (LogTailer<Record> tailer = manager.createTailer("results", LogPartition.of("output", i),
+                        codec)) {
+                    tailer.toStart();
+                    for (LogRecord<Record> logRecord = tailer.read(Duration.ofMillis(1000)); logRecord != null;
+                            logRecord = tailer.read(Duration.ofMillis(500))) {
+                        long count = Long.parseLong(new String(logRecord.message().getData(), StandardCharsets.UTF_8));
+                        counters.merge(logRecord.message().getKey(), count, Math::max);
+                    }
+                }
+            }
+            assertEquals(nbKeys, counters.size());
+            counters.forEach((key, count) -> assertEquals(key, 2L * nbRecords / nbKeys, (long) count));
+        }
+    }
+
     @Test
     public void testRegisterWithoutExecution() throws Exception {
         Topology topology = Topology.builder()
@@ -28,9 +28,14 @@ import static org.nuxeo.lib.stream.codec.NoCodec.NO_CODEC;
 import java.io.UnsupportedEncodingException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +63,9 @@ import org.nuxeo.lib.stream.log.LogPartition;
 import org.nuxeo.lib.stream.log.LogRecord;
 import org.nuxeo.lib.stream.log.LogTailer;
 import org.nuxeo.lib.stream.log.RebalanceException;
+import org.nuxeo.lib.stream.log.RebalanceListener;
+import org.nuxeo.lib.stream.log.internals.MergedRebalanceListener;
+import org.nuxeo.lib.stream.log.internals.WeightedLogTailer;
 import org.nuxeo.lib.stream.tests.KeyValueMessage;
 
 public abstract class TestLog {
@@ -536,6 +544,81 @@ public abstract class TestLog {
 
     }
 
+    @Test
+    public void testAppendAsync() throws Exception {
+        final int NB_MSG = 20;
+        final String group = "defaultTest";
+        manager.createIfNotExists(logName, 2);
+        LogAppender<KeyValueMessage> appender = manager.getAppender(logName);
+        List<CompletableFuture<LogOffset>> futures = new ArrayList<>();
+        for (int i = 0; i < NB_MSG; i++) {
+            futures.add(appender.appendAsync(1, KeyValueMessage.of("id" + i)));
+        }
+        List<LogOffset> offsets = LogAppender.join(futures);
+        assertEquals(NB_MSG, offsets.size());
+        for (int i = 1; i < NB_MSG; i++) {
+            assertEquals(LogPartition.of(logName, 1), offsets.get(i).partition());
+            assertTrue(offsets.get(i).offset() > offsets.get(i - 1).offset());
+        }
+        LogTailer<KeyValueMessage> tailer = manager.createTailer(group, LogPartition.of(logName, 1));
+        for (int i = 0; i < NB_MSG; i++) {
+            assertEquals("id" + i, tailer.read(DEF_TIMEOUT).message().key());
+        }
+        assertNull(tailer.read(SMALL_TIMEOUT));
+    }
+
+    @Test
+    public void testAppendAll() throws Exception {
+        final int NB_MSG = 20;
+        final String group = "defaultTest";
+        manager.createIfNotExists(logName, 3);
+        LogAppender<KeyValueMessage> appender = manager.getAppender(logName);
+        List<KeyValueMessage> messages = new ArrayList<>();
+        for (int i = 0; i < NB_MSG; i++) {
+            messages.add(KeyValueMessage.of("id" + i));
+        }
+        List<LogOffset> offsets = appender.appendAll("aKey", messages);
+        assertEquals(NB_MSG, offsets.size());
+        // all messages go to the same partition
+        LogPartition partition = offsets.get(0).partition();
+        assertEquals(appender.append("aKey", KeyValueMessage.of("last")).partition(), partition);
+        LogTailer<KeyValueMessage> tailer = manager.createTailer(group, partition);
+        for (int i = 0; i < NB_MSG; i++) {
+            LogRecord<KeyValueMessage> record = tailer.read(DEF_TIMEOUT);
+            assertEquals(offsets.get(i), record.offset());
+            assertEquals("id" + i, record.message().key());
+        }
+        assertEquals("last", tailer.read(DEF_TIMEOUT).message().key());
+    }
+
+    @Test
+    public void testReadBatch() throws Exception {
+        final int NB_MSG = 25;
+        final String group = "defaultTest";
+        manager.createIfNotExists(logName, 1);
+        LogAppender<KeyValueMessage> appender = manager.getAppender(logName);
+        for (int i = 0; i < NB_MSG; i++) {
+            appender.append(0, KeyValueMessage.of("id" + i));
+        }
+        LogTailer<KeyValueMessage> tailer = manager.createTailer(group, LogPartition.of(logName, 0));
+        List<KeyValueMessage> messages = new ArrayList<>();
+        List<LogRecord<KeyValueMessage>> records;
+        do {
+            records = tailer.readBatch(10, DEF_TIMEOUT);
+            assertTrue(records.size() <= 10);
+            records.forEach(record -> messages.add(record.message()));
+        } while (!records.isEmpty());
+        assertEquals(NB_MSG, messages.size());
+        for (int i = 0; i < NB_MSG; i++) {
+            assertEquals("id" + i, messages.get(i).key());
+        }
+        // commit is done on the last record read
+        tailer.commit();
+        assertTrue(tailer.readBatch(10, SMALL_TIMEOUT).isEmpty());
+        tailer.toLastCommitted();
+        assertTrue(tailer.readBatch(10, SMALL_TIMEOUT).isEmpty());
+    }
+
     @Test
     public void testTailerOnMultiPartitions() throws Exception {
         final int LOG_SIZE = 2;
@@ -922,6 +1005,95 @@ public abstract class TestLog {
 
     }
 
+    @Test
+    public void testWeightedTailer() throws Exception {
+        final int NB_MSG = 100;
+        final String GROUP = "defaultTest";
+        String highLog = logName + "-high";
+        String lowLog = logName + "-low";
+        manager.createIfNotExists(highLog, 1);
+        manager.createIfNotExists(lowLog, 1);
+        LogAppender<KeyValueMessage> highAppender = manager.getAppender(highLog);
+        LogAppender<KeyValueMessage> lowAppender = manager.getAppender(lowLog);
+        for (int i = 0; i < NB_MSG; i++) {
+            highAppender.append(0, KeyValueMessage.of("high" + i));
+            lowAppender.append(0, KeyValueMessage.of("low" + i));
+        }
+        Map<String, LogTailer<KeyValueMessage>> tailers = new LinkedHashMap<>();
+        tailers.put(lowLog, manager.createTailer(GROUP, LogPartition.of(lowLog, 0)));
+        tailers.put(highLog, manager.createTailer(GROUP, LogPartition.of(highLog, 0)));
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put(highLog, 3);
+        weights.put(lowLog, 1);
+        try (LogTailer<KeyValueMessage> tailer = new WeightedLogTailer<>(tailers, weights)) {
+            assertEquals(2, tailer.assignments().size());
+            int high = 0;
+            int low = 0;
+            // while both lanes have messages the high lane is served 3 times more often
+            for (int i = 0; i < 80; i++) {
+                if (readKey(tailer).startsWith("high")) {
+                    high++;
+                } else {
+                    low++;
+                }
+            }
+            assertTrue(String.format("high: %d, low: %d", high, low), high >= 2 * low);
+            // an empty lane gives its share to the other lane
+            for (int i = 80; i < 2 * NB_MSG; i++) {
+                assertNotNull(readKey(tailer));
+            }
+            assertNull(tailer.read(SMALL_TIMEOUT));
+            tailer.commit();
+        }
+        assertEquals(0, manager.getLag(highLog, GROUP).lag());
+        assertEquals(0, manager.getLag(lowLog, GROUP).lag());
+    }
+
+    @Test
+    public void testWeightedTailerMergedRebalance() {
+        String highLog = logName + "-high";
+        String lowLog = logName + "-low";
+        List<Collection<LogPartition>> revoked = new ArrayList<>();
+        List<Collection<LogPartition>> assigned = new ArrayList<>();
+        RebalanceListener listener = new RebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<LogPartition> partitions) {
+                revoked.add(partitions);
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<LogPartition> partitions) {
+                assigned.add(partitions);
+            }
+        };
+        MergedRebalanceListener rebalance = new MergedRebalanceListener(Arrays.asList(highLog, lowLog), listener);
+        RebalanceListener high = rebalance.getLaneListener(highLog);
+        RebalanceListener low = rebalance.getLaneListener(lowLog);
+        assertTrue(rebalance.isRebalancing());
+
+        // the first assignment is notified once all the lanes are assigned
+        high.onPartitionsAssigned(Collections.singletonList(LogPartition.of(highLog, 0)));
+        assertTrue(assigned.isEmpty());
+        assertTrue(rebalance.isPending(lowLog));
+        low.onPartitionsAssigned(Collections.singletonList(LogPartition.of(lowLog, 0)));
+        assertFalse(rebalance.isRebalancing());
+        assertEquals(1, assigned.size());
+        assertEquals(Arrays.asList(LogPartition.of(highLog, 0), LogPartition.of(lowLog, 0)), assigned.get(0));
+
+        // a rebalance of the group revokes all the partitions once, then assigns the merged partitions once
+        low.onPartitionsRevoked(Collections.singletonList(LogPartition.of(lowLog, 0)));
+        assertEquals(1, revoked.size());
+        assertEquals(2, revoked.get(0).size());
+        high.onPartitionsRevoked(Collections.singletonList(LogPartition.of(highLog, 0)));
+        assertEquals(1, revoked.size());
+        low.onPartitionsAssigned(Collections.singletonList(LogPartition.of(lowLog, 1)));
+        assertEquals(1, assigned.size());
+        high.onPartitionsAssigned(Collections.emptyList());
+        assertEquals(2, assigned.size());
+        assertEquals(Collections.singletonList(LogPartition.of(lowLog, 1)), assigned.get(1));
+        assertEquals(Collections.singletonList(LogPartition.of(lowLog, 1)), rebalance.getAssignments());
+    }
+
     protected String readKey(LogTailer<KeyValueMessage> tailer) throws InterruptedException {
         try {
             return tailer.read(DEF_TIMEOUT).message().key();
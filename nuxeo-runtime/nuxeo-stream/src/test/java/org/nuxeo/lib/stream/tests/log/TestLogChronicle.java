@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.nuxeo.lib.stream.tests.TestLibChronicle.IS_WIN;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -30,6 +31,7 @@ import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Before;
@@ -131,6 +133,66 @@ public class TestLogChronicle extends TestLog {
         // in practice we always have one more cycle file than the expected retention
     }
 
+    @Test
+    public void testConsumerRetention() throws Exception {
+        testConsumerRetention(false);
+    }
+
+    @Test
+    public void testConsumerRetentionWithCompression() throws Exception {
+        testConsumerRetention(true);
+    }
+
+    protected void testConsumerRetention(boolean compress) throws Exception {
+        KeyValueMessage msg1 = KeyValueMessage.of("id1");
+        KeyValueMessage msg2 = KeyValueMessage.of("id2");
+        KeyValueMessage msg3 = KeyValueMessage.of("id3");
+        // the retention duration is larger than the test duration
+        try (ChronicleLogManager manager = new ChronicleLogManager(folder.newFolder().toPath(), "10s", true,
+                compress)) {
+            manager.createIfNotExists(logName, 1);
+            LogAppender<KeyValueMessage> appender = manager.getAppender(logName);
+            Path queuePath = Paths.get(manager.getBasePath(), logName, "P-00");
+            // cycle 1
+            appender.append(0, msg1);
+            Thread.sleep(1010);
+            // cycle 2: cycle 1 is released there is no consumer group nothing is purged
+            appender.append(0, msg2);
+            assertEquals(2, countFiles(queuePath, ".cq4"));
+            try (LogTailer<KeyValueMessage> tailer = manager.createTailer("group", logName)) {
+                assertEquals(msg1, tailer.read(Duration.ofSeconds(1)).message());
+                assertEquals(msg2, tailer.read(Duration.ofSeconds(1)).message());
+                tailer.commit();
+            }
+            Thread.sleep(1010);
+            // cycle 3: cycle 2 is released, cycle 1 has been consumed by the group and is purged
+            appender.append(0, msg3);
+            if (compress) {
+                // the cycle is archived in the background
+                waitForFiles(queuePath, ".cq4.gz", 1);
+                waitForFiles(queuePath, ".cq4", 2);
+            }
+            assertEquals(2, countFiles(queuePath, ".cq4"));
+            assertEquals(compress ? 1 : 0, countFiles(queuePath, ".cq4.gz"));
+            try (LogTailer<KeyValueMessage> tailer = manager.createTailer("group", logName)) {
+                assertEquals(msg3, tailer.read(Duration.ofSeconds(1)).message());
+            }
+            assertEquals(1, manager.getLag(logName, "group").lag());
+        }
+    }
+
+    protected void waitForFiles(Path path, String suffix, long expected) throws Exception {
+        for (int i = 0; i < 50 && countFiles(path, suffix) != expected; i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    protected long countFiles(Path path, String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(path)) {
+            return paths.filter(file -> file.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+
     @SuppressWarnings("FutureReturnValueIgnored")
     @Test
     public void testConcurrentFileRetentions() throws Exception {
@@ -131,6 +131,16 @@ public abstract class AbstractPageProvider<T> implements PageProvider<T> {
 
     protected PageProviderChangedListener pageProviderChangedListener;
 
+    /**
+     * Keyset of the last entry of the page preceding the page at {@link #keysetOffset}, when using keyset pagination.
+     *
+     * @since 10.10-HF74
+     */
+    protected List<Serializable> keyset;
+
+    /** @since 10.10-HF74 */
+    protected long keysetOffset = -1;
+
     /**
      * Returns the list of current page items.
      * <p>
@@ -521,6 +531,8 @@ public abstract class AbstractPageProvider<T> implements PageProvider<T> {
      */
     @Override
     public void refresh() {
+        keyset = null;
+        keysetOffset = -1;
         setResultsCount(UNKNOWN_SIZE);
         setCurrentHigherNonEmptyPageIndex(-1);
         currentSelectPage = null;
@@ -1127,4 +1139,72 @@ public abstract class AbstractPageProvider<T> implements PageProvider<T> {
         return (boolean) getProperties().getOrDefault(SKIP_AGGREGATES_PROP, false);
     }
 
+    /**
+     * Returns whether keyset pagination is enabled, through the {@link #KEYSET_PAGINATION_PROP} property.
+     * <p>
+     * Only page providers supporting it make use of it.
+     *
+     * @since 10.10-HF74
+     */
+    protected boolean isKeysetPagination() {
+        return getBooleanProperty(KEYSET_PAGINATION_PROP, false);
+    }
+
+    /**
+     * Gets the keyset to use to fetch the current page, or {@code null} if it has to be fetched using its offset.
+     * <p>
+     * The first page uses an empty keyset, the other ones need the keyset of the previous page, which is known after
+     * fetching it or from a page token.
+     *
+     * @since 10.10-HF74
+     */
+    protected List<Serializable> getCurrentKeyset() {
+        if (!isKeysetPagination()) {
+            return null;
+        }
+        long offset = getCurrentPageOffset();
+        if (offset == 0) {
+            return Collections.emptyList();
+        }
+        if (keyset != null && keysetOffset == offset) {
+            return keyset;
+        }
+        return null;
+    }
+
+    /**
+     * Records the keyset of the last entry of the current page, allowing to fetch the next page without offset.
+     *
+     * @param keyset the keyset, or {@code null} if it cannot be computed
+     * @since 10.10-HF74
+     */
+    protected void setNextKeyset(List<Serializable> keyset) {
+        if (keyset == null) {
+            this.keyset = null;
+            keysetOffset = -1;
+        } else {
+            this.keyset = keyset;
+            keysetOffset = getCurrentPageOffset() + getMinMaxPageSize();
+        }
+    }
+
+    @Override
+    public String getNextPageToken() {
+        if (!isNextPageAvailable()) {
+            return null;
+        }
+        long nextOffset = getCurrentPageOffset() + getMinMaxPageSize();
+        List<Serializable> nextKeyset = keyset != null && keysetOffset == nextOffset ? keyset : null;
+        return new PageToken(nextOffset, nextKeyset).encode();
+    }
+
+    @Override
+    public void setPageToken(String pageToken) {
+        PageToken token = PageToken.decode(pageToken);
+        setCurrentPageOffset(token.getOffset());
+        keyset = token.getKeyset();
+        keysetOffset = keyset == null ? -1 : token.getOffset();
+        pageChanged();
+    }
+
 }
@@ -0,0 +1,175 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.platform.query.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.nuxeo.ecm.core.query.QueryParseException;
+
+/**
+ * Token designating a page of a {@link PageProvider}, as returned by {@link PageProvider#getNextPageToken()}.
+ * <p>
+ * The token holds the offset of the page and, when keyset pagination is used, the keyset of the last entry of the
+ * previous page. Its string form is URL-safe.
+ *
+ * @since 10.10-HF74
+ */
+public class PageToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected static final char SEP = ',';
+
+    protected static final char STRING = 'S';
+
+    protected static final char LONG = 'L';
+
+    protected static final char DOUBLE = 'D';
+
+    protected static final char BOOLEAN = 'B';
+
+    protected static final char CALENDAR = 'C';
+
+    protected final long offset;
+
+    protected final List<Serializable> keyset;
+
+    /**
+     * @param offset the offset of the page
+     * @param keyset the keyset of the last entry of the previous page, or {@code null}
+     */
+    public PageToken(long offset, List<Serializable> keyset) {
+        this.offset = offset;
+        this.keyset = keyset;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the keyset of the last entry of the previous page, or {@code null} if the page is designated by its offset
+     * only.
+     */
+    public List<Serializable> getKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Checks whether a keyset value can be held by a token.
+     */
+    public static boolean isSupported(Serializable value) {
+        return value instanceof String || value instanceof Long || value instanceof Double
+                || value instanceof Boolean || value instanceof Calendar;
+    }
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(offset);
+        if (keyset != null) {
+            for (Serializable value : keyset) {
+                sb.append(SEP);
+                String string;
+                if (value instanceof String) {
+                    sb.append(STRING);
+                    string = (String) value;
+                } else if (value instanceof Long) {
+                    sb.append(LONG);
+                    string = value.toString();
+                } else if (value instanceof Double) {
+                    sb.append(DOUBLE);
+                    string = value.toString();
+                } else if (value instanceof Boolean) {
+                    sb.append(BOOLEAN);
+                    string = value.toString();
+                } else if (value instanceof Calendar) {
+                    sb.append(CALENDAR);
+                    Calendar cal = (Calendar) value;
+                    string = cal.toInstant().atZone(cal.getTimeZone().toZoneId()).toString();
+                } else {
+                    throw new IllegalArgumentException("Unsupported keyset value: " + value);
+                }
+                sb.append(Base64.getUrlEncoder().withoutPadding().encodeToString(string.getBytes(UTF_8)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a token from its string form.
+     *
+     * @throws QueryParseException if the token is invalid
+     */
+    public static PageToken decode(String token) {
+        try {
+            String[] parts = token.split(String.valueOf(SEP), -1);
+            long offset = Long.parseLong(parts[0]);
+            if (offset < 0) {
+                throw new QueryParseException("Invalid page token: " + token);
+            }
+            if (parts.length == 1) {
+                return new PageToken(offset, null);
+            }
+            List<Serializable> keyset = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                String part = parts[i];
+                if (part.isEmpty()) {
+                    throw new QueryParseException("Invalid page token: " + token);
+                }
+                String string = new String(Base64.getUrlDecoder().decode(part.substring(1)), UTF_8);
+                switch (part.charAt(0)) {
+                case STRING:
+                    keyset.add(string);
+                    break;
+                case LONG:
+                    keyset.add(Long.valueOf(string));
+                    break;
+                case DOUBLE:
+                    keyset.add(Double.valueOf(string));
+                    break;
+                case BOOLEAN:
+                    keyset.add(Boolean.valueOf(string));
+                    break;
+                case CALENDAR:
+                    keyset.add(GregorianCalendar.from(ZonedDateTime.parse(string)));
+                    break;
+                default:
+                    throw new QueryParseException("Invalid page token: " + token);
+                }
+            }
+            return new PageToken(offset, Collections.unmodifiableList(keyset));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException or invalid base64
+            throw new QueryParseException("Invalid page token: " + token, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + offset + "," + keyset + ")";
+    }
+
+}
@@ -141,6 +141,11 @@ public class PageProviderServiceImpl extends DefaultComponent implements PagePro
         if (currentOffset != null && currentOffset.longValue() >= 0) {
             pageProvider.setCurrentPageOffset(currentOffset.longValue());
         }
+        // a page token takes precedence over the page index and offset
+        Serializable pageToken = allProps.get(PageProvider.PAGE_TOKEN_PROP);
+        if (pageToken instanceof String && !((String) pageToken).isEmpty()) {
+            pageProvider.setPageToken((String) pageToken);
+        }
 
         return pageProvider;
     }
@@ -32,10 +32,17 @@ import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentModelList;
 import org.nuxeo.ecm.core.api.Filter;
 import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.PropertyException;
 import org.nuxeo.ecm.core.api.SortInfo;
+import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+import org.nuxeo.ecm.core.query.sql.model.Keysets;
+import org.nuxeo.ecm.core.query.sql.model.OrderByExpr;
 import org.nuxeo.ecm.platform.query.api.AbstractPageProvider;
 import org.nuxeo.ecm.platform.query.api.PageProviderDefinition;
 import org.nuxeo.ecm.platform.query.api.PageSelections;
+import org.nuxeo.ecm.platform.query.api.PageToken;
 import org.nuxeo.ecm.platform.query.api.QuickFilter;
 import org.nuxeo.ecm.platform.query.api.WhereClauseDefinition;
 import org.nuxeo.runtime.api.Framework;
@@ -53,6 +60,10 @@ import org.nuxeo.runtime.services.config.ConfigurationService;
  * Since 6.0, the page provider property named {@link #USE_UNRESTRICTED_SESSION_PROPERTY} allows specifying whether the
  * query should be run as unrestricted. When such a property is set to "true", the additional property
  * {@link #DETACH_DOCUMENTS_PROPERTY} is used to detach documents (defaults to true when session is unrestricted).
+ * <p>
+ * Since 10.10-HF74, the page provider property named {@link #KEYSET_PAGINATION_PROP} enables keyset pagination: the
+ * next page is fetched by seeking after the sort values of the last document of the current page instead of skipping
+ * the documents of the previous pages, see {@link CoreSession#keysetQuery}. The sort keys should not hold null values.
  *
  * @author Anahide Tchertchian
  * @since 5.4
@@ -127,9 +138,11 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
                 final long minMaxPageSize = getMinMaxPageSize();
 
                 final long offset = getCurrentPageOffset();
+                final List<Serializable> keyset = getCurrentKeyset();
                 if (log.isDebugEnabled()) {
-                    log.debug(String.format("Perform query for provider '%s': '%s' with pageSize=%s, offset=%s",
-                            getName(), query, Long.valueOf(minMaxPageSize), Long.valueOf(offset)));
+                    log.debug(String.format(
+                            "Perform query for provider '%s': '%s' with pageSize=%s, offset=%s, keyset=%s", getName(),
+                            query, Long.valueOf(minMaxPageSize), Long.valueOf(offset), keyset));
                 }
 
                 final DocumentModelList docs;
@@ -141,9 +154,13 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
                 if (maxResults > 0) {
                     if (useUnrestricted) {
                         CoreQueryUnrestrictedSessionRunner r = new CoreQueryUnrestrictedSessionRunner(coreSession,
-                                query, filter, minMaxPageSize, offset, false, maxResults, detachDocs);
+                                query, filter, minMaxPageSize, offset, keyset, false, maxResults, detachDocs);
                         r.runUnrestricted();
                         docs = r.getDocs();
+                    } else if (keyset != null) {
+                        // maxResults counts from the first page
+                        docs = coreSession.keysetQuery(query, getFilter(), minMaxPageSize, keyset,
+                                Math.max(maxResults - offset, 1));
                     } else {
                         docs = coreSession.query(query, getFilter(), minMaxPageSize, offset, maxResults);
                     }
@@ -152,15 +169,21 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
                     // enable global limitation described in NXP-9381
                     if (useUnrestricted) {
                         CoreQueryUnrestrictedSessionRunner r = new CoreQueryUnrestrictedSessionRunner(coreSession,
-                                query, filter, minMaxPageSize, offset, true, maxResults, detachDocs);
+                                query, filter, minMaxPageSize, offset, keyset, true, maxResults, detachDocs);
                         r.runUnrestricted();
                         docs = r.getDocs();
+                    } else if (keyset != null) {
+                        docs = coreSession.keysetQuery(query, getFilter(), minMaxPageSize, keyset, true);
                     } else {
                         docs = coreSession.query(query, getFilter(), minMaxPageSize, offset, true);
                     }
                 }
 
                 long resultsCount = docs.totalSize();
+                if (keyset != null && resultsCount >= 0) {
+                    // only the documents following the keyset were counted
+                    resultsCount += offset;
+                }
                 if (resultsCount < 0) {
                     // results count is truncated
                     setResultsCount(UNKNOWN_SIZE_AFTER_QUERY);
@@ -168,6 +191,11 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
                     setResultsCount(resultsCount);
                 }
                 currentPageDocuments = docs;
+                if (isKeysetPagination()) {
+                    // a partial page is the last one
+                    boolean fullPage = !docs.isEmpty() && docs.size() >= minMaxPageSize;
+                    setNextKeyset(fullPage ? getKeyset(docs.get(docs.size() - 1)) : null);
+                }
 
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("Performed query for provider '%s': got %s hits (limit %s)", getName(),
@@ -252,6 +280,53 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
         query = newQuery;
     }
 
+    /**
+     * Computes the keyset of a document, which holds its values for the ORDER BY keys of the query.
+     *
+     * @return the keyset, or {@code null} if it cannot be computed, in which case the next page is fetched using its
+     *         offset
+     * @since 10.10-HF74
+     */
+    protected List<Serializable> getKeyset(DocumentModel doc) {
+        List<OrderByExpr> keys;
+        try {
+            keys = Keysets.getKeys(SQLQueryParser.parse(query));
+        } catch (QueryParseException e) {
+            log.debug("Cannot use keyset pagination: " + e.getMessage());
+            return null;
+        }
+        List<Serializable> keyset = new ArrayList<>(keys.size());
+        for (OrderByExpr key : keys) {
+            String name = key.reference.name;
+            Serializable value;
+            if (NXQL.ECM_UUID.equals(name)) {
+                value = doc.getId();
+            } else if (NXQL.ECM_NAME.equals(name)) {
+                value = doc.getName();
+            } else if (NXQL.ECM_PRIMARYTYPE.equals(name)) {
+                value = doc.getType();
+            } else if (name.startsWith(NXQL.ECM_PREFIX) || key.reference.cast != null) {
+                // not available from the document model
+                value = null;
+            } else {
+                try {
+                    value = doc.getPropertyValue(name);
+                } catch (PropertyException e) {
+                    value = null;
+                }
+            }
+            if (value instanceof Integer) {
+                value = Long.valueOf(((Integer) value).longValue());
+            }
+            if (!PageToken.isSupported(value)) {
+                log.debug(String.format("Cannot use keyset pagination on key %s with value %s", name, value));
+                return null;
+            }
+            keyset.add(value);
+        }
+        return keyset;
+    }
+
     protected void checkQueryCache() {
         // maybe handle refresh of select page according to query
         if (getBooleanProperty(CHECK_QUERY_CACHE_PROPERTY, false)) {
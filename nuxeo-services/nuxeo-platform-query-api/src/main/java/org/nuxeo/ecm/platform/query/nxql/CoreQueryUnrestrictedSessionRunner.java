@@ -18,6 +18,9 @@
  */
 package org.nuxeo.ecm.platform.query.nxql;
 
+import java.io.Serializable;
+import java.util.List;
+
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentModelList;
@@ -39,6 +42,9 @@ public class CoreQueryUnrestrictedSessionRunner extends UnrestrictedSessionRunne
 
     protected final long offset;
 
+    // @since 10.10-HF74
+    protected final List<Serializable> keyset;
+
     protected final boolean countTotal;
 
     protected final long countUpTo;
@@ -49,11 +55,22 @@ public class CoreQueryUnrestrictedSessionRunner extends UnrestrictedSessionRunne
 
     public CoreQueryUnrestrictedSessionRunner(CoreSession session, String query, Filter filter, long limit,
             long offset, boolean countTotal, long countUpTo, boolean detachDocuments) {
+        this(session, query, filter, limit, offset, null, countTotal, countUpTo, detachDocuments);
+    }
+
+    /**
+     * Constructor using a keyset instead of the offset when the keyset is not {@code null}.
+     *
+     * @since 10.10-HF74
+     */
+    public CoreQueryUnrestrictedSessionRunner(CoreSession session, String query, Filter filter, long limit,
+            long offset, List<Serializable> keyset, boolean countTotal, long countUpTo, boolean detachDocuments) {
         super(session);
         this.query = query;
         this.filter = filter;
         this.limit = limit;
         this.offset = offset;
+        this.keyset = keyset;
         this.countTotal = countTotal;
         this.countUpTo = countUpTo;
         this.detachDocuments = detachDocuments;
@@ -61,7 +78,15 @@ public class CoreQueryUnrestrictedSessionRunner extends UnrestrictedSessionRunne
 
     @Override
     public void run() {
-        if (countTotal) {
+        if (keyset != null) {
+            if (countTotal) {
+                docs = session.keysetQuery(query, filter, limit, keyset, countTotal);
+            } else {
+                // countUpTo counts from the first page
+                long keysetCountUpTo = countUpTo > 0 ? Math.max(countUpTo - offset, 1) : countUpTo;
+                docs = session.keysetQuery(query, filter, limit, keyset, keysetCountUpTo);
+            }
+        } else if (countTotal) {
             docs = session.query(query, filter, limit, offset, countTotal);
         } else {
             docs = session.query(query, filter, limit, offset, countUpTo);
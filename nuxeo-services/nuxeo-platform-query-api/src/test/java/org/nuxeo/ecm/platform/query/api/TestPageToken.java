@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.platform.query.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.query.QueryParseException;
+
+public class TestPageToken {
+
+    @Test
+    public void testOffsetOnly() {
+        PageToken token = PageToken.decode(new PageToken(50, null).encode());
+        assertEquals(50, token.getOffset());
+        assertNull(token.getKeyset());
+    }
+
+    @Test
+    public void testKeyset() {
+        Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("Europe/Paris"));
+        cal.setTimeInMillis(1234567890123L);
+        List<Serializable> keyset = Arrays.asList("foo, baré", Long.valueOf(-3), Double.valueOf(1.5),
+                Boolean.TRUE, cal, "5f0c5b4e-b2b8-4a4c-8b0e-8c8f1a8c1b2e");
+        String encoded = new PageToken(20, keyset).encode();
+        assertEquals(encoded, encoded.replaceAll("[^0-9A-Za-z_,-]", ""));
+
+        PageToken token = PageToken.decode(encoded);
+        assertEquals(20, token.getOffset());
+        List<Serializable> decoded = token.getKeyset();
+        assertEquals(keyset.size(), decoded.size());
+        assertEquals(keyset.subList(0, 4), decoded.subList(0, 4));
+        assertEquals(cal.getTimeInMillis(), ((Calendar) decoded.get(4)).getTimeInMillis());
+        assertEquals(keyset.get(5), decoded.get(5));
+    }
+
+    @Test
+    public void testInvalid() {
+        for (String invalid : Arrays.asList("", "abc", "-1", "10,", "10,Xabc", "10,Lfoo", "10,S!!")) {
+            try {
+                PageToken.decode(invalid);
+                fail("should fail on: " + invalid);
+            } catch (QueryParseException e) {
+                // ok
+            }
+        }
+    }
+
+}
@@ -21,13 +21,17 @@ package org.nuxeo.ecm.platform.query.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -143,6 +147,43 @@ public class TestPageProviderCurrentPage {
         assertEquals(prevId, ((DocumentModel)page.get(0)).getId());
     }
 
+    @Test
+    public void testPageProviderKeysetPagination() {
+        PageProviderDefinition ppd = pps.getPageProviderDefinition(DUMMY_FETCH_DOCUMENTS);
+        long numDocs = ppd.getMaxPageSize() + SECOND_PAGE_NUM_DOCS;
+        long pageSize = 400;
+        List<SortInfo> sortInfos = Collections.singletonList(new SortInfo("ecm:name", true));
+        HashMap<String, Serializable> props = new HashMap<String, Serializable>();
+        props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) session);
+        props.put(PageProvider.KEYSET_PAGINATION_PROP, "true");
+        PageProvider<?> pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, pageSize, 0L, props);
+        Set<String> ids = new HashSet<>();
+        String prevName = null;
+        int pages = 0;
+        while (true) {
+            List<?> page = pp.getCurrentPage();
+            assertEquals(numDocs, pp.getResultsCount());
+            for (Object entry : page) {
+                DocumentModel doc = (DocumentModel) entry;
+                assertTrue(ids.add(doc.getId()));
+                if (prevName != null) {
+                    assertTrue(prevName.compareTo(doc.getName()) < 0);
+                }
+                prevName = doc.getName();
+            }
+            pages++;
+            String token = pp.getNextPageToken();
+            if (token == null) {
+                break;
+            }
+            // use a fresh page provider, as a stateless client would do
+            pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, pageSize, 0L, props);
+            pp.setPageToken(token);
+        }
+        assertEquals(3, pages);
+        assertEquals(numDocs, ids.size());
+    }
+
     // NXP-30360
     @Deploy("org.nuxeo.ecm.platform.query.api.test:test-pageprovider-quick-filter-contrib.xml")
     @Test